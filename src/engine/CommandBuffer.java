@@ -0,0 +1,81 @@
+package engine;
+
+import gameobject.IGameObject;
+
+import java.util.Arrays;
+
+/**
+ * Buffer reutilizável de operações estruturais pedidas ao GameEngine (adicionar, ativar, desativar, destruir,
+ * adormecer, ...), guardadas pela ordem em que foram pedidas e aplicadas mais tarde, de uma só vez.
+ * Cada operação é um código e o objeto alvo, em dois arrays paralelos, pelo que registar uma operação
+ * não aloca memória em regime estacionário (ao contrário de guardar lambdas).
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv 0 &lt;= size &lt;= ops.length == targets.length.
+ * @inv targets[size..] são nulos, para não reter objetos destruídos.
+ */
+final class CommandBuffer {
+    static final byte ADD_ENABLED = 0;
+    static final byte ENABLE = 1;
+    static final byte DISABLE = 2;
+    static final byte DESTROY = 3;
+    static final byte SLEEP = 4;
+    static final byte WAKE = 5;
+    static final byte MAKE_STATIC = 6;
+    static final byte MAKE_DYNAMIC = 7;
+
+    private byte[] ops = new byte[16];
+    private IGameObject[] targets = new IGameObject[16];
+    private int size = 0;
+
+    /**
+     * Acrescenta uma operação no fim do buffer.
+     * @param op O código da operação (ADD_ENABLED, ENABLE, ...).
+     * @param target O objeto alvo.
+     * @post A operação é a última do buffer; a capacidade cresce se necessário.
+     */
+    void add(byte op, IGameObject target) {
+        if (size == ops.length) {
+            ops = Arrays.copyOf(ops, size * 2);
+            targets = Arrays.copyOf(targets, size * 2);
+        }
+        ops[size] = op;
+        targets[size] = target;
+        size++;
+    }
+
+    /**
+     * Devolve o número de operações no buffer.
+     * @return O número de operações.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Devolve o código da k-ésima operação.
+     * @param k A posição da operação. Deve estar em [0, size()).
+     * @return O código da operação.
+     */
+    byte op(int k) {
+        return ops[k];
+    }
+
+    /**
+     * Devolve o objeto alvo da k-ésima operação.
+     * @param k A posição da operação. Deve estar em [0, size()).
+     * @return O objeto alvo.
+     */
+    IGameObject target(int k) {
+        return targets[k];
+    }
+
+    /**
+     * Esvazia o buffer, mantendo a capacidade alocada.
+     * @post size() == 0.
+     */
+    void clear() {
+        Arrays.fill(targets, 0, size, null);
+        size = 0;
+    }
+}
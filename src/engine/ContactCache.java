@@ -0,0 +1,245 @@
+package engine;
+
+import gameobject.IGameObject;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * Conjunto dos pares de objetos em contacto, mantido entre passos do GameEngine, para distinguir os contactos
+ * que começam (enter), continuam (stay) e terminam (exit).
+ * Cada par é identificado pelos handles dos dois objetos (ver EntityHandle), numa tabela de dispersão com
+ * endereçamento aberto sobre arrays. Há duas tabelas: a do passo anterior e a do passo atual, trocadas em endFrame(),
+ * pelo que um contacto novo é o que não está na tabela anterior e um contacto terminado é o que ficou só nela.
+ * Guarda também as versões das transformações dos dois objetos quando o contacto foi confirmado, para que um par
+ * cujos objetos não se moveram desde então possa ser dado como em contacto sem repetir o teste exato.
+ * Não aloca memória em regime estacionário (as tabelas só crescem).
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv 'previous' contém os contactos do último passo terminado; 'current' os registados no passo em curso.
+ */
+final class ContactCache {
+    private Table previous = new Table();
+    private Table current = new Table();
+
+    /**
+     * Indica se um par estava em contacto no passo anterior e nenhum dos seus objetos mudou desde então,
+     * caso em que continua em contacto e o teste exato pode ser saltado.
+     * Só lê a tabela do passo anterior, pelo que pode ser chamado em paralelo durante a fase estreita.
+     * @param a Um dos objetos. Não deve ser nulo e deve ter colisor.
+     * @param b O outro objeto. Não deve ser nulo e deve ter colisor.
+     * @return Verdadeiro se o contacto de (a, b) pode ser reaproveitado.
+     */
+    boolean canReuse(IGameObject a, IGameObject b) {
+        int slot = previous.find(a.handle(), b.handle());
+        if (slot < 0) return false;
+        boolean swapped = a.handle() > b.handle();
+        long versionA = a.transform().version(), versionB = b.transform().version();
+        return previous.versionsA[slot] == (swapped ? versionB : versionA)
+                && previous.versionsB[slot] == (swapped ? versionA : versionB)
+                && a.collider().isUpToDate() && b.collider().isUpToDate();
+    }
+
+    /**
+     * Regista um par em contacto no passo atual.
+     * @param a Um dos objetos. Não deve ser nulo.
+     * @param b O outro objeto. Não deve ser nulo.
+     * @return Verdadeiro se o contacto é novo (não estava em contacto no passo anterior).
+     * @post O par está na tabela do passo atual, com as versões atuais das transformações.
+     */
+    boolean record(IGameObject a, IGameObject b) {
+        current.put(a, b);
+        return previous.find(a.handle(), b.handle()) < 0;
+    }
+
+    /**
+     * Termina o passo: os contactos do passo anterior que não foram registados neste terminam, exceto os que
+     * 'keep' mandar manter (que passam para o passo atual sem callbacks). A seguir, o passo atual passa a anterior.
+     * Cada contacto terminado é comunicado a cada um dos seus objetos que ainda seja a mesma entidade (o mesmo handle):
+     * um objeto destruído, ou reutilizado de um pool com outro handle, não recebe o fim de um contacto antigo.
+     * @param keep Decide se um contacto não registado se mantém (ex: dois objetos em repouso, que não são testados).
+     * @param exitReceivers Lista onde são acrescentados os objetos que devem ser avisados do fim de um contacto.
+     * @param exitOthers Lista onde são acrescentados, pela mesma ordem, os objetos com que esses contactos terminaram.
+     * @post size() é o número de contactos do passo que terminou; o novo passo atual está vazio.
+     */
+    void endFrame(BiPredicate<IGameObject, IGameObject> keep, List<IGameObject> exitReceivers, List<IGameObject> exitOthers) {
+        Table prev = previous;
+        for (int h = 0; h < prev.handlesA.length; h++) {
+            if (prev.objectsA[h] == null || current.find(prev.handlesA[h], prev.handlesB[h]) >= 0) continue;
+            IGameObject a = prev.objectsA[h], b = prev.objectsB[h];
+            boolean aliveA = a.handle() == prev.handlesA[h], aliveB = b.handle() == prev.handlesB[h];
+            if (aliveA && aliveB && keep.test(a, b)) {
+                current.copyFrom(prev, h);
+                continue;
+            }
+            if (aliveA) {
+                exitReceivers.add(a);
+                exitOthers.add(b);
+            }
+            if (aliveB) {
+                exitReceivers.add(b);
+                exitOthers.add(a);
+            }
+        }
+        prev.clear();
+        previous = current;
+        current = prev;
+    }
+
+    /**
+     * Devolve o número de contactos guardados entre passos.
+     * @return O número de pares em contacto no último passo terminado.
+     */
+    int size() {
+        return previous.size;
+    }
+
+    /**
+     * Esquece todos os contactos, sem callbacks de fim de contacto.
+     * @post size() == 0.
+     */
+    void clear() {
+        previous.clear();
+        current.clear();
+    }
+
+    /**
+     * Tabela de dispersão de pares, com a chave (menor handle, maior handle) e sondagem linear.
+     * @inv Uma posição h está livre se e só se objectsA[h] for nulo.
+     * @inv handlesA.length é uma potência de 2 e pelo menos o dobro de size.
+     */
+    private static final class Table {
+        private static final int INITIAL_CAPACITY = 64;
+
+        long[] handlesA = new long[INITIAL_CAPACITY];
+        long[] handlesB = new long[INITIAL_CAPACITY];
+        long[] versionsA = new long[INITIAL_CAPACITY];
+        long[] versionsB = new long[INITIAL_CAPACITY];
+        IGameObject[] objectsA = new IGameObject[INITIAL_CAPACITY];
+        IGameObject[] objectsB = new IGameObject[INITIAL_CAPACITY];
+        int size = 0;
+
+        /**
+         * Procura um par na tabela.
+         * @param h1 O handle de um dos objetos.
+         * @param h2 O handle do outro objeto.
+         * @return A posição do par, ou -1 se não estiver na tabela.
+         */
+        int find(long h1, long h2) {
+            long ha = Math.min(h1, h2), hb = Math.max(h1, h2);
+            int mask = handlesA.length - 1;
+            for (int h = hash(ha, hb) & mask; objectsA[h] != null; h = (h + 1) & mask) {
+                if (handlesA[h] == ha && handlesB[h] == hb) return h;
+            }
+            return -1;
+        }
+
+        /**
+         * Insere ou atualiza um par, com as versões atuais das transformações dos seus objetos.
+         * @param a Um dos objetos. Não deve ser nulo.
+         * @param b O outro objeto. Não deve ser nulo.
+         * @post O par está na tabela.
+         */
+        void put(IGameObject a, IGameObject b) {
+            if (a.handle() > b.handle()) {
+                IGameObject tmp = a;
+                a = b;
+                b = tmp;
+            }
+            int h = slotFor(a.handle(), b.handle());
+            handlesA[h] = a.handle();
+            handlesB[h] = b.handle();
+            versionsA[h] = a.transform().version();
+            versionsB[h] = b.transform().version();
+            objectsA[h] = a;
+            objectsB[h] = b;
+        }
+
+        /**
+         * Copia um par de outra tabela, mantendo as versões guardadas.
+         * @param other A tabela de origem.
+         * @param from A posição do par em 'other'.
+         * @post O par está nesta tabela.
+         */
+        void copyFrom(Table other, int from) {
+            int h = slotFor(other.handlesA[from], other.handlesB[from]);
+            handlesA[h] = other.handlesA[from];
+            handlesB[h] = other.handlesB[from];
+            versionsA[h] = other.versionsA[from];
+            versionsB[h] = other.versionsB[from];
+            objectsA[h] = other.objectsA[from];
+            objectsB[h] = other.objectsB[from];
+        }
+
+        /**
+         * Devolve a posição de um par (ordenado), reservando uma posição livre se ainda não estiver na tabela.
+         * @param ha O menor handle.
+         * @param hb O maior handle.
+         * @return A posição do par.
+         */
+        private int slotFor(long ha, long hb) {
+            int existing = find(ha, hb);
+            if (existing >= 0) return existing;
+            if ((size + 1) * 2 > handlesA.length) {
+                rehash(handlesA.length * 2);
+            }
+            int mask = handlesA.length - 1;
+            int h = hash(ha, hb) & mask;
+            while (objectsA[h] != null) {
+                h = (h + 1) & mask;
+            }
+            size++;
+            return h;
+        }
+
+        /**
+         * Reconstrói a tabela com a capacidade indicada.
+         * @param capacity A nova capacidade. Deve ser uma potência de 2 maior que 2 * size.
+         */
+        private void rehash(int capacity) {
+            Table old = new Table();
+            old.handlesA = handlesA;
+            old.handlesB = handlesB;
+            old.versionsA = versionsA;
+            old.versionsB = versionsB;
+            old.objectsA = objectsA;
+            old.objectsB = objectsB;
+            handlesA = new long[capacity];
+            handlesB = new long[capacity];
+            versionsA = new long[capacity];
+            versionsB = new long[capacity];
+            objectsA = new IGameObject[capacity];
+            objectsB = new IGameObject[capacity];
+            size = 0;
+            for (int h = 0; h < old.objectsA.length; h++) {
+                if (old.objectsA[h] != null) {
+                    copyFrom(old, h);
+                }
+            }
+        }
+
+        /**
+         * Esvazia a tabela, mantendo a capacidade.
+         * @post size == 0 e a tabela não retém objetos.
+         */
+        void clear() {
+            if (size == 0) return;
+            Arrays.fill(objectsA, null);
+            Arrays.fill(objectsB, null);
+            size = 0;
+        }
+
+        /**
+         * Dispersão de um par de handles.
+         * @param ha O menor handle.
+         * @param hb O maior handle.
+         * @return O valor de dispersão.
+         */
+        private static int hash(long ha, long hb) {
+            long x = (ha * 0x9E3779B97F4A7C15L) ^ hb;
+            x ^= x >>> 29;
+            return (int) (x ^ (x >>> 32));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package engine;
+
+/**
+ * Contadores de desempenho do último passo (frame) executado pelo GameEngine.
+ * Os valores são reiniciados no início de cada chamada a GameEngine.run e podem ser lidos
+ * depois do passo para diagnóstico ou comparação entre broadphases.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv Todos os contadores são não negativos.
+ */
+public class EngineStats {
+    int collidableObjects;
+    int candidatePairs;
+    int filteredPairs;
+    int narrowPhaseTests;
+    int collisions;
+    int skippedColliderUpdates;
+    int restingObjects;
+    int cachedContacts;
+    int reusedContacts;
+    int partitionRebuilds;
+
+    /**
+     * Reinicia todos os contadores a zero.
+     * @post Todos os contadores são 0.
+     */
+    void reset() {
+        collidableObjects = 0;
+        candidatePairs = 0;
+        filteredPairs = 0;
+        narrowPhaseTests = 0;
+        collisions = 0;
+        skippedColliderUpdates = 0;
+        restingObjects = 0;
+        cachedContacts = 0;
+        reusedContacts = 0;
+        partitionRebuilds = 0;
+    }
+
+    /**
+     * Devolve o número de objetos com colisor considerados na deteção de colisões.
+     * @return O número de objetos entregues à broadphase.
+     */
+    public int getCollidableObjects() {
+        return collidableObjects;
+    }
+
+    /**
+     * Devolve o número de pares candidatos produzidos pela broadphase.
+     * @return O número de pares candidatos.
+     */
+    public int getCandidatePairs() {
+        return candidatePairs;
+    }
+
+    /**
+     * Devolve o número de pares candidatos descartados pelas categorias/máscaras de colisão.
+     * @return O número de pares filtrados antes do teste exato.
+     */
+    public int getFilteredPairs() {
+        return filteredPairs;
+    }
+
+    /**
+     * Devolve o número de testes exatos (isColliding) efetuados.
+     * @return O número de testes da fase estreita.
+     */
+    public int getNarrowPhaseTests() {
+        return narrowPhaseTests;
+    }
+
+    /**
+     * Devolve o número de pares que efetivamente colidiram.
+     * @return O número de colisões despachadas para os comportamentos.
+     */
+    public int getCollisions() {
+        return collisions;
+    }
+
+    /**
+     * Devolve o número de colisores cuja atualização foi saltada por a sua transformação não ter mudado.
+     * @return O número de atualizações de colisores saltadas no último passo.
+     */
+    public int getSkippedColliderUpdates() {
+        return skippedColliderUpdates;
+    }
+
+    /**
+     * Devolve o número de objetos ativos em repouso (estáticos ou adormecidos), que não foram atualizados
+     * e só foram testados contra os objetos em movimento.
+     * @return O número de objetos em repouso no último passo.
+     */
+    public int getRestingObjects() {
+        return restingObjects;
+    }
+
+    /**
+     * Devolve o número de pares em contacto guardados na cache de contactos no fim do passo
+     * (os contactos que podem continuar ou terminar no passo seguinte).
+     * @return O número de pares na cache de contactos.
+     */
+    public int getCachedContacts() {
+        return cachedContacts;
+    }
+
+    /**
+     * Devolve o número de pares dados como em contacto sem teste exato, por nenhum dos objetos ter mudado
+     * desde o passo anterior, em que já estavam em contacto.
+     * @return O número de contactos reaproveitados da cache no último passo.
+     */
+    public int getReusedContacts() {
+        return reusedContacts;
+    }
+
+    /**
+     * Devolve o número de vezes que a partição entre objetos em movimento e em repouso (e o índice dos objetos
+     * em repouso) foi reconstruída, o que só acontece quando um objeto estático ou adormecido entra ou sai.
+     * @return 1 se a partição foi reconstruída no último passo, 0 caso contrário.
+     */
+    public int getPartitionRebuilds() {
+        return partitionRebuilds;
+    }
+
+    /**
+     * Devolve uma representação textual resumida dos contadores.
+     * @return String com os valores dos contadores.
+     */
+    @Override
+    public String toString() {
+        return "objetos=" + collidableObjects +
+                " candidatos=" + candidatePairs +
+                " filtrados=" + filteredPairs +
+                " testes=" + narrowPhaseTests +
+                " colisões=" + collisions +
+                " colisores parados=" + skippedColliderUpdates +
+                " em repouso=" + restingObjects +
+                " contactos em cache=" + cachedContacts +
+                " reaproveitados=" + reusedContacts +
+                " partição reconstruída=" + partitionRebuilds;
+    }
+}
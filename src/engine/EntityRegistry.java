@@ -0,0 +1,88 @@
+package engine;
+
+import gameobject.EntityHandle;
+import gameobject.IGameObject;
+
+import java.util.Arrays;
+
+/**
+ * Registo das entidades de um GameEngine, que atribui a cada uma um handle geracional (ver EntityHandle).
+ * As entidades ocupam slots num array; os slots libertados são reutilizados (pilha de slots livres)
+ * com a geração incrementada, pelo que resolver um handle antigo devolve nulo em vez de outro objeto.
+ * Registar, libertar e resolver custam tempo constante e não alocam em regime estacionário.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv generations[i] != 0 para todos os slots já usados.
+ * @inv entities[i] é nulo se e só se o slot i estiver livre (ou nunca tiver sido usado).
+ */
+final class EntityRegistry {
+    private IGameObject[] entities = new IGameObject[64];
+    private int[] generations = new int[64];
+    private int[] freeSlots = new int[64];
+    private int freeCount = 0;
+    private int used = 0; // Slots já usados pelo menos uma vez: [0, used)
+    private int size = 0;
+
+    /**
+     * Regista uma entidade e devolve o seu novo handle.
+     * @param go A entidade. Não deve ser nula nem estar registada.
+     * @return O handle atribuído, diferente de EntityHandle.NONE.
+     * @post resolve(handle) == go.
+     */
+    long register(IGameObject go) {
+        int index;
+        if (freeCount > 0) {
+            index = freeSlots[--freeCount];
+        } else {
+            if (used == entities.length) {
+                entities = Arrays.copyOf(entities, used * 2);
+                generations = Arrays.copyOf(generations, used * 2);
+            }
+            index = used++;
+            generations[index] = 1;
+        }
+        entities[index] = go;
+        size++;
+        return EntityHandle.of(index, generations[index]);
+    }
+
+    /**
+     * Liberta o slot de um handle válido, invalidando-o.
+     * @param handle O handle. Se não for válido, não faz nada.
+     * @post resolve(handle) == null; o slot pode ser reutilizado com uma geração nova.
+     */
+    void release(long handle) {
+        if (resolve(handle) == null) return;
+        int index = EntityHandle.index(handle);
+        entities[index] = null;
+        int next = generations[index] + 1;
+        generations[index] = (next == 0) ? 1 : next; // A geração 0 está reservada para EntityHandle.NONE
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = index;
+        size--;
+    }
+
+    /**
+     * Devolve a entidade identificada por um handle, se ainda for válido.
+     * @param handle O handle.
+     * @return A entidade, ou nulo se o handle for NONE, desconhecido ou de uma entidade já destruída.
+     */
+    IGameObject resolve(long handle) {
+        int index = EntityHandle.index(handle);
+        if (handle == EntityHandle.NONE || index < 0 || index >= used
+                || generations[index] != EntityHandle.generation(handle)) {
+            return null;
+        }
+        return entities[index];
+    }
+
+    /**
+     * Devolve o número de entidades registadas.
+     * @return O número de handles válidos.
+     */
+    int size() {
+        return size;
+    }
+}
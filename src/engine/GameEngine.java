@@ -1,13 +1,37 @@
 package engine;
 
+import engine.collision.AabbTreeBroadPhase;
+import engine.collision.ContactBuffer;
+import engine.collision.IBroadPhase;
+import engine.collision.PairBuffer;
+import engine.collision.RayCastHit;
+import gameobject.CollisionLayer;
+import gameobject.EntityHandle;
+import gameobject.EntityKind;
 import gameobject.IGameObject;
-import gameobject.geometry.Point;
+import gameobject.collider.ICollider;
+import gameobject.collider.IColliderStore;
+import gameobject.geometry.BoundingBox;
+import gameobject.geometry.IPoint;
 import gameobject.transform.ITransform;
+import gameobject.transform.ITransformStore;
+import gameobject.transform.Transform;
+import gameobject.transform.TransformStore;
 
 import java.awt.*;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Iterator; // Adicionado para remoção segura
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiPredicate;
 
 /**
  * Implementação principal do motor de jogo (IGameEngine).
@@ -15,20 +39,111 @@ import java.util.Iterator; // Adicionado para remoção segura
  * atualizações de comportamento, deteção de colisões e restrição de objetos aos limites da área de jogo.
  * @author José Tico, Yasmin Dias e Guilherme Carmo
  * @version 25-05-2025
- * @inv A lista 'enabled' nunca é nula e contém todos os IGameObjects ativos.
- * @inv A lista 'disabled' nunca é nula e contém todos os IGameObjects inativos.
+ * @inv A lista 'enabled' nunca é nula e contém todos os IGameObjects ativos (cada um uma única vez).
+ * @inv A lista 'disabled' nunca é nula e contém todos os IGameObjects inativos (cada um uma única vez).
  * @inv 'bounds' define a área retangular de jogo e nunca é nulo após a construção (tem um valor padrão).
+ * @inv 'broadPhase' nunca é nulo.
+ * @inv 'colliderIndex' indexa os colisores dos objetos ativos (sincronizado a pedido, no máximo uma vez por frame).
+ * @inv 'pendingOps' associa cada objeto com operações em 'structuralCommands' aos bits dessas operações.
+ * @inv 'awake' contém os objetos de 'enabled' que não estão em repouso, mantido a cada operação estrutural.
+ * @inv Se 'partitionDirty' for falso, 'resting' contém os objetos de 'enabled' em repouso com colisor e 'restingIndex' indexa 'resting'.
+ * @inv 'workerPool' nunca é nulo.
+ * @inv Os Transform dos objetos em 'enabled' e 'disabled' estão ligados a 'transforms'.
+ * @inv Se 'colliders' não for nulo, os colisores dos objetos em 'enabled' e 'disabled' estão ligados a 'colliders'.
+ * @inv Fora da fase de atualização paralela, 'deferredCommands' e 'deferredEvents' não têm valor em nenhuma thread.
+ * @inv No fim de run, 'events' não tem eventos pendentes.
+ * @inv Cada objeto em 'enabled' ou 'disabled' tem um handle válido em 'entities'; os restantes têm EntityHandle.NONE.
+ * @inv 'enabledByKind' indexa exatamente os objetos de 'enabled', e conta os que estão em 'sleepingBodies'.
  */
 public class GameEngine {
-    private final List<IGameObject> enabled = new ArrayList<>();
-    private final List<IGameObject> disabled = new ArrayList<>();
+    // Objetos em slots contíguos: pertença e remoção (swap-and-pop) em tempo constante
+    private final SlotList<IGameObject> enabled = new SlotList<>();
+    private final SlotList<IGameObject> disabled = new SlotList<>();
+    // Handles geracionais dos objetos do motor: atribuídos ao entrar, invalidados ao serem destruídos
+    private final EntityRegistry entities = new EntityRegistry();
+    // Objetos ativos por tipo, com contadores de adormecidos: contagens por tipo em tempo constante
+    private final KindIndex enabledByKind = new KindIndex();
     private Rectangle bounds;
 
-    // Listas para adiamento de operações para evitar ConcurrentModificationException
-    private final List<IGameObject> toAddEnabled = new ArrayList<>();
-    private final List<IGameObject> toEnable = new ArrayList<>();
-    private final List<IGameObject> toDisable = new ArrayList<>();
-    private final List<IGameObject> toDestroy = new ArrayList<>();
+    // Operações estruturais (addEnabled, enable, disable, destroy) adiadas para o fim do passo, para não alterar
+    // as listas enquanto são percorridas; são aplicadas pela ordem em que foram pedidas.
+    private final CommandBuffer structuralCommands = new CommandBuffer();
+    // Operações pendentes de cada objeto (bits PENDING_*), para verificações de pertença em O(1) durante o ciclo.
+    // Mapa por identidade (endereçamento aberto) com valores Byte da cache: inserir não aloca nós nem caixas.
+    private static final byte PENDING_ADD = 1;
+    private static final byte PENDING_ENABLE = 2;
+    private static final byte PENDING_DISABLE = 4;
+    private static final byte PENDING_DESTROY = 8;
+    private final Map<IGameObject, Byte> pendingOps = new IdentityHashMap<>();
+    // Cópia dos objetos ativos percorrida em cada passo, reutilizada para não alocar uma lista por frame
+    private final List<IGameObject> updateBuffer = new ArrayList<>();
+
+    // Corpos em repouso: estáticos (setStatic) e adormecidos (sleep). Não são atualizados e ficam num índice próprio,
+    // reconstruído só quando a partição muda; só são testados contra os objetos em movimento, nunca entre si.
+    private final Set<IGameObject> staticBodies = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<IGameObject> sleepingBodies = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final SlotList<IGameObject> awake = new SlotList<>(); // Mantida a cada operação; sem reconstrução ao criar projéteis
+    private final List<IGameObject> resting = new ArrayList<>();
+    private final AabbTreeBroadPhase restingIndex = new AabbTreeBroadPhase(0);
+    private boolean partitionDirty = true;
+
+    // Deteção de colisões: broadphase configurável e buffers reutilizados entre frames.
+    // A árvore de caixas (colliderIndex) é a broadphase por omissão e serve também as consultas espaciais.
+    private final AabbTreeBroadPhase colliderIndex = new AabbTreeBroadPhase();
+    private IBroadPhase broadPhase = colliderIndex;
+    private long frameCount = 0;
+    private long indexedFrame = -1;
+    private final List<IGameObject> collidables = new ArrayList<>();
+    private final List<IGameObject> indexedObjects = new ArrayList<>();
+    private final PairBuffer candidatePairs = new PairBuffer();
+    // Contactos do passo agrupados por objeto, entregues numa única chamada a onCollision por objeto.
+    // Todas as listas são construídas antes da primeira chamada, em arrays reutilizados: a lista do objeto r são os
+    // contactOthers[contactEnds[r - 1] .. contactEnds[r]), entregues através de uma vista só de leitura, sem alocar.
+    private final ContactBuffer contacts = new ContactBuffer();
+    private IGameObject[] contactReceivers = new IGameObject[16];
+    private int[] contactEnds = new int[16];
+    private IGameObject[] contactOthers = new IGameObject[16];
+    private final ContactSlice contactView = new ContactSlice();
+    // Contactos mantidos entre passos, indexados pelos handles de cada par: distinguem o início (onCollisionEnter),
+    // a continuação (onCollisionStay) e o fim (onCollisionExit) de cada contacto, e deixam saltar o teste exato
+    // de pares que já estavam em contacto e não se moveram.
+    private final ContactCache contactCache = new ContactCache();
+    private final List<IGameObject> exitReceivers = new ArrayList<>();
+    private final List<IGameObject> exitOthers = new ArrayList<>();
+    // Pares entre dois objetos em repouso não são testados: o contacto mantém-se enquanto ambos continuarem ativos e em repouso
+    private final BiPredicate<IGameObject, IGameObject> keepRestingContact = (a, b) ->
+            isResting(a) && isResting(b) && enabled.contains(a) && enabled.contains(b)
+                    && !isPendingRemoval(a) && !isPendingRemoval(b);
+    private final EngineStats stats = new EngineStats();
+    // Dados das transformações dos objetos do motor, em arrays contíguos ou fora do heap (os Transform passam a ser vistas)
+    private final ITransformStore transforms;
+    // Dados geométricos dos colisores (centros, raios, vértices), fora do heap; nulo se cada colisor guarda os seus
+    private final IColliderStore colliders;
+
+    // Fase de atualização paralela (opcional): os objetos são divididos em segmentos contíguos de tamanho fixo.
+    // As operações estruturais pedidas durante a fase ficam no buffer do segmento e são aplicadas no fim,
+    // pela ordem dos segmentos, o que reproduz a ordem do modo sequencial.
+    // As tarefas (e os seus buffers) são reutilizadas de frame para frame: só são criadas quando o número de segmentos cresce.
+    private static final int UPDATE_SEGMENT_SIZE = 64;
+    private ForkJoinPool workerPool = ForkJoinPool.commonPool();
+    private boolean parallelUpdate = false;
+    private final List<UpdateSegment> updateSegments = new ArrayList<>();
+    private final TaskBatch taskBatch = new TaskBatch();
+    private final ThreadLocal<CommandBuffer> deferredCommands = new ThreadLocal<>();
+    private final ThreadLocal<GameEventBus> deferredEvents = new ThreadLocal<>();
+
+    // Eventos de jogo publicados durante o passo, entregues aos subscritores no fim de run
+    private final GameEventBus events = new GameEventBus();
+
+    // Fase estreita paralela (opcional): os pares candidatos são testados em segmentos de tamanho fixo e o resultado
+    // de cada par fica em pairResults[k]; os contactos são depois registados e despachados sequencialmente, pela ordem dos pares.
+    private static final int NARROW_PHASE_SEGMENT_SIZE = 256;
+    private static final byte PAIR_APART = 0;
+    private static final byte PAIR_TOUCHING = 1;
+    private static final byte PAIR_FILTERED = 2;
+    private boolean parallelNarrowPhase = false;
+    private byte[] pairResults = new byte[0];
+    private final List<NarrowPhaseSegment> narrowPhaseSegments = new ArrayList<>(); // Reutilizados de frame para frame
 
     /**
      * Constrói uma nova instância de GameEngine.
@@ -36,6 +151,35 @@ public class GameEngine {
      * @post Um novo GameEngine é criado com bounds padrão (0,0, 300,600). As listas de objetos estão vazias.
      */
     public GameEngine() {
+        this(new TransformStore());
+    }
+
+    /**
+     * Constrói uma nova instância de GameEngine que guarda as transformações dos seus objetos no armazenamento indicado
+     * (ex: um OffHeapTransformStore, para que os valores das transformações não ocupem o heap em testes de carga).
+     * @param transforms O armazenamento das transformações. Não deve ser nulo.
+     * @throws IllegalArgumentException se transforms for nulo.
+     * @post Um novo GameEngine é criado com bounds padrão (0,0, 300,600). As listas de objetos estão vazias.
+     */
+    public GameEngine(ITransformStore transforms) {
+        this(transforms, null);
+    }
+
+    /**
+     * Constrói uma nova instância de GameEngine que guarda as transformações e os dados geométricos dos colisores
+     * dos seus objetos nos armazenamentos indicados (ex: OffHeapTransformStore e OffHeapColliderStore, para que
+     * as coordenadas, ângulos, escalas e raios fiquem fora do heap; os objetos continuam no heap como vistas).
+     * @param transforms O armazenamento das transformações. Não deve ser nulo.
+     * @param colliders O armazenamento dos colisores, ou null para que cada colisor guarde os seus próprios dados.
+     * @throws IllegalArgumentException se transforms for nulo.
+     * @post Um novo GameEngine é criado com bounds padrão (0,0, 300,600). As listas de objetos estão vazias.
+     */
+    public GameEngine(ITransformStore transforms, IColliderStore colliders) {
+        if (transforms == null) {
+            throw new IllegalArgumentException("transforms não pode ser nulo");
+        }
+        this.transforms = transforms;
+        this.colliders = colliders;
         this.bounds = new Rectangle(0, 0, 300, 600);
     }
 
@@ -48,21 +192,136 @@ public class GameEngine {
         this.bounds = bounds;
     }
 
+    /**
+     * Define a broadphase usada por checkCollisions para selecionar os pares a testar.
+     * Permite, por exemplo, voltar ao teste de todos os pares (AllPairsBroadPhase) para comparação.
+     * As consultas espaciais (queryBox, queryCircle, rayCast) continuam a usar a árvore de colisores.
+     * @param broadPhase A nova broadphase. Não deve ser nula.
+     * @throws IllegalArgumentException se broadPhase for nula.
+     * @post checkCollisions passa a usar 'broadPhase'.
+     */
+    public void setBroadPhase(IBroadPhase broadPhase) {
+        if (broadPhase == null) {
+            throw new IllegalArgumentException("broadPhase não pode ser nula");
+        }
+        this.broadPhase = broadPhase;
+    }
+
+    /**
+     * Devolve a broadphase atualmente usada na deteção de colisões.
+     * @return A broadphase ativa. Nunca é nula.
+     */
+    public IBroadPhase getBroadPhase() {
+        return broadPhase;
+    }
+
+    /**
+     * Devolve o armazenamento contíguo das transformações dos objetos deste motor.
+     * @return O armazenamento de transformações do motor. Nunca é nulo.
+     */
+    public ITransformStore getTransformStore() {
+        return transforms;
+    }
+
+    /**
+     * Devolve o armazenamento dos dados geométricos dos colisores dos objetos deste motor.
+     * @return O armazenamento de colisores, ou null se cada colisor guarda os seus próprios dados.
+     */
+    public IColliderStore getColliderStore() {
+        return colliders;
+    }
+
+    /**
+     * Ativa ou desativa a fase de atualização paralela.
+     * No modo paralelo, onUpdate dos comportamentos e dos colisores e a restrição aos limites correm em
+     * várias threads (workerPool), em segmentos contíguos de objetos. Os pedidos de addEnabled, enable,
+     * disable e destroy feitos durante a fase são adiados e aplicados no fim, pela ordem dos objetos.
+     * Para que o resultado seja idêntico ao do modo sequencial, onUpdate só pode alterar o seu próprio objeto
+     * (e pedir operações estruturais ao motor); não pode alterar nem depender do estado de outros objetos,
+     * nem usar as consultas espaciais (queryBox, queryCircle, rayCast).
+     * @param parallel Verdadeiro para atualizar em paralelo; falso para o modo sequencial (por omissão).
+     * @post run passa a usar o modo indicado. Com poucos objetos (até dois segmentos) a atualização é sempre sequencial.
+     */
+    public void setParallelUpdate(boolean parallel) {
+        this.parallelUpdate = parallel;
+    }
+
+    /**
+     * Ativa ou desativa a fase estreita paralela da deteção de colisões.
+     * No modo paralelo, a filtragem por categorias e o teste exato isColliding de todos os pares candidatos
+     * correm em várias threads (workerPool); o despacho de onCollision continua sequencial e pela mesma ordem,
+     * pelo que o comportamento do jogo e os contadores de getStats() não mudam.
+     * @param parallel Verdadeiro para testar os pares em paralelo; falso para o modo sequencial (por omissão).
+     * @post checkCollisions passa a usar o modo indicado. Com poucos pares (até dois segmentos) o teste é sempre sequencial.
+     */
+    public void setParallelNarrowPhase(boolean parallel) {
+        this.parallelNarrowPhase = parallel;
+    }
+
+    /**
+     * Define o ForkJoinPool usado pelas fases paralelas do motor.
+     * @param pool O pool de threads. Não deve ser nulo.
+     * @throws IllegalArgumentException se pool for nulo.
+     * @post As fases paralelas passam a correr em 'pool'.
+     */
+    public void setWorkerPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool não pode ser nulo");
+        }
+        this.workerPool = pool;
+    }
+
+    /**
+     * Devolve o barramento de eventos de jogo deste motor, onde os interessados (pontuação, HUD, ...) subscrevem eventos.
+     * @return O barramento de eventos. Nunca é nulo.
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * Publica um evento de jogo no barramento do motor. É entregue aos subscritores no fim do passo atual
+     * (ou na próxima chamada a getEvents().dispatch(), se for publicado fora de run).
+     * Se for chamado durante a atualização paralela, o evento é guardado no segmento e transferido no fim da fase,
+     * pela ordem dos objetos, como no modo sequencial.
+     * @param type O tipo do evento. Não deve ser nulo.
+     * @param source O handle da entidade de origem (ver IGameObject.handle()), ou EntityHandle.NONE.
+     * @param value O valor associado ao evento (ver GameEventType).
+     * @post O evento está pendente no barramento (ou no buffer do segmento, durante a atualização paralela).
+     */
+    public void publish(GameEventType type, long source, int value) {
+        GameEventBus deferred = deferredEvents.get();
+        (deferred != null ? deferred : events).publish(type, source, value);
+    }
+
+    /**
+     * Devolve os contadores de desempenho do último passo executado.
+     * @return O objeto EngineStats do motor (atualizado em cada chamada a run).
+     */
+    public EngineStats getStats() {
+        return stats;
+    }
+
     /**
      * Adiciona um IGameObject à lista de espera para ser ativado no próximo ciclo de processamento.
      * O objeto é associado a este motor e o seu comportamento é inicializado.
      * @param go O IGameObject a ser adicionado e ativado. Não deve ser nulo.
-     * @post 'go' é adicionado à lista toAddEnabled para processamento posterior.
+     * @post Se 'go' ainda não estiver ativo nem à espera de o ser, a adição é registada para processamento posterior.
      * @post O motor de jogo ('this') é definido no 'go'.
      * @post O comportamento de 'go' é vinculado ao motor de jogo.
+     * @post Se for chamado durante a atualização paralela, a operação é adiada para o fim dessa fase.
      */
     public void addEnabled(IGameObject go) {
-        if (go != null && !enabled.contains(go) && !toAddEnabled.contains(go)) {
+        if (isDeferring()) {
+            deferredCommands.get().add(CommandBuffer.ADD_ENABLED, go);
+            return;
+        }
+        if (go != null && !enabled.contains(go) && !hasPending(go, PENDING_ADD)) {
             go.setEngine(this); // Associa o motor ao GO
             if (go.behaviour() != null) {
                 go.behaviour().linkGameEngine(this); // Vincula o comportamento ao motor
             }
-            toAddEnabled.add(go);
+            request(CommandBuffer.ADD_ENABLED, go, PENDING_ADD);
         }
     }
 
@@ -83,6 +342,8 @@ public class GameEngine {
                 go.behaviour().onInit();
                 go.behaviour().onDisabled();
             }
+            attachTransform(go);
+            assignHandle(go);
             disabled.add(go);
         }
     }
@@ -90,107 +351,385 @@ public class GameEngine {
     /**
      * Adiciona um IGameObject à lista de espera para ser ativado (movido de inativo para ativo) no próximo ciclo.
      * @param go O IGameObject a ser ativado. Não deve ser nulo.
-     * @post 'go' é adicionado à lista toEnable.
+     * @post Se 'go' estiver inativo e ainda não estiver à espera de ser ativado, a ativação é registada.
+     * @post Se for chamado durante a atualização paralela, a operação é adiada para o fim dessa fase.
      */
     public void enable(IGameObject go) {
-        if (go != null && disabled.contains(go) && !toEnable.contains(go)) {
-            toEnable.add(go);
+        if (isDeferring()) {
+            deferredCommands.get().add(CommandBuffer.ENABLE, go);
+            return;
+        }
+        if (go != null && disabled.contains(go) && !hasPending(go, PENDING_ENABLE)) {
+            request(CommandBuffer.ENABLE, go, PENDING_ENABLE);
         }
     }
 
     /**
      * Adiciona um IGameObject à lista de espera para ser desativado (movido de ativo para inativo) no próximo ciclo.
      * @param go O IGameObject a ser desativado. Não deve ser nulo.
-     * @post 'go' é adicionado à lista toDisable.
+     * @post Se 'go' estiver ativo e ainda não estiver à espera de ser desativado, a desativação é registada.
+     * @post Se for chamado durante a atualização paralela, a operação é adiada para o fim dessa fase.
      */
     public void disable(IGameObject go) {
-        if (go != null && enabled.contains(go) && !toDisable.contains(go)) {
-            toDisable.add(go);
+        if (isDeferring()) {
+            deferredCommands.get().add(CommandBuffer.DISABLE, go);
+            return;
+        }
+        if (go != null && enabled.contains(go) && !hasPending(go, PENDING_DISABLE)) {
+            request(CommandBuffer.DISABLE, go, PENDING_DISABLE);
         }
     }
 
     /**
      * Adiciona um IGameObject à lista de espera para ser destruído no próximo ciclo.
      * @param go O IGameObject a ser destruído. Não deve ser nulo.
-     * @post 'go' é adicionado à lista toDestroy.
+     * @post Se 'go' ainda não estiver à espera de ser destruído, a destruição é registada.
+     * @post Se for chamado durante a atualização paralela, a operação é adiada para o fim dessa fase.
      */
     public void destroy(IGameObject go) {
-        if (go != null && !toDestroy.contains(go)) {
-            toDestroy.add(go);
+        if (isDeferring()) {
+            deferredCommands.get().add(CommandBuffer.DESTROY, go);
+            return;
+        }
+        if (go != null && !hasPending(go, PENDING_DESTROY)) {
+            request(CommandBuffer.DESTROY, go, PENDING_DESTROY);
+        }
+    }
+
+    /**
+     * Regista uma operação estrutural para o fim do passo e marca-a como pendente para o objeto.
+     * @param op O código da operação (CommandBuffer).
+     * @param go O objeto alvo. Não deve ser nulo.
+     * @param pendingBit O bit PENDING_* correspondente.
+     * @post A operação é a última de 'structuralCommands' e hasPending(go, pendingBit).
+     */
+    private void request(byte op, IGameObject go, byte pendingBit) {
+        structuralCommands.add(op, go);
+        Byte bits = pendingOps.get(go);
+        pendingOps.put(go, (byte) ((bits == null ? 0 : bits) | pendingBit));
+    }
+
+    /**
+     * Verifica, em tempo constante, se um objeto tem pendente alguma das operações indicadas.
+     * @param go O objeto.
+     * @param mask Os bits PENDING_* a verificar.
+     * @return Verdadeiro se 'go' tiver pendente pelo menos uma dessas operações.
+     */
+    private boolean hasPending(IGameObject go, int mask) {
+        Byte bits = pendingOps.get(go);
+        return bits != null && (bits & mask) != 0;
+    }
+
+    /**
+     * Marca ou desmarca um objeto como estático. Um objeto estático nunca se move: não é atualizado
+     * (nem o comportamento, nem o colisor) e só é testado contra os objetos em movimento, num índice à parte.
+     * A marcação mantém-se se o objeto for desativado e é esquecida quando é destruído.
+     * @param go O objeto. Não deve ser nulo.
+     * @param isStatic Verdadeiro para o marcar como estático; falso para voltar a ser dinâmico.
+     * @post isStatic(go) == isStatic (no fim da fase, se for chamado durante a atualização paralela).
+     */
+    public void setStatic(IGameObject go, boolean isStatic) {
+        if (isDeferring()) {
+            deferredCommands.get().add(isStatic ? CommandBuffer.MAKE_STATIC : CommandBuffer.MAKE_DYNAMIC, go);
+            return;
+        }
+        if (go != null && (isStatic ? staticBodies.add(go) : staticBodies.remove(go))) {
+            partitionDirty = true;
+        }
+    }
+
+    /**
+     * Indica se um objeto está marcado como estático.
+     * @param go O objeto.
+     * @return Verdadeiro se 'go' foi marcado com setStatic(go, true).
+     */
+    public boolean isStatic(IGameObject go) {
+        return staticBodies.contains(go);
+    }
+
+    /**
+     * Adormece um objeto que deixou de se mover (ex: um inimigo congelado). Enquanto dorme, é tratado como
+     * estático: sai da lista de atualização e só é testado contra os objetos em movimento.
+     * O objeto não deve ser movido enquanto dorme; para isso deve ser acordado com wake().
+     * @param go O objeto. Não deve ser nulo.
+     * @post isSleeping(go) (no fim da fase, se for chamado durante a atualização paralela).
+     */
+    public void sleep(IGameObject go) {
+        if (isDeferring()) {
+            deferredCommands.get().add(CommandBuffer.SLEEP, go);
+            return;
+        }
+        if (go != null && sleepingBodies.add(go)) {
+            partitionDirty = true;
+            if (enabled.contains(go)) {
+                enabledByKind.setSleeping(go, true);
+            }
+        }
+    }
+
+    /**
+     * Acorda um objeto adormecido, que volta a ser atualizado a partir do passo seguinte.
+     * @param go O objeto. Não deve ser nulo.
+     * @post !isSleeping(go) (no fim da fase, se for chamado durante a atualização paralela).
+     */
+    public void wake(IGameObject go) {
+        if (isDeferring()) {
+            deferredCommands.get().add(CommandBuffer.WAKE, go);
+            return;
+        }
+        if (sleepingBodies.remove(go)) {
+            partitionDirty = true;
+            if (enabled.contains(go)) {
+                enabledByKind.setSleeping(go, false);
+            }
+        }
+    }
+
+    /**
+     * Indica se um objeto está adormecido.
+     * @param go O objeto.
+     * @return Verdadeiro se 'go' foi adormecido com sleep() e ainda não foi acordado, desativado nem destruído.
+     */
+    public boolean isSleeping(IGameObject go) {
+        return sleepingBodies.contains(go);
+    }
+
+    /**
+     * Indica se a thread atual está a executar um segmento da atualização paralela, caso em que as
+     * operações estruturais são guardadas no buffer desse segmento, para serem aplicadas no fim da fase.
+     * A verificação é feita antes de criar a operação adiada, para que fora dessa fase não haja alocação.
+     * @return Verdadeiro se as operações devem ser adiadas; falso se devem ser executadas já.
+     */
+    private boolean isDeferring() {
+        return deferredCommands.get() != null;
+    }
+
+    /**
+     * Falha se for chamado durante a atualização paralela, onde o estado partilhado do motor não pode ser alterado.
+     * @throws IllegalStateException se a thread atual estiver a executar um segmento da atualização paralela.
+     */
+    private void requireNotInParallelUpdate() {
+        if (deferredCommands.get() != null) {
+            throw new IllegalStateException("Consultas espaciais não são permitidas durante a atualização paralela");
         }
     }
 
     /**
      * Destrói todos os IGameObjects (ativos e inativos), adicionando-os à lista de espera para destruição.
-     * @post Todos os objetos em 'enabled' e 'disabled' são adicionados à lista toDestroy.
+     * @post A destruição de todos os objetos em 'enabled' e 'disabled' fica registada.
      */
     public void destroyAll() {
-        for (IGameObject go : new ArrayList<>(enabled)) { // Itera sobre cópia para evitar CME se toDestroy fosse processado imediatamente
-            if (!toDestroy.contains(go)) toDestroy.add(go);
+        // Sem cópias: destroy só regista a operação, pelo que as listas não mudam durante o ciclo
+        for (int i = 0; i < enabled.size(); i++) {
+            destroy(enabled.get(i));
         }
-        for (IGameObject go : new ArrayList<>(disabled)) {
-            if (!toDestroy.contains(go)) toDestroy.add(go);
+        for (int i = 0; i < disabled.size(); i++) {
+            destroy(disabled.get(i));
         }
     }
 
     /**
-     * Processa as listas de espera (adição, ativação, desativação, destruição) de GameObjects.
+     * Aplica as operações estruturais pendentes (adição, ativação, desativação, destruição) de GameObjects,
+     * pela ordem em que foram pedidas. Cada operação custa tempo constante (pertença e remoção nas SlotList).
      * Este método é chamado internamente, tipicamente no final do ciclo 'run'.
-     * @post As operações pendentes nas listas toAddEnabled, toEnable, toDisable e toDestroy são executadas.
+     * @post As operações pendentes foram aplicadas e 'structuralCommands' e 'pendingOps' estão vazios.
+     * @post Se o conjunto de objetos ativos mudou, a árvore de colisores volta a ser sincronizada na próxima consulta.
+     * @post A partição só é marcada para reconstrução se um objeto em repouso entrou ou saiu dos objetos ativos.
      */
     private void processPendingOperations() {
-        // Adicionar e ativar novos
-        for (IGameObject go : toAddEnabled) {
-            if (!enabled.contains(go)) {
-                enabled.add(go);
-                if (go.behaviour() != null) {
-                    go.behaviour().onInit(); // Chamado aqui para garantir que o engine está definido
-                    go.behaviour().onEnabled();
-                }
+        if (structuralCommands.size() == 0) return;
+        indexedFrame = -1;
+        // O tamanho é relido em cada iteração: operações pedidas pelas callbacks são aplicadas nesta mesma passagem
+        for (int k = 0; k < structuralCommands.size(); k++) {
+            IGameObject go = structuralCommands.target(k);
+            switch (structuralCommands.op(k)) {
+                case CommandBuffer.ADD_ENABLED -> applyAddEnabled(go);
+                case CommandBuffer.ENABLE -> applyEnable(go);
+                case CommandBuffer.DISABLE -> applyDisable(go);
+                case CommandBuffer.DESTROY -> applyDestroy(go);
+                default -> throw new IllegalStateException("Operação estrutural inesperada: " + structuralCommands.op(k));
             }
         }
-        toAddEnabled.clear();
+        structuralCommands.clear();
+        pendingOps.clear();
+    }
 
-        // Ativar existentes
-        for (IGameObject go : toEnable) {
-            if (disabled.remove(go)) {
-                if (!enabled.contains(go)) {
-                    enabled.add(go);
-                    if (go.behaviour() != null) {
-                        go.behaviour().onEnabled();
-                    }
-                }
-            }
+    /**
+     * Ativa um objeto novo.
+     * @param go O objeto.
+     * @post Se 'go' não estava ativo, está em 'enabled', ligado ao armazenamento, e onInit() e onEnabled() foram chamados.
+     */
+    private void applyAddEnabled(IGameObject go) {
+        if (enabled.contains(go)) return;
+        attachTransform(go);
+        assignHandle(go);
+        enabled.add(go);
+        enabledByKind.add(go, sleepingBodies.contains(go));
+        joinPartition(go);
+        if (go.behaviour() != null) {
+            go.behaviour().onInit(); // Chamado aqui para garantir que o engine está definido
+            go.behaviour().onEnabled();
         }
-        toEnable.clear();
+    }
 
-        // Desativar existentes
-        for (IGameObject go : toDisable) {
-            if (enabled.remove(go)) {
-                if (!disabled.contains(go)) {
-                    disabled.add(go);
-                    if (go.behaviour() != null) {
-                        go.behaviour().onDisabled();
-                    }
-                }
+    /**
+     * Move um objeto inativo para os objetos ativos.
+     * @param go O objeto.
+     * @post Se 'go' estava inativo, está em 'enabled' e onEnabled() foi chamado.
+     */
+    private void applyEnable(IGameObject go) {
+        if (!disabled.remove(go) || !enabled.add(go)) return;
+        enabledByKind.add(go, sleepingBodies.contains(go));
+        joinPartition(go);
+        if (go.behaviour() != null) {
+            go.behaviour().onEnabled();
+        }
+    }
+
+    /**
+     * Move um objeto ativo para os objetos inativos.
+     * @param go O objeto.
+     * @post Se 'go' estava ativo, está em 'disabled', não está adormecido e onDisabled() foi chamado.
+     */
+    private void applyDisable(IGameObject go) {
+        if (!enabled.remove(go)) return;
+        leavePartition(go);
+        // Volta a ser atualizado quando for reativado
+        enabledByKind.remove(go, sleepingBodies.remove(go));
+        if (disabled.add(go) && go.behaviour() != null) {
+            go.behaviour().onDisabled();
+        }
+    }
+
+    /**
+     * Destrói um objeto, ativo ou inativo.
+     * @param go O objeto.
+     * @post 'go' não está em 'enabled' nem em 'disabled'; se estava, o seu Transform foi desligado, o seu handle foi
+     * invalidado (go.handle() == EntityHandle.NONE) e onDestroy() foi chamado.
+     */
+    private void applyDestroy(IGameObject go) {
+        boolean removedFromEnabled = enabled.remove(go);
+        boolean removedFromDisabled = disabled.remove(go);
+        if (removedFromEnabled) {
+            leavePartition(go); // Antes de esquecer se estava em repouso
+        }
+        staticBodies.remove(go); // Objetos reutilizados (ex: projéteis de um pool) não herdam o estado anterior
+        boolean wasSleeping = sleepingBodies.remove(go);
+        if (removedFromEnabled) {
+            enabledByKind.remove(go, wasSleeping);
+        }
+
+        if (removedFromEnabled || removedFromDisabled) {
+            if (go.transform() instanceof Transform t) {
+                t.detach(); // Devolve o slot; o objeto continua utilizável fora do motor
+            }
+            if (colliders != null && go.collider() != null) {
+                go.collider().detach();
             }
+            if (go.behaviour() != null) {
+                go.behaviour().onDestroy(); // Ainda com o handle, para que possa publicar eventos com a sua origem
+            }
+            entities.release(go.handle()); // Handles guardados deixam de resolver, mesmo que o objeto volte de um pool
+            go.setHandle(EntityHandle.NONE);
         }
-        toDisable.clear();
+    }
 
-        // Destruir
-        for (IGameObject go : toDestroy) {
-            boolean removedFromEnabled = enabled.remove(go);
-            boolean removedFromDisabled = disabled.remove(go);
-            toAddEnabled.remove(go); // Remover também das listas de adição/ativação pendentes
-            toEnable.remove(go);
+    /**
+     * Atribui um handle geracional a um objeto que entra no motor, se ainda não tiver um válido.
+     * @param go O objeto. Não deve ser nulo.
+     * @post resolve(go.handle()) == go.
+     */
+    private void assignHandle(IGameObject go) {
+        if (entities.resolve(go.handle()) != go) {
+            go.setHandle(entities.register(go));
+        }
+    }
 
-            if (removedFromEnabled || removedFromDisabled) {
-                if (go.behaviour() != null) {
-                    go.behaviour().onDestroy();
-                }
+    /**
+     * Liga o Transform de um objeto ao armazenamento contíguo do motor, se for um Transform, e o seu colisor
+     * ao armazenamento de colisores, se o motor tiver um.
+     * Outras implementações de ITransform continuam a guardar os seus próprios valores.
+     * @param go O objeto. Não deve ser nulo.
+     * @post Se go.transform() for um Transform, os seus valores estão num slot de 'transforms'.
+     * @post Se 'colliders' não for nulo, o colisor de 'go' (se houver) está ligado a 'colliders'.
+     */
+    private void attachTransform(IGameObject go) {
+        if (go.transform() instanceof Transform t) {
+            t.attach(transforms);
+        }
+        if (colliders != null && go.collider() != null) {
+            go.collider().attach(colliders);
+        }
+    }
+
+    /**
+     * Junta um objeto que acabou de ficar ativo à partição: um objeto em movimento entra em 'awake' sem reconstruir
+     * nada; um objeto em repouso obriga a reconstruir 'resting' e o seu índice.
+     * @param go O objeto, já em 'enabled'.
+     * @post 'go' está em 'awake', ou 'partitionDirty' é verdadeiro.
+     */
+    private void joinPartition(IGameObject go) {
+        if (isResting(go)) {
+            partitionDirty = true;
+        } else {
+            awake.add(go);
+        }
+    }
+
+    /**
+     * Retira da partição um objeto que deixou de estar ativo, com o mesmo critério que joinPartition.
+     * @param go O objeto, já fora de 'enabled' e ainda com o seu estado de repouso.
+     * @post 'go' não está em 'awake'; se estava em repouso, 'partitionDirty' é verdadeiro.
+     */
+    private void leavePartition(IGameObject go) {
+        if (isResting(go)) {
+            partitionDirty = true;
+        } else {
+            awake.remove(go);
+        }
+    }
+
+    /**
+     * Reparte os objetos ativos entre os que estão em movimento e os que estão em repouso (estáticos ou adormecidos),
+     * e reconstrói o índice dos objetos em repouso. Só faz trabalho quando a partição mudou.
+     * @post 'awake' contém os objetos ativos em movimento e 'resting' os objetos ativos em repouso com colisor,
+     * ambos pela ordem de 'enabled'; 'restingIndex' indexa 'resting'. Conta a reconstrução em 'stats'.
+     */
+    private void updatePartition() {
+        if (!partitionDirty) return;
+        awake.clear();
+        resting.clear();
+        for (int i = 0; i < enabled.size(); i++) {
+            IGameObject go = enabled.get(i);
+            if (!isResting(go)) {
+                awake.add(go);
+            } else if (go.collider() != null) {
+                go.collider().onUpdate(); // Posição final do colisor, que deixa de ser atualizado
+                resting.add(go);
             }
         }
-        toDestroy.clear();
+        restingIndex.update(resting);
+        indexedFrame = -1; // A árvore de colisores só indexa os objetos em movimento
+        partitionDirty = false;
+        stats.partitionRebuilds++;
+    }
+
+    /**
+     * Indica se um objeto está em repouso (estático ou adormecido).
+     * @param go O objeto.
+     * @return Verdadeiro se 'go' é estático ou está adormecido.
+     */
+    private boolean isResting(IGameObject go) {
+        return staticBodies.contains(go) || sleepingBodies.contains(go);
+    }
+
+    /**
+     * Verifica, em tempo constante, se um objeto foi marcado para destruição ou desativação neste ciclo.
+     * @param go O IGameObject a verificar.
+     * @return Verdadeiro se 'go' estiver à espera de ser destruído ou desativado.
+     */
+    private boolean isPendingRemoval(IGameObject go) {
+        return hasPending(go, PENDING_DESTROY | PENDING_DISABLE);
     }
 
 
@@ -200,68 +739,618 @@ public class GameEngine {
      * processa operações pendentes de gestão de objetos (adição, remoção, etc.).
      * @param dt O tempo decorrido desde o último passo do ciclo (delta time), em segundos. Deve ser não negativo.
      * @param input O estado atual dos inputs do jogo. Pode ser nulo se não houver inputs a processar.
-     * @post Todos os IGameObjects em 'enabled' são atualizados (comportamento, colisor).
+     * @post Todos os IGameObjects em 'enabled' que não estão em repouso são atualizados (comportamento, colisor).
      * @post As colisões entre objetos ativos são verificadas e tratadas.
      * @post Os objetos ativos são restringidos aos 'bounds' do motor, se aplicável pela sua lógica.
      * @post Todas as operações pendentes de adição, remoção, ativação e desativação de GameObjects são executadas.
+     * @post Os eventos publicados durante o passo foram entregues aos subscritores.
      */
     public void run(double dt, IInputEvent input) {
-        // Usar Iterator para permitir remoção segura durante a iteração, se necessário,
-        // ou iterar sobre uma cópia da lista para atualizações. A cópia é mais simples.
-        List<IGameObject> currentEnabledObjects = new ArrayList<>(enabled);
-
-        for (IGameObject go : currentEnabledObjects) {
-            // Verifica se o objeto ainda está na lista principal 'enabled'
-            // (pode ter sido marcado para destruição ou desativação por outro objeto no mesmo frame)
-            if (enabled.contains(go) && !toDestroy.contains(go) && !toDisable.contains(go)) {
-                if (go.behaviour() != null) {
-                    go.behaviour().onUpdate(dt, input);
-                }
-                if (go.collider() != null) {
-                    go.collider().onUpdate();
+        stats.reset();
+        frameCount++;
+        updatePartition();
+        // Itera sobre uma cópia dos objetos em movimento, para que as operações pedidas durante as atualizações
+        // não alterem as listas do motor. O buffer é reutilizado e preenchido sem cópias intermédias.
+        // Os objetos em repouso (estáticos ou adormecidos) não são atualizados.
+        List<IGameObject> currentEnabledObjects = updateBuffer;
+        currentEnabledObjects.clear();
+        for (int i = 0; i < awake.size(); i++) {
+            currentEnabledObjects.add(awake.get(i));
+        }
+
+        if (parallelUpdate && currentEnabledObjects.size() > 2 * UPDATE_SEGMENT_SIZE) {
+            updateInParallel(currentEnabledObjects, dt, input);
+        } else {
+            for (int i = 0; i < currentEnabledObjects.size(); i++) {
+                IGameObject go = currentEnabledObjects.get(i);
+                // Verifica se o objeto ainda está na lista principal 'enabled'
+                // (pode ter sido marcado para destruição ou desativação por outro objeto no mesmo frame)
+                if (!isPendingRemoval(go) && updateObject(go, dt, input)) {
+                    stats.skippedColliderUpdates++;
                 }
-                // ClampToBounds pode ser chamado aqui ou dentro de onUpdate do comportamento, se específico.
-                // Se for uma regra geral do motor, aqui é apropriado.
-                clampToBounds(go); // Descomentado, pois parece ser uma função geral do motor
             }
         }
+        currentEnabledObjects.clear(); // Não retém objetos destruídos até ao frame seguinte
         checkCollisions(); // Verifica colisões após todas as atualizações de posição
         processPendingOperations(); // Processa adições, remoções, etc., no final do ciclo
+        events.dispatch(); // Entrega os eventos do passo com as listas já atualizadas
+    }
+
+
+    /**
+     * Atualiza um objeto: comportamento, colisor e restrição aos limites.
+     * @param go O objeto a atualizar. Não deve ser nulo.
+     * @param dt O tempo do passo, em segundos.
+     * @param input O estado dos inputs. Pode ser nulo.
+     * @return Verdadeiro se a atualização do colisor foi saltada por a transformação não ter mudado.
+     * @post 'go' foi atualizado para o passo atual.
+     */
+    private boolean updateObject(IGameObject go, double dt, IInputEvent input) {
+        if (go.behaviour() != null) {
+            go.behaviour().onUpdate(dt, input);
+        }
+        boolean colliderSkipped = false;
+        ICollider collider = go.collider();
+        if (collider != null) {
+            // Colisores cuja transformação não mudou (ex: obstáculos, inimigos congelados) não são recalculados
+            colliderSkipped = collider.isUpToDate();
+            if (!colliderSkipped) {
+                collider.onUpdate();
+            }
+        }
+        // ClampToBounds pode ser chamado aqui ou dentro de onUpdate do comportamento, se específico.
+        // Se for uma regra geral do motor, aqui é apropriado.
+        clampToBounds(go); // Descomentado, pois parece ser uma função geral do motor
+        return colliderSkipped;
+    }
+
+    /**
+     * Atualiza os objetos em paralelo, em segmentos contíguos de UPDATE_SEGMENT_SIZE objetos.
+     * Os objetos marcados para remoção antes da fase não são atualizados. As operações estruturais pedidas
+     * durante a fase são aplicadas no fim, segmento a segmento e pela ordem em que foram pedidas,
+     * ou seja, pela mesma ordem do modo sequencial.
+     * @param objects Os objetos a atualizar, pela ordem de 'enabled'. Não deve ser nula.
+     * @param dt O tempo do passo, em segundos.
+     * @param input O estado dos inputs. Pode ser nulo.
+     * @post Todos os objetos não marcados para remoção foram atualizados e as operações adiadas foram aplicadas.
+     */
+    private void updateInParallel(List<IGameObject> objects, double dt, IInputEvent input) {
+        int n = objects.size();
+        int segmentCount = (n + UPDATE_SEGMENT_SIZE - 1) / UPDATE_SEGMENT_SIZE;
+        while (updateSegments.size() < segmentCount) {
+            updateSegments.add(new UpdateSegment());
+        }
+        for (int s = 0; s < segmentCount; s++) {
+            int from = s * UPDATE_SEGMENT_SIZE;
+            updateSegments.get(s).prepare(objects, from, Math.min(n, from + UPDATE_SEGMENT_SIZE), dt, input);
+        }
+        invokeAllInPool(updateSegments, segmentCount);
+        for (int s = 0; s < segmentCount; s++) {
+            UpdateSegment segment = updateSegments.get(s);
+            stats.skippedColliderUpdates += segment.skippedColliderUpdates;
+            replay(segment.commands);
+            segment.commands.clear(); // Pronto para o frame seguinte, sem reter objetos
+            segment.events.drainTo(events);
+            segment.objects = null;
+            segment.input = null;
+        }
+    }
+
+    /**
+     * Aplica as operações adiadas por um segmento da atualização paralela, chamando os métodos públicos
+     * correspondentes pela ordem em que foram pedidas (como se tivessem sido pedidas no modo sequencial).
+     * @param commands As operações adiadas. Não deve ser nulo.
+     * @post Cada operação foi pedida ao motor.
+     */
+    private void replay(CommandBuffer commands) {
+        for (int k = 0; k < commands.size(); k++) {
+            IGameObject go = commands.target(k);
+            switch (commands.op(k)) {
+                case CommandBuffer.ADD_ENABLED -> addEnabled(go);
+                case CommandBuffer.ENABLE -> enable(go);
+                case CommandBuffer.DISABLE -> disable(go);
+                case CommandBuffer.DESTROY -> destroy(go);
+                case CommandBuffer.SLEEP -> sleep(go);
+                case CommandBuffer.WAKE -> wake(go);
+                case CommandBuffer.MAKE_STATIC -> setStatic(go, true);
+                case CommandBuffer.MAKE_DYNAMIC -> setStatic(go, false);
+                default -> throw new IllegalStateException("Operação estrutural inesperada: " + commands.op(k));
+            }
+        }
+    }
+
+    /**
+     * Executa as primeiras 'count' tarefas de uma lista no workerPool e espera que terminem.
+     * As tarefas devem ter sido preparadas (reinicializadas) para este frame.
+     * @param tasks As tarefas. Não deve ser nula.
+     * @param count O número de tarefas a executar. Deve estar em [1, tasks.size()].
+     * @post As tarefas tasks[0..count) terminaram.
+     */
+    private void invokeAllInPool(List<? extends RecursiveAction> tasks, int count) {
+        taskBatch.reinitialize();
+        taskBatch.tasks = tasks;
+        taskBatch.count = count;
+        try {
+            workerPool.invoke(taskBatch);
+        } finally {
+            taskBatch.tasks = null;
+        }
     }
 
+    /**
+     * Tarefa reutilizável que executa um lote de tarefas em paralelo: as restantes são lançadas (fork),
+     * a primeira é executada na própria thread e, no fim, espera-se por todas, pela ordem inversa do lançamento.
+     */
+    private static final class TaskBatch extends RecursiveAction {
+        private List<? extends RecursiveAction> tasks;
+        private int count;
+
+        @Override
+        protected void compute() {
+            for (int i = 1; i < count; i++) {
+                tasks.get(i).fork();
+            }
+            tasks.get(0).invoke();
+            for (int i = count - 1; i > 0; i--) {
+                tasks.get(i).join();
+            }
+        }
+    }
+
+    /**
+     * Tarefa que atualiza um segmento contíguo de objetos, guardando em buffers próprios
+     * as operações estruturais pedidas e os eventos publicados pelos seus comportamentos.
+     * É reutilizada de frame para frame (ver prepare); os buffers são esvaziados depois de aplicados.
+     */
+    private final class UpdateSegment extends RecursiveAction {
+        private List<IGameObject> objects;
+        private int from, to;
+        private double dt;
+        private IInputEvent input;
+        private final CommandBuffer commands = new CommandBuffer();
+        private final GameEventBus events = new GameEventBus();
+        private int skippedColliderUpdates;
+
+        /**
+         * Prepara a tarefa para atualizar os objetos objects[from..to) neste frame.
+         * @param objects A lista de objetos a atualizar.
+         * @param from O primeiro índice (inclusivo).
+         * @param to O último índice (exclusivo).
+         * @param dt O tempo do passo, em segundos.
+         * @param input O estado dos inputs. Pode ser nulo.
+         * @post A tarefa pode ser executada de novo, com os contadores a zero.
+         */
+        void prepare(List<IGameObject> objects, int from, int to, double dt, IInputEvent input) {
+            reinitialize();
+            this.objects = objects;
+            this.from = from;
+            this.to = to;
+            this.dt = dt;
+            this.input = input;
+            this.skippedColliderUpdates = 0;
+        }
+
+        @Override
+        protected void compute() {
+            deferredCommands.set(commands);
+            deferredEvents.set(events);
+            try {
+                for (int i = from; i < to; i++) {
+                    IGameObject go = objects.get(i);
+                    if (!isPendingRemoval(go) && updateObject(go, dt, input)) {
+                        skippedColliderUpdates++;
+                    }
+                }
+            } finally {
+                deferredCommands.remove();
+                deferredEvents.remove();
+            }
+        }
+    }
 
     /**
      * Verifica e processa colisões entre todos os objetos de jogo ativos.
-     * Quando uma colisão é detetada, o método onCollision() dos comportamentos dos objetos envolvidos é chamado.
-     * Itera sobre uma cópia da lista de objetos ativos para evitar problemas de modificação concorrente se
-     * as callbacks de colisão modificarem as listas de objetos do motor.
-     * @post Os métodos onCollision() dos IBehaviours dos objetos em 'enabled' que colidiram são invocados.
+     * A broadphase configurada (por omissão a árvore de colisores, AabbTreeBroadPhase) seleciona os pares candidatos;
+     * só esses chegam ao teste exato isColliding. Os pares são despachados pela mesma ordem (i, j)
+     * do ciclo duplo original, pelo que o resultado não depende da broadphase escolhida.
+     * Os pares excluídos pelas categorias/máscaras de colisão (CollisionLayer) são descartados antes do teste exato.
+     * Os contactos encontrados são comparados com os do passo anterior (ver dispatchContactChanges), para chamar
+     * onCollisionEnter, onCollisionStay e onCollisionExit; um par que já estava em contacto e cujos objetos não mudaram
+     * desde então é dado como em contacto sem teste exato.
+     * Os contactos são depois agrupados por objeto e, no fim, o método onCollision() do comportamento de cada objeto
+     * em contacto é chamado uma única vez, com todos os seus contactos (ver dispatchContacts).
+     * Com setParallelNarrowPhase(true), os testes exatos correm em paralelo antes do despacho (ver testPairsInParallel).
+     * Só os objetos em movimento passam pela broadphase; os objetos em repouso (estáticos ou adormecidos) ficam
+     * num índice à parte, consultado com a caixa de cada objeto em movimento, pelo que os pares entre dois objetos
+     * em repouso nunca são testados.
+     * @post onCollisionEnter/onCollisionStay foram invocados para cada contacto e onCollisionExit para cada contacto terminado.
+     * @post O método onCollision() do IBehaviour de cada objeto em 'enabled' que colidiu foi invocado uma vez.
+     * @post Os contadores de colisão de getStats() refletem este passo.
      */
     public void checkCollisions() {
-        List<IGameObject> gameObjectsToCheck = new ArrayList<>(enabled); // Trabalha com uma cópia
-        int size = gameObjectsToCheck.size();
-
-        for (int i = 0; i < size; i++) {
-            IGameObject a = gameObjectsToCheck.get(i);
-            // Garante que 'a' ainda está ativo e não foi marcado para destruição/desativação neste ciclo
-            if (!enabled.contains(a) || toDestroy.contains(a) || toDisable.contains(a)) continue;
-
-            for (int j = i + 1; j < size; j++) {
-                IGameObject b = gameObjectsToCheck.get(j);
-                // Garante que 'b' ainda está ativo e não foi marcado para destruição/desativação
-                if (!enabled.contains(b) || toDestroy.contains(b) || toDisable.contains(b)) continue;
-
-                if (a.collider() != null && b.collider() != null && a.collider().isColliding(b.collider())) {
-                    // System.out.println("Colisão detectada entre " + a.name() + " e " + b.name()); // Linha de depuração
-                    if (a.behaviour() != null) a.behaviour().onCollision(List.of(b));
-                    if (b.behaviour() != null) b.behaviour().onCollision(List.of(a));
-                    // As consequências da colisão (ex: destruição de 'a' ou 'b')
-                    // serão tratadas pelas suas lógicas de onCollision e processadas por processPendingOperations.
+        updatePartition();
+        collectCollidables(collidables);
+
+        candidatePairs.clear();
+        broadPhase.findCandidatePairs(collidables, candidatePairs);
+        if (broadPhase == colliderIndex) {
+            indexedFrame = frameCount; // A árvore acabou de ser sincronizada
+        }
+        findRestingPairs();
+        stats.collidableObjects = collidables.size();
+        stats.restingObjects = enabled.size() - awake.size();
+        stats.candidatePairs = candidatePairs.size();
+        contacts.clear();
+
+        if (parallelNarrowPhase && candidatePairs.size() > 2 * NARROW_PHASE_SEGMENT_SIZE) {
+            testPairsInParallel();
+            collectTestedPairs();
+        } else {
+            for (int k = 0; k < candidatePairs.size(); k++) {
+                int i = candidatePairs.first(k), j = candidatePairs.second(k);
+                // Pares cujas categorias não interagem (ex: obstáculo–obstáculo) não chegam ao teste exato
+                if (!CollisionLayer.canCollide(collidables.get(i), collidables.get(j))) {
+                    stats.filteredPairs++;
+                    continue;
+                }
+                if (contactCache.canReuse(collidables.get(i), collidables.get(j))) {
+                    stats.reusedContacts++;
+                    contacts.add(i, j);
+                    continue;
+                }
+                stats.narrowPhaseTests++;
+                if (collidersTouch(collidables.get(i).collider(), collidables.get(j).collider())) {
+                    contacts.add(i, j);
+                }
+            }
+        }
+        stats.collisions = contacts.size();
+        dispatchContactChanges();
+        dispatchContacts();
+    }
+
+    /**
+     * Regista os contactos do passo na cache de contactos e chama, pela ordem dos pares, onCollisionEnter (contacto
+     * novo) ou onCollisionStay (contacto que continua) nos comportamentos dos dois objetos de cada par; a seguir chama
+     * onCollisionExit para os contactos do passo anterior que terminaram.
+     * Um par em que um dos objetos já foi marcado para remoção (por uma callback anterior) não é registado nem
+     * comunicado, pelo que, se estava em contacto, termina neste passo: um projétil que se destrói no primeiro
+     * onCollisionEnter não congela um segundo inimigo. A verificação é feita uma vez por par, antes das duas
+     * callbacks, pelo que os dois objetos do mesmo par são sempre avisados.
+     * @post A cache de contactos contém os contactos deste passo e cachedContacts de getStats() o seu número.
+     */
+    private void dispatchContactChanges() {
+        for (int k = 0; k < contacts.size(); k++) {
+            IGameObject a = collidables.get(contacts.first(k));
+            IGameObject b = collidables.get(contacts.second(k));
+            if (isPendingRemoval(a) || isPendingRemoval(b)) continue;
+            boolean entered = contactCache.record(a, b);
+            notifyContact(a, b, entered);
+            notifyContact(b, a, entered);
+        }
+        contactCache.endFrame(keepRestingContact, exitReceivers, exitOthers);
+        stats.cachedContacts = contactCache.size();
+        for (int n = 0; n < exitReceivers.size(); n++) {
+            IGameObject go = exitReceivers.get(n);
+            if (go.behaviour() != null) {
+                go.behaviour().onCollisionExit(exitOthers.get(n));
+            }
+        }
+        exitReceivers.clear(); // Não retém objetos até ao frame seguinte
+        exitOthers.clear();
+    }
+
+    /**
+     * Chama onCollisionEnter ou onCollisionStay no comportamento de um objeto, se o tiver.
+     * @param go O objeto a avisar.
+     * @param other O objeto com que 'go' está em contacto.
+     * @param entered Verdadeiro se o contacto começou neste passo.
+     */
+    private static void notifyContact(IGameObject go, IGameObject other, boolean entered) {
+        if (go.behaviour() == null) return;
+        if (entered) {
+            go.behaviour().onCollisionEnter(other);
+        } else {
+            go.behaviour().onCollisionStay(other);
+        }
+    }
+
+    /**
+     * Chama onCollision uma vez para cada objeto em contacto, com todos os seus contactos, pela ordem do primeiro
+     * contacto de cada objeto (e os contactos pela ordem dos pares). As consequências das colisões (ex: destruição)
+     * são aplicadas por processPendingOperations.
+     * As listas de todos os objetos são construídas antes da primeira chamada, só com os objetos que já estavam
+     * marcados para remoção nesse momento excluídos: um objeto que se destrói na sua callback (ex: um projétil) continua
+     * nos contactos dos objetos seguintes, qualquer que seja a ordem dos objetos, e a própria callback de um objeto
+     * destruído por uma callback anterior continua a ser chamada.
+     * Cada lista entregue é só de leitura e reutilizada: só é válida durante a chamada.
+     * @post Cada objeto em contacto com comportamento, não marcado para remoção no início do despacho e com pelo menos
+     * um contacto nessas condições, recebeu uma chamada a onCollision.
+     */
+    private void dispatchContacts() {
+        if (contacts.size() == 0) return;
+        contacts.group(collidables.size());
+        int receivers = 0;
+        int end = 0;
+        for (int n = 0; n < contacts.objectCount(); n++) {
+            int i = contacts.object(n);
+            IGameObject go = collidables.get(i);
+            if (go.behaviour() == null || isPendingRemoval(go)) continue;
+            int start = end;
+            for (int c = 0; c < contacts.contactCount(i); c++) {
+                IGameObject other = collidables.get(contacts.contact(i, c));
+                if (!isPendingRemoval(other)) {
+                    if (end == contactOthers.length) {
+                        contactOthers = Arrays.copyOf(contactOthers, end * 2);
+                    }
+                    contactOthers[end++] = other;
+                }
+            }
+            if (end > start) {
+                if (receivers == contactReceivers.length) {
+                    contactReceivers = Arrays.copyOf(contactReceivers, receivers * 2);
+                    contactEnds = Arrays.copyOf(contactEnds, receivers * 2);
+                }
+                contactReceivers[receivers] = go;
+                contactEnds[receivers++] = end;
+            }
+        }
+        for (int r = 0; r < receivers; r++) {
+            contactView.select(r == 0 ? 0 : contactEnds[r - 1], contactEnds[r]);
+            contactReceivers[r].behaviour().onCollision(contactView);
+        }
+        Arrays.fill(contactReceivers, 0, receivers, null); // Não retém objetos até ao frame seguinte
+        Arrays.fill(contactOthers, 0, end, null);
+    }
+
+    /**
+     * Vista só de leitura sobre um intervalo de 'contactOthers': a lista de contactos entregue a onCollision.
+     * @inv 0 &lt;= from &lt;= to &lt;= contactOthers.length.
+     */
+    private final class ContactSlice extends AbstractList<IGameObject> implements RandomAccess {
+        private int from, to;
+
+        /**
+         * Passa a mostrar contactOthers[from..to).
+         * @param from O início do intervalo (inclusivo).
+         * @param to O fim do intervalo (exclusivo).
+         */
+        void select(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public IGameObject get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Índice " + index + " fora de [0, " + (to - from) + ")");
+            }
+            return contactOthers[from + index];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * Acrescenta aos pares candidatos os pares entre os objetos em movimento e os objetos em repouso,
+     * consultando o índice dos objetos em repouso com a caixa envolvente de cada objeto em movimento.
+     * Os objetos em repouso são acrescentados a 'collidables', a seguir aos objetos em movimento.
+     * @post 'collidables' termina com os objetos de 'resting' e 'candidatePairs' continua ordenado e sem duplicados.
+     */
+    private void findRestingPairs() {
+        if (resting.isEmpty()) return;
+        int moving = collidables.size();
+        for (int i = 0; i < moving; i++) {
+            restingIndex.findPairsWith(collidables.get(i).collider().getWorldBounds(), i, moving, candidatePairs);
+        }
+        for (int i = 0; i < resting.size(); i++) {
+            collidables.add(resting.get(i));
+        }
+        candidatePairs.sortAndRemoveDuplicates();
+    }
+
+    /**
+     * Filtra e testa todos os pares candidatos em paralelo, em segmentos contíguos de NARROW_PHASE_SEGMENT_SIZE pares.
+     * Cada segmento escreve só nas suas posições de pairResults, pelo que não há partilha de escrita entre threads.
+     * @post pairResults[k] indica, para cada par candidato k, se foi filtrado, se há contacto ou se não há.
+     * @post filteredPairs e narrowPhaseTests de getStats() contam os pares filtrados e testados.
+     */
+    private void testPairsInParallel() {
+        int n = candidatePairs.size();
+        if (pairResults.length < n) {
+            pairResults = new byte[Math.max(n, pairResults.length * 2)];
+        }
+        int segmentCount = (n + NARROW_PHASE_SEGMENT_SIZE - 1) / NARROW_PHASE_SEGMENT_SIZE;
+        while (narrowPhaseSegments.size() < segmentCount) {
+            narrowPhaseSegments.add(new NarrowPhaseSegment());
+        }
+        for (int s = 0; s < segmentCount; s++) {
+            int from = s * NARROW_PHASE_SEGMENT_SIZE;
+            narrowPhaseSegments.get(s).prepare(from, Math.min(n, from + NARROW_PHASE_SEGMENT_SIZE));
+        }
+        invokeAllInPool(narrowPhaseSegments, segmentCount);
+        for (int s = 0; s < segmentCount; s++) {
+            NarrowPhaseSegment segment = narrowPhaseSegments.get(s);
+            stats.filteredPairs += segment.filtered;
+            stats.narrowPhaseTests += segment.tests;
+            stats.reusedContacts += segment.reused;
+        }
+    }
+
+    /**
+     * Regista como contactos os pares que o teste paralelo marcou como em contacto, pela ordem dos pares candidatos,
+     * como no modo sequencial.
+     * @post 'contacts' contém os pares k com pairResults[k] == PAIR_TOUCHING.
+     */
+    private void collectTestedPairs() {
+        for (int k = 0; k < candidatePairs.size(); k++) {
+            if (pairResults[k] == PAIR_TOUCHING) {
+                contacts.add(candidatePairs.first(k), candidatePairs.second(k));
+            }
+        }
+    }
+
+    /**
+     * Teste exato de colisão, precedido da comparação das caixas envolventes dos colisores:
+     * pares cujas caixas não se sobrepõem são rejeitados sem chegar à geometria.
+     * @param a O colisor do primeiro objeto. Não deve ser nulo.
+     * @param b O colisor do segundo objeto. Não deve ser nulo.
+     * @return Verdadeiro se os colisores colidirem.
+     */
+    private static boolean collidersTouch(ICollider a, ICollider b) {
+        return a.getWorldBounds().overlaps(b.getWorldBounds()) && a.isColliding(b);
+    }
+
+    /**
+     * Tarefa que filtra e testa os pares candidatos k em [from, to).
+     * Só lê os colisores (isColliding não tem efeitos secundários) e a cache de contactos, e escreve em pairResults[from..to).
+     * É reutilizada de frame para frame (ver prepare).
+     */
+    private final class NarrowPhaseSegment extends RecursiveAction {
+        private int from, to;
+        private int filtered;
+        private int tests;
+        private int reused;
+
+        /**
+         * Prepara a tarefa para os pares candidatos k em [from, to) deste frame.
+         * @param from O primeiro par (inclusivo).
+         * @param to O último par (exclusivo).
+         * @post A tarefa pode ser executada de novo, com os contadores a zero.
+         */
+        void prepare(int from, int to) {
+            reinitialize();
+            this.from = from;
+            this.to = to;
+            this.filtered = 0;
+            this.tests = 0;
+            this.reused = 0;
+        }
+
+        @Override
+        protected void compute() {
+            for (int k = from; k < to; k++) {
+                IGameObject a = collidables.get(candidatePairs.first(k));
+                IGameObject b = collidables.get(candidatePairs.second(k));
+                if (!CollisionLayer.canCollide(a, b)) {
+                    filtered++;
+                    pairResults[k] = PAIR_FILTERED;
+                    continue;
                 }
+                if (contactCache.canReuse(a, b)) {
+                    reused++;
+                    pairResults[k] = PAIR_TOUCHING;
+                    continue;
+                }
+                tests++;
+                pairResults[k] = collidersTouch(a.collider(), b.collider()) ? PAIR_TOUCHING : PAIR_APART;
+            }
+        }
+    }
+
+    /**
+     * Preenche uma lista com os objetos ativos em movimento que têm colisor e não estão marcados para remoção.
+     * @param out A lista a preencher (é esvaziada primeiro). Não deve ser nula.
+     * @post 'out' contém esses objetos, pela ordem de 'enabled'.
+     */
+    private void collectCollidables(List<IGameObject> out) {
+        out.clear();
+        for (int i = 0; i < awake.size(); i++) {
+            IGameObject go = awake.get(i);
+            // Garante que o objeto tem colisor e não foi marcado para destruição/desativação neste ciclo
+            if (go.collider() != null && !isPendingRemoval(go)) {
+                out.add(go);
             }
         }
     }
 
+    /**
+     * Garante que a árvore de colisores reflete o estado atual dos objetos ativos em movimento
+     * (os objetos em repouso estão em 'restingIndex').
+     * A sincronização é feita no máximo uma vez por frame (ou reaproveitada de checkCollisions).
+     * @post 'colliderIndex' indexa os colisores atuais dos objetos ativos em movimento.
+     */
+    private void syncColliderIndex() {
+        if (indexedFrame != frameCount) {
+            updatePartition();
+            // Lista própria: a sincronização pode ocorrer durante o despacho de colisões, que usa 'collidables'
+            collectCollidables(indexedObjects);
+            colliderIndex.update(indexedObjects);
+            indexedFrame = frameCount;
+        }
+    }
+
+    /**
+     * Acrescenta a 'out' os objetos ativos cuja caixa envolvente se sobrepõe à caixa indicada.
+     * Não percorre getEnabled(): a consulta é resolvida pela árvore de colisores.
+     * @param box A caixa de consulta, em coordenadas do mundo. Não deve ser nula.
+     * @param out A lista onde os resultados são acrescentados. Não deve ser nula.
+     * @post 'out' contém, adicionalmente, os objetos ativos (não marcados para remoção) encontrados.
+     * @throws IllegalStateException se for chamado por um comportamento durante a atualização paralela.
+     */
+    public void queryBox(BoundingBox box, List<IGameObject> out) {
+        requireNotInParallelUpdate();
+        syncColliderIndex();
+        int start = out.size();
+        colliderIndex.queryBox(box, out);
+        restingIndex.queryBox(box, out);
+        removePendingFrom(out, start);
+    }
+
+    /**
+     * Acrescenta a 'out' os objetos ativos cujo colisor se sobrepõe ao círculo indicado.
+     * @param cx A coordenada x do centro.
+     * @param cy A coordenada y do centro.
+     * @param r O raio. Deve ser não negativo.
+     * @param out A lista onde os resultados são acrescentados. Não deve ser nula.
+     * @post 'out' contém, adicionalmente, os objetos ativos (não marcados para remoção) encontrados.
+     * @throws IllegalStateException se for chamado por um comportamento durante a atualização paralela.
+     */
+    public void queryCircle(double cx, double cy, double r, List<IGameObject> out) {
+        requireNotInParallelUpdate();
+        syncColliderIndex();
+        int start = out.size();
+        colliderIndex.queryCircle(cx, cy, r, out);
+        restingIndex.queryCircle(cx, cy, r, out);
+        removePendingFrom(out, start);
+    }
+
+    /**
+     * Lança o segmento (ox, oy) -&gt; (ox + dx, oy + dy) contra os colisores dos objetos ativos.
+     * Permite a um comportamento perguntar "o que está à minha frente" (ex: um projétil).
+     * @param ox A coordenada x da origem.
+     * @param oy A coordenada y da origem.
+     * @param dx O deslocamento total em x.
+     * @param dy O deslocamento total em y.
+     * @return O contacto mais próximo da origem, ou nulo se nada for atingido.
+     * Objetos marcados para remoção neste ciclo podem ser devolvidos; o chamador decide se os ignora.
+     * @throws IllegalStateException se for chamado por um comportamento durante a atualização paralela.
+     */
+    public RayCastHit rayCast(double ox, double oy, double dx, double dy) {
+        requireNotInParallelUpdate();
+        syncColliderIndex();
+        RayCastHit moving = colliderIndex.rayCast(ox, oy, dx, dy);
+        RayCastHit still = restingIndex.rayCast(ox, oy, dx, dy);
+        if (moving == null) return still;
+        return (still != null && still.getFraction() < moving.getFraction()) ? still : moving;
+    }
+
+    /**
+     * Remove de 'list', a partir da posição 'start', os objetos marcados para remoção neste ciclo.
+     * @param list A lista a filtrar.
+     * @param start A primeira posição a considerar.
+     * @post Nenhum elemento de list[start..] está marcado para destruição ou desativação.
+     */
+    private void removePendingFrom(List<IGameObject> list, int start) {
+        if (pendingOps.isEmpty()) return;
+        for (int i = list.size() - 1; i >= start; i--) {
+            if (isPendingRemoval(list.get(i))) list.remove(i);
+        }
+    }
+
     /**
      * Restringe um objeto de jogo aos limites (bounds) definidos para o motor de jogo.
      * Ajusta a posição do objeto se ele estiver fora dos limites.
@@ -274,7 +1363,12 @@ public class GameEngine {
         if (go == null || go.transform() == null || bounds == null) return;
 
         ITransform t = go.transform();
-        Point pos = t.position();
+        if (t instanceof Transform st) {
+            // Caminho direto sobre os arrays do armazenamento (se ligado), que só muda a versão se a posição mudar
+            st.clamp(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY());
+            return;
+        }
+        IPoint pos = t.position();
 
         double currentX = pos.getX();
         double currentY = pos.getY();
@@ -304,16 +1398,65 @@ public class GameEngine {
     }
 
     /**
-     * Devolve uma cópia da lista de IGameObjects ativos.
-     * @return Uma nova ArrayList contendo todos os IGameObjects atualmente na lista 'enabled'.
+     * Devolve uma vista só de leitura dos IGameObjects ativos, sem cópia.
+     * A vista acompanha o motor: muda no fim de cada passo, quando as operações pendentes são aplicadas,
+     * e a ordem dos objetos pode mudar quando um objeto é removido. contains() é de tempo constante.
+     * Para guardar um instantâneo, o chamador deve copiá-la.
+     * @return A vista dos objetos ativos. Nunca é nula.
+     */
+    public List<IGameObject> getEnabled() { return enabled.view(); }
+
+    /**
+     * Devolve uma vista só de leitura dos IGameObjects inativos, sem cópia (ver getEnabled()).
+     * @return A vista dos objetos inativos. Nunca é nula.
      */
-    public List<IGameObject> getEnabled() { return new ArrayList<>(enabled); }
+    public List<IGameObject> getDisabled() { return disabled.view(); }
 
     /**
-     * Devolve uma cópia da lista de IGameObjects inativos.
-     * @return Uma nova ArrayList contendo todos os IGameObjects atualmente na lista 'disabled'.
+     * Devolve uma vista só de leitura, sem cópia, dos IGameObjects ativos de um tipo (ver getEnabled()).
+     * O índice é mantido quando os objetos são ativados, desativados e destruídos, pelo que não percorre os restantes.
+     * @param kind O tipo de entidade. Não deve ser nulo.
+     * @return A vista dos objetos ativos desse tipo. Nunca é nula.
      */
-    public List<IGameObject> getDisabled() { return new ArrayList<>(disabled); }
+    public List<IGameObject> getEnabled(EntityKind kind) { return enabledByKind.view(kind); }
+
+    /**
+     * Devolve, em tempo constante, o número de IGameObjects ativos de um tipo.
+     * @param kind O tipo de entidade. Não deve ser nulo.
+     * @return O número de objetos ativos desse tipo.
+     */
+    public int countEnabled(EntityKind kind) {
+        return enabledByKind.count(kind);
+    }
+
+    /**
+     * Devolve, em tempo constante, o número de IGameObjects ativos de um tipo que estão adormecidos (ver sleep()).
+     * @param kind O tipo de entidade. Não deve ser nulo.
+     * @return O número de objetos ativos e adormecidos desse tipo.
+     */
+    public int countSleeping(EntityKind kind) {
+        return enabledByKind.countSleeping(kind);
+    }
+
+    /**
+     * Devolve o objeto identificado por um handle, em tempo constante.
+     * Permite guardar referências a entidades (ex: um alvo) sem arriscar usar um objeto já destruído
+     * ou reutilizado de um pool: nesses casos a geração do handle já não coincide e o resultado é nulo.
+     * @param handle O handle (ver IGameObject.handle()).
+     * @return O objeto ativo ou inativo com esse handle, ou nulo se o handle for NONE ou já não for válido.
+     */
+    public IGameObject resolve(long handle) {
+        return entities.resolve(handle);
+    }
+
+    /**
+     * Indica se um handle ainda identifica um objeto deste motor.
+     * @param handle O handle.
+     * @return Verdadeiro se resolve(handle) não for nulo.
+     */
+    public boolean isAlive(long handle) {
+        return entities.resolve(handle) != null;
+    }
 
     /**
      * Devolve os limites (bounds) atuais da área de jogo.
@@ -0,0 +1,61 @@
+package engine;
+
+import gameobject.EntityHandle;
+
+/**
+ * Registo de um evento de jogo no anel do GameEventBus. Os registos são pré-alocados e reutilizados:
+ * publicar um evento só preenche os campos de um registo livre, sem alocar.
+ * A origem é o handle da entidade que originou o evento (ver EntityHandle), para que os subscritores possam
+ * resolvê-la com GameEngine.resolve sem reter referências a objetos já destruídos.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv type nunca é nulo depois de o registo ser preenchido.
+ */
+public final class GameEvent {
+    private GameEventType type;
+    private long source = EntityHandle.NONE;
+    private int value;
+
+    /**
+     * Constrói um registo vazio (apenas o GameEventBus cria registos).
+     */
+    GameEvent() {
+    }
+
+    /**
+     * Preenche o registo com os dados de um evento.
+     * @param type O tipo do evento. Não deve ser nulo.
+     * @param source O handle da entidade de origem, ou EntityHandle.NONE.
+     * @param value O valor associado ao evento (depende do tipo).
+     * @post type() == type, source() == source e value() == value.
+     */
+    void set(GameEventType type, long source, int value) {
+        this.type = type;
+        this.source = source;
+        this.value = value;
+    }
+
+    /**
+     * Devolve o tipo do evento.
+     * @return O tipo do evento.
+     */
+    public GameEventType type() {
+        return type;
+    }
+
+    /**
+     * Devolve o handle da entidade que originou o evento.
+     * @return O handle de origem, ou EntityHandle.NONE se o evento não tiver origem.
+     */
+    public long source() {
+        return source;
+    }
+
+    /**
+     * Devolve o valor associado ao evento (ver GameEventType).
+     * @return O valor do evento.
+     */
+    public int value() {
+        return value;
+    }
+}
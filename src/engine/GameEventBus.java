@@ -0,0 +1,190 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Barramento de eventos de jogo tipados. Os eventos publicados ficam num anel de registos GameEvent pré-alocados
+ * e são entregues mais tarde, por dispatch(), aos subscritores do seu tipo, pela ordem em que foram publicados.
+ * Publicar e entregar não alocam memória em regime estacionário (o anel só cresce quando enche).
+ * Não é thread-safe: é usado pela thread de simulação (a fase de atualização paralela do GameEngine
+ * publica em barramentos próprios, transferidos depois com drainTo).
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv ring.length é uma potência de 2 e 0 &lt;= count &lt;= ring.length.
+ * @inv Os eventos pendentes são ring[(head + i) &amp; (ring.length - 1)], para i em [0, count).
+ */
+public class GameEventBus {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final IGameEventListener[] NO_LISTENERS = new IGameEventListener[0];
+    private static final GameEventType[] TYPES = GameEventType.values();
+
+    private GameEvent[] ring = newRecords(INITIAL_CAPACITY, 0);
+    private int head = 0;
+    private int count = 0;
+    private final IGameEventListener[][] listeners = new IGameEventListener[TYPES.length][];
+    private boolean dispatching = false;
+    private long published = 0;
+    private long dispatched = 0;
+
+    /**
+     * Constrói um barramento vazio, sem subscritores.
+     * @post getPending() == 0.
+     */
+    public GameEventBus() {
+        Arrays.fill(listeners, NO_LISTENERS);
+    }
+
+    /**
+     * Regista um subscritor para os eventos de um tipo.
+     * Os subscritores de um tipo são chamados pela ordem em que foram registados.
+     * @param type O tipo de evento. Não deve ser nulo.
+     * @param listener O subscritor. Não deve ser nulo.
+     * @throws IllegalArgumentException se type ou listener forem nulos.
+     * @post 'listener' recebe os eventos de 'type' entregues a partir de agora.
+     */
+    public void subscribe(GameEventType type, IGameEventListener listener) {
+        if (type == null || listener == null) {
+            throw new IllegalArgumentException("type e listener não podem ser nulos");
+        }
+        IGameEventListener[] current = listeners[type.ordinal()];
+        IGameEventListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners[type.ordinal()] = updated;
+    }
+
+    /**
+     * Remove um subscritor dos eventos de um tipo.
+     * @param type O tipo de evento. Não deve ser nulo.
+     * @param listener O subscritor a remover.
+     * @post 'listener' deixa de receber os eventos de 'type' (se estava registado mais do que uma vez, só o primeiro registo é removido).
+     */
+    public void unsubscribe(GameEventType type, IGameEventListener listener) {
+        IGameEventListener[] current = listeners[type.ordinal()];
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                IGameEventListener[] updated = new IGameEventListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners[type.ordinal()] = updated.length == 0 ? NO_LISTENERS : updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Publica um evento, que fica pendente até ao próximo dispatch().
+     * @param type O tipo do evento. Não deve ser nulo.
+     * @param source O handle da entidade de origem, ou EntityHandle.NONE.
+     * @param value O valor associado ao evento (ver GameEventType).
+     * @post O evento é o último dos eventos pendentes.
+     */
+    public void publish(GameEventType type, long source, int value) {
+        if (count == ring.length) {
+            grow();
+        }
+        ring[(head + count) & (ring.length - 1)].set(type, source, value);
+        count++;
+        published++;
+    }
+
+    /**
+     * Entrega os eventos pendentes aos seus subscritores, pela ordem em que foram publicados.
+     * Os eventos publicados pelos subscritores durante a entrega são entregues na mesma chamada, no fim da fila.
+     * Uma chamada feita por um subscritor (entrega reentrante) não faz nada.
+     * @post Se não for reentrante, getPending() == 0.
+     */
+    public void dispatch() {
+        if (dispatching) return;
+        dispatching = true;
+        try {
+            while (count > 0) {
+                GameEvent event = ring[head];
+                IGameEventListener[] targets = listeners[event.type().ordinal()];
+                for (IGameEventListener listener : targets) {
+                    listener.onEvent(event);
+                }
+                // Relido depois das callbacks: se o anel cresceu, 'event' passou para a nova posição 'head'
+                head = (head + 1) & (ring.length - 1);
+                count--;
+                dispatched++;
+            }
+        } finally {
+            dispatching = false;
+        }
+    }
+
+    /**
+     * Transfere os eventos pendentes deste barramento para o fim de outro, pela mesma ordem, sem os entregar.
+     * @param target O barramento de destino. Não deve ser nulo.
+     * @post getPending() == 0 e os eventos transferidos estão pendentes em 'target'.
+     */
+    void drainTo(GameEventBus target) {
+        int mask = ring.length - 1;
+        for (int i = 0; i < count; i++) {
+            GameEvent event = ring[(head + i) & mask];
+            target.publish(event.type(), event.source(), event.value());
+        }
+        head = 0;
+        count = 0;
+    }
+
+    /**
+     * Descarta os eventos pendentes sem os entregar.
+     * @post getPending() == 0.
+     */
+    public void clear() {
+        head = 0;
+        count = 0;
+    }
+
+    /**
+     * Devolve o número de eventos publicados e ainda não entregues.
+     * @return O número de eventos pendentes.
+     */
+    public int getPending() {
+        return count;
+    }
+
+    /**
+     * Devolve o número total de eventos publicados neste barramento.
+     * @return O número de eventos publicados desde a construção.
+     */
+    public long getPublished() {
+        return published;
+    }
+
+    /**
+     * Devolve o número total de eventos entregues por este barramento.
+     * @return O número de eventos entregues desde a construção.
+     */
+    public long getDispatched() {
+        return dispatched;
+    }
+
+    /**
+     * Duplica a capacidade do anel cheio, mantendo a ordem dos eventos pendentes (o primeiro passa para a posição 0).
+     * @post ring.length duplicou, head == 0 e os eventos pendentes não mudaram.
+     */
+    private void grow() {
+        GameEvent[] larger = newRecords(ring.length * 2, ring.length);
+        for (int i = 0; i < ring.length; i++) {
+            larger[i] = ring[(head + i) & (ring.length - 1)];
+        }
+        ring = larger;
+        head = 0;
+    }
+
+    /**
+     * Cria um array de registos, pré-alocando os registos a partir de uma posição.
+     * @param capacity O tamanho do array.
+     * @param from A primeira posição a preencher com um registo novo.
+     * @return O array, com registos novos em [from, capacity).
+     */
+    private static GameEvent[] newRecords(int capacity, int from) {
+        GameEvent[] records = new GameEvent[capacity];
+        for (int i = from; i < capacity; i++) {
+            records[i] = new GameEvent();
+        }
+        return records;
+    }
+}
@@ -0,0 +1,23 @@
+package engine;
+
+/**
+ * Tipos de eventos de jogo publicados no GameEventBus.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+public enum GameEventType {
+    /** Um inimigo foi congelado por um projétil. Origem: o inimigo. */
+    ENEMY_FROZEN,
+    /** O jogador disparou um projétil. Origem: o jogador; valor: os projéteis que lhe restam. */
+    BULLET_FIRED,
+    /** Um projétil foi destruído (atingiu um alvo ou saiu da área de jogo). Origem: o projétil. */
+    BULLET_EXPIRED,
+    /** Todos os inimigos do nível foram congelados. Valor: o índice do nível. */
+    LEVEL_CLEARED,
+    /** O jogador perdeu uma vida. Valor: as vidas que lhe restam. */
+    PLAYER_LIFE_LOST,
+    /** O jogador concluiu o último nível. Valor: a pontuação final. */
+    GAME_WON,
+    /** O jogador perdeu a última vida. Valor: a pontuação final. */
+    GAME_LOST
+}
@@ -0,0 +1,161 @@
+package engine;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Ciclo de jogo com passo de tempo fixo (fixed timestep).
+ * Em cada chamada a tick() mede o tempo real decorrido com System.nanoTime, acumula-o e executa
+ * tantos passos de simulação de duração fixa quantos couberem no acumulador. O número de passos por
+ * tick é limitado para que um atraso grande (ex: a janela esteve bloqueada) não provoque uma espiral
+ * de recuperação; o tempo excedente é descartado e contabilizado.
+ * O resto do acumulador, como fração de um passo (getAlpha), permite interpolar a renderização
+ * entre os dois últimos estados simulados.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv stepSeconds &gt; 0.
+ * @inv maxStepsPerTick &gt;= 1.
+ * @inv 0 &lt;= accumulator &lt; stepSeconds depois de cada tick().
+ */
+public class GameLoop {
+    /**
+     * Um passo de simulação de duração fixa.
+     */
+    public interface Step {
+        /**
+         * Avança a simulação um passo.
+         * @param dt A duração do passo, em segundos (sempre igual ao passo fixo do ciclo).
+         */
+        void step(double dt);
+    }
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final double stepSeconds;
+    private final int maxStepsPerTick;
+    private final Step step;
+    private final LongSupplier clock;
+
+    private long lastTime;
+    private boolean started = false;
+    private double accumulator = 0;
+    private long totalSteps = 0;
+    private long droppedSteps = 0;
+
+    /**
+     * Constrói um ciclo de passo fixo que mede o tempo com System.nanoTime.
+     * @param stepSeconds A duração de cada passo de simulação, em segundos. Deve ser positiva.
+     * @param maxStepsPerTick O número máximo de passos executados por tick. Deve ser pelo menos 1.
+     * @param step O passo de simulação a executar. Não deve ser nulo.
+     * @throws IllegalArgumentException se stepSeconds &lt;= 0 ou maxStepsPerTick &lt; 1.
+     * @post O ciclo começa a medir o tempo no primeiro tick().
+     */
+    public GameLoop(double stepSeconds, int maxStepsPerTick, Step step) {
+        this(stepSeconds, maxStepsPerTick, step, System::nanoTime);
+    }
+
+    /**
+     * Constrói um ciclo de passo fixo com um relógio próprio (ex: um relógio simulado em testes).
+     * @param stepSeconds A duração de cada passo de simulação, em segundos. Deve ser positiva.
+     * @param maxStepsPerTick O número máximo de passos executados por tick. Deve ser pelo menos 1.
+     * @param step O passo de simulação a executar. Não deve ser nulo.
+     * @param clock O relógio, em nanossegundos e monótono. Não deve ser nulo.
+     * @throws IllegalArgumentException se stepSeconds &lt;= 0 ou maxStepsPerTick &lt; 1.
+     * @post O ciclo começa a medir o tempo no primeiro tick().
+     */
+    public GameLoop(double stepSeconds, int maxStepsPerTick, Step step, LongSupplier clock) {
+        if (!(stepSeconds > 0)) {
+            throw new IllegalArgumentException("stepSeconds deve ser positivo: " + stepSeconds);
+        }
+        if (maxStepsPerTick < 1) {
+            throw new IllegalArgumentException("maxStepsPerTick deve ser pelo menos 1: " + maxStepsPerTick);
+        }
+        this.stepSeconds = stepSeconds;
+        this.maxStepsPerTick = maxStepsPerTick;
+        this.step = step;
+        this.clock = clock;
+    }
+
+    /**
+     * Mede o tempo decorrido desde o tick anterior e executa os passos de simulação correspondentes.
+     * O primeiro tick (ou o primeiro depois de reset()) apenas inicia a medição.
+     * @return O número de passos executados neste tick (entre 0 e maxStepsPerTick).
+     * @post Foram executados floor(acumulador / stepSeconds) passos, no máximo maxStepsPerTick.
+     * @post Se o limite foi atingido, o tempo excedente é descartado e somado a getDroppedSteps().
+     */
+    public int tick() {
+        long now = clock.getAsLong();
+        if (!started) {
+            started = true;
+            lastTime = now;
+            return 0;
+        }
+        accumulator += Math.max(0, now - lastTime) / NANOS_PER_SECOND;
+        lastTime = now;
+
+        int steps = 0;
+        while (accumulator >= stepSeconds && steps < maxStepsPerTick) {
+            step.step(stepSeconds);
+            accumulator -= stepSeconds;
+            steps++;
+        }
+        if (accumulator >= stepSeconds) {
+            // Limite de recuperação atingido: descarta os passos em atraso em vez de os acumular
+            long behind = (long) (accumulator / stepSeconds);
+            droppedSteps += behind;
+            accumulator -= behind * stepSeconds;
+        }
+        totalSteps += steps;
+        return steps;
+    }
+
+    /**
+     * Descarta o tempo acumulado e recomeça a medição no próximo tick (ex: ao retomar de uma pausa).
+     * @post O próximo tick() não executa passos; getAlpha() == 0.
+     */
+    public void reset() {
+        started = false;
+        accumulator = 0;
+    }
+
+    /**
+     * Devolve a fração de passo por simular, usada para interpolar a renderização entre o estado
+     * anterior (alpha = 0) e o estado atual (alpha = 1).
+     * @return Um valor em [0, 1).
+     */
+    public double getAlpha() {
+        return accumulator / stepSeconds;
+    }
+
+    /**
+     * Devolve o tempo que falta até haver um passo completo no acumulador, para que uma thread de simulação
+     * possa dormir até lá em vez de verificar o relógio continuamente.
+     * @return O tempo até ao próximo passo, em nanossegundos (pelo menos 0).
+     */
+    public long getNanosUntilNextStep() {
+        return Math.max(0, (long) ((stepSeconds - accumulator) * NANOS_PER_SECOND));
+    }
+
+    /**
+     * Devolve a duração de cada passo de simulação.
+     * @return O passo fixo, em segundos.
+     */
+    public double getStepSeconds() {
+        return stepSeconds;
+    }
+
+    /**
+     * Devolve o número total de passos executados.
+     * @return O número de passos desde a construção.
+     */
+    public long getTotalSteps() {
+        return totalSteps;
+    }
+
+    /**
+     * Devolve o número de passos descartados por excederem o limite de recuperação.
+     * @return O número de passos descartados desde a construção.
+     */
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+}
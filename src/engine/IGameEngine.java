@@ -99,8 +99,9 @@ public interface IGameEngine {
 
     /**
      * Verifica e processa colisões entre todos os objetos de jogo ativos.
-     * Quando uma colisão é detetada, o método onCollision() dos comportamentos dos objetos envolvidos é chamado.
-     * @post Os métodos onCollision() dos IBehaviours dos objetos que colidiram são invocados.
+     * O método onCollision() do comportamento de cada objeto que colidiu é chamado uma vez, com todos os seus contactos,
+     * depois de onCollisionEnter/onCollisionStay para cada contacto e de onCollisionExit para os contactos que terminaram.
+     * @post O método onCollision() do IBehaviour de cada objeto que colidiu é invocado uma vez.
      */
     void checkCollisions();
 }
\ No newline at end of file
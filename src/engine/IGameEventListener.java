@@ -0,0 +1,17 @@
+package engine;
+
+/**
+ * Interface para os subscritores de eventos de jogo (ver GameEventBus.subscribe).
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+@FunctionalInterface
+public interface IGameEventListener {
+
+    /**
+     * Trata um evento de jogo.
+     * O evento é um registo reutilizado pelo GameEventBus: só é válido durante esta chamada e não deve ser guardado.
+     * @param event O evento. Nunca é nulo.
+     */
+    void onEvent(GameEvent event);
+}
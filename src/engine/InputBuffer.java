@@ -0,0 +1,68 @@
+package engine;
+
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Buffer de input partilhado entre a thread de eventos do Swing (que regista as teclas) e a thread
+ * de simulação (que as consome). Antes de cada passo, a simulação chama latch() e obtém um estado
+ * estável durante todo o passo. Uma tecla premida e libertada entre dois passos (um toque rápido)
+ * conta como premida no passo seguinte, em vez de se perder.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv 'down' contém as teclas atualmente premidas.
+ * @inv 'latched' só é lido e escrito pela thread que chama latch().
+ */
+public class InputBuffer {
+    private final Set<Integer> down = ConcurrentHashMap.newKeySet();
+    private final Queue<Integer> pressedSinceLatch = new ConcurrentLinkedQueue<>();
+    private final Set<Integer> latched = new HashSet<>();
+    private final IInputEvent latchedView = latched::contains;
+
+    /**
+     * Regista que uma tecla foi premida. Pode ser chamado de qualquer thread.
+     * @param keyCode O código da tecla (ex: KeyEvent.VK_SPACE).
+     * @post A tecla conta como premida no próximo latch(), mesmo que seja libertada antes.
+     */
+    public void keyPressed(int keyCode) {
+        down.add(keyCode);
+        pressedSinceLatch.add(keyCode);
+    }
+
+    /**
+     * Regista que uma tecla foi libertada. Pode ser chamado de qualquer thread.
+     * @param keyCode O código da tecla.
+     * @post A tecla deixa de estar premida (exceto no próximo latch(), se tiver sido premida desde o anterior).
+     */
+    public void keyReleased(int keyCode) {
+        down.remove(keyCode);
+    }
+
+    /**
+     * Fixa o estado das teclas para o próximo passo de simulação.
+     * Deve ser chamado sempre pela mesma thread (a de simulação).
+     * @return Uma vista do estado fixado: as teclas premidas agora ou desde o latch anterior.
+     * A vista é reutilizada e só é válida até ao próximo latch().
+     */
+    public IInputEvent latch() {
+        latched.clear();
+        latched.addAll(down);
+        Integer key;
+        while ((key = pressedSinceLatch.poll()) != null) {
+            latched.add(key);
+        }
+        return latchedView;
+    }
+
+    /**
+     * Esquece todas as teclas registadas (ex: quando o ecrã de jogo perde o foco).
+     * @post Nenhuma tecla está premida.
+     */
+    public void clear() {
+        down.clear();
+        pressedSinceLatch.clear();
+    }
+}
@@ -0,0 +1,119 @@
+package engine;
+
+import gameobject.EntityKind;
+import gameobject.IGameObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Índice dos objetos ativos de um GameEngine por tipo de entidade (EntityKind), mantido à medida que os objetos
+ * entram, saem, adormecem e acordam. Permite percorrer só os objetos de um tipo e saber quantos há (e quantos
+ * estão adormecidos) em tempo constante, sem percorrer todos os objetos ativos.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv byKind.get(k) contém exatamente os objetos indexados cujo tipo tinha ordinal k quando foram indexados.
+ * @inv 0 &lt;= sleeping[k] &lt;= byKind.get(k).size().
+ */
+final class KindIndex {
+    private static final EntityKind[] KINDS = EntityKind.values();
+
+    private final List<SlotList<IGameObject>> byKind;
+    private final int[] sleeping = new int[KINDS.length];
+
+    /**
+     * Constrói um índice vazio, com uma lista por tipo.
+     * @post Todas as listas estão vazias e todos os contadores são 0.
+     */
+    KindIndex() {
+        byKind = new ArrayList<>(KINDS.length);
+        for (int k = 0; k < KINDS.length; k++) {
+            byKind.add(new SlotList<>());
+        }
+    }
+
+    /**
+     * Indexa um objeto que passou a estar ativo.
+     * @param go O objeto. Não deve ser nulo.
+     * @param isSleeping Verdadeiro se o objeto já estiver adormecido.
+     * @post go está na lista do seu tipo; se isSleeping, o contador de adormecidos do tipo foi incrementado.
+     */
+    void add(IGameObject go, boolean isSleeping) {
+        int k = go.kind().ordinal();
+        if (byKind.get(k).add(go) && isSleeping) {
+            sleeping[k]++;
+        }
+    }
+
+    /**
+     * Retira um objeto que deixou de estar ativo.
+     * @param go O objeto.
+     * @param wasSleeping Verdadeiro se o objeto estava adormecido.
+     * @post go não está em nenhuma lista; se wasSleeping, o contador de adormecidos do seu tipo foi decrementado.
+     */
+    void remove(IGameObject go, boolean wasSleeping) {
+        int k = go.kind().ordinal();
+        if (!byKind.get(k).remove(go)) {
+            k = find(go); // O tipo mudou depois de o objeto ser indexado
+            if (k < 0) return;
+            byKind.get(k).remove(go);
+        }
+        if (wasSleeping) {
+            sleeping[k]--;
+        }
+    }
+
+    /**
+     * Regista que um objeto indexado adormeceu ou acordou.
+     * @param go O objeto.
+     * @param asleep Verdadeiro se adormeceu; falso se acordou.
+     * @post Se go estiver indexado, o contador de adormecidos do seu tipo foi atualizado.
+     */
+    void setSleeping(IGameObject go, boolean asleep) {
+        int k = go.kind().ordinal();
+        if (!byKind.get(k).contains(go)) {
+            k = find(go);
+            if (k < 0) return;
+        }
+        sleeping[k] += asleep ? 1 : -1;
+    }
+
+    /**
+     * Procura a lista que contém um objeto, percorrendo todos os tipos.
+     * @param go O objeto.
+     * @return O ordinal do tipo cuja lista contém go, ou -1 se não estiver indexado.
+     */
+    private int find(IGameObject go) {
+        for (int k = 0; k < byKind.size(); k++) {
+            if (byKind.get(k).contains(go)) return k;
+        }
+        return -1;
+    }
+
+    /**
+     * Devolve uma vista só de leitura, sem cópia, dos objetos indexados de um tipo.
+     * @param kind O tipo.
+     * @return A vista dos objetos desse tipo. Nunca é nula.
+     */
+    List<IGameObject> view(EntityKind kind) {
+        return byKind.get(kind.ordinal()).view();
+    }
+
+    /**
+     * Devolve o número de objetos indexados de um tipo.
+     * @param kind O tipo.
+     * @return O número de objetos desse tipo.
+     */
+    int count(EntityKind kind) {
+        return byKind.get(kind.ordinal()).size();
+    }
+
+    /**
+     * Devolve o número de objetos indexados de um tipo que estão adormecidos.
+     * @param kind O tipo.
+     * @return O número de objetos adormecidos desse tipo.
+     */
+    int countSleeping(EntityKind kind) {
+        return sleeping[kind.ordinal()];
+    }
+}
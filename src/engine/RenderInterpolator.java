@@ -0,0 +1,81 @@
+package engine;
+
+import gameobject.IGameObject;
+import gameobject.geometry.IPoint;
+import gameobject.geometry.Point;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Guarda a posição de cada objeto no início do último passo de simulação, para que a renderização
+ * possa interpolar entre o estado anterior e o atual (ver GameLoop.getAlpha).
+ * Sem interpolação, com passo fixo, os objetos parecem avançar aos saltos sempre que a frequência
+ * de renderização não coincide com a da simulação.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv Só existem posições guardadas para objetos presentes na última captura.
+ */
+public class RenderInterpolator {
+    /**
+     * Posição anterior de um objeto e a captura em que foi registada.
+     */
+    private static class Entry {
+        final Point previous = new Point(0, 0);
+        long capture;
+    }
+
+    private final Map<IGameObject, Entry> entries = new IdentityHashMap<>();
+    private long capture = 0;
+
+    /**
+     * Regista a posição atual dos objetos como estado anterior. Deve ser chamado antes de cada passo de simulação.
+     * @param objects Os objetos a registar. Não deve ser nula.
+     * @post Para cada objeto de 'objects' existe uma posição anterior igual à sua posição atual.
+     * @post As posições de objetos ausentes de 'objects' são esquecidas.
+     */
+    public void capture(List<IGameObject> objects) {
+        capture++;
+        for (IGameObject go : objects) {
+            Entry e = entries.get(go);
+            if (e == null) {
+                e = new Entry();
+                entries.put(go, e);
+            }
+            e.previous.set(go.transform().position());
+            e.capture = capture;
+        }
+        if (entries.size() > objects.size()) {
+            entries.values().removeIf(e -> e.capture != capture);
+        }
+    }
+
+    /**
+     * Calcula a posição interpolada de um objeto entre o estado anterior e o atual.
+     * Objetos sem estado anterior (ex: criados durante o último passo) são desenhados na posição atual.
+     * @param go O objeto. Não deve ser nulo.
+     * @param alpha A fração de interpolação, entre 0 (estado anterior) e 1 (estado atual).
+     * @param out O ponto onde o resultado é escrito. Não deve ser nulo.
+     * @post 'out' contém previous + (current - previous) * alpha.
+     */
+    public void interpolate(IGameObject go, double alpha, Point out) {
+        IPoint current = go.transform().position();
+        Entry e = entries.get(go);
+        if (e == null) {
+            out.set(current);
+            return;
+        }
+        Point prev = e.previous;
+        out.set(prev.getX() + (current.getX() - prev.getX()) * alpha,
+                prev.getY() + (current.getY() - prev.getY()) * alpha);
+    }
+
+    /**
+     * Esquece todas as posições anteriores (ex: ao mudar de nível).
+     * @post Os objetos passam a ser desenhados na posição atual até à próxima captura.
+     */
+    public void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,143 @@
+package engine;
+
+import gameobject.IGameObject;
+import gameobject.geometry.Point;
+import gameobject.shape.IShape;
+
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Estado imutável de um frame, pronto a desenhar: forma, posição anterior e atual, ângulo, escala e camada
+ * de cada objeto ativo. É construído pela thread de simulação no fim de cada tick e publicado para a
+ * thread de renderização, que o pode ler sem sincronização porque nunca é alterado depois de construído.
+ * A posição desenhada é interpolada entre o estado anterior e o atual, conforme o tempo decorrido
+ * desde a publicação (ver alphaAt).
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv Todos os arrays têm comprimento size().
+ * @inv 0 &lt;= alpha &lt; 1 e stepSeconds &gt; 0.
+ */
+public final class RenderSnapshot {
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final IShape[] shapes;
+    private final double[] previousX, previousY, x, y, angle, scale;
+    private final int[] layer;
+    private final double alpha;
+    private final double stepSeconds;
+    private final long timestamp;
+
+    /**
+     * Constrói um snapshot vazio.
+     * @param stepSeconds A duração de um passo de simulação, em segundos. Deve ser positiva.
+     * @post size() == 0.
+     */
+    public RenderSnapshot(double stepSeconds) {
+        this(0, 0, stepSeconds, 0);
+    }
+
+    /**
+     * Construtor interno que reserva os arrays.
+     * @param n O número de objetos.
+     * @param alpha A fração de passo por simular no momento da captura.
+     * @param stepSeconds A duração de um passo de simulação.
+     * @param timestamp O instante da captura, em nanossegundos.
+     */
+    private RenderSnapshot(int n, double alpha, double stepSeconds, long timestamp) {
+        this.shapes = new IShape[n];
+        this.previousX = new double[n];
+        this.previousY = new double[n];
+        this.x = new double[n];
+        this.y = new double[n];
+        this.angle = new double[n];
+        this.scale = new double[n];
+        this.layer = new int[n];
+        this.alpha = alpha;
+        this.stepSeconds = stepSeconds;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Captura o estado de desenho dos objetos indicados.
+     * @param objects Os objetos a desenhar, pela ordem de desenho. Não deve ser nula.
+     * @param interpolator O interpolador com as posições do passo anterior. Não deve ser nulo.
+     * @param loop O ciclo de jogo, de onde vêm o alpha atual e a duração do passo. Não deve ser nulo.
+     * @param timestamp O instante da captura, em nanossegundos (System.nanoTime).
+     * @return Um novo snapshot imutável.
+     */
+    public static RenderSnapshot capture(List<IGameObject> objects, RenderInterpolator interpolator,
+                                         GameLoop loop, long timestamp) {
+        int n = objects.size();
+        RenderSnapshot s = new RenderSnapshot(n, loop.getAlpha(), loop.getStepSeconds(), timestamp);
+        Point previous = new Point(0, 0);
+        for (int i = 0; i < n; i++) {
+            IGameObject go = objects.get(i);
+            var t = go.transform();
+            interpolator.interpolate(go, 0, previous);
+            s.shapes[i] = go.shape();
+            s.previousX[i] = previous.getX();
+            s.previousY[i] = previous.getY();
+            s.x[i] = t.position().getX();
+            s.y[i] = t.position().getY();
+            s.angle[i] = t.angle();
+            s.scale[i] = t.scale();
+            s.layer[i] = t.layer();
+        }
+        return s;
+    }
+
+    /**
+     * Devolve o número de objetos no snapshot.
+     * @return O número de objetos.
+     */
+    public int size() {
+        return shapes.length;
+    }
+
+    /**
+     * Calcula a fração de interpolação para um instante de renderização: o alpha da captura mais o tempo
+     * decorrido desde então, em passos, limitado a 1 (nunca extrapola para além do estado atual).
+     * @param nanoTime O instante de renderização, em nanossegundos (System.nanoTime).
+     * @return Um valor em [0, 1].
+     */
+    public double alphaAt(long nanoTime) {
+        double elapsedSteps = Math.max(0, nanoTime - timestamp) / NANOS_PER_SECOND / stepSeconds;
+        return Math.min(1.0, alpha + elapsedSteps);
+    }
+
+    /**
+     * Devolve a coordenada x interpolada de um objeto.
+     * @param i O índice do objeto, entre 0 e size() - 1.
+     * @param a A fração de interpolação, entre 0 (estado anterior) e 1 (estado atual).
+     * @return A coordenada x a desenhar.
+     */
+    public double getX(int i, double a) {
+        return previousX[i] + (x[i] - previousX[i]) * a;
+    }
+
+    /**
+     * Devolve a coordenada y interpolada de um objeto.
+     * @param i O índice do objeto, entre 0 e size() - 1.
+     * @param a A fração de interpolação, entre 0 (estado anterior) e 1 (estado atual).
+     * @return A coordenada y a desenhar.
+     */
+    public double getY(int i, double a) {
+        return previousY[i] + (y[i] - previousY[i]) * a;
+    }
+
+    /**
+     * Desenha todos os objetos do snapshot nas posições interpoladas para o instante indicado.
+     * Objetos sem forma são ignorados.
+     * @param g2 O contexto gráfico. Não deve ser nulo.
+     * @param nanoTime O instante de renderização, em nanossegundos (System.nanoTime).
+     * @post Cada forma foi desenhada em g2 na sua posição interpolada.
+     */
+    public void render(Graphics2D g2, long nanoTime) {
+        double a = alphaAt(nanoTime);
+        for (int i = 0; i < shapes.length; i++) {
+            if (shapes[i] == null) continue;
+            shapes[i].render(g2, (int) getX(i, a), (int) getY(i, a), angle[i], scale[i], layer[i]);
+        }
+    }
+}
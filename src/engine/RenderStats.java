@@ -0,0 +1,89 @@
+package engine;
+
+/**
+ * Contadores de apresentação de frames, para diagnosticar a fluidez da renderização.
+ * Cada frame apresentado indica o número de sequência do estado simulado que mostra; estados simulados
+ * que nunca chegaram ao ecrã contam como descartados e intervalos entre apresentações maiores do que
+ * o limite contam como atrasos.
+ * Os contadores são escritos por uma única thread (a que apresenta os frames) e podem ser lidos por outras.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv Todos os contadores são não negativos.
+ */
+public class RenderStats {
+    /** Um intervalo entre frames acima de DELAY_FACTOR vezes o esperado conta como atraso. */
+    private static final double DELAY_FACTOR = 1.5;
+
+    private final long expectedIntervalNanos;
+    private volatile long presented;
+    private volatile long dropped;
+    private volatile long delayed;
+    private long lastSequence = -1;
+    private long lastPresentTime;
+
+    /**
+     * Constrói os contadores para um intervalo esperado entre frames.
+     * @param expectedIntervalSeconds O intervalo esperado entre frames, em segundos. Deve ser positivo.
+     * @post Todos os contadores são 0.
+     */
+    public RenderStats(double expectedIntervalSeconds) {
+        this.expectedIntervalNanos = (long) (expectedIntervalSeconds * 1e9);
+    }
+
+    /**
+     * Regista a apresentação de um frame.
+     * @param sequence O número de sequência do estado simulado apresentado (não decrescente).
+     * @param nanoTime O instante da apresentação, em nanossegundos (System.nanoTime).
+     * @post getPresented() aumenta 1.
+     * @post getDropped() aumenta o número de estados saltados desde o frame anterior.
+     * @post getDelayed() aumenta 1 se o intervalo desde o frame anterior exceder o limite.
+     */
+    public void framePresented(long sequence, long nanoTime) {
+        if (presented > 0) {
+            if (sequence > lastSequence + 1) {
+                dropped += sequence - lastSequence - 1;
+            }
+            if (nanoTime - lastPresentTime > expectedIntervalNanos * DELAY_FACTOR) {
+                delayed++;
+            }
+        }
+        lastSequence = Math.max(lastSequence, sequence);
+        lastPresentTime = nanoTime;
+        presented++;
+    }
+
+    /**
+     * Devolve o número de frames apresentados.
+     * @return O número de frames apresentados.
+     */
+    public long getPresented() {
+        return presented;
+    }
+
+    /**
+     * Devolve o número de frames descartados: estados simulados que nunca foram apresentados.
+     * @return O número de frames descartados.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Devolve o número de frames apresentados com atraso em relação ao intervalo esperado.
+     * @return O número de frames atrasados.
+     */
+    public long getDelayed() {
+        return delayed;
+    }
+
+    /**
+     * Devolve uma representação textual resumida dos contadores.
+     * @return String com os valores dos contadores.
+     */
+    @Override
+    public String toString() {
+        return "apresentados=" + presented +
+                " descartados=" + dropped +
+                " atrasados=" + delayed;
+    }
+}
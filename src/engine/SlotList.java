@@ -0,0 +1,234 @@
+package engine;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Lista de objetos distintos guardados em posições (slots) contíguas, com pertença, procura e remoção em tempo constante.
+ * A posição de cada objeto é guardada numa tabela de dispersão por identidade (endereçamento aberto com sondagem
+ * linear, sobre arrays, sem nós nem inteiros em caixa), pelo que contains e remove não percorrem a lista.
+ * A remoção troca o elemento removido com o último (swap-and-pop): a ordem dos restantes pode mudar.
+ * Não aloca memória em regime estacionário (os arrays só crescem).
+ * @param <T> O tipo dos elementos.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv items[0..size-1] são distintos (por identidade) e não nulos; items[size..] são nulos.
+ * @inv Para cada i &lt; size, a tabela associa items[i] à posição i.
+ * @inv keys.length é uma potência de 2 e pelo menos o dobro de size.
+ */
+final class SlotList<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] items = new Object[INITIAL_CAPACITY];
+    private int size = 0;
+    // Tabela de dispersão por identidade: keys[h] é um elemento (ou nulo) e slots[h] a sua posição em items
+    private Object[] keys = new Object[INITIAL_CAPACITY * 2];
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+    // Vista só de leitura, sem cópia, criada uma única vez
+    private final List<T> view = new ReadOnlyView();
+
+    /**
+     * Acrescenta um elemento no fim da lista, se ainda não estiver presente.
+     * @param item O elemento. Não deve ser nulo.
+     * @return Verdadeiro se foi acrescentado; falso se já estava na lista.
+     * @post contains(item) e, se foi acrescentado, get(size() - 1) == item.
+     */
+    boolean add(T item) {
+        if (find(item) >= 0) return false;
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        items[size] = item;
+        insertKey(item, size);
+        size++;
+        return true;
+    }
+
+    /**
+     * Remove um elemento, trocando-o com o último da lista.
+     * @param item O elemento a remover.
+     * @return Verdadeiro se o elemento estava na lista.
+     * @post !contains(item); o antigo último elemento ocupa a posição do elemento removido.
+     */
+    boolean remove(Object item) {
+        int h = find(item);
+        if (h < 0) return false;
+        int slot = slots[h];
+        deleteKey(h);
+        int last = --size;
+        if (slot != last) {
+            Object moved = items[last];
+            items[slot] = moved;
+            slots[find(moved)] = slot;
+        }
+        items[last] = null;
+        return true;
+    }
+
+    /**
+     * Verifica, em tempo constante, se um elemento está na lista.
+     * @param item O elemento.
+     * @return Verdadeiro se 'item' (o próprio objeto) está na lista.
+     */
+    boolean contains(Object item) {
+        return find(item) >= 0;
+    }
+
+    /**
+     * Devolve a posição de um elemento, em tempo constante.
+     * @param item O elemento.
+     * @return A posição de 'item', ou -1 se não estiver na lista.
+     */
+    int indexOf(Object item) {
+        int h = find(item);
+        return h < 0 ? -1 : slots[h];
+    }
+
+    /**
+     * Devolve o elemento numa posição.
+     * @param index A posição. Deve estar em [0, size()).
+     * @return O elemento nessa posição.
+     */
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+        return (T) items[index];
+    }
+
+    /**
+     * Devolve o número de elementos.
+     * @return O número de elementos da lista.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Esvazia a lista, mantendo a capacidade alocada.
+     * @post size() == 0.
+     */
+    void clear() {
+        Arrays.fill(items, 0, size, null);
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    /**
+     * Devolve uma vista só de leitura da lista, que acompanha as alterações sem copiar os elementos.
+     * contains e indexOf da vista também são de tempo constante.
+     * @return A vista da lista. Nunca é nula; é sempre o mesmo objeto.
+     */
+    List<T> view() {
+        return view;
+    }
+
+    /**
+     * Procura um elemento na tabela de dispersão.
+     * @param item O elemento.
+     * @return A posição de 'item' em keys, ou -1 se não estiver na tabela.
+     */
+    private int find(Object item) {
+        if (item == null) return -1;
+        int mask = keys.length - 1;
+        for (int h = hash(item) & mask; keys[h] != null; h = (h + 1) & mask) {
+            if (keys[h] == item) return h;
+        }
+        return -1;
+    }
+
+    /**
+     * Insere um elemento (que não está na tabela) associado a uma posição.
+     * @param item O elemento. Não deve ser nulo.
+     * @param slot A sua posição em items.
+     */
+    private void insertKey(Object item, int slot) {
+        int mask = keys.length - 1;
+        int h = hash(item) & mask;
+        while (keys[h] != null) {
+            h = (h + 1) & mask;
+        }
+        keys[h] = item;
+        slots[h] = slot;
+    }
+
+    /**
+     * Remove a entrada keys[h] da tabela, recuando as entradas seguintes do mesmo grupo para que a
+     * sondagem linear continue a encontrá-las (remoção sem marcas de apagado).
+     * @param h A posição da entrada a remover.
+     */
+    private void deleteKey(int h) {
+        int mask = keys.length - 1;
+        int hole = h;
+        for (int j = (h + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = hash(keys[j]) & mask;
+            // A entrada j pode ocupar o buraco se a sua posição natural não estiver entre o buraco e j (circularmente)
+            boolean between = (hole <= j) ? (hole < home && home <= j) : (hole < home || home <= j);
+            if (!between) {
+                keys[hole] = keys[j];
+                slots[hole] = slots[j];
+                hole = j;
+            }
+        }
+        keys[hole] = null;
+    }
+
+    /**
+     * Reconstrói a tabela de dispersão com a capacidade indicada.
+     * @param capacity A nova capacidade. Deve ser uma potência de 2 maior que 2 * size.
+     */
+    private void rehash(int capacity) {
+        keys = new Object[capacity];
+        slots = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            insertKey(items[i], i);
+        }
+    }
+
+    /**
+     * Dispersão por identidade, com os bits altos misturados nos baixos.
+     * @param item O elemento. Não deve ser nulo.
+     * @return O valor de dispersão.
+     */
+    private static int hash(Object item) {
+        int h = System.identityHashCode(item);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Vista só de leitura sobre os elementos da lista.
+     */
+    private final class ReadOnlyView extends AbstractList<T> implements RandomAccess {
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Índice " + index + " fora de [0, " + size + ")");
+            }
+            return SlotList.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return SlotList.this.contains(o);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return SlotList.this.indexOf(o);
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return SlotList.this.indexOf(o);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package engine.collision;
+
+import gameobject.IGameObject;
+import gameobject.collider.ICollider;
+import gameobject.geometry.BoundingBox;
+import gameobject.geometry.Point;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broadphase e índice espacial baseados numa DynamicAabbTree persistente entre frames.
+ * Cada colisor tem uma folha com uma caixa alargada ("fat") por uma margem fixa e pelo deslocamento
+ * previsto; enquanto a caixa exata couber na caixa alargada a folha não é reinserida, pelo que objetos
+ * lentos (ex: inimigos em RectangularPath) quase nunca alteram a árvore.
+ * Além dos pares candidatos, oferece consultas por caixa, por círculo e lançamento de raios.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv Cada objeto indexado tem exatamente uma folha na árvore.
+ * @inv margin &gt;= 0.
+ */
+public class AabbTreeBroadPhase implements IBroadPhase {
+    public static final double DEFAULT_MARGIN = 8.0;
+    /** Fator aplicado ao deslocamento do último frame para estender a caixa alargada na direção do movimento. */
+    private static final double DISPLACEMENT_MULTIPLIER = 4.0;
+
+    /**
+     * Estado persistente de um objeto indexado.
+     */
+    private static class Entry {
+        IGameObject go;
+        final BoundingBox tight = new BoundingBox();
+        int proxyId = DynamicAabbTree.NULL_NODE;
+        int index;
+        long frame;
+        double lastX, lastY;
+
+        /**
+         * Constrói a entrada de um objeto.
+         * @param go O objeto de jogo.
+         */
+        Entry(IGameObject go) {
+            this.go = go;
+        }
+    }
+
+    private final double margin;
+    private final DynamicAabbTree<Entry> tree = new DynamicAabbTree<>();
+    private final Map<IGameObject, Entry> entriesByObject = new IdentityHashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    // Entradas de objetos que saíram do índice, reutilizadas para objetos novos (ex: projéteis de um pool)
+    private final List<Entry> freeEntries = new ArrayList<>();
+    private final BoundingBox scratchBox = new BoundingBox();
+    private final Point scratchCenter = new Point(0, 0); // Centro de cada colisor, lido sem alocar
+    private long frame = 0;
+    private int lastReinserts;
+
+    // Estado das consultas em curso (reutilizado para não alocar callbacks em cada chamada)
+    private Entry queryOwner;
+    private int queryIndex, queryOffset;
+    private PairBuffer queryOut;
+    private List<IGameObject> queryResults;
+    private double queryCx, queryCy, queryR;
+    private double rayOx, rayOy, rayDx, rayDy;
+    private Entry rayBest;
+    private double rayBestFraction;
+
+    private final DynamicAabbTree.QueryCallback pairCallback = proxyId -> {
+        Entry other = tree.getData(proxyId);
+        if (other.index > queryOwner.index && queryOwner.tight.overlaps(other.tight)) {
+            queryOut.add(queryOwner.index, other.index);
+        }
+        return true;
+    };
+
+    private final DynamicAabbTree.QueryCallback externalPairCallback = proxyId -> {
+        Entry e = tree.getData(proxyId);
+        if (e.tight.overlaps(scratchBox)) {
+            queryOut.add(queryIndex, queryOffset + e.index);
+        }
+        return true;
+    };
+
+    private final DynamicAabbTree.QueryCallback boxCallback = proxyId -> {
+        Entry e = tree.getData(proxyId);
+        if (e.tight.overlaps(scratchBox)) {
+            queryResults.add(e.go);
+        }
+        return true;
+    };
+
+    private final DynamicAabbTree.QueryCallback circleCallback = proxyId -> {
+        Entry e = tree.getData(proxyId);
+        if (e.tight.overlaps(scratchBox) && e.go.collider().overlapsCircle(queryCx, queryCy, queryR)) {
+            queryResults.add(e.go);
+        }
+        return true;
+    };
+
+    private final DynamicAabbTree.RayCastCallback rayCallback = (proxyId, maxFraction) -> {
+        Entry e = tree.getData(proxyId);
+        double t = e.go.collider().rayCast(rayOx, rayOy, rayDx, rayDy);
+        if (t < 0 || t > maxFraction) return -1;
+        if (rayBest == null || t < rayBestFraction || (t == rayBestFraction && e.index < rayBest.index)) {
+            rayBest = e;
+            rayBestFraction = t;
+        }
+        return t;
+    };
+
+    /**
+     * Constrói o índice com a margem padrão (DEFAULT_MARGIN).
+     * @post margin == DEFAULT_MARGIN.
+     */
+    public AabbTreeBroadPhase() {
+        this(DEFAULT_MARGIN);
+    }
+
+    /**
+     * Constrói o índice com a margem indicada.
+     * @param margin A margem, em unidades do mundo, acrescentada a cada caixa alargada. Deve ser não negativa.
+     * @throws IllegalArgumentException se margin for negativa.
+     * @post As folhas são alargadas por 'margin'.
+     */
+    public AabbTreeBroadPhase(double margin) {
+        if (!(margin >= 0)) {
+            throw new IllegalArgumentException("margin deve ser não negativa: " + margin);
+        }
+        this.margin = margin;
+    }
+
+    /**
+     * Sincroniza a árvore com a lista de objetos: cria folhas para objetos novos, remove as de objetos
+     * ausentes e reinsere apenas as folhas cuja caixa exata saiu da caixa alargada.
+     * @param objects Os objetos a indexar. Todos têm colisor não nulo. Não deve ser nula.
+     * @post A árvore contém exatamente uma folha por objeto de 'objects'.
+     * @post getLastReinserts() indica quantas folhas foram criadas ou reinseridas.
+     */
+    public void update(List<IGameObject> objects) {
+        frame++;
+        int reinserts = 0;
+        int n = objects.size();
+        for (int i = 0; i < n; i++) {
+            IGameObject go = objects.get(i);
+            ICollider c = go.collider();
+            Point center = scratchCenter;
+            c.centroidInto(center);
+            double r = c.getBoundingRadius();
+
+            Entry e = entriesByObject.get(go);
+            boolean isNew = (e == null);
+            if (isNew) {
+                e = freeEntries.isEmpty() ? new Entry(go) : freeEntries.remove(freeEntries.size() - 1);
+                e.go = go;
+                entriesByObject.put(go, e);
+                entries.add(e);
+                e.lastX = center.getX();
+                e.lastY = center.getY();
+            }
+            e.index = i;
+            e.frame = frame;
+            e.tight.setAround(center.getX(), center.getY(), r);
+
+            if (isNew) {
+                fatten(e, 0, 0);
+                e.proxyId = tree.createProxy(scratchBox, e);
+                reinserts++;
+            } else if (!tree.fatBoxContains(e.proxyId, e.tight)) {
+                fatten(e, center.getX() - e.lastX, center.getY() - e.lastY);
+                tree.moveProxy(e.proxyId, scratchBox);
+                reinserts++;
+            }
+            e.lastX = center.getX();
+            e.lastY = center.getY();
+        }
+
+        if (entries.size() != n) {
+            int write = 0;
+            for (int read = 0; read < entries.size(); read++) {
+                Entry e = entries.get(read);
+                if (e.frame == frame) {
+                    entries.set(write++, e);
+                } else {
+                    tree.destroyProxy(e.proxyId);
+                    entriesByObject.remove(e.go);
+                    e.go = null;
+                    freeEntries.add(e);
+                }
+            }
+            for (int last = entries.size() - 1; last >= write; last--) {
+                entries.remove(last);
+            }
+        }
+        lastReinserts = reinserts;
+    }
+
+    /**
+     * Sincroniza a árvore e devolve os pares cujas caixas exatas se sobrepõem.
+     * @param objects Os objetos a considerar. Não deve ser nula.
+     * @param out O buffer de saída. Não deve ser nulo.
+     * @post 'out' contém os pares candidatos, ordenados e sem duplicados.
+     */
+    @Override
+    public void findCandidatePairs(List<IGameObject> objects, PairBuffer out) {
+        update(objects);
+        queryOut = out;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry e = entries.get(i);
+            queryOwner = e;
+            tree.query(e.tight, pairCallback);
+        }
+        queryOwner = null;
+        queryOut = null;
+        out.sortAndRemoveDuplicates();
+    }
+
+    /**
+     * Acrescenta a 'out' os pares entre um objeto de fora do índice e os objetos indexados cuja caixa envolvente
+     * se sobrepõe à sua. Permite testar objetos em movimento contra um índice de objetos parados, sem os reindexar.
+     * @param box A caixa envolvente do objeto de fora do índice. Não deve ser nula.
+     * @param index O índice desse objeto na lista de pares.
+     * @param offset O índice, na lista de pares, do primeiro objeto indexado (os restantes seguem a ordem de update).
+     * @param out O buffer de saída. Não deve ser nulo.
+     * @post 'out' contém, adicionalmente, o par (index, offset + i) por cada objeto indexado i cuja caixa interseta 'box'.
+     */
+    public void findPairsWith(BoundingBox box, int index, int offset, PairBuffer out) {
+        scratchBox.set(box);
+        queryIndex = index;
+        queryOffset = offset;
+        queryOut = out;
+        tree.query(scratchBox, externalPairCallback);
+        queryOut = null;
+    }
+
+    /**
+     * Acrescenta a 'out' os objetos indexados cuja caixa envolvente se sobrepõe à caixa indicada.
+     * @param box A caixa de consulta. Não deve ser nula.
+     * @param out A lista onde os resultados são acrescentados. Não deve ser nula.
+     * @post 'out' contém, adicionalmente, os objetos cuja caixa envolvente interseta 'box'.
+     */
+    public void queryBox(BoundingBox box, List<IGameObject> out) {
+        scratchBox.set(box);
+        queryResults = out;
+        tree.query(scratchBox, boxCallback);
+        queryResults = null;
+    }
+
+    /**
+     * Acrescenta a 'out' os objetos indexados cujo colisor se sobrepõe ao círculo indicado.
+     * @param cx A coordenada x do centro.
+     * @param cy A coordenada y do centro.
+     * @param r O raio. Deve ser não negativo.
+     * @param out A lista onde os resultados são acrescentados. Não deve ser nula.
+     * @post 'out' contém, adicionalmente, os objetos cujo colisor interseta o círculo.
+     */
+    public void queryCircle(double cx, double cy, double r, List<IGameObject> out) {
+        queryCx = cx;
+        queryCy = cy;
+        queryR = r;
+        scratchBox.setAround(cx, cy, r);
+        queryResults = out;
+        tree.query(scratchBox, circleCallback);
+        queryResults = null;
+    }
+
+    /**
+     * Lança o segmento (ox, oy) -&gt; (ox + dx, oy + dy) e devolve o primeiro colisor atingido.
+     * @param ox A coordenada x da origem.
+     * @param oy A coordenada y da origem.
+     * @param dx O deslocamento total em x.
+     * @param dy O deslocamento total em y.
+     * @return O contacto mais próximo da origem, ou nulo se o segmento não atingir nenhum colisor.
+     */
+    public RayCastHit rayCast(double ox, double oy, double dx, double dy) {
+        rayOx = ox;
+        rayOy = oy;
+        rayDx = dx;
+        rayDy = dy;
+        rayBest = null;
+        rayBestFraction = Double.POSITIVE_INFINITY;
+        tree.rayCast(ox, oy, dx, dy, rayCallback);
+        if (rayBest == null) return null;
+        double t = rayBestFraction;
+        IGameObject hit = rayBest.go;
+        rayBest = null;
+        return new RayCastHit(hit, t, ox + t * dx, oy + t * dy);
+    }
+
+    /**
+     * Devolve o número de folhas criadas ou reinseridas na última sincronização.
+     * @return O número de reinserções.
+     */
+    public int getLastReinserts() {
+        return lastReinserts;
+    }
+
+    /**
+     * Devolve o número de objetos atualmente indexados.
+     * @return O número de folhas da árvore.
+     */
+    public int size() {
+        return tree.getProxyCount();
+    }
+
+    /**
+     * Calcula em scratchBox a caixa alargada de uma entrada: margem fixa mais o deslocamento previsto.
+     * @param e A entrada, com a caixa exata já atualizada.
+     * @param dx O deslocamento em x desde a última sincronização.
+     * @param dy O deslocamento em y desde a última sincronização.
+     * @post scratchBox contém a caixa alargada.
+     */
+    private void fatten(Entry e, double dx, double dy) {
+        double minX = e.tight.getMinX() - margin;
+        double minY = e.tight.getMinY() - margin;
+        double maxX = e.tight.getMaxX() + margin;
+        double maxY = e.tight.getMaxY() + margin;
+        double px = dx * DISPLACEMENT_MULTIPLIER;
+        double py = dy * DISPLACEMENT_MULTIPLIER;
+        if (px < 0) minX += px; else maxX += px;
+        if (py < 0) minY += py; else maxY += py;
+        scratchBox.set(minX, minY, maxX, maxY);
+    }
+}
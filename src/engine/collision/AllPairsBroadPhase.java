@@ -0,0 +1,32 @@
+package engine.collision;
+
+import gameobject.IGameObject;
+
+import java.util.List;
+
+/**
+ * Broadphase trivial que devolve todos os pares possíveis (O(n²)).
+ * Corresponde ao comportamento original de GameEngine.checkCollisions e é mantida
+ * para comparação e depuração das restantes implementações.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv Não tem estado.
+ */
+public class AllPairsBroadPhase implements IBroadPhase {
+
+    /**
+     * Escreve todos os pares (i, j), i &lt; j, na ordem do ciclo duplo original.
+     * @param objects Os objetos a considerar. Não deve ser nula.
+     * @param out O buffer de saída. Não deve ser nulo.
+     * @post 'out' contém n*(n-1)/2 pares, ordenados por (i, j).
+     */
+    @Override
+    public void findCandidatePairs(List<IGameObject> objects, PairBuffer out) {
+        int n = objects.size();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                out.add(i, j);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package engine.collision;
+
+import java.util.Arrays;
+
+/**
+ * Buffer reutilizável dos contactos de um passo, agrupados por objeto.
+ * Os pares em contacto (i, j), com índices referentes à lista de objetos passada à broadphase, são registados
+ * com add() pela ordem em que são encontrados; group() agrupa-os por objeto (cada par conta para os dois objetos).
+ * Depois do agrupamento, os objetos com contactos são percorridos pela ordem do seu primeiro contacto e os contactos
+ * de cada objeto pela ordem dos pares. Não aloca memória em regime estacionário.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv 0 &lt;= size &lt;= firsts.length == seconds.length.
+ * @inv Depois de group(), contacts[offsets[i]..offsets[i+1]) são os índices dos objetos em contacto com o objeto i.
+ */
+public class ContactBuffer {
+    private int[] firsts = new int[64];
+    private int[] seconds = new int[64];
+    private int size = 0;
+
+    private int[] offsets = new int[65];
+    private int[] contacts = new int[128];
+    private int[] order = new int[64];
+    private int objectCount = 0;
+
+    /**
+     * Regista um par de objetos em contacto.
+     * @param i O índice de um dos objetos. Deve ser não negativo.
+     * @param j O índice do outro objeto. Deve ser não negativo e diferente de i.
+     * @post O par é o último registado; a capacidade cresce se necessário.
+     */
+    public void add(int i, int j) {
+        if (size == firsts.length) {
+            firsts = Arrays.copyOf(firsts, size * 2);
+            seconds = Arrays.copyOf(seconds, size * 2);
+        }
+        firsts[size] = i;
+        seconds[size] = j;
+        size++;
+    }
+
+    /**
+     * Agrupa os pares registados por objeto.
+     * @param objects O número de objetos (todos os índices registados são menores do que este valor).
+     * @post objectCount() é o número de objetos com pelo menos um contacto e contacts(i) está preenchido para cada um.
+     */
+    public void group(int objects) {
+        if (offsets.length < objects + 1) {
+            offsets = new int[Math.max(objects + 1, offsets.length * 2)];
+        }
+        if (order.length < objects) {
+            order = new int[Math.max(objects, order.length * 2)];
+        }
+        if (contacts.length < 2 * size) {
+            contacts = new int[Math.max(2 * size, contacts.length * 2)];
+        }
+        // Contagem dos contactos de cada objeto em offsets[i + 1]; a ordem é a do primeiro contacto
+        Arrays.fill(offsets, 0, objects + 1, 0);
+        objectCount = 0;
+        for (int k = 0; k < size; k++) {
+            if (offsets[firsts[k] + 1]++ == 0) order[objectCount++] = firsts[k];
+            if (offsets[seconds[k] + 1]++ == 0) order[objectCount++] = seconds[k];
+        }
+        for (int i = 0; i < objects; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        // Preenchimento: offsets[i] avança até ao fim do grupo de i e é reposto a seguir
+        for (int k = 0; k < size; k++) {
+            contacts[offsets[firsts[k]]++] = seconds[k];
+            contacts[offsets[seconds[k]]++] = firsts[k];
+        }
+        for (int i = objects; i > 0; i--) {
+            offsets[i] = offsets[i - 1];
+        }
+        offsets[0] = 0;
+    }
+
+    /**
+     * Devolve o número de objetos com pelo menos um contacto (depois de group()).
+     * @return O número de objetos com contactos.
+     */
+    public int objectCount() {
+        return objectCount;
+    }
+
+    /**
+     * Devolve o índice do n-ésimo objeto com contactos, pela ordem do seu primeiro contacto.
+     * @param n A posição. Deve estar em [0, objectCount()).
+     * @return O índice do objeto.
+     */
+    public int object(int n) {
+        return order[n];
+    }
+
+    /**
+     * Devolve o número de contactos de um objeto (depois de group()).
+     * @param i O índice do objeto.
+     * @return O número de objetos em contacto com o objeto i.
+     */
+    public int contactCount(int i) {
+        return offsets[i + 1] - offsets[i];
+    }
+
+    /**
+     * Devolve o índice do c-ésimo objeto em contacto com um objeto (depois de group()).
+     * @param i O índice do objeto.
+     * @param c A posição do contacto. Deve estar em [0, contactCount(i)).
+     * @return O índice do outro objeto.
+     */
+    public int contact(int i, int c) {
+        return contacts[offsets[i] + c];
+    }
+
+    /**
+     * Devolve o primeiro objeto de um par registado.
+     * @param k A posição do par, pela ordem de registo. Deve estar em [0, size()).
+     * @return O índice do primeiro objeto do par.
+     */
+    public int first(int k) {
+        return firsts[k];
+    }
+
+    /**
+     * Devolve o segundo objeto de um par registado.
+     * @param k A posição do par, pela ordem de registo. Deve estar em [0, size()).
+     * @return O índice do segundo objeto do par.
+     */
+    public int second(int k) {
+        return seconds[k];
+    }
+
+    /**
+     * Devolve o número de pares registados.
+     * @return O número de pares em contacto.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Esvazia o buffer, mantendo a capacidade alocada.
+     * @post size() == 0 e objectCount() == 0.
+     */
+    public void clear() {
+        size = 0;
+        objectCount = 0;
+    }
+}
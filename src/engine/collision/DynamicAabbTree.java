@@ -0,0 +1,518 @@
+package engine.collision;
+
+import gameobject.geometry.BoundingBox;
+
+import java.util.Arrays;
+
+/**
+ * Árvore dinâmica de caixas envolventes (BVH) com equilíbrio do tipo AVL.
+ * Cada folha ("proxy") guarda uma caixa alargada ("fat") e um dado associado; os nós internos guardam
+ * a união das caixas dos filhos. Inserções escolhem o irmão que minimiza o aumento de perímetro.
+ * Os nós vivem num array reutilizado (com lista de nós livres), pelo que os identificadores de proxy
+ * são inteiros estáveis até serem destruídos.
+ * @param <T> O tipo do dado associado a cada folha.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv root == NULL_NODE ou nodes[root].parent == NULL_NODE.
+ * @inv Cada nó interno tem exatamente dois filhos e a sua caixa contém as caixas dos filhos.
+ * @inv A altura de dois irmãos difere no máximo de 1.
+ */
+public class DynamicAabbTree<T> {
+    public static final int NULL_NODE = -1;
+
+    /**
+     * Callback usada em consultas de sobreposição.
+     */
+    public interface QueryCallback {
+        /**
+         * Chamado para cada folha cuja caixa alargada se sobrepõe à caixa consultada.
+         * @param proxyId O identificador da folha.
+         * @return Verdadeiro para continuar a consulta, falso para a terminar.
+         */
+        boolean visit(int proxyId);
+    }
+
+    /**
+     * Callback usada em lançamentos de raios.
+     */
+    public interface RayCastCallback {
+        /**
+         * Chamado para cada folha cuja caixa alargada é atravessada pelo segmento.
+         * @param proxyId O identificador da folha.
+         * @param maxFraction A fração máxima atual do segmento (entre 0 e 1).
+         * @return A nova fração máxima: 0 termina o lançamento, um valor negativo ignora a folha,
+         * outro valor encurta o segmento até esse ponto.
+         */
+        double hit(int proxyId, double maxFraction);
+    }
+
+    private static class Node {
+        double minX, minY, maxX, maxY;
+        int parent = NULL_NODE;
+        int left = NULL_NODE;
+        int right = NULL_NODE;
+        int height = -1;
+        Object data;
+
+        /**
+         * Verifica se o nó é uma folha.
+         * @return Verdadeiro se não tiver filhos.
+         */
+        boolean isLeaf() {
+            return left == NULL_NODE;
+        }
+
+        /**
+         * Calcula o perímetro da caixa do nó (heurística de custo).
+         * @return O perímetro.
+         */
+        double perimeter() {
+            return 2 * ((maxX - minX) + (maxY - minY));
+        }
+    }
+
+    private Node[] nodes;
+    private int root = NULL_NODE;
+    private int freeList;
+    private int proxyCount = 0;
+    private int[] stack = new int[64];
+
+    /**
+     * Constrói uma árvore vazia.
+     * @post A árvore não tem folhas e tem capacidade inicial para 16 nós.
+     */
+    public DynamicAabbTree() {
+        nodes = new Node[16];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node();
+            nodes[i].parent = (i + 1 < nodes.length) ? i + 1 : NULL_NODE; // 'parent' encadeia a lista livre
+        }
+        freeList = 0;
+    }
+
+    /**
+     * Cria uma folha com a caixa e o dado indicados.
+     * @param fatBox A caixa (já alargada) da folha. Não deve ser nula.
+     * @param data O dado associado à folha.
+     * @return O identificador da nova folha.
+     * @post A árvore contém mais uma folha.
+     */
+    public int createProxy(BoundingBox fatBox, T data) {
+        int id = allocateNode();
+        Node n = nodes[id];
+        n.minX = fatBox.getMinX();
+        n.minY = fatBox.getMinY();
+        n.maxX = fatBox.getMaxX();
+        n.maxY = fatBox.getMaxY();
+        n.data = data;
+        n.height = 0;
+        insertLeaf(id);
+        proxyCount++;
+        return id;
+    }
+
+    /**
+     * Remove uma folha da árvore.
+     * @param proxyId O identificador da folha. Deve ser uma folha válida.
+     * @post A folha é removida e o seu nó volta à lista livre.
+     */
+    public void destroyProxy(int proxyId) {
+        removeLeaf(proxyId);
+        freeNode(proxyId);
+        proxyCount--;
+    }
+
+    /**
+     * Substitui a caixa de uma folha, reinserindo-a na árvore.
+     * @param proxyId O identificador da folha. Deve ser uma folha válida.
+     * @param fatBox A nova caixa (já alargada). Não deve ser nula.
+     * @post A folha tem a nova caixa e a árvore continua equilibrada.
+     */
+    public void moveProxy(int proxyId, BoundingBox fatBox) {
+        removeLeaf(proxyId);
+        Node n = nodes[proxyId];
+        n.minX = fatBox.getMinX();
+        n.minY = fatBox.getMinY();
+        n.maxX = fatBox.getMaxX();
+        n.maxY = fatBox.getMaxY();
+        insertLeaf(proxyId);
+    }
+
+    /**
+     * Verifica se a caixa alargada de uma folha ainda contém a caixa indicada.
+     * @param proxyId O identificador da folha.
+     * @param box A caixa a testar. Não deve ser nula.
+     * @return Verdadeiro se a folha não precisa de ser reinserida.
+     */
+    public boolean fatBoxContains(int proxyId, BoundingBox box) {
+        Node n = nodes[proxyId];
+        return n.minX <= box.getMinX() && n.minY <= box.getMinY()
+                && n.maxX >= box.getMaxX() && n.maxY >= box.getMaxY();
+    }
+
+    /**
+     * Copia a caixa alargada de uma folha.
+     * @param proxyId O identificador da folha.
+     * @param out A caixa onde escrever o resultado. Não deve ser nula.
+     * @post 'out' contém a caixa da folha.
+     */
+    public void getFatBox(int proxyId, BoundingBox out) {
+        Node n = nodes[proxyId];
+        out.set(n.minX, n.minY, n.maxX, n.maxY);
+    }
+
+    /**
+     * Devolve o dado associado a uma folha.
+     * @param proxyId O identificador da folha.
+     * @return O dado associado.
+     */
+    @SuppressWarnings("unchecked")
+    public T getData(int proxyId) {
+        return (T) nodes[proxyId].data;
+    }
+
+    /**
+     * Devolve o número de folhas da árvore.
+     * @return O número de proxies.
+     */
+    public int getProxyCount() {
+        return proxyCount;
+    }
+
+    /**
+     * Devolve a altura da árvore (0 para uma única folha, -1 se vazia).
+     * @return A altura da raiz.
+     */
+    public int getHeight() {
+        return root == NULL_NODE ? -1 : nodes[root].height;
+    }
+
+    /**
+     * Visita todas as folhas cuja caixa alargada se sobrepõe à caixa indicada.
+     * @param box A caixa de consulta. Não deve ser nula.
+     * @param callback A callback a invocar para cada folha. Não deve ser nula.
+     * @post callback.visit foi chamado para cada folha sobreposta, até devolver falso.
+     */
+    public void query(BoundingBox box, QueryCallback callback) {
+        int top = 0;
+        stack = push(stack, top++, root);
+        while (top > 0) {
+            int id = stack[--top];
+            if (id == NULL_NODE) continue;
+            Node n = nodes[id];
+            if (n.maxX < box.getMinX() || box.getMaxX() < n.minX
+                    || n.maxY < box.getMinY() || box.getMaxY() < n.minY) {
+                continue;
+            }
+            if (n.isLeaf()) {
+                if (!callback.visit(id)) return;
+            } else {
+                stack = push(stack, top++, n.left);
+                stack = push(stack, top++, n.right);
+            }
+        }
+    }
+
+    /**
+     * Lança o segmento p(t) = (ox, oy) + t * (dx, dy), t em [0, 1], contra as caixas da árvore.
+     * @param ox A coordenada x da origem.
+     * @param oy A coordenada y da origem.
+     * @param dx O deslocamento total em x.
+     * @param dy O deslocamento total em y.
+     * @param callback A callback a invocar para cada folha atravessada. Não deve ser nula.
+     * @post callback.hit foi chamado para as folhas atravessadas pelo segmento, encurtado pelos valores devolvidos.
+     */
+    public void rayCast(double ox, double oy, double dx, double dy, RayCastCallback callback) {
+        double maxFraction = 1.0;
+        int top = 0;
+        stack = push(stack, top++, root);
+        while (top > 0) {
+            int id = stack[--top];
+            if (id == NULL_NODE) continue;
+            Node n = nodes[id];
+            if (!segmentHitsBox(ox, oy, dx, dy, maxFraction, n)) continue;
+            if (n.isLeaf()) {
+                double value = callback.hit(id, maxFraction);
+                if (value == 0) return;
+                if (value > 0 && value < maxFraction) maxFraction = value;
+            } else {
+                stack = push(stack, top++, n.left);
+                stack = push(stack, top++, n.right);
+            }
+        }
+    }
+
+    /**
+     * Teste de "slabs" entre o segmento (limitado a maxFraction) e a caixa de um nó.
+     * @param ox Origem x.
+     * @param oy Origem y.
+     * @param dx Deslocamento x.
+     * @param dy Deslocamento y.
+     * @param maxFraction A fração máxima do segmento.
+     * @param n O nó a testar.
+     * @return Verdadeiro se o segmento intersetar a caixa.
+     */
+    private static boolean segmentHitsBox(double ox, double oy, double dx, double dy, double maxFraction, Node n) {
+        double tMin = 0, tMax = maxFraction;
+        if (Math.abs(dx) < 1e-12) {
+            if (ox < n.minX || ox > n.maxX) return false;
+        } else {
+            double t1 = (n.minX - ox) / dx, t2 = (n.maxX - ox) / dx;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+            if (tMin > tMax) return false;
+        }
+        if (Math.abs(dy) < 1e-12) {
+            return oy >= n.minY && oy <= n.maxY;
+        }
+        double t1 = (n.minY - oy) / dy, t2 = (n.maxY - oy) / dy;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+        return tMin <= tMax;
+    }
+
+    /**
+     * Coloca um valor na pilha de travessia, aumentando-a se necessário.
+     * @param s A pilha.
+     * @param top A posição onde escrever.
+     * @param value O valor.
+     * @return A pilha (possivelmente realocada).
+     */
+    private static int[] push(int[] s, int top, int value) {
+        if (top == s.length) {
+            s = Arrays.copyOf(s, s.length * 2);
+        }
+        s[top] = value;
+        return s;
+    }
+
+    /**
+     * Obtém um nó da lista livre, aumentando o array se necessário.
+     * @return O identificador do nó.
+     */
+    private int allocateNode() {
+        if (freeList == NULL_NODE) {
+            int oldCap = nodes.length;
+            nodes = Arrays.copyOf(nodes, oldCap * 2);
+            for (int i = oldCap; i < nodes.length; i++) {
+                nodes[i] = new Node();
+                nodes[i].parent = (i + 1 < nodes.length) ? i + 1 : NULL_NODE;
+            }
+            freeList = oldCap;
+        }
+        int id = freeList;
+        Node n = nodes[id];
+        freeList = n.parent;
+        n.parent = NULL_NODE;
+        n.left = NULL_NODE;
+        n.right = NULL_NODE;
+        n.height = 0;
+        n.data = null;
+        return id;
+    }
+
+    /**
+     * Devolve um nó à lista livre.
+     * @param id O identificador do nó.
+     */
+    private void freeNode(int id) {
+        Node n = nodes[id];
+        n.parent = freeList;
+        n.height = -1;
+        n.data = null;
+        freeList = id;
+    }
+
+    /**
+     * Insere uma folha escolhendo o irmão que minimiza o custo (perímetro) e reequilibra o caminho até à raiz.
+     * @param leaf O identificador da folha.
+     */
+    private void insertLeaf(int leaf) {
+        if (root == NULL_NODE) {
+            root = leaf;
+            nodes[root].parent = NULL_NODE;
+            return;
+        }
+
+        Node leafNode = nodes[leaf];
+        int index = root;
+        while (!nodes[index].isLeaf()) {
+            Node cur = nodes[index];
+            double area = cur.perimeter();
+            double combined = unionPerimeter(cur, leafNode);
+            double cost = 2 * combined;
+            double inheritance = 2 * (combined - area);
+
+            double costLeft = childCost(nodes[cur.left], leafNode) + inheritance;
+            double costRight = childCost(nodes[cur.right], leafNode) + inheritance;
+
+            if (cost < costLeft && cost < costRight) break;
+            index = (costLeft < costRight) ? cur.left : cur.right;
+        }
+
+        int sibling = index;
+        int oldParent = nodes[sibling].parent;
+        int newParent = allocateNode();
+        Node np = nodes[newParent];
+        np.parent = oldParent;
+        setUnion(np, leafNode, nodes[sibling]);
+        np.height = nodes[sibling].height + 1;
+
+        if (oldParent != NULL_NODE) {
+            if (nodes[oldParent].left == sibling) nodes[oldParent].left = newParent;
+            else nodes[oldParent].right = newParent;
+        } else {
+            root = newParent;
+        }
+        np.left = sibling;
+        np.right = leaf;
+        nodes[sibling].parent = newParent;
+        leafNode.parent = newParent;
+
+        fixUpwards(leafNode.parent);
+    }
+
+    /**
+     * Remove uma folha, substituindo o seu pai pelo irmão, e reequilibra o caminho até à raiz.
+     * @param leaf O identificador da folha.
+     */
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL_NODE;
+            return;
+        }
+        int parent = nodes[leaf].parent;
+        int grandParent = nodes[parent].parent;
+        int sibling = (nodes[parent].left == leaf) ? nodes[parent].right : nodes[parent].left;
+
+        if (grandParent != NULL_NODE) {
+            if (nodes[grandParent].left == parent) nodes[grandParent].left = sibling;
+            else nodes[grandParent].right = sibling;
+            nodes[sibling].parent = grandParent;
+            freeNode(parent);
+            fixUpwards(grandParent);
+        } else {
+            root = sibling;
+            nodes[sibling].parent = NULL_NODE;
+            freeNode(parent);
+        }
+        nodes[leaf].parent = NULL_NODE;
+    }
+
+    /**
+     * Sobe desde 'index' até à raiz, reequilibrando e recalculando alturas e caixas.
+     * @param index O primeiro nó a corrigir.
+     */
+    private void fixUpwards(int index) {
+        while (index != NULL_NODE) {
+            index = balance(index);
+            Node n = nodes[index];
+            Node l = nodes[n.left];
+            Node r = nodes[n.right];
+            n.height = 1 + Math.max(l.height, r.height);
+            setUnion(n, l, r);
+            index = n.parent;
+        }
+    }
+
+    /**
+     * Aplica uma rotação se o nó 'iA' estiver desequilibrado.
+     * @param iA O nó a equilibrar.
+     * @return O nó que ficou na posição de 'iA'.
+     */
+    private int balance(int iA) {
+        Node a = nodes[iA];
+        if (a.isLeaf() || a.height < 2) return iA;
+
+        int iB = a.left, iC = a.right;
+        Node b = nodes[iB], c = nodes[iC];
+        int diff = c.height - b.height;
+
+        if (diff > 1) return rotate(iA, iC, iB, true);
+        if (diff < -1) return rotate(iA, iB, iC, false);
+        return iA;
+    }
+
+    /**
+     * Promove o filho mais alto 'iUp' de 'iA'.
+     * @param iA O nó desequilibrado.
+     * @param iUp O filho mais alto, que sobe.
+     * @param iOther O outro filho de 'iA'.
+     * @param upIsRight Verdadeiro se 'iUp' for o filho direito de 'iA'.
+     * @return 'iUp', a nova raiz da sub-árvore.
+     */
+    private int rotate(int iA, int iUp, int iOther, boolean upIsRight) {
+        Node a = nodes[iA];
+        Node up = nodes[iUp];
+        Node other = nodes[iOther];
+        int iF = up.left, iG = up.right;
+        Node f = nodes[iF], g = nodes[iG];
+
+        up.left = iA;
+        up.parent = a.parent;
+        a.parent = iUp;
+
+        if (up.parent != NULL_NODE) {
+            if (nodes[up.parent].left == iA) nodes[up.parent].left = iUp;
+            else nodes[up.parent].right = iUp;
+        } else {
+            root = iUp;
+        }
+
+        // O neto mais alto fica com 'up'; o outro passa para 'a'
+        int iKeep, iMove;
+        if (f.height > g.height) {
+            iKeep = iF;
+            iMove = iG;
+        } else {
+            iKeep = iG;
+            iMove = iF;
+        }
+        up.right = iKeep;
+        if (upIsRight) a.right = iMove;
+        else a.left = iMove;
+        nodes[iMove].parent = iA;
+
+        setUnion(a, other, nodes[iMove]);
+        a.height = 1 + Math.max(other.height, nodes[iMove].height);
+        setUnion(up, a, nodes[iKeep]);
+        up.height = 1 + Math.max(a.height, nodes[iKeep].height);
+        return iUp;
+    }
+
+    /**
+     * Custo de descer para um filho durante a inserção.
+     * @param child O filho considerado.
+     * @param leaf A folha a inserir.
+     * @return O custo estimado.
+     */
+    private static double childCost(Node child, Node leaf) {
+        double u = unionPerimeter(child, leaf);
+        return child.isLeaf() ? u : u - child.perimeter();
+    }
+
+    /**
+     * Perímetro da união das caixas de dois nós.
+     * @param a O primeiro nó.
+     * @param b O segundo nó.
+     * @return O perímetro da caixa que envolve ambos.
+     */
+    private static double unionPerimeter(Node a, Node b) {
+        double w = Math.max(a.maxX, b.maxX) - Math.min(a.minX, b.minX);
+        double h = Math.max(a.maxY, b.maxY) - Math.min(a.minY, b.minY);
+        return 2 * (w + h);
+    }
+
+    /**
+     * Define a caixa de 'target' como a união das caixas de 'a' e 'b'.
+     * @param target O nó a atualizar.
+     * @param a O primeiro nó.
+     * @param b O segundo nó.
+     */
+    private static void setUnion(Node target, Node a, Node b) {
+        target.minX = Math.min(a.minX, b.minX);
+        target.minY = Math.min(a.minY, b.minY);
+        target.maxX = Math.max(a.maxX, b.maxX);
+        target.maxY = Math.max(a.maxY, b.maxY);
+    }
+}
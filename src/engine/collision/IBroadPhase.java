@@ -0,0 +1,23 @@
+package engine.collision;
+
+import gameobject.IGameObject;
+
+import java.util.List;
+
+/**
+ * Interface que define o contrato para a fase larga (broadphase) da deteção de colisões.
+ * Uma broadphase recebe a lista de objetos com colisor e devolve apenas os pares que
+ * podem estar a colidir, evitando que todos os pares cheguem ao teste exato (isColliding).
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv Nenhuma implementação pode omitir um par que de facto colida (os candidatos são conservadores).
+ */
+public interface IBroadPhase {
+    /**
+     * Calcula os pares candidatos a colisão.
+     * @param objects Os objetos a considerar. Todos têm colisor não nulo e já atualizado. Não deve ser nula.
+     * @param out O buffer onde os pares (índices em 'objects') são escritos. Não deve ser nulo.
+     * @post 'out' contém todos os pares (i, j), i &lt; j, cujos colisores se podem sobrepor, ordenados e sem duplicados.
+     */
+    void findCandidatePairs(List<IGameObject> objects, PairBuffer out);
+}
@@ -0,0 +1,87 @@
+package engine.collision;
+
+import java.util.Arrays;
+
+/**
+ * Buffer reutilizável de pares candidatos a colisão produzidos por uma fase larga (broadphase).
+ * Cada par é guardado como um único long que codifica dois índices (i, j) com i &lt; j,
+ * referentes à lista de objetos passada à broadphase. Não aloca memória em regime estacionário.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv pairs nunca é nulo.
+ * @inv 0 &lt;= size &lt;= pairs.length.
+ * @inv Para cada par guardado, first(k) &lt; second(k).
+ */
+public class PairBuffer {
+    private long[] pairs = new long[64];
+    private int size = 0;
+
+    /**
+     * Adiciona um par de índices ao buffer. A ordem dos índices é normalizada (menor primeiro).
+     * @param i O índice de um dos objetos. Deve ser não negativo.
+     * @param j O índice do outro objeto. Deve ser não negativo e diferente de i.
+     * @post O par (min(i,j), max(i,j)) é acrescentado ao buffer; a capacidade cresce se necessário.
+     */
+    public void add(int i, int j) {
+        if (i > j) {
+            int tmp = i;
+            i = j;
+            j = tmp;
+        }
+        if (size == pairs.length) {
+            pairs = Arrays.copyOf(pairs, size * 2);
+        }
+        pairs[size++] = ((long) i << 32) | (j & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Ordena os pares por (i, j) e remove duplicados.
+     * Garante uma ordem de despacho estável e igual à do ciclo duplo original.
+     * @post Os pares ficam ordenados lexicograficamente e sem repetições.
+     */
+    public void sortAndRemoveDuplicates() {
+        if (size < 2) return;
+        Arrays.sort(pairs, 0, size);
+        int write = 1;
+        for (int read = 1; read < size; read++) {
+            if (pairs[read] != pairs[write - 1]) {
+                pairs[write++] = pairs[read];
+            }
+        }
+        size = write;
+    }
+
+    /**
+     * Esvazia o buffer, mantendo a capacidade alocada.
+     * @post size() == 0.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Devolve o número de pares guardados.
+     * @return O número de pares.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Devolve o primeiro (menor) índice do par k.
+     * @param k A posição do par no buffer. Deve estar entre 0 e size()-1.
+     * @return O índice i do par.
+     */
+    public int first(int k) {
+        return (int) (pairs[k] >>> 32);
+    }
+
+    /**
+     * Devolve o segundo (maior) índice do par k.
+     * @param k A posição do par no buffer. Deve estar entre 0 e size()-1.
+     * @return O índice j do par.
+     */
+    public int second(int k) {
+        return (int) pairs[k];
+    }
+}
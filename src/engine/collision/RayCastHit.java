@@ -0,0 +1,63 @@
+package engine.collision;
+
+import gameobject.IGameObject;
+
+/**
+ * Resultado de um lançamento de raio (ray cast) contra os colisores do motor.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv gameObject nunca é nulo.
+ * @inv 0 &lt;= fraction &lt;= 1.
+ */
+public class RayCastHit {
+    private final IGameObject gameObject;
+    private final double fraction;
+    private final double x, y;
+
+    /**
+     * Constrói um resultado de lançamento de raio.
+     * @param gameObject O objeto atingido. Não deve ser nulo.
+     * @param fraction A fração do segmento no ponto de contacto (0 a 1).
+     * @param x A coordenada x do ponto de contacto.
+     * @param y A coordenada y do ponto de contacto.
+     * @post O resultado guarda os valores fornecidos.
+     */
+    public RayCastHit(IGameObject gameObject, double fraction, double x, double y) {
+        this.gameObject = gameObject;
+        this.fraction = fraction;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Devolve o objeto atingido.
+     * @return O IGameObject atingido.
+     */
+    public IGameObject getGameObject() {
+        return gameObject;
+    }
+
+    /**
+     * Devolve a fração do segmento em que ocorreu o contacto.
+     * @return Um valor entre 0 (origem) e 1 (fim do segmento).
+     */
+    public double getFraction() {
+        return fraction;
+    }
+
+    /**
+     * Devolve a coordenada x do ponto de contacto.
+     * @return A coordenada x.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Devolve a coordenada y do ponto de contacto.
+     * @return A coordenada y.
+     */
+    public double getY() {
+        return y;
+    }
+}
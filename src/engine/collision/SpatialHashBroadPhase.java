@@ -0,0 +1,173 @@
+package engine.collision;
+
+import gameobject.IGameObject;
+import gameobject.collider.ICollider;
+import gameobject.geometry.Point;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Broadphase baseada numa grelha uniforme (spatial hash) reconstruída a cada tick.
+ * Cada objeto é inserido em todas as células tocadas pela sua caixa envolvente, calculada a partir de
+ * ICollider.centroid() e ICollider.getBoundingRadius(). Só objetos que partilham pelo menos uma célula
+ * são devolvidos como candidatos.
+ * As entradas (célula, objeto) são codificadas num único long e ordenadas, pelo que não há
+ * alocação de memória em regime estacionário nem dependência da ordem de iteração de um HashMap.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv cellSize &gt; 0.
+ * @inv entries e oversized nunca são nulos.
+ */
+public class SpatialHashBroadPhase implements IBroadPhase {
+    public static final double DEFAULT_CELL_SIZE = 64.0;
+    /** Número máximo de células por eixo; objetos maiores são testados contra todos os outros. */
+    private static final int MAX_CELLS_PER_AXIS = 16;
+    private static final int INDEX_BITS = 24;
+    private static final int CELL_BITS = 20;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+    private static final int CELL_OFFSET = 1 << (CELL_BITS - 1);
+
+    private final double cellSize;
+    private final Point scratchCenter = new Point(0, 0); // Centro de cada colisor, lido sem alocar
+    private long[] entries = new long[128];
+    private int entryCount = 0;
+    private int[] oversized = new int[8];
+    private int oversizedCount = 0;
+
+    /**
+     * Constrói uma broadphase com o tamanho de célula padrão (DEFAULT_CELL_SIZE).
+     * @post cellSize == DEFAULT_CELL_SIZE.
+     */
+    public SpatialHashBroadPhase() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constrói uma broadphase com o tamanho de célula indicado.
+     * Idealmente o tamanho da célula é da ordem do diâmetro dos objetos mais comuns.
+     * @param cellSize O lado de cada célula, em unidades do mundo. Deve ser positivo.
+     * @throws IllegalArgumentException se cellSize não for positivo.
+     * @post A grelha usa células de lado 'cellSize'.
+     */
+    public SpatialHashBroadPhase(double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("cellSize deve ser positivo: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Insere todos os objetos na grelha e devolve os pares que partilham pelo menos uma célula.
+     * @param objects Os objetos a considerar. Não deve ser nula e deve ter menos de 2^24 elementos.
+     * @param out O buffer de saída. Não deve ser nulo.
+     * @post 'out' contém os pares candidatos, ordenados e sem duplicados.
+     */
+    @Override
+    public void findCandidatePairs(List<IGameObject> objects, PairBuffer out) {
+        entryCount = 0;
+        oversizedCount = 0;
+        int n = objects.size();
+        if (n > INDEX_MASK) {
+            throw new IllegalStateException("Demasiados objetos para a SpatialHashBroadPhase: " + n);
+        }
+
+        for (int i = 0; i < n; i++) {
+            ICollider c = objects.get(i).collider();
+            Point center = scratchCenter;
+            c.centroidInto(center);
+            double r = c.getBoundingRadius();
+            int minCx = cellOf(center.getX() - r);
+            int maxCx = cellOf(center.getX() + r);
+            int minCy = cellOf(center.getY() - r);
+            int maxCy = cellOf(center.getY() + r);
+
+            if (maxCx - minCx >= MAX_CELLS_PER_AXIS || maxCy - minCy >= MAX_CELLS_PER_AXIS) {
+                addOversized(i);
+                continue;
+            }
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                for (int cy = minCy; cy <= maxCy; cy++) {
+                    addEntry(cx, cy, i);
+                }
+            }
+        }
+
+        Arrays.sort(entries, 0, entryCount);
+
+        // Percorre cada célula (sequência de entradas com a mesma chave) e emite os pares nela contidos
+        int runStart = 0;
+        while (runStart < entryCount) {
+            long cellKey = entries[runStart] >>> INDEX_BITS;
+            int runEnd = runStart + 1;
+            while (runEnd < entryCount && (entries[runEnd] >>> INDEX_BITS) == cellKey) {
+                runEnd++;
+            }
+            for (int a = runStart; a < runEnd; a++) {
+                int i = (int) (entries[a] & INDEX_MASK);
+                for (int b = a + 1; b < runEnd; b++) {
+                    out.add(i, (int) (entries[b] & INDEX_MASK));
+                }
+            }
+            runStart = runEnd;
+        }
+
+        // Objetos demasiado grandes para a grelha são emparelhados com todos os restantes
+        for (int k = 0; k < oversizedCount; k++) {
+            int i = oversized[k];
+            for (int j = 0; j < n; j++) {
+                if (j != i) out.add(i, j);
+            }
+        }
+
+        out.sortAndRemoveDuplicates();
+    }
+
+    /**
+     * Devolve o tamanho de célula usado por esta grelha.
+     * @return O lado de cada célula.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Converte uma coordenada do mundo no índice da célula correspondente, limitado ao intervalo codificável.
+     * @param v A coordenada (x ou y).
+     * @return O índice da célula.
+     */
+    private int cellOf(double v) {
+        double c = Math.floor(v / cellSize);
+        if (c < -CELL_OFFSET) return -CELL_OFFSET;
+        if (c > CELL_OFFSET - 1) return CELL_OFFSET - 1;
+        return (int) c;
+    }
+
+    /**
+     * Acrescenta uma entrada (célula, objeto) codificada num long: [cx:20][cy:20][índice:24].
+     * @param cx O índice da célula em x.
+     * @param cy O índice da célula em y.
+     * @param index O índice do objeto.
+     * @post entryCount é incrementado; a capacidade cresce se necessário.
+     */
+    private void addEntry(int cx, int cy, int index) {
+        if (entryCount == entries.length) {
+            entries = Arrays.copyOf(entries, entryCount * 2);
+        }
+        long key = (((long) (cx + CELL_OFFSET) & CELL_MASK) << CELL_BITS) | ((long) (cy + CELL_OFFSET) & CELL_MASK);
+        entries[entryCount++] = (key << INDEX_BITS) | index;
+    }
+
+    /**
+     * Regista um objeto que ocupa demasiadas células para ser inserido na grelha.
+     * @param index O índice do objeto.
+     * @post oversizedCount é incrementado.
+     */
+    private void addOversized(int index) {
+        if (oversizedCount == oversized.length) {
+            oversized = Arrays.copyOf(oversized, oversizedCount * 2);
+        }
+        oversized[oversizedCount++] = index;
+    }
+}
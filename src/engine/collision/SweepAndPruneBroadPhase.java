@@ -0,0 +1,173 @@
+package engine.collision;
+
+import gameobject.IGameObject;
+import gameobject.collider.ICollider;
+import gameobject.geometry.Point;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broadphase do tipo "sweep and prune" (ordenar e varrer) no eixo X, com coerência temporal.
+ * A lista de intervalos [minX, maxX] ordenada é mantida entre frames e reordenada por inserção:
+ * como a maioria dos objetos (inimigos em HorizontalPath, projéteis que sobem na vertical) quase não
+ * muda de ordem em X de um frame para o outro, a reordenação custa perto de O(n).
+ * Os pares que se sobrepõem em X são depois filtrados pela sobreposição em Y.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv sorted[0..count-1] está ordenado por minX crescente após cada chamada a findCandidatePairs.
+ * @inv entriesByObject contém exatamente as entradas de sorted[0..count-1].
+ */
+public class SweepAndPruneBroadPhase implements IBroadPhase {
+
+    /**
+     * Intervalo persistente de um objeto ao longo dos frames.
+     */
+    private static class Entry {
+        final IGameObject go;
+        double minX, maxX, minY, maxY;
+        int index;
+        long frame;
+
+        /**
+         * Constrói uma entrada para o objeto indicado.
+         * @param go O objeto de jogo associado.
+         */
+        Entry(IGameObject go) {
+            this.go = go;
+        }
+    }
+
+    private final Map<IGameObject, Entry> entriesByObject = new IdentityHashMap<>();
+    private final Point scratchCenter = new Point(0, 0); // Centro de cada colisor, lido sem alocar
+    private Entry[] sorted = new Entry[64];
+    private int count = 0;
+    private long frame = 0;
+
+    private int lastOverlapPairs;
+    private int lastRejectedPairs;
+    private int lastSwaps;
+
+    /**
+     * Atualiza os intervalos, reordena-os por inserção e varre o eixo X para encontrar pares candidatos.
+     * @param objects Os objetos a considerar. Não deve ser nula.
+     * @param out O buffer de saída. Não deve ser nulo.
+     * @post 'out' contém os pares cujas caixas envolventes se sobrepõem em X e em Y, ordenados e sem duplicados.
+     * @post getLastOverlapPairs(), getLastRejectedPairs() e getLastSwaps() refletem esta chamada.
+     */
+    @Override
+    public void findCandidatePairs(List<IGameObject> objects, PairBuffer out) {
+        frame++;
+        int n = objects.size();
+
+        // 1. Atualizar (ou criar) a entrada de cada objeto
+        for (int i = 0; i < n; i++) {
+            IGameObject go = objects.get(i);
+            Entry e = entriesByObject.get(go);
+            if (e == null) {
+                e = new Entry(go);
+                entriesByObject.put(go, e);
+                append(e);
+            }
+            ICollider c = go.collider();
+            Point center = scratchCenter;
+            c.centroidInto(center);
+            double r = c.getBoundingRadius();
+            e.minX = center.getX() - r;
+            e.maxX = center.getX() + r;
+            e.minY = center.getY() - r;
+            e.maxY = center.getY() + r;
+            e.index = i;
+            e.frame = frame;
+        }
+
+        // 2. Remover entradas de objetos que já não estão presentes, mantendo a ordem relativa
+        if (count != n) {
+            int write = 0;
+            for (int read = 0; read < count; read++) {
+                Entry e = sorted[read];
+                if (e.frame == frame) {
+                    sorted[write++] = e;
+                } else {
+                    entriesByObject.remove(e.go);
+                }
+            }
+            Arrays.fill(sorted, write, count, null);
+            count = write;
+        }
+
+        // 3. Ordenação por inserção: quase O(n) quando a ordem mudou pouco desde o último frame
+        int swaps = 0;
+        for (int i = 1; i < count; i++) {
+            Entry key = sorted[i];
+            int j = i - 1;
+            while (j >= 0 && sorted[j].minX > key.minX) {
+                sorted[j + 1] = sorted[j];
+                j--;
+                swaps++;
+            }
+            sorted[j + 1] = key;
+        }
+
+        // 4. Varrimento: só pares com sobreposição em X chegam ao teste em Y
+        int overlaps = 0;
+        int rejected = 0;
+        for (int i = 0; i < count; i++) {
+            Entry a = sorted[i];
+            for (int j = i + 1; j < count; j++) {
+                Entry b = sorted[j];
+                if (b.minX > a.maxX) break;
+                if (a.maxY >= b.minY && b.maxY >= a.minY) {
+                    out.add(a.index, b.index);
+                    overlaps++;
+                } else {
+                    rejected++;
+                }
+            }
+        }
+        out.sortAndRemoveDuplicates();
+
+        lastOverlapPairs = overlaps;
+        lastRejectedPairs = rejected;
+        lastSwaps = swaps;
+    }
+
+    /**
+     * Devolve o número de pares com caixas sobrepostas encontrados na última chamada.
+     * @return O número de pares candidatos produzidos.
+     */
+    public int getLastOverlapPairs() {
+        return lastOverlapPairs;
+    }
+
+    /**
+     * Devolve o número de pares que se sobrepunham em X mas foram rejeitados pelo teste em Y na última chamada.
+     * @return O número de pares rejeitados.
+     */
+    public int getLastRejectedPairs() {
+        return lastRejectedPairs;
+    }
+
+    /**
+     * Devolve o número de deslocamentos feitos pela ordenação por inserção na última chamada.
+     * Um valor próximo de zero indica boa coerência temporal.
+     * @return O número de trocas de posição.
+     */
+    public int getLastSwaps() {
+        return lastSwaps;
+    }
+
+    /**
+     * Acrescenta uma nova entrada ao fim da lista ordenada (será colocada no lugar pela ordenação).
+     * @param e A entrada a acrescentar. Não deve ser nula.
+     * @post count é incrementado; a capacidade cresce se necessário.
+     */
+    private void append(Entry e) {
+        if (count == sorted.length) {
+            sorted = Arrays.copyOf(sorted, count * 2);
+        }
+        sorted[count++] = e;
+    }
+}
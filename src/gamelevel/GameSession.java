@@ -0,0 +1,441 @@
+package gamelevel;
+
+import engine.GameEngine;
+import engine.GameEvent;
+import engine.GameEventBus;
+import engine.GameEventType;
+import engine.IInputEvent;
+import gameobject.EntityHandle;
+import gameobject.EntityKind;
+import gameobject.IGameObject;
+import gameobject.behaviour.IBehaviour;
+import gameobject.entity.PlayerShip;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sessão de jogo sem interface gráfica: o motor de jogo, o jogador, os níveis, as vidas, a pontuação e a progressão
+ * entre níveis. Avança apenas quando step() é chamado, com o input fornecido, pelo que pode correr em qualquer thread
+ * e a qualquer velocidade (ex: milhares de jogos simulados com um IInputEvent programado, sem ecrã).
+ * O GameScreen delega nesta classe e limita-se a desenhar o estado e a recolher o input do teclado.
+ * O fim do jogo é publicado no barramento de eventos do motor (GAME_WON ou GAME_LOST).
+ * Não é thread-safe: todos os métodos que alteram o estado devem ser chamados pela mesma thread.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv engine, player e levels nunca são nulos; levels não está vazia.
+ * @inv playerLives e currentScore são sempre não negativos.
+ * @inv Depois de isOver() ser verdadeiro, o estado do jogo não muda mais.
+ */
+public class GameSession {
+    /** Vidas do jogador no início do jogo. */
+    public static final int INITIAL_PLAYER_LIVES = 3;
+    /** Pontos por cada inimigo congelado. */
+    public static final int POINTS_PER_ENEMY = 10;
+    /** Pontos por cada projétil por disparar no fim de um nível. */
+    public static final int POINTS_PER_REMAINING_BULLET = 10;
+    /** Duração de um passo de simulação, em segundos. */
+    public static final double SIMULATION_STEP = 1.0 / 60.0;
+    // Tipos de entidade que pertencem ao nível e são removidos ao reiniciá-lo
+    private static final EntityKind[] LEVEL_ENTITY_KINDS = { EntityKind.ENEMY, EntityKind.PLAYER_BULLET, EntityKind.OBSTACLE };
+
+    private final GameEngine engine;
+    private final List<Level> levels;
+    private final PlayerShip player;
+    private int currentLevelIndex = 0;
+    private int playerLives = INITIAL_PLAYER_LIVES;
+    private int currentScore = 0;
+    private int scoreAtStartOfThisAttempt = 0;
+    private int hudBullets; // Projéteis mostrados no HUD, atualizados pelos eventos BULLET_FIRED e ao reiniciar o nível
+    private boolean levelFinished = false;
+    private volatile boolean over = false;
+    private volatile boolean won = false;
+    private long steps = 0;
+
+    // Listas imutáveis, substituídas (e não alteradas) ao carregar um nível, para poderem ser partilhadas com outras threads
+    private List<Integer> lineYPositions = List.of();
+    private List<Integer> zigzagLineYPositions = List.of();
+    private List<Rectangle> pathRectangles = List.of();
+
+    /**
+     * Constrói uma sessão com a área de jogo e os três níveis do jogo.
+     * @post O jogador e o primeiro nível estão carregados no motor; o jogo começa no próximo step().
+     */
+    public GameSession() {
+        this(new Rectangle(25, 10, 365, 400), List.of(new Level1(), new Level2(), new Level3()));
+    }
+
+    /**
+     * Constrói uma sessão com a área de jogo e os níveis indicados.
+     * @param bounds Os limites lógicos da área de jogo. Não deve ser nulo.
+     * @param levels Os níveis, pela ordem em que são jogados. Não deve ser nula nem vazia.
+     * @throws IllegalArgumentException se bounds ou levels forem nulos, ou levels estiver vazia.
+     * @post O jogador e o primeiro nível estão carregados no motor; o jogo começa no próximo step().
+     */
+    public GameSession(Rectangle bounds, List<Level> levels) {
+        if (bounds == null || levels == null || levels.isEmpty()) {
+            throw new IllegalArgumentException("bounds e levels não podem ser nulos e levels não pode estar vazia");
+        }
+        this.levels = List.copyOf(levels);
+        engine = new GameEngine();
+        engine.setBounds(new Rectangle(bounds));
+        subscribeToGameEvents(engine.getEvents());
+
+        player = new PlayerShip("player",
+                bounds.getMinX() + bounds.getWidth() / 2.0,
+                bounds.getMinY() + bounds.getHeight() - 20);
+        IBehaviour playerBhv = player.behaviour();
+        if (playerBhv != null) {
+            playerBhv.linkGameEngine(engine);
+            hudBullets = playerBhv.getDisplayBulletCount();
+        }
+        engine.addEnabled(player);
+
+        loadCurrentLevel();
+    }
+
+    /**
+     * Executa um passo de simulação: avança o motor de jogo (que entrega os eventos do passo, como ENEMY_FROZEN)
+     * e verifica as condições de perda de vida e de fim de nível, publicando PLAYER_LIFE_LOST ou LEVEL_CLEARED.
+     * @param dt A duração do passo, em segundos. Deve ser não negativo.
+     * @param input O estado dos inputs neste passo. Pode ser nulo (nenhuma tecla premida).
+     * @post Se o jogo não tiver terminado, o motor avançou 'dt' segundos e o estado do jogo foi atualizado.
+     */
+    public void step(double dt, IInputEvent input) {
+        if (over) {
+            return;
+        }
+
+        engine.run(dt, input); // A pontuação dos inimigos congelados é atribuída por onEnemyFrozen
+        steps++;
+
+        if (levelFinished) {
+            return;
+        }
+
+        GameEventBus events = engine.getEvents();
+
+        // Contagens mantidas pelo motor: um inimigo congelado é adormecido (EnemyBehaviour), pelo que os inimigos
+        // por congelar são os inimigos ativos que não estão adormecidos
+        int activeEnemyCount = engine.countEnabled(EntityKind.ENEMY);
+        boolean hasUnfrozenEnemies = activeEnemyCount > engine.countSleeping(EntityKind.ENEMY);
+        boolean bulletsStillOnScreen = engine.countEnabled(EntityKind.PLAYER_BULLET) > 0;
+
+        if (player.behaviour() != null &&
+                player.behaviour().getDisplayBulletCount() <= 0 &&
+                !bulletsStillOnScreen &&
+                hasUnfrozenEnemies) {
+            events.publish(GameEventType.PLAYER_LIFE_LOST, player.handle(), Math.max(0, playerLives - 1));
+            events.dispatch();
+            return;
+        }
+
+        if ((activeEnemyCount > 0 && !hasUnfrozenEnemies) || (activeEnemyCount == 0 && !bulletsStillOnScreen)) {
+            levelFinished = true;
+            events.publish(GameEventType.LEVEL_CLEARED, EntityHandle.NONE, currentLevelIndex);
+            events.dispatch();
+        }
+    }
+
+    /**
+     * Joga até o jogo terminar ou até um número máximo de passos, com passos de SIMULATION_STEP.
+     * @param input O input usado em todos os passos (pode depender de getSteps() para seguir um guião). Pode ser nulo.
+     * @param maxSteps O número máximo de passos a executar. Deve ser não negativo.
+     * @return O número de passos executados.
+     * @post isOver() é verdadeiro, ou foram executados 'maxSteps' passos.
+     */
+    public long play(IInputEvent input, long maxSteps) {
+        long executed = 0;
+        while (!over && executed < maxSteps) {
+            step(SIMULATION_STEP, input);
+            executed++;
+        }
+        return executed;
+    }
+
+    /**
+     * Reinicia a tentativa atual do nível (ex: tecla 'R'), revertendo a pontuação para a do início da tentativa.
+     * Não tem efeito se o jogo já tiver terminado.
+     * @post Os objetos do nível foram recarregados e o estado do jogador reiniciado.
+     */
+    public void restartLevel() {
+        resetLevel(true);
+    }
+
+    /**
+     * Regista os subscritores de eventos de jogo da sessão: pontuação, HUD e transições de nível.
+     * @param events O barramento de eventos do motor de jogo. Não deve ser nulo.
+     * @post Os eventos ENEMY_FROZEN, BULLET_FIRED, LEVEL_CLEARED e PLAYER_LIFE_LOST são tratados por esta sessão.
+     */
+    private void subscribeToGameEvents(GameEventBus events) {
+        events.subscribe(GameEventType.ENEMY_FROZEN, this::onEnemyFrozen);
+        events.subscribe(GameEventType.BULLET_FIRED, this::onBulletFired);
+        events.subscribe(GameEventType.LEVEL_CLEARED, this::onLevelCleared);
+        events.subscribe(GameEventType.PLAYER_LIFE_LOST, this::onPlayerLifeLost);
+    }
+
+    /**
+     * Atribui os pontos de um inimigo congelado.
+     * @param event O evento ENEMY_FROZEN.
+     * @post currentScore é incrementado em POINTS_PER_ENEMY.
+     */
+    private void onEnemyFrozen(GameEvent event) {
+        addScore(POINTS_PER_ENEMY);
+    }
+
+    /**
+     * Atualiza a contagem de projéteis do HUD depois de um disparo.
+     * @param event O evento BULLET_FIRED, com os projéteis restantes.
+     * @post hudBullets == event.value().
+     */
+    private void onBulletFired(GameEvent event) {
+        hudBullets = event.value();
+    }
+
+    /**
+     * Conclui o nível atual: atribui os pontos dos projéteis restantes e avança para o próximo nível.
+     * @param event O evento LEVEL_CLEARED.
+     * @post Os pontos dos projéteis restantes foram somados e nextLevel() foi chamado.
+     */
+    private void onLevelCleared(GameEvent event) {
+        addPointsForRemainingBullets(player.behaviour());
+        nextLevel();
+    }
+
+    /**
+     * Retira uma vida ao jogador e reinicia o nível, ou termina o jogo se não restarem vidas.
+     * @param event O evento PLAYER_LIFE_LOST, com as vidas restantes.
+     * @post playerLives == event.value(); se for 0, o jogo termina (GAME_LOST), caso contrário o nível é reiniciado.
+     */
+    private void onPlayerLifeLost(GameEvent event) {
+        playerLives = event.value();
+        if (playerLives <= 0) {
+            finish(false);
+        } else {
+            resetLevel(true);
+        }
+    }
+
+    /**
+     * Reinicia o estado do nível atual.
+     * Remove todos os inimigos, projéteis do jogador e obstáculos. Recarrega os objetos do nível.
+     * Opcionalmente, reverte a pontuação para o valor que tinha no início da tentativa atual do nível.
+     * @param revertScoreToStartOfAttempt Se verdadeiro, a pontuação atual é revertida para a pontuação no início desta tentativa de nível.
+     * @post Todos os inimigos, projéteis do jogador e obstáculos são removidos do motor de jogo.
+     * @post O nível atual é recarregado.
+     * @post O estado do jogador (ex: contagem de projéteis) é reiniciado.
+     * @post levelFinished é definido como false.
+     * @post Se revertScoreToStartOfAttempt for verdadeiro, currentScore é atualizado.
+     */
+    private void resetLevel(boolean revertScoreToStartOfAttempt) {
+        if (over) return;
+
+        if (revertScoreToStartOfAttempt) {
+            this.currentScore = this.scoreAtStartOfThisAttempt;
+        }
+
+        // destroy só regista a operação, pelo que as vistas por tipo não mudam durante o ciclo
+        for (EntityKind kind : LEVEL_ENTITY_KINDS) {
+            for (IGameObject go : engine.getEnabled(kind)) {
+                engine.destroy(go);
+            }
+        }
+
+        loadCurrentLevel();
+
+        if (player.behaviour() != null) {
+            player.behaviour().resetPlayerSpecificState();
+            hudBullets = player.behaviour().getDisplayBulletCount();
+        }
+        levelFinished = false;
+    }
+
+    /**
+     * Adiciona pontos à pontuação atual do jogador.
+     * @param points O número de pontos a adicionar. Pressupõe-se que seja não negativo.
+     * @post currentScore é incrementado pelo valor de points.
+     */
+    private void addScore(int points) {
+        this.currentScore += points;
+    }
+
+    /**
+     * Adiciona pontos à pontuação do jogador com base nos projéteis restantes.
+     * @param pb O comportamento do jogador (IBehaviour) para obter a contagem de projéteis. Pode ser nulo.
+     * @post Se pb não for nulo, pontos são adicionados à pontuação atual com base nos projéteis restantes e POINTS_PER_REMAINING_BULLET.
+     */
+    private void addPointsForRemainingBullets(IBehaviour pb) {
+        if (pb != null) {
+            int bulletsLeft = pb.getDisplayBulletCount();
+            if (bulletsLeft >= 0) {
+                addScore(bulletsLeft * POINTS_PER_REMAINING_BULLET);
+            }
+        }
+    }
+
+    /**
+     * Carrega os objetos e configurações para o nível atual.
+     * Regista a pontuação no início da tentativa do nível, limpa decorações de níveis anteriores
+     * e carrega os elementos específicos do nível (inimigos, obstáculos, linhas decorativas).
+     * @post Se currentLevelIndex for válido, scoreAtStartOfThisAttempt é atualizado com currentScore.
+     * @post levelFinished é definido como false.
+     * @post Os objetos do nível atual são carregados no motor de jogo.
+     * @post As listas de posições de linhas decorativas são substituídas por cópias imutáveis das do nível atual.
+     */
+    private void loadCurrentLevel() {
+        if (currentLevelIndex < levels.size()) {
+            this.scoreAtStartOfThisAttempt = this.currentScore;
+
+            levelFinished = false;
+            Level current = levels.get(currentLevelIndex);
+            current.load(engine);
+
+            List<Integer> blueLines = current.getBlueLineYPositions();
+            lineYPositions = (blueLines != null) ? List.copyOf(blueLines) : List.of();
+
+            List<Integer> zigzagLines = current.getZigZagLineYPositions();
+            zigzagLineYPositions = (zigzagLines != null) ? List.copyOf(zigzagLines) : List.of();
+
+            List<Rectangle> rectPaths = current.getPathRectanglesForDrawing();
+            List<Rectangle> rectCopies = new ArrayList<>();
+            if (rectPaths != null) {
+                for (Rectangle r : rectPaths) {
+                    rectCopies.add(new Rectangle(r)); // Cópias: quem desenha noutra thread não pode ver alterações
+                }
+            }
+            pathRectangles = List.copyOf(rectCopies);
+        }
+    }
+
+    /**
+     * Avança para o próximo nível do jogo.
+     * Se houver mais níveis, reinicia o estado para o novo nível; se todos os níveis foram concluídos, o jogo é ganho.
+     * @post currentLevelIndex é incrementado.
+     * @post Se houver um próximo nível, o método resetLevel é chamado para prepará-lo; caso contrário o jogo termina (GAME_WON).
+     */
+    private void nextLevel() {
+        currentLevelIndex++;
+        if (currentLevelIndex < levels.size()) {
+            resetLevel(false);
+        } else {
+            finish(true);
+        }
+    }
+
+    /**
+     * Termina o jogo e publica GAME_WON ou GAME_LOST, com a pontuação final.
+     * O evento é entregue no mesmo dispatch() em curso (ou no fim do passo do motor).
+     * @param victory Verdadeiro se o jogador concluiu todos os níveis.
+     * @post isOver() é verdadeiro e isWon() == victory.
+     */
+    private void finish(boolean victory) {
+        won = victory;
+        over = true;
+        engine.publish(victory ? GameEventType.GAME_WON : GameEventType.GAME_LOST, EntityHandle.NONE, currentScore);
+    }
+
+    /**
+     * Devolve o motor de jogo da sessão (ex: para subscrever eventos ou capturar a cena a desenhar).
+     * @return O motor de jogo. Nunca é nulo.
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Devolve a nave do jogador.
+     * @return O jogador. Nunca é nulo.
+     */
+    public PlayerShip getPlayer() {
+        return player;
+    }
+
+    /**
+     * Devolve as vidas restantes do jogador.
+     * @return O número de vidas. Nunca é negativo.
+     */
+    public int getLives() {
+        return playerLives;
+    }
+
+    /**
+     * Devolve a pontuação atual.
+     * @return A pontuação. Nunca é negativa.
+     */
+    public int getScore() {
+        return currentScore;
+    }
+
+    /**
+     * Devolve o índice do nível atual (igual ao número de níveis depois de o jogo ser ganho).
+     * @return O índice do nível atual, a partir de 0.
+     */
+    public int getLevelIndex() {
+        return currentLevelIndex;
+    }
+
+    /**
+     * Devolve o número de níveis da sessão.
+     * @return O número de níveis.
+     */
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * Devolve os projéteis disponíveis, como mostrados no HUD.
+     * @return O número de projéteis disponíveis.
+     */
+    public int getHudBullets() {
+        return hudBullets;
+    }
+
+    /**
+     * Devolve o número de passos executados por step().
+     * @return O número de passos desde o início do jogo.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * Indica se o jogo terminou (vitória ou derrota). Pode ser lido por qualquer thread.
+     * @return Verdadeiro se o jogo terminou.
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * Indica se o jogo terminou com vitória. Pode ser lido por qualquer thread.
+     * @return Verdadeiro se o jogador concluiu todos os níveis.
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * Devolve as posições Y das linhas decorativas azuis do nível atual.
+     * @return Uma lista imutável, substituída (e não alterada) ao carregar um nível.
+     */
+    public List<Integer> getBlueLineYPositions() {
+        return lineYPositions;
+    }
+
+    /**
+     * Devolve as posições Y das linhas decorativas em ziguezague do nível atual.
+     * @return Uma lista imutável, substituída (e não alterada) ao carregar um nível.
+     */
+    public List<Integer> getZigZagLineYPositions() {
+        return zigzagLineYPositions;
+    }
+
+    /**
+     * Devolve os retângulos dos caminhos a desenhar no nível atual (ex: Nível 3).
+     * @return Uma lista imutável de cópias, substituída (e não alterada) ao carregar um nível.
+     */
+    public List<Rectangle> getPathRectanglesForDrawing() {
+        return pathRectangles;
+    }
+}
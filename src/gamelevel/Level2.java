@@ -63,6 +63,7 @@ public class Level2 implements Level {
         ObstacleBlock block = new ObstacleBlock("obstacle", 160, 250, 40, 40); // Cria o obstáculo
         block.setEngine(engine); // Associa o motor ao obstáculo
         engine.addEnabled(block); // Adiciona o obstáculo ao motor
+        engine.setStatic(block, true); // O obstáculo nunca se move: não é atualizado nem testado contra outros obstáculos
     }
 
     /**
@@ -112,12 +112,14 @@ public class Level3 implements Level {
         ObstacleBlock leftBlock = new ObstacleBlock("obstacle_L3_left", obstacleLeftX, obstacleY, obstacleWidth, obstacleHeight); // Cria o obstáculo
         leftBlock.setEngine(engine); // Associa o motor ao obstáculo
         engine.addEnabled(leftBlock); // Adiciona o obstáculo ao motor
+        engine.setStatic(leftBlock, true); // O obstáculo nunca se move: não é atualizado nem testado contra outros obstáculos
 
         // Obstáculo da Direita para o Nível 3
         double obstacleRightX = gameAreaBounds.x + (gameAreaBounds.width * 3.0 / 4.0) - obstacleWidth / 2.0; // Posição X do obstáculo direito
         ObstacleBlock rightBlock = new ObstacleBlock("obstacle_L3_right", obstacleRightX, obstacleY, obstacleWidth, obstacleHeight); // Cria o obstáculo
         rightBlock.setEngine(engine); // Associa o motor ao obstáculo
         engine.addEnabled(rightBlock); // Adiciona o obstáculo ao motor
+        engine.setStatic(rightBlock, true); // O obstáculo nunca se move
     }
 
     /**
@@ -0,0 +1,34 @@
+package gameobject;
+
+/**
+ * Filtragem de pares por categoria e máscara de colisão, antes do teste exato de colisão.
+ * A categoria de cada IGameObject é o bit do seu tipo (EntityKind.bit()) e a máscara indica os tipos com que
+ * interage (ex: EntityKind.mask(EntityKind.ENEMY, EntityKind.OBSTACLE)), pelo que há uma única taxonomia.
+ * Um par só é testado se o tipo de cada objeto for aceite pela máscara do outro,
+ * o que evita testes cujo resultado seria ignorado (ex: obstáculo–obstáculo, inimigo–inimigo, jogador–projétil).
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+public final class CollisionLayer {
+    /** Máscara que aceita todas as categorias. */
+    public static final int ALL = -1;
+    /** Máscara que não aceita nenhuma categoria (o objeto nunca colide). */
+    public static final int NONE = 0;
+
+    /**
+     * Construtor privado: classe apenas com constantes e métodos estáticos.
+     */
+    private CollisionLayer() {
+    }
+
+    /**
+     * Verifica se dois objetos devem ser testados para colisão, de acordo com as suas categorias e máscaras.
+     * @param a O primeiro objeto. Não deve ser nulo.
+     * @param b O segundo objeto. Não deve ser nulo.
+     * @return Verdadeiro se a categoria de cada objeto for aceite pela máscara do outro.
+     */
+    public static boolean canCollide(IGameObject a, IGameObject b) {
+        return (a.collisionCategory() & b.collisionMask()) != 0
+                && (b.collisionCategory() & a.collisionMask()) != 0;
+    }
+}
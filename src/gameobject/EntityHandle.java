@@ -0,0 +1,58 @@
+package gameobject;
+
+/**
+ * Operações sobre identificadores geracionais de entidades (handles), atribuídos pelo GameEngine.
+ * Um handle é um long com o índice do slot da entidade nos 32 bits baixos e a geração do slot nos 32 bits altos.
+ * Quando uma entidade é destruída, a geração do seu slot avança: os handles antigos deixam de ser válidos,
+ * mesmo que o slot (ou o próprio objeto, no caso de objetos reutilizados de um pool) volte a ser usado.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv Nenhum handle válido é igual a NONE (as gerações começam em 1).
+ */
+public final class EntityHandle {
+    /** Handle nulo: não identifica nenhuma entidade. */
+    public static final long NONE = 0L;
+
+    /**
+     * Construtor privado: classe apenas com constantes e métodos estáticos.
+     */
+    private EntityHandle() {
+    }
+
+    /**
+     * Constrói um handle a partir do índice e da geração.
+     * @param index O índice do slot. Deve ser não negativo.
+     * @param generation A geração do slot. Deve ser diferente de 0.
+     * @return O handle correspondente.
+     */
+    public static long of(int index, int generation) {
+        return ((long) generation << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Devolve o índice do slot de um handle.
+     * @param handle O handle.
+     * @return O índice do slot.
+     */
+    public static int index(long handle) {
+        return (int) handle;
+    }
+
+    /**
+     * Devolve a geração de um handle.
+     * @param handle O handle.
+     * @return A geração do slot quando o handle foi atribuído.
+     */
+    public static int generation(long handle) {
+        return (int) (handle >>> 32);
+    }
+
+    /**
+     * Devolve uma representação textual de um handle, para diagnóstico.
+     * @param handle O handle.
+     * @return String no formato "índice:geração", ou "nenhum" para NONE.
+     */
+    public static String toString(long handle) {
+        return handle == NONE ? "nenhum" : index(handle) + ":" + generation(handle);
+    }
+}
@@ -0,0 +1,54 @@
+package gameobject;
+
+/**
+ * Tipo de uma entidade do jogo, usado nas verificações de tipo do ciclo de jogo (colisões, contagens por nível)
+ * em vez de comparar prefixos do nome, e como categoria de colisão (ver CollisionLayer). Cada tipo tem um bit próprio, para que um conjunto de tipos
+ * seja uma máscara e a verificação "é de um destes tipos" seja uma única operação sobre inteiros.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv bit() tem exatamente um bit ativo, diferente para cada tipo.
+ */
+public enum EntityKind {
+    /** Objeto genérico (tipo por omissão). */
+    GENERIC,
+    /** Nave do jogador. */
+    PLAYER,
+    /** Projétil disparado pelo jogador. */
+    PLAYER_BULLET,
+    /** Inimigo. */
+    ENEMY,
+    /** Obstáculo. */
+    OBSTACLE;
+
+    private final int bit = 1 << ordinal();
+
+    /**
+     * Devolve o bit deste tipo.
+     * @return O valor 1 &lt;&lt; ordinal().
+     */
+    public int bit() {
+        return bit;
+    }
+
+    /**
+     * Verifica se este tipo pertence a uma máscara de tipos.
+     * @param mask A máscara (ex: EntityKind.mask(ENEMY, OBSTACLE)).
+     * @return Verdadeiro se o bit deste tipo estiver ativo em 'mask'.
+     */
+    public boolean in(int mask) {
+        return (bit & mask) != 0;
+    }
+
+    /**
+     * Constrói a máscara de um conjunto de tipos.
+     * @param kinds Os tipos a incluir.
+     * @return A máscara com os bits dos tipos indicados.
+     */
+    public static int mask(EntityKind... kinds) {
+        int mask = 0;
+        for (EntityKind kind : kinds) {
+            mask |= kind.bit;
+        }
+        return mask;
+    }
+}
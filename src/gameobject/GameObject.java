@@ -17,6 +17,8 @@ import java.util.Locale;
  * @version 25-05-2025
  * @inv As referências name, transform, collider, shape e behaviour nunca são nulas após a construção bem-sucedida.
  * @inv O behaviour associado tem este GameObject como seu 'gameObject()'.
+ * @inv A categoria de colisão é sempre kind().bit(); por omissão a máscara é CollisionLayer.ALL.
+ * @inv kind nunca é nulo (por omissão EntityKind.GENERIC).
  */
 public class GameObject implements IGameObject {
     protected final String name;
@@ -25,6 +27,9 @@ public class GameObject implements IGameObject {
     protected IShape shape;
     protected final IBehaviour behaviour;
     private GameEngine engine; // Referência ao motor de jogo
+    private int collisionMask = CollisionLayer.ALL;
+    private EntityKind kind = EntityKind.GENERIC;
+    private long handle = EntityHandle.NONE;
 
     /**
      * Constrói um novo objeto de jogo com os componentes especificados.
@@ -99,6 +104,48 @@ public class GameObject implements IGameObject {
         return name;
     }
 
+    /**
+     * Devolve o tipo da entidade.
+     * @return O tipo (por omissão EntityKind.GENERIC).
+     */
+    @Override
+    public EntityKind kind() {
+        return kind;
+    }
+
+    /**
+     * Define o tipo da entidade.
+     * @param kind O novo tipo. Não deve ser nulo.
+     * @throws IllegalArgumentException se kind for nulo.
+     * @post kind() == kind.
+     */
+    @Override
+    public void setKind(EntityKind kind) {
+        if (kind == null) {
+            throw new IllegalArgumentException("kind não pode ser nulo");
+        }
+        this.kind = kind;
+    }
+
+    /**
+     * Devolve o handle geracional atribuído pelo motor de jogo.
+     * @return O handle, ou EntityHandle.NONE se o objeto não estiver num motor.
+     */
+    @Override
+    public long handle() {
+        return handle;
+    }
+
+    /**
+     * Define o handle do objeto (chamado pelo motor de jogo).
+     * @param handle O novo handle.
+     * @post handle() == handle.
+     */
+    @Override
+    public void setHandle(long handle) {
+        this.handle = handle;
+    }
+
     /**
      * Devolve a transformação do objeto (posição, rotação, escala e camada).
      * @return A instância de ITransform associada.
@@ -176,4 +223,23 @@ public class GameObject implements IGameObject {
     public void setEngine(GameEngine engine) {
         this.engine = engine;
     }
+
+    /**
+     * Devolve a máscara de colisão do objeto.
+     * @return A máscara de colisão (por omissão CollisionLayer.ALL).
+     */
+    @Override
+    public int collisionMask() {
+        return collisionMask;
+    }
+
+    /**
+     * Define a máscara de colisão do objeto.
+     * @param mask A máscara de colisão.
+     * @post collisionMask() == mask.
+     */
+    @Override
+    public void setCollisionMask(int mask) {
+        this.collisionMask = mask;
+    }
 }
\ No newline at end of file
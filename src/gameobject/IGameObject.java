@@ -20,10 +20,37 @@ public interface IGameObject {
 
     /**
      * Devolve o nome do objeto de jogo.
+     * Serve para apresentação e diagnóstico; as verificações de tipo usam kind() e a identidade usa handle().
      * @return String com o nome identificador do objeto.
      */
     String name();
 
+    /**
+     * Devolve o tipo da entidade.
+     * @return O tipo (por omissão EntityKind.GENERIC). Nunca é nulo.
+     */
+    EntityKind kind();
+
+    /**
+     * Define o tipo da entidade.
+     * @param kind O novo tipo. Não deve ser nulo.
+     * @post kind() == kind.
+     */
+    void setKind(EntityKind kind);
+
+    /**
+     * Devolve o handle geracional atribuído pelo motor de jogo (ver EntityHandle).
+     * @return O handle atual, ou EntityHandle.NONE se o objeto não estiver num motor.
+     */
+    long handle();
+
+    /**
+     * Define o handle do objeto. Chamado pelo motor de jogo ao registar e ao destruir o objeto.
+     * @param handle O novo handle (ou EntityHandle.NONE).
+     * @post handle() == handle.
+     */
+    void setHandle(long handle);
+
     /**
      * Devolve o objeto de transformação (posição, rotação, escala, camada).
      * @return Instância de ITransform associada ao objeto.
@@ -69,4 +96,26 @@ public interface IGameObject {
      * @post A forma visual do objeto é substituída por 'newShape'.
      */
     void changeShape(IShape newShape);
+
+    /**
+     * Devolve a categoria de colisão a que este objeto pertence: o bit do seu tipo de entidade.
+     * @return kind().bit().
+     */
+    default int collisionCategory() {
+        return kind().bit();
+    }
+
+    /**
+     * Devolve a máscara de colisão: os tipos de entidade com que este objeto interage.
+     * @return A máscara de colisão.
+     */
+    int collisionMask();
+
+    /**
+     * Define a máscara de colisão deste objeto. A categoria não é definida aqui: é sempre a do seu tipo (kind()).
+     * O motor de jogo descarta, antes do teste exato, os pares em que CollisionLayer.canCollide é falso.
+     * @param mask A máscara com os tipos aceites (ex: EntityKind.PLAYER_BULLET.bit() ou CollisionLayer.NONE).
+     * @post collisionMask() == mask.
+     */
+    void setCollisionMask(int mask);
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package gameobject.behaviour;
 
+import engine.GameEventType;
 import engine.IInputEvent;
+import gameobject.EntityKind;
 import gameobject.IGameObject;
-import gameobject.geometry.Point;
+import gameobject.entity.Bullet;
 
 import java.awt.*;
 import java.util.List;
@@ -17,6 +19,9 @@ import java.util.List;
  * @inv O IGameObject associado (go) deve existir para que o comportamento funcione.
  */
 public class BulletBehaviour implements IBehaviour {
+    // Tipos de entidade que destroem o projétil ao serem atingidos
+    private static final int STOPPED_BY = EntityKind.mask(EntityKind.ENEMY, EntityKind.OBSTACLE);
+
     private IGameObject go;
     private final double speed = -300.0; // Velocidade para cima
 
@@ -61,11 +66,20 @@ public class BulletBehaviour implements IBehaviour {
     public void onDisabled() {}
 
     /**
-     * Chamado quando o GameObject associado é destruído. Não realiza ações específicas para BulletBehaviour.
-     * @post Nenhum estado específico é alterado.
+     * Chamado quando o GameObject associado é destruído. Publica o evento BULLET_EXPIRED e, se for um Bullet
+     * de um pool, devolve-o ao pool para ser reutilizado no próximo disparo.
+     * @post Se 'go' estiver num motor, foi publicado um evento GameEventType.BULLET_EXPIRED com a origem em 'go'.
+     * @post Se 'go' for um Bullet com pool, fica disponível nesse pool.
      */
     @Override
-    public void onDestroy() {}
+    public void onDestroy() {
+        if (go != null && go.engine() != null) {
+            go.engine().publish(GameEventType.BULLET_EXPIRED, go.handle(), 0);
+        }
+        if (go instanceof Bullet bullet) {
+            bullet.recycle();
+        }
+    }
 
     /**
      * Atualiza a posição do projétil em cada frame.
@@ -78,7 +92,7 @@ public class BulletBehaviour implements IBehaviour {
     @Override
     public void onUpdate(double dt, IInputEvent input) {
         if (go == null) return;
-        go.transform().move(new Point(0, speed * dt), 0);
+        go.transform().moveBy(0, speed * dt);
 
         if (go.engine() != null && go.engine().getBounds() != null) {
             Rectangle bounds = go.engine().getBounds();
@@ -91,21 +105,28 @@ public class BulletBehaviour implements IBehaviour {
 
 
     /**
-     * Trata colisões do projétil com outros objetos de jogo.
-     * Se o projétil colidir com um inimigo (nome começa por "enemy") ou um obstáculo (nome começa por "obstacle"),
-     * o projétil é destruído.
-     * @param others Uma lista de IGameObjects com os quais o projétil colidiu. Não deve ser nula.
-     * @post Se 'go' colidir com um objeto cujo nome comece por "enemy" ou "obstacle", 'go' é destruído através do seu motor de jogo. A interação para após a primeira colisão relevante.
+     * Trata o início de um contacto do projétil com outro objeto de jogo.
+     * Se o projétil tocar num inimigo ou num obstáculo (EntityKind.ENEMY ou EntityKind.OBSTACLE), é destruído logo
+     * no primeiro contacto. Os contactos seguintes do mesmo passo já não são comunicados (o motor salta os pares com
+     * objetos marcados para remoção), pelo que um projétil entre dois inimigos só congela um deles.
+     * @param other O IGameObject com o qual o contacto começou. Não deve ser nulo.
+     * @post Se 'other' for um inimigo ou um obstáculo, 'go' é destruído através do seu motor de jogo.
      */
     @Override
-    public void onCollision(List<IGameObject> others) {
+    public void onCollisionEnter(IGameObject other) {
         if (go == null || go.engine() == null) return;
-
-        for (IGameObject other : others) {
-            if (other.name().startsWith("enemy") || other.name().startsWith("obstacle")) {
-                go.engine().destroy(go);
-                break;
-            }
+        if (other.kind().in(STOPPED_BY)) {
+            go.engine().destroy(go);
         }
     }
+
+    /**
+     * Trata colisões do projétil com outros objetos de jogo. Não faz nada: a destruição ao atingir um inimigo
+     * ou um obstáculo é tratada no início do contacto (ver onCollisionEnter).
+     * @param others Uma lista de IGameObjects com os quais o projétil colidiu (não utilizada).
+     * @post Nenhum estado é alterado.
+     */
+    @Override
+    public void onCollision(List<IGameObject> others) {
+    }
 }
\ No newline at end of file
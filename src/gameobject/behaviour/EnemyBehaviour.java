@@ -1,7 +1,9 @@
 package gameobject.behaviour;
 
 import engine.GameEngine;
+import engine.GameEventType;
 import engine.IInputEvent;
+import gameobject.EntityKind;
 import gameobject.IGameObject;
 import gameobject.path.EnemyPath;
 import gameobject.shape.ShapeImage;
@@ -24,7 +26,6 @@ public class EnemyBehaviour implements IBehaviour {
     private boolean stopped = false; // Flag para parar movimento independentemente do congelamento (uso não claro no código atual)
     private final EnemyPath path;
     private boolean isFrozen = false;
-    private boolean justFrozenThisTick = false; // Flag para indicar que foi congelado neste tick (para contagem de pontos)
     private GameEngine engine; // Referência ao motor de jogo
 
     /**
@@ -88,35 +89,43 @@ public class EnemyBehaviour implements IBehaviour {
     }
 
     /**
-     * Trata colisões do inimigo com outros objetos de jogo.
-     * Se o inimigo colidir com um projétil do jogador (nome começa por "player_bullet") e não estiver já congelado,
+     * Trata o início de um contacto do inimigo com outro objeto de jogo.
+     * Se o outro objeto for um projétil do jogador (EntityKind.PLAYER_BULLET) e o inimigo não estiver já congelado,
      * o inimigo é marcado como congelado, o seu movimento é parado, a sua forma visual é alterada para a de inimigo congelado,
-     * e a flag 'justFrozenThisTick' é ativada.
-     * @param others Uma lista de IGameObjects com os quais o inimigo colidiu. Não deve ser nula.
-     * @post Se 'go' colidir com um "player_bullet" e não estiver 'isFrozen':
+     * e é publicado o evento ENEMY_FROZEN (usado, por exemplo, para a pontuação).
+     * Como só é chamado no início de cada contacto, o mesmo projétil não é processado em passos consecutivos.
+     * @param other O IGameObject com o qual o contacto começou. Não deve ser nulo.
+     * @post Se 'other' for um projétil do jogador e 'go' não estiver 'isFrozen':
      * 'isFrozen' torna-se verdadeiro.
      * 'stopped' torna-se verdadeiro.
-     * 'justFrozenThisTick' torna-se verdadeiro.
+     * É publicado um evento GameEventType.ENEMY_FROZEN com a origem em 'go'.
      * A forma (shape) de 'go' é mudada para Assets.FROZEN_ENEMY.
+     * 'go' é adormecido no motor de jogo, pois deixa de se mover.
      */
     @Override
-    public void onCollision(List<IGameObject> others) {
-        if (isFrozen || go == null) return; // Se já está congelado ou não há objeto, não faz nada
+    public void onCollisionEnter(IGameObject other) {
+        if (isFrozen || go == null || other.kind() != EntityKind.PLAYER_BULLET) return;
 
-        for (IGameObject other : others) {
-            if (other.name().startsWith("player_bullet")) {
-                if (!isFrozen) {
-                    this.justFrozenThisTick = true; // Marcar para pontuação apenas na transição para congelado
-                }
-                this.isFrozen = true;
-                this.stopped = true;
+        this.isFrozen = true;
+        this.stopped = true;
 
-                go.changeShape(new ShapeImage(Assets.FROZEN_ENEMY));
-                break; // Um projétil é suficiente para congelar
-            }
+        go.changeShape(new ShapeImage(Assets.FROZEN_ENEMY));
+        if (engine != null) {
+            engine.sleep(go); // Congelado para sempre: sai da lista de atualização
+            engine.publish(GameEventType.ENEMY_FROZEN, go.handle(), 0); // Só na transição para congelado
         }
     }
 
+    /**
+     * Trata colisões do inimigo com outros objetos de jogo. Não faz nada: o congelamento por um projétil
+     * é tratado no início do contacto (ver onCollisionEnter).
+     * @param others Uma lista de IGameObjects com os quais o inimigo colidiu (não utilizada).
+     * @post Nenhum estado é alterado.
+     */
+    @Override
+    public void onCollision(List<IGameObject> others) {
+    }
+
     /**
      * Vincula o GameEngine a este comportamento.
      * @param engine O GameEngine a ser vinculado.
@@ -143,19 +152,4 @@ public class EnemyBehaviour implements IBehaviour {
     public boolean isCurrentlyFrozen() {
         return this.isFrozen;
     }
-
-    /**
-     * Verifica se o inimigo foi congelado precisamente neste tick de atualização e limpa a flag.
-     * Usado para garantir que a pontuação é atribuída apenas uma vez por congelamento.
-     * @return Verdadeiro se o inimigo acabou de ser congelado neste tick, falso caso contrário.
-     * @post A flag 'justFrozenThisTick' é definida como false após esta chamada.
-     */
-    @Override
-    public boolean wasJustFrozenAndClearFlag() {
-        if (justFrozenThisTick) {
-            justFrozenThisTick = false;
-            return true;
-        }
-        return false;
-    }
 }
\ No newline at end of file
@@ -64,11 +64,47 @@ public interface IBehaviour {
 
     /**
      * Chamado quando o GameObject associado colide com outros GameObjects.
+     * O GameEngine chama este método no máximo uma vez por passo, com todos os contactos do objeto nesse passo.
+     * A lista é só de leitura e é reutilizada pelo motor: só é válida durante a chamada (para a guardar, deve ser copiada).
      * @param others Uma lista de IGameObjects com os quais ocorreu uma colisão. A lista não deve ser nula, mas pode estar vazia.
      * @post O comportamento reage à(s) colisão(ões) de acordo com a sua lógica específica.
      */
     void onCollision(List<IGameObject> others);
 
+    /**
+     * Chamado no primeiro passo em que o GameObject associado entra em contacto com outro GameObject.
+     * Cada contacto dá origem a um único onCollisionEnter, seguido de onCollisionStay nos passos seguintes em que
+     * continua e de um onCollisionExit quando termina, pelo que uma reação única (ex: congelar com um projétil)
+     * não precisa de se proteger contra o mesmo contacto em passos consecutivos.
+     * O GameEngine chama estes métodos antes de onCollision. A implementação padrão não faz nada.
+     * @param other O IGameObject com o qual o contacto começou. Não é nulo.
+     * @post O comportamento reage ao início do contacto de acordo com a sua lógica específica.
+     */
+    default void onCollisionEnter(IGameObject other) {
+        // Implementação padrão não faz nada
+    }
+
+    /**
+     * Chamado em cada passo, depois do primeiro, em que o GameObject associado continua em contacto com outro.
+     * A implementação padrão não faz nada.
+     * @param other O IGameObject com o qual o contacto continua. Não é nulo.
+     * @post O comportamento reage à continuação do contacto de acordo com a sua lógica específica.
+     */
+    default void onCollisionStay(IGameObject other) {
+        // Implementação padrão não faz nada
+    }
+
+    /**
+     * Chamado no primeiro passo em que o GameObject associado deixa de estar em contacto com outro, incluindo quando
+     * o outro é destruído ou desativado. Não é chamado num objeto que já foi destruído.
+     * A implementação padrão não faz nada.
+     * @param other O IGameObject com o qual o contacto terminou (pode já ter sido destruído). Não é nulo.
+     * @post O comportamento reage ao fim do contacto de acordo com a sua lógica específica.
+     */
+    default void onCollisionExit(IGameObject other) {
+        // Implementação padrão não faz nada
+    }
+
     /**
      * Vincula o motor de jogo (GameEngine) a este comportamento, se necessário.
      * Chamado após o comportamento ser associado a um GameObject e o GameObject ao motor.
@@ -80,15 +116,6 @@ public interface IBehaviour {
         // Implementação padrão não faz nada
     }
 
-    /**
-     * Verifica se a entidade controlada por este comportamento acabou de ser congelada neste tick
-     * e limpa o indicador (flag).
-     * @return Verdadeiro se acabou de ser congelada, falso caso contrário. Padrão é falso.
-     */
-    default boolean wasJustFrozenAndClearFlag() {
-        return false;
-    }
-
     /**
      * Verifica se a entidade controlada por este comportamento está atualmente em estado congelado.
      * @return Verdadeiro se congelada, falso caso contrário. Padrão é falso.
@@ -1,10 +1,12 @@
 package gameobject.behaviour;
 
 import engine.GameEngine;
+import engine.GameEventType;
 import engine.IInputEvent;
 import gameobject.IGameObject;
 import gameobject.entity.Bullet;
-import gameobject.geometry.Point;
+import gameobject.entity.BulletPool;
+import gameobject.geometry.IPoint;
 import gameobject.transform.ITransform;
 
 import java.awt.*;
@@ -27,7 +29,7 @@ public class PlayerBehaviour implements IBehaviour {
     private boolean spaceBarWasPressedLastFrame = false;
     public static final int MAX_BULLETS = 6;
     private int currentBulletCount = MAX_BULLETS;
-    private int bulletFireCounter = 0; // Contador para nomes únicos de projéteis
+    private final BulletPool bulletPool = new BulletPool(); // Projéteis reutilizados entre disparos
     private double playerWidth = 20; // Largura estimada do jogador, usada para limites (hardcoded)
 
     /**
@@ -129,7 +131,7 @@ public class PlayerBehaviour implements IBehaviour {
         if (ie.isKeyPressed(KeyEvent.VK_RIGHT)) dx += speed;
 
         ITransform t = gameObject.transform();
-        Point currentPosition = t.position();
+        IPoint currentPosition = t.position();
 
         double newX = currentPosition.getX() + dx;
 
@@ -141,7 +143,7 @@ public class PlayerBehaviour implements IBehaviour {
 
         double deltaX = newX - currentPosition.getX();
 
-        t.move(new Point(deltaX, 0), 0);
+        t.moveBy(deltaX, 0);
 
         boolean spaceBarIsCurrentlyPressed = ie.isKeyPressed(KeyEvent.VK_SPACE);
         if (spaceBarIsCurrentlyPressed && !spaceBarWasPressedLastFrame) {
@@ -152,14 +154,15 @@ public class PlayerBehaviour implements IBehaviour {
 
     /**
      * Efetua a lógica de disparo de um projétil.
-     * Se o jogador tiver projéteis disponíveis, cria um novo Bullet, configura-o e adiciona-o ao motor de jogo.
+     * Se o jogador tiver projéteis disponíveis, obtém um Bullet do pool (reutilizando um projétil já destruído,
+     * sem alocar), configura-o e adiciona-o ao motor de jogo.
      * Decrementa a contagem de projéteis.
      * @post Se 'currentBulletCount' > 0 e 'gameObject' e 'engine' não são nulos:
-     * Um novo Bullet é criado na posição ligeiramente acima do jogador.
-     * O motor ('engine') é associado ao novo projétil e ao seu comportamento.
-     * O novo projétil é adicionado à lista de objetos ativos do motor de jogo.
+     * Um Bullet do 'bulletPool' é colocado na posição ligeiramente acima do jogador.
+     * O motor ('engine') é associado ao projétil e ao seu comportamento.
+     * O projétil é adicionado à lista de objetos ativos do motor de jogo.
      * 'currentBulletCount' é decrementado.
-     * 'bulletFireCounter' é incrementado.
+     * É publicado um evento GameEventType.BULLET_FIRED com os projéteis restantes.
      */
     private void shoot() {
         if (gameObject == null || engine == null || currentBulletCount <= 0) {
@@ -167,12 +170,12 @@ public class PlayerBehaviour implements IBehaviour {
         }
 
         ITransform playerTransform = gameObject.transform();
-        Point playerPosition = playerTransform.position();
+        IPoint playerPosition = playerTransform.position();
 
         double bulletX = playerPosition.getX();
         double bulletY = playerPosition.getY() - 25; // Posição Y ligeiramente acima do jogador
 
-        Bullet newBullet = new Bullet("player_bullet_" + bulletFireCounter++, bulletX, bulletY);
+        Bullet newBullet = bulletPool.acquire(bulletX, bulletY);
 
         newBullet.setEngine(this.engine);
         if (newBullet.behaviour() != null) {
@@ -187,6 +190,15 @@ public class PlayerBehaviour implements IBehaviour {
 
         engine.addEnabled(newBullet);
         currentBulletCount--;
+        engine.publish(GameEventType.BULLET_FIRED, gameObject.handle(), currentBulletCount);
+    }
+
+    /**
+     * Devolve o pool de onde vêm os projéteis disparados por este jogador.
+     * @return O pool de projéteis. Nunca é nulo.
+     */
+    public BulletPool getBulletPool() {
+        return bulletPool;
     }
 
     /**
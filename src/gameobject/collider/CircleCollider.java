@@ -1,5 +1,7 @@
 package gameobject.collider;
 
+import gameobject.geometry.BoundingBox;
+import gameobject.geometry.IPoint;
 import gameobject.geometry.Point;
 import gameobject.transform.ITransform;
 
@@ -8,19 +10,25 @@ import java.util.List;
 /**
  * Implementa um colisor de forma circular.
  * Responsável por detetar colisões entre este círculo e outros colisores (círculos ou polígonos).
- * O seu estado (centro e raio) é sincronizado com uma ITransform associada.
+ * O seu estado (centro e raio) é sincronizado com uma ITransform associada, e pode ficar num IColliderStore (ver attach).
  * @author José Tico, Yasmin Dias e Guilherme Carmo
  * @version 25-05-2025
  * @inv center nunca é nulo.
  * @inv originalRadius é sempre não negativo.
  * @inv radius é sempre não negativo e reflete originalRadius * transform.scale().
  * @inv transform (a referência à ITransform) pode ser nula, mas nesse caso o colisor pode não funcionar como esperado sem uma Transform para sincronizar.
+ * @inv previousCenter é o centro antes do último onUpdate(); se 'continuous', as colisões consideram todo o percurso previousCenter -&gt; center.
+ * @inv worldBounds envolve o círculo em previousCenter e em center, e portanto todo o percurso do último passo.
  */
 public class CircleCollider implements ICollider {
-    private Point center;
+    private final ColliderSlot data = new ColliderSlot(); // Raio e centros, no objeto ou num IColliderStore (ver attach)
+    private final IPoint center;
+    private final IPoint previousCenter;
+    private boolean continuous = false;
     private final double originalRadius;
-    private double radius;
     private final ITransform transform;
+    private final BoundingBox worldBounds = new BoundingBox();
+    private long syncedVersion = -1; // Versão da transform no último onUpdate(); -1 força a atualização
 
     /**
      * Constrói um CircleCollider.
@@ -32,13 +40,15 @@ public class CircleCollider implements ICollider {
      * @post Se 'transform' não for nula, o colisor é ajustado inicialmente à transformação.
      */
     public CircleCollider(double x, double y, double radius, ITransform transform) {
-        this.center = new Point(x, y);
+        this.center = data.point(x, y);
         this.originalRadius = radius;
-        this.radius = radius;
+        data.setRadius(radius);
         this.transform = transform;
         if (this.transform != null) {
             adjustToTransform();
         }
+        this.previousCenter = data.point(center.getX(), center.getY());
+        updateWorldBounds();
     }
 
     /**
@@ -49,18 +59,28 @@ public class CircleCollider implements ICollider {
      */
     private void adjustToTransform() {
         this.center.set(transform.position());
-        this.radius = originalRadius * transform.scale();
+        data.setRadius(originalRadius * transform.scale());
     }
 
     /**
      * Devolve o ponto central atual do colisor.
-     * @return O ponto central (Point) do círculo. Nunca é nulo.
+     * @return O ponto central (IPoint) do círculo. Nunca é nulo.
      */
     @Override
-    public Point centroid() {
+    public IPoint centroid() {
         return center;
     }
 
+    /**
+     * Escreve o centro atual do colisor no ponto fornecido.
+     * @param out O ponto onde escrever o centro. Não deve ser nulo.
+     * @post 'out' tem as coordenadas de 'center'.
+     */
+    @Override
+    public void centroidInto(Point out) {
+        out.set(center);
+    }
+
     /**
      * Move o centro do colisor pelo vetor de deslocamento fornecido.
      * (Nota: O movimento principal deve ser gerido via onUpdate sincronizando com a Transform.)
@@ -70,6 +90,8 @@ public class CircleCollider implements ICollider {
     @Override
     public void move(Point dPos) {
         center.translate(dPos.getX(), dPos.getY());
+        updateWorldBounds();
+        syncedVersion = -1; // O próximo onUpdate volta a sincronizar com a transform
     }
 
     /**
@@ -91,7 +113,9 @@ public class CircleCollider implements ICollider {
      */
     @Override
     public void scale(double dScale) {
-        this.radius *= (1 + dScale);
+        data.setRadius(data.radius() * (1 + dScale));
+        updateWorldBounds();
+        syncedVersion = -1;
     }
 
     /**
@@ -99,16 +123,88 @@ public class CircleCollider implements ICollider {
      * Este método deve ser chamado em cada passo do ciclo de jogo.
      * @post O 'center' do colisor é definido para a 'position' da 'transform'.
      * @post O 'radius' do colisor é definido como 'originalRadius' * 'transform.scale()'.
-     * Se 'transform' for nula, não ocorre nenhuma atualização.
+     * @post 'previousCenter' guarda o centro anterior, para a deteção contínua de colisões.
+     * Se 'transform' for nula, ou se isUpToDate(), não ocorre nenhuma atualização.
      */
     @Override
     public void onUpdate() {
-        if (transform != null) {
+        if (transform != null && !isUpToDate()) {
+            this.previousCenter.set(center);
             this.center.set(transform.position());
-            this.radius = this.originalRadius * transform.scale();
+            data.setRadius(this.originalRadius * transform.scale());
+            this.syncedVersion = transform.version();
+            updateWorldBounds();
         }
     }
 
+    /**
+     * Indica se o colisor já está sincronizado: a transform não mudou desde o último onUpdate() e o círculo
+     * está parado (previousCenter == center), pelo que um novo onUpdate() não alteraria nada.
+     * Depois de um movimento, é preciso mais um onUpdate() para que o percurso do passo fique vazio.
+     * @return Verdadeiro se onUpdate() não alteraria o colisor.
+     */
+    @Override
+    public boolean isUpToDate() {
+        return transform == null || (transform.version() == syncedVersion
+                && previousCenter.getX() == center.getX() && previousCenter.getY() == center.getY());
+    }
+
+    /**
+     * Recalcula a caixa envolvente do círculo ao longo do último passo (de previousCenter a center).
+     * Cobrir o percurso mantém a caixa válida como teste prévio também para a deteção contínua.
+     * @post 'worldBounds' envolve os círculos de raio 'radius' centrados em previousCenter e em center.
+     */
+    private void updateWorldBounds() {
+        double r = Math.abs(data.radius());
+        worldBounds.set(Math.min(center.getX(), previousCenter.getX()) - r,
+                Math.min(center.getY(), previousCenter.getY()) - r,
+                Math.max(center.getX(), previousCenter.getX()) + r,
+                Math.max(center.getY(), previousCenter.getY()) + r);
+    }
+
+    /**
+     * Devolve a caixa envolvente do círculo ao longo do último passo, atualizada em onUpdate().
+     * A caixa pertence ao colisor e não deve ser alterada por quem a consulta.
+     * @return A caixa envolvente no espaço do mundo. Nunca é nula.
+     */
+    @Override
+    public BoundingBox getWorldBounds() {
+        return worldBounds;
+    }
+
+    /**
+     * Sincroniza o colisor com a sua Transform sem registar movimento, como quando o objeto é reutilizado
+     * noutra posição: o percurso do passo fica vazio e a deteção contínua não varre o salto.
+     * @post Se 'transform' não for nula, 'center' e 'radius' correspondem à transformação.
+     * @post 'previousCenter' é igual a 'center'.
+     */
+    public void resetToTransform() {
+        if (transform != null) {
+            adjustToTransform();
+            syncedVersion = transform.version();
+        }
+        this.previousCenter.set(center);
+        updateWorldBounds();
+    }
+
+    /**
+     * Passa o raio, o centro e o centro anterior para um slot de dois pontos do armazenamento indicado.
+     * @param store O armazenamento. Não deve ser nulo.
+     * @post Os dados do colisor estão num slot de 'store'; os seus valores não mudaram.
+     */
+    @Override
+    public void attach(IColliderStore store) {
+        data.attach(store);
+    }
+
+    /**
+     * Copia os dados do slot de volta para o colisor e liberta o slot.
+     * @post Os dados do colisor estão no próprio objeto; os seus valores não mudaram.
+     */
+    @Override
+    public void detach() {
+        data.detach();
+    }
 
     /**
      * Verifica se este colisor está a colidir com outro ICollider.
@@ -124,15 +220,22 @@ public class CircleCollider implements ICollider {
     /**
      * Verifica se este CircleCollider colide com outro CircleCollider.
      * A colisão ocorre se a distância entre os centros for menor que a soma dos raios.
+     * As caixas envolventes são comparadas primeiro e as distâncias são comparadas ao quadrado, sem raiz quadrada.
+     * Se algum dos colisores for contínuo, conta também um contacto em qualquer ponto do passo (timeOfImpact).
      * @param other O outro CircleCollider. Não deve ser nulo.
      * @return Verdadeiro se os círculos colidirem, falso caso contrário.
      */
     @Override
     public boolean isColliding(CircleCollider other) {
+        if (!worldBounds.overlaps(other.worldBounds)) {
+            return false; // As caixas cobrem todo o passo, pelo que também excluem um contacto contínuo
+        }
         double dx = center.getX() - other.center.getX();
         double dy = center.getY() - other.center.getY();
-        double distance = Math.sqrt(dx * dx + dy * dy);
-        return distance < (radius + other.radius - 1e-9); // 1e-9 para tolerância a erros de ponto flutuante
+        if (isWithin(dx * dx + dy * dy, data.radius() + other.data.radius() - 1e-9)) { // 1e-9 para tolerância a erros de ponto flutuante
+            return true;
+        }
+        return (continuous || other.continuous) && timeOfImpact(other) >= 0;
     }
 
 
@@ -140,37 +243,133 @@ public class CircleCollider implements ICollider {
      * Verifica se este CircleCollider colide com um PolygonCollider.
      * A deteção envolve verificar a distância do centro do círculo a cada aresta do polígono
      * e se o centro do círculo está dentro do polígono.
+     * Se este colisor for contínuo, conta também um contacto em qualquer ponto do passo (timeOfImpact).
+     * Pares cujas caixas envolventes não se sobrepõem são rejeitados antes do teste por aresta.
      * @param poly O PolygonCollider. Não deve ser nulo.
      * @return Verdadeiro se o círculo e o polígono colidirem, falso caso contrário.
      */
     @Override
     public boolean isColliding(PolygonCollider poly) {
-        List<Point> vertices = poly.getVertices(); // Assume que getVertices() devolve os vértices transformados
+        if (!worldBounds.overlaps(poly.getWorldBounds())) {
+            return false;
+        }
+        if (intersectsPolygon(center.getX(), center.getY(), data.radius(), poly.getVertices())) { // Assume que getVertices() devolve os vértices transformados
+            return true;
+        }
+        return continuous && timeOfImpact(poly) >= 0;
+    }
+
+    /**
+     * Calcula o tempo de impacto com outro círculo durante o último passo, usando o movimento relativo
+     * de ambos os centros (previousCenter -&gt; center).
+     * @param other O outro CircleCollider. Não deve ser nulo.
+     * @return A fração do passo em que os círculos se tocam pela primeira vez (0 se já se sobrepunham), ou -1 se não se tocarem.
+     */
+    public double timeOfImpact(CircleCollider other) {
+        double dx = (center.getX() - previousCenter.getX()) - (other.center.getX() - other.previousCenter.getX());
+        double dy = (center.getY() - previousCenter.getY()) - (other.center.getY() - other.previousCenter.getY());
+        return TimeOfImpact.circleCircle(previousCenter.getX(), previousCenter.getY(), dx, dy, data.radius(),
+                other.previousCenter.getX(), other.previousCenter.getY(), other.data.radius());
+    }
+
+    /**
+     * Calcula o tempo de impacto com um polígono durante o último passo.
+     * O polígono é considerado parado na sua posição atual.
+     * @param poly O PolygonCollider. Não deve ser nulo.
+     * @return A fração do passo em que o círculo toca o polígono pela primeira vez (0 se já se sobrepunham), ou -1 se não se tocarem.
+     */
+    public double timeOfImpact(PolygonCollider poly) {
+        return TimeOfImpact.circlePolygon(previousCenter.getX(), previousCenter.getY(),
+                center.getX() - previousCenter.getX(), center.getY() - previousCenter.getY(),
+                data.radius(), poly.getVertices());
+    }
+
+    /**
+     * Verifica se este círculo se sobrepõe a um círculo arbitrário.
+     * @param cx A coordenada x do centro do outro círculo.
+     * @param cy A coordenada y do centro do outro círculo.
+     * @param r O raio do outro círculo. Deve ser não negativo.
+     * @return Verdadeiro se os círculos se sobrepuserem.
+     */
+    @Override
+    public boolean overlapsCircle(double cx, double cy, double r) {
+        double dx = center.getX() - cx;
+        double dy = center.getY() - cy;
+        return isWithin(dx * dx + dy * dy, data.radius() + r - 1e-9);
+    }
+
+    /**
+     * Compara uma distância ao quadrado com um limite, sem calcular a raiz quadrada.
+     * @param distanceSq A distância ao quadrado (não negativa).
+     * @param limit O limite da distância. Se não for positivo, nenhuma distância está abaixo dele.
+     * @return Verdadeiro se sqrt(distanceSq) &lt; limit.
+     */
+    private static boolean isWithin(double distanceSq, double limit) {
+        return limit > 0 && distanceSq < limit * limit;
+    }
+
+    /**
+     * Lança o segmento p(t) = (ox, oy) + t * (dx, dy), t em [0, 1], contra este círculo.
+     * @param ox A coordenada x da origem do segmento.
+     * @param oy A coordenada y da origem do segmento.
+     * @param dx O deslocamento total em x.
+     * @param dy O deslocamento total em y.
+     * @return A fração t do primeiro ponto de contacto (0 se a origem estiver dentro do círculo), ou -1 se não houver contacto.
+     */
+    @Override
+    public double rayCast(double ox, double oy, double dx, double dy) {
+        double mx = ox - center.getX();
+        double my = oy - center.getY();
+        double r = data.radius();
+        double c = mx * mx + my * my - r * r;
+        if (c <= 0) return 0; // Origem dentro do círculo
+
+        double a = dx * dx + dy * dy;
+        if (a < 1e-12) return -1;
+        double b = mx * dx + my * dy;
+        double disc = b * b - a * c;
+        if (disc < 0) return -1;
+
+        double t = (-b - Math.sqrt(disc)) / a;
+        return (t >= 0 && t <= 1) ? t : -1;
+    }
+
+    /**
+     * Verifica se um círculo interseta um polígono (convexo ou não) definido pelos seus vértices no espaço do mundo.
+     * Verifica a distância do centro a cada aresta e, a seguir, se o centro está dentro do polígono.
+     * @param cx A coordenada x do centro do círculo.
+     * @param cy A coordenada y do centro do círculo.
+     * @param r O raio do círculo.
+     * @param vertices Os vértices do polígono, em ordem. Pode ser nula ou vazia.
+     * @return Verdadeiro se houver interseção, falso caso contrário.
+     */
+    static boolean intersectsPolygon(double cx, double cy, double r, List<IPoint> vertices) {
         if (vertices == null || vertices.isEmpty()) return false;
         int n = vertices.size();
 
         // 1. Verificar distância do centro do círculo a cada aresta do polígono
         for (int i = 0; i < n; i++) {
-            Point p1 = vertices.get(i);
-            Point p2 = vertices.get((i + 1) % n); // Próximo vértice, com wrap around
-            if (distanceToSegment(p1, p2) < radius - 1e-9) {
+            IPoint p1 = vertices.get(i);
+            IPoint p2 = vertices.get((i + 1) % n); // Próximo vértice, com wrap around
+            if (isWithin(distanceSqToSegment(cx, cy, p1, p2), r - 1e-9)) {
                 return true;
             }
         }
 
         // 2. Verificar se o centro do círculo está dentro do polígono
         // (necessário se o polígono for menor que o círculo e estiver completamente dentro dele)
-        return pointInPolygon(center, vertices);
+        return pointInPolygon(cx, cy, vertices);
     }
 
     /**
-     * Calcula a menor distância do centro deste círculo a um segmento de reta definido por p1 e p2.
+     * Calcula o quadrado da menor distância de um ponto (x0, y0) a um segmento de reta definido por p1 e p2.
+     * @param x0 A coordenada x do ponto (tipicamente o centro do círculo).
+     * @param y0 A coordenada y do ponto.
      * @param p1 O primeiro ponto do segmento de reta. Não deve ser nulo.
      * @param p2 O segundo ponto do segmento de reta. Não deve ser nulo.
-     * @return A distância perpendicular do centro do círculo ao segmento de reta, ou a distância ao ponto final mais próximo se a projeção estiver fora do segmento.
+     * @return O quadrado da distância perpendicular do ponto ao segmento de reta, ou da distância ao ponto final mais próximo se a projeção estiver fora do segmento.
      */
-    private double distanceToSegment(Point p1, Point p2) {
-        double x0 = center.getX(), y0 = center.getY();
+    private static double distanceSqToSegment(double x0, double y0, IPoint p1, IPoint p2) {
         double x1 = p1.getX(), y1 = p1.getY();
         double x2 = p2.getX(), y2 = p2.getY();
 
@@ -179,7 +378,7 @@ public class CircleCollider implements ICollider {
         double lenSq = dxL * dxL + dyL * dyL; // Quadrado do comprimento do segmento
 
         if (lenSq < 1e-9) { // Segmento é (quase) um ponto
-            return distanceToPoint(p1);
+            return distanceSqToPoint(x0, y0, p1);
         }
 
         // Parâmetro t da projeção do centro do círculo na linha que contém o segmento
@@ -202,22 +401,21 @@ public class CircleCollider implements ICollider {
         // Distância do centro do círculo ao ponto mais próximo no segmento
         double distToProjX = x0 - projX;
         double distToProjY = y0 - projY;
-        return Math.sqrt(distToProjX * distToProjX + distToProjY * distToProjY);
+        return distToProjX * distToProjX + distToProjY * distToProjY;
     }
 
     /**
      * Verifica se um ponto está dentro de um polígono usando o algoritmo de ray casting (even-odd rule).
-     * @param p O ponto a ser verificado. Não deve ser nulo.
+     * @param px A coordenada x do ponto a ser verificado.
+     * @param py A coordenada y do ponto a ser verificado.
      * @param vertices A lista de vértices do polígono, em ordem. Não deve ser nula ou vazia.
      * @return Verdadeiro se o ponto estiver dentro do polígono, falso caso contrário.
      */
-    private boolean pointInPolygon(Point p, List<Point> vertices) {
+    static boolean pointInPolygon(double px, double py, List<IPoint> vertices) {
         int n = vertices.size();
         if (n < 3) return false; // Um polígono precisa de pelo menos 3 vértices
 
         boolean inside = false;
-        double px = p.getX();
-        double py = p.getY();
 
         for (int i = 0, j = n - 1; i < n; j = i++) {
             double vix = vertices.get(i).getX();
@@ -234,14 +432,16 @@ public class CircleCollider implements ICollider {
     }
 
     /**
-     * Calcula a distância do centro deste círculo a outro ponto.
+     * Calcula o quadrado da distância de um ponto (x0, y0) a outro ponto.
+     * @param x0 A coordenada x do primeiro ponto.
+     * @param y0 A coordenada y do primeiro ponto.
      * @param p O ponto ao qual calcular a distância. Não deve ser nulo.
-     * @return A distância euclidiana entre o centro do círculo e o ponto p.
+     * @return O quadrado da distância euclidiana entre (x0, y0) e o ponto p.
      */
-    private double distanceToPoint(Point p) {
-        double dx = center.getX() - p.getX();
-        double dy = center.getY() - p.getY();
-        return Math.sqrt(dx * dx + dy * dy);
+    private static double distanceSqToPoint(double x0, double y0, IPoint p) {
+        double dx = x0 - p.getX();
+        double dy = y0 - p.getY();
+        return dx * dx + dy * dy;
     }
 
     /**
@@ -249,7 +449,7 @@ public class CircleCollider implements ICollider {
      * Usado por alguns algoritmos de colisão que esperam uma lista de vértices.
      * @return Uma lista contendo um único Ponto: o centro do círculo.
      */
-    public List<Point> getVertices() {
+    public List<IPoint> getVertices() {
         return List.of(center);
     }
 
@@ -258,7 +458,7 @@ public class CircleCollider implements ICollider {
      * @return O raio do círculo.
      */
     public double getRadius() {
-        return radius;
+        return data.radius();
     }
 
     /**
@@ -267,6 +467,38 @@ public class CircleCollider implements ICollider {
      */
     @Override
     public double getCharacteristicDimension() {
-        return radius;
+        return data.radius();
+    }
+
+    /**
+     * Devolve um raio envolvente que cobre também o percurso do último passo, se o colisor for contínuo.
+     * Assim as broadphases produzem os pares necessários à deteção contínua sem tratamento especial.
+     * @return O raio, acrescido da distância percorrida no último passo se 'continuous'.
+     */
+    @Override
+    public double getBoundingRadius() {
+        if (!continuous) return data.radius();
+        double dx = center.getX() - previousCenter.getX();
+        double dy = center.getY() - previousCenter.getY();
+        return data.radius() + Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Indica se este colisor usa deteção contínua (varrida) de colisões.
+     * @return Verdadeiro se a deteção for contínua.
+     */
+    @Override
+    public boolean isContinuous() {
+        return continuous;
+    }
+
+    /**
+     * Ativa ou desativa a deteção contínua de colisões. Indicado para objetos rápidos (ex: projéteis)
+     * que, com passos de tempo maiores, poderiam atravessar alvos finos entre dois passos.
+     * @param continuous Verdadeiro para considerar o percurso completo de cada passo.
+     * @post isContinuous() == continuous.
+     */
+    public void setContinuous(boolean continuous) {
+        this.continuous = continuous;
     }
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+package gameobject.collider;
+
+import gameobject.geometry.IPoint;
+
+import java.util.Arrays;
+
+/**
+ * Dados geométricos de um colisor (um raio e um número fixo de pontos), guardados no próprio objeto ou num
+ * IColliderStore. Os pontos criados por point() são vistas sem campos de coordenadas: lêem e escrevem o array
+ * coords deste objeto ou, enquanto o colisor está ligado a um armazenamento, o slot. Ao ligar, o array é
+ * descartado; ao desligar, é criado de novo com os valores do slot.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv store == null se e só se slot == -1.
+ * @inv coords == null se e só se store != null; caso contrário, coords.length &gt;= 2 * size.
+ * @inv Os pontos devolvidos por point() são sempre os mesmos objetos, ligados ou não a um armazenamento.
+ */
+final class ColliderSlot {
+    private double[] coords = new double[4]; // x0, y0, x1, y1, ... enquanto os valores estão neste objeto
+    private int size;
+    private double radius;
+    private IColliderStore store; // Nulo enquanto os valores estão neste objeto
+    private int slot = -1;
+
+    /**
+     * Ponto do colisor: usa as coordenadas do índice 'index' no array coords ou, se o colisor estiver ligado
+     * a um armazenamento, no slot.
+     */
+    private final class PointView implements IPoint {
+        private final int index;
+
+        /**
+         * Constrói a vista sobre o ponto indicado.
+         * @param index O índice do ponto.
+         */
+        PointView(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public double getX() {
+            return store == null ? coords[2 * index] : store.x(slot, index);
+        }
+
+        @Override
+        public double getY() {
+            return store == null ? coords[2 * index + 1] : store.y(slot, index);
+        }
+
+        @Override
+        public void set(double x, double y) {
+            if (store == null) {
+                coords[2 * index] = x;
+                coords[2 * index + 1] = y;
+            } else {
+                store.set(slot, index, x, y);
+            }
+        }
+
+        @Override
+        public void translate(double dx, double dy) {
+            if (store == null) {
+                coords[2 * index] += dx;
+                coords[2 * index + 1] += dy;
+            } else {
+                store.translate(slot, index, dx, dy);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return IPoint.format(this);
+        }
+    }
+
+    /**
+     * Acrescenta um ponto. Só deve ser chamado antes de attach.
+     * @param x A coordenada x inicial.
+     * @param y A coordenada y inicial.
+     * @return O ponto, que passa a ser uma vista sobre o slot quando o colisor for ligado a um armazenamento.
+     */
+    IPoint point(double x, double y) {
+        if (2 * size == coords.length) {
+            coords = Arrays.copyOf(coords, coords.length * 2);
+        }
+        coords[2 * size] = x;
+        coords[2 * size + 1] = y;
+        return new PointView(size++);
+    }
+
+    /**
+     * Devolve o raio.
+     * @return O raio.
+     */
+    double radius() {
+        return store == null ? radius : store.radius(slot);
+    }
+
+    /**
+     * Define o raio.
+     * @param radius O novo raio.
+     * @post radius() == radius.
+     */
+    void setRadius(double radius) {
+        if (store == null) {
+            this.radius = radius;
+        } else {
+            store.setRadius(slot, radius);
+        }
+    }
+
+    /**
+     * Move o raio e os pontos para um slot do armazenamento indicado, libertando o slot anterior (se houver).
+     * @param target O armazenamento. Não deve ser nulo.
+     * @post getStore() == target; os valores não mudaram.
+     */
+    void attach(IColliderStore target) {
+        if (store == target) {
+            return;
+        }
+        detach();
+        int newSlot = target.allocate(size);
+        target.setRadius(newSlot, radius);
+        for (int i = 0; i < size; i++) {
+            target.set(newSlot, i, coords[2 * i], coords[2 * i + 1]);
+        }
+        store = target;
+        slot = newSlot;
+        coords = null;
+    }
+
+    /**
+     * Copia os valores do slot de volta para este objeto e liberta o slot.
+     * @post getStore() == null e os valores não mudaram.
+     */
+    void detach() {
+        if (store == null) {
+            return;
+        }
+        double[] values = new double[Math.max(4, 2 * size)];
+        for (int i = 0; i < size; i++) {
+            values[2 * i] = store.x(slot, i);
+            values[2 * i + 1] = store.y(slot, i);
+        }
+        radius = store.radius(slot);
+        store.release(slot);
+        coords = values;
+        store = null;
+        slot = -1;
+    }
+
+    /**
+     * Devolve o armazenamento a que os dados estão ligados.
+     * @return O armazenamento, ou null se os valores estão neste objeto.
+     */
+    IColliderStore getStore() {
+        return store;
+    }
+}
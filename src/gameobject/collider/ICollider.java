@@ -1,5 +1,7 @@
 package gameobject.collider;
 
+import gameobject.geometry.BoundingBox;
+import gameobject.geometry.IPoint;
 import gameobject.geometry.Point;
 
 /**
@@ -13,9 +15,17 @@ import gameobject.geometry.Point;
 public interface ICollider {
     /**
      * Calcula e devolve o ponto central (centroide) do colisor no espaço do mundo.
-     * @return Um objeto Point representando o centroide do colisor.
+     * @return Um IPoint representando o centroide do colisor.
      */
-    Point centroid();
+    IPoint centroid();
+
+    /**
+     * Escreve o centroide do colisor, no espaço do mundo, no ponto fornecido.
+     * Ao contrário de centroid(), nunca aloca, pelo que é a forma usada em código executado a cada passo.
+     * @param out O ponto onde escrever o centroide. Não deve ser nulo.
+     * @post 'out' contém as coordenadas de centroid().
+     */
+    void centroidInto(Point out);
 
     /**
      * Move o colisor por um vetor de deslocamento.
@@ -49,6 +59,43 @@ public interface ICollider {
      */
     void onUpdate();
 
+    /**
+     * Indica se o colisor já reflete o estado atual da sua transformação, caso em que onUpdate() não teria efeito
+     * e o motor pode saltá-lo. Tipicamente compara a versão da transformação (ITransform.version()) com a do último cálculo.
+     * A implementação padrão devolve falso (o colisor é sempre atualizado).
+     * @return Verdadeiro se onUpdate() não alteraria o colisor.
+     */
+    default boolean isUpToDate() {
+        return false;
+    }
+
+    /**
+     * Passa os dados geométricos do colisor (centros, raio, vértices no espaço do mundo) para um slot do armazenamento
+     * indicado (ex: um OffHeapColliderStore, fora do heap). O colisor continua a ser usado da mesma forma.
+     * A implementação padrão não faz nada: o colisor continua a guardar os seus próprios dados.
+     * @param store O armazenamento. Não deve ser nulo.
+     * @post Os valores do colisor não mudaram.
+     */
+    default void attach(IColliderStore store) {
+    }
+
+    /**
+     * Copia os dados do slot de volta para o colisor e liberta o slot, se estiver ligado a um armazenamento.
+     * A implementação padrão não faz nada.
+     * @post Os valores do colisor não mudaram.
+     */
+    default void detach() {
+    }
+
+    /**
+     * Devolve a caixa envolvente alinhada aos eixos do colisor no espaço do mundo, mantida por onUpdate().
+     * Serve de teste prévio barato: se as caixas de dois colisores não se sobrepõem, eles não colidem,
+     * pelo que o motor e os testes exatos rejeitam esses pares antes de qualquer geometria.
+     * A caixa pertence ao colisor e não deve ser alterada por quem a consulta.
+     * @return A caixa envolvente. Nunca é nula.
+     */
+    BoundingBox getWorldBounds();
+
     /**
      * Verifica se este colisor está a colidir com outro colisor genérico (ICollider).
      * Normalmente implementado usando double dispatch para resolver para tipos específicos de colisores.
@@ -79,4 +126,44 @@ public interface ICollider {
      * @return Um valor double representando uma dimensão característica.
      */
     double getCharacteristicDimension();
+
+    /**
+     * Devolve o raio de um círculo centrado em centroid() que contém todo o colisor.
+     * Usado pelas broadphases para construir caixas envolventes conservadoras.
+     * A implementação padrão devolve getCharacteristicDimension(), o que é exato para círculos.
+     * @return Um raio envolvente não negativo.
+     */
+    default double getBoundingRadius() {
+        return getCharacteristicDimension();
+    }
+
+    /**
+     * Indica se este colisor usa deteção contínua (varrida) de colisões, considerando todo o deslocamento
+     * do último passo em vez de apenas a posição final.
+     * A implementação padrão devolve falso (deteção discreta).
+     * @return Verdadeiro se a deteção for contínua.
+     */
+    default boolean isContinuous() {
+        return false;
+    }
+
+    /**
+     * Verifica se este colisor se sobrepõe a um círculo arbitrário no espaço do mundo.
+     * Usado pelas consultas espaciais do GameEngine (ex: "que objetos estão neste raio?").
+     * @param cx A coordenada x do centro do círculo.
+     * @param cy A coordenada y do centro do círculo.
+     * @param r O raio do círculo. Deve ser não negativo.
+     * @return Verdadeiro se houver sobreposição, falso caso contrário.
+     */
+    boolean overlapsCircle(double cx, double cy, double r);
+
+    /**
+     * Lança o segmento p(t) = (ox, oy) + t * (dx, dy), t em [0, 1], contra este colisor.
+     * @param ox A coordenada x da origem do segmento.
+     * @param oy A coordenada y da origem do segmento.
+     * @param dx O deslocamento total em x.
+     * @param dy O deslocamento total em y.
+     * @return A fração t do primeiro ponto de contacto (0 se a origem estiver dentro do colisor), ou -1 se não houver contacto.
+     */
+    double rayCast(double ox, double oy, double dx, double dy);
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package gameobject.collider;
+
+/**
+ * Interface para um armazenamento dos dados geométricos de colisores, indexado por slot.
+ * Cada slot guarda um valor escalar (o raio) e um número fixo de pontos (x, y), reservado em allocate:
+ * um CircleCollider usa dois pontos (centro atual e anterior) e um PolygonCollider um ponto para o centroide
+ * e um por vértice no espaço do mundo. Um colisor ligado a um armazenamento (ver ICollider.attach) lê e escreve
+ * esses valores através desta interface.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv size() &gt;= 0.
+ */
+public interface IColliderStore {
+
+    /**
+     * Reserva um slot com o número de pontos indicado. Os valores iniciais são indefinidos.
+     * @param points O número de pontos do slot. Deve ser não negativo.
+     * @return O slot reservado.
+     * @post size() aumenta 1; o armazenamento cresce se necessário.
+     */
+    int allocate(int points);
+
+    /**
+     * Liberta um slot para ser reutilizado.
+     * @param slot Um slot reservado e ainda não libertado.
+     * @post size() diminui 1.
+     */
+    void release(int slot);
+
+    /**
+     * Devolve o número de slots reservados.
+     * @return O número de colisores guardados.
+     */
+    int size();
+
+    /**
+     * Devolve o número de pontos de um slot.
+     * @param slot O slot.
+     * @return O número de pontos reservado em allocate.
+     */
+    int points(int slot);
+
+    /**
+     * Devolve a coordenada x de um ponto de um slot.
+     * @param slot O slot.
+     * @param point O índice do ponto, entre 0 e points(slot) - 1.
+     * @return A coordenada x.
+     */
+    double x(int slot, int point);
+
+    /**
+     * Devolve a coordenada y de um ponto de um slot.
+     * @param slot O slot.
+     * @param point O índice do ponto, entre 0 e points(slot) - 1.
+     * @return A coordenada y.
+     */
+    double y(int slot, int point);
+
+    /**
+     * Define as coordenadas de um ponto de um slot.
+     * @param slot O slot.
+     * @param point O índice do ponto, entre 0 e points(slot) - 1.
+     * @param x A nova coordenada x.
+     * @param y A nova coordenada y.
+     * @post x(slot, point) == x e y(slot, point) == y.
+     */
+    void set(int slot, int point, double x, double y);
+
+    /**
+     * Desloca um ponto de um slot.
+     * @param slot O slot.
+     * @param point O índice do ponto, entre 0 e points(slot) - 1.
+     * @param dx O deslocamento em x.
+     * @param dy O deslocamento em y.
+     * @post O ponto foi transladado por (dx, dy).
+     */
+    void translate(int slot, int point, double dx, double dy);
+
+    /**
+     * Devolve o raio de um slot.
+     * @param slot O slot.
+     * @return O raio.
+     */
+    double radius(int slot);
+
+    /**
+     * Define o raio de um slot.
+     * @param slot O slot.
+     * @param radius O novo raio.
+     * @post radius(slot) == radius.
+     */
+    void setRadius(int slot, double radius);
+}
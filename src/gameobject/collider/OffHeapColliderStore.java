@@ -0,0 +1,223 @@
+package gameobject.collider;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Armazenamento dos dados geométricos de colisores fora do heap, num MemorySegment (API Foreign Function &amp; Memory).
+ * Cada slot é um registo com o raio seguido dos seus pontos (x, y). Só estes valores saem do heap: cada colisor
+ * ligado continua a ter no heap o seu objeto, o ColliderSlot e uma vista (sem campos de coordenadas) por ponto,
+ * e o PolygonCollider a lista dessas vistas e os seus vértices locais. Enquanto o colisor está ligado, o ColliderSlot
+ * descarta o array com as coordenadas. Como no heap, a sincronização com as transformações não aloca, pelo que
+ * não há diferença de trabalho para o GC em cada frame (ver TransformStoreBenchmark).
+ * Os registos têm tamanhos diferentes (um por número de pontos): um slot libertado guarda o seu registo e só é
+ * reutilizado por um pedido com o mesmo número de pontos, como acontece com os objetos de um pool.
+ * A memória pertence a um Arena partilhado (os colisores são atualizados em paralelo pelo GameEngine) e é libertada por close().
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv Os registos ocupam memory[0..used) e não se sobrepõem.
+ * @inv 0 &lt;= size() &lt;= slotCount.
+ */
+public class OffHeapColliderStore implements IColliderStore, AutoCloseable {
+    private static final int INITIAL_SLOTS = 64;
+    private static final long RADIUS = 0, POINTS = 8, POINT_BYTES = 16;
+
+    private Arena arena;
+    private MemorySegment memory;
+    private long used = 0;
+    private long[] offsets = new long[INITIAL_SLOTS];
+    private int[] pointCounts = new int[INITIAL_SLOTS];
+    private int slotCount = 0;
+    private int size = 0;
+    private final Map<Integer, FreeSlots> freeByPoints = new HashMap<>(); // Slots libertados, por número de pontos
+
+    /**
+     * Slots libertados com o mesmo número de pontos.
+     */
+    private static final class FreeSlots {
+        int[] slots = new int[8];
+        int count = 0;
+    }
+
+    /**
+     * Constrói um armazenamento vazio com uma capacidade inicial pequena.
+     * @post size() == 0.
+     */
+    public OffHeapColliderStore() {
+        this(INITIAL_SLOTS * (POINTS + 4 * POINT_BYTES));
+    }
+
+    /**
+     * Constrói um armazenamento vazio com a memória inicial indicada.
+     * Reservar logo a memória final evita cópias ao crescer (ex: testes de carga com um milhão de colisores);
+     * um registo ocupa 8 + 16 * pontos bytes.
+     * @param initialBytes O número de bytes a reservar. Deve ser positivo.
+     * @post size() == 0.
+     */
+    public OffHeapColliderStore(long initialBytes) {
+        this.arena = Arena.ofShared();
+        this.memory = arena.allocate(initialBytes, Double.BYTES);
+    }
+
+    /**
+     * Reserva um slot com o número de pontos indicado, reutilizando um slot libertado com o mesmo número de pontos.
+     * @param points O número de pontos do slot. Deve ser não negativo.
+     * @return O slot reservado.
+     * @post size() aumenta 1; a memória cresce (para o dobro) se necessário.
+     */
+    @Override
+    public int allocate(int points) {
+        size++;
+        FreeSlots free = freeByPoints.get(points);
+        if (free != null && free.count > 0) {
+            return free.slots[--free.count];
+        }
+        long bytes = POINTS + points * POINT_BYTES;
+        while (used + bytes > memory.byteSize()) {
+            grow();
+        }
+        if (slotCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, slotCount * 2);
+            pointCounts = Arrays.copyOf(pointCounts, slotCount * 2);
+        }
+        offsets[slotCount] = used;
+        pointCounts[slotCount] = points;
+        used += bytes;
+        return slotCount++;
+    }
+
+    /**
+     * Liberta um slot para ser reutilizado por um pedido com o mesmo número de pontos.
+     * @param slot Um slot reservado e ainda não libertado.
+     * @post size() diminui 1.
+     */
+    @Override
+    public void release(int slot) {
+        FreeSlots free = freeByPoints.computeIfAbsent(pointCounts[slot], k -> new FreeSlots());
+        if (free.count == free.slots.length) {
+            free.slots = Arrays.copyOf(free.slots, free.count * 2);
+        }
+        free.slots[free.count++] = slot;
+        size--;
+    }
+
+    /**
+     * Duplica a memória: copia os registos para um novo segmento e liberta o anterior.
+     * Não deve ser chamado enquanto outras threads acedem ao armazenamento.
+     * @post A memória duplicou e os valores existentes mantêm-se.
+     */
+    private void grow() {
+        Arena newArena = Arena.ofShared();
+        MemorySegment newMemory = newArena.allocate(memory.byteSize() * 2, Double.BYTES);
+        MemorySegment.copy(memory, 0, newMemory, 0, used);
+        arena.close();
+        arena = newArena;
+        memory = newMemory;
+    }
+
+    /**
+     * Liberta a memória fora do heap. O armazenamento não pode ser usado depois disto.
+     * @post A memória foi libertada; qualquer acesso posterior lança IllegalStateException.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * Devolve o número de slots reservados.
+     * @return O número de colisores guardados.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Devolve o número de pontos de um slot.
+     * @param slot O slot.
+     * @return O número de pontos reservado em allocate.
+     */
+    @Override
+    public int points(int slot) {
+        return pointCounts[slot];
+    }
+
+    /**
+     * Devolve a coordenada x de um ponto de um slot.
+     * @param slot O slot.
+     * @param point O índice do ponto.
+     * @return A coordenada x.
+     */
+    @Override
+    public double x(int slot, int point) {
+        return memory.get(ValueLayout.JAVA_DOUBLE, offsets[slot] + POINTS + point * POINT_BYTES);
+    }
+
+    /**
+     * Devolve a coordenada y de um ponto de um slot.
+     * @param slot O slot.
+     * @param point O índice do ponto.
+     * @return A coordenada y.
+     */
+    @Override
+    public double y(int slot, int point) {
+        return memory.get(ValueLayout.JAVA_DOUBLE, offsets[slot] + POINTS + point * POINT_BYTES + Double.BYTES);
+    }
+
+    /**
+     * Define as coordenadas de um ponto de um slot.
+     * @param slot O slot.
+     * @param point O índice do ponto.
+     * @param x A nova coordenada x.
+     * @param y A nova coordenada y.
+     * @post x(slot, point) == x e y(slot, point) == y.
+     */
+    @Override
+    public void set(int slot, int point, double x, double y) {
+        long base = offsets[slot] + POINTS + point * POINT_BYTES;
+        memory.set(ValueLayout.JAVA_DOUBLE, base, x);
+        memory.set(ValueLayout.JAVA_DOUBLE, base + Double.BYTES, y);
+    }
+
+    /**
+     * Desloca um ponto de um slot.
+     * @param slot O slot.
+     * @param point O índice do ponto.
+     * @param dx O deslocamento em x.
+     * @param dy O deslocamento em y.
+     * @post O ponto foi transladado por (dx, dy).
+     */
+    @Override
+    public void translate(int slot, int point, double dx, double dy) {
+        long base = offsets[slot] + POINTS + point * POINT_BYTES;
+        MemorySegment m = memory;
+        m.set(ValueLayout.JAVA_DOUBLE, base, m.get(ValueLayout.JAVA_DOUBLE, base) + dx);
+        m.set(ValueLayout.JAVA_DOUBLE, base + Double.BYTES, m.get(ValueLayout.JAVA_DOUBLE, base + Double.BYTES) + dy);
+    }
+
+    /**
+     * Devolve o raio de um slot.
+     * @param slot O slot.
+     * @return O raio.
+     */
+    @Override
+    public double radius(int slot) {
+        return memory.get(ValueLayout.JAVA_DOUBLE, offsets[slot] + RADIUS);
+    }
+
+    /**
+     * Define o raio de um slot.
+     * @param slot O slot.
+     * @param radius O novo raio.
+     * @post radius(slot) == radius.
+     */
+    @Override
+    public void setRadius(int slot, double radius) {
+        memory.set(ValueLayout.JAVA_DOUBLE, offsets[slot] + RADIUS, radius);
+    }
+}
@@ -1,5 +1,7 @@
 package gameobject.collider;
 
+import gameobject.geometry.BoundingBox;
+import gameobject.geometry.IPoint;
 import gameobject.geometry.Point;
 import gameobject.transform.ITransform;
 
@@ -11,17 +13,34 @@ import java.util.List;
  * Responsável por detetar colisões usando o Teorema do Eixo Separador (SAT) para colisões polígono-polígono,
  * e lógicas específicas para polígono-círculo.
  * Os seus vértices são definidos localmente e transformados para o espaço do mundo através de uma ITransform associada.
+ * Os vértices transformados, o centroide e o raio envolvente podem ficar num IColliderStore (ver attach).
  * @author José Tico, Yasmin Dias e Guilherme Carmo
  * @version 25-05-2025
  * @inv vertices (locais) nunca é nulo e contém os vértices originais do polígono.
  * @inv transformedVertices nunca é nulo e contém os vértices transformados para o espaço do mundo; o seu tamanho corresponde a 'vertices'.
  * @inv transform (a referência à ITransform) pode ser nula, mas nesse caso o colisor não funcionará corretamente sem uma Transform para sincronizar.
+ * @inv axisX/axisY[0..axisCount-1] são as normais unitárias das arestas não degeneradas, rodadas pelo ângulo de 'cachedAngle'.
+ * @inv worldBounds, cachedCentroid e o raio envolvente (data.radius()) correspondem sempre a transformedVertices.
  */
 public class PolygonCollider implements ICollider {
     private List<Point> vertices;
-    private List<Point> transformedVertices;
+    private final ColliderSlot data = new ColliderSlot(); // Centroide (ponto 0), vértices transformados (1..n) e raio envolvente
+    private List<IPoint> transformedVertices;
     private final ITransform transform;
 
+    // Eixos do SAT: as normais das arestas só dependem da rotação, pelo que são calculadas uma vez no espaço
+    // local e rodadas apenas quando o ângulo muda. A translação e a escala não alteram a sua direção.
+    private final double[] localAxisX, localAxisY;
+    private final double[] axisX, axisY;
+    private final int axisCount;
+    private final BoundingBox worldBounds = new BoundingBox();
+    // Versão da transformação no último cálculo dos vértices (-1 força o cálculo) e ângulo/escala desse cálculo
+    private long syncedVersion = -1;
+    private double cachedAngle = Double.NaN, cachedScale = Double.NaN;
+    private double cos = 1, sin = 0;
+    // Centroide e raio envolvente, recalculados com os vértices e lidos pela broadphase em cada frame
+    private final IPoint cachedCentroid = data.point(0, 0);
+
     /**
      * Constrói um PolygonCollider a partir de um array de coordenadas de vértices e uma transformação.
      * As coordenadas são pares (x,y) definindo os vértices do polígono em ordem.
@@ -29,7 +48,8 @@ public class PolygonCollider implements ICollider {
      * @param transform A transformação (ITransform) à qual este colisor está associado. Usada para converter vértices locais para o espaço do mundo.
      * @post Os 'vertices' locais são inicializados a partir de 'coords'.
      * @post 'transformedVertices' é inicializado com o mesmo tamanho que 'vertices'.
-     * @post O método onUpdate() é chamado para calcular a posição inicial dos 'transformedVertices'.
+     * @post As normais locais das arestas são calculadas uma única vez.
+     * @post O método onUpdate() é chamado para calcular a posição inicial dos 'transformedVertices' e de 'worldBounds'.
      */
     public PolygonCollider(double[] coords, ITransform transform) {
         this.vertices = new ArrayList<>();
@@ -45,27 +65,76 @@ public class PolygonCollider implements ICollider {
 
         for (int i = 0; i < coords.length; i += 2) {
             vertices.add(new Point(coords[i], coords[i + 1]));
-            transformedVertices.add(new Point(0,0)); // Preencher com pontos dummy para inicializar a lista
+            transformedVertices.add(data.point(0, 0)); // Preencher com pontos dummy para inicializar a lista
         }
+
+        int n = vertices.size();
+        this.localAxisX = new double[n];
+        this.localAxisY = new double[n];
+        int count = 0;
+        for (int i = 0; n >= 2 && i < n; i++) {
+            Point p1 = vertices.get(i);
+            Point p2 = vertices.get((i + 1) % n);
+            double nx = -(p2.getY() - p1.getY()); // Normal perpendicular à aresta
+            double ny = p2.getX() - p1.getX();
+            double length = Math.sqrt(nx * nx + ny * ny);
+            if (length > 1e-9) { // Arestas degeneradas não definem eixo
+                localAxisX[count] = nx / length;
+                localAxisY[count] = ny / length;
+                count++;
+            }
+        }
+        this.axisCount = count;
+        this.axisX = new double[count];
+        this.axisY = new double[count];
+        System.arraycopy(localAxisX, 0, axisX, 0, count);
+        System.arraycopy(localAxisY, 0, axisY, 0, count);
+
         onUpdate(); // Calcula as posições iniciais dos vértices transformados
+        updateDerived(); // Também sem transform, em que os vértices ficam na origem
     }
 
 
     /**
      * Calcula e devolve o centroide dos vértices transformados do polígono.
+     * Aloca um novo Point em cada chamada; em código executado a cada passo deve usar-se centroidInto().
      * @return O ponto central (Point) do polígono no espaço do mundo. Devolve (0,0) ou a posição da transform se não houver vértices.
      */
     @Override
-    public Point centroid() {
+    public IPoint centroid() {
+        Point c = new Point(0, 0);
+        centroidInto(c);
+        return c;
+    }
+
+    /**
+     * Escreve o centroide dos vértices transformados no ponto fornecido, sem alocar.
+     * O centroide é calculado com os vértices (em onUpdate()) e apenas copiado aqui.
+     * @param out O ponto onde escrever o centroide. Não deve ser nulo.
+     * @post 'out' contém o centroide do polígono, ou (0,0) / a posição da transform se não houver vértices.
+     */
+    @Override
+    public void centroidInto(Point out) {
         if (transformedVertices == null || transformedVertices.isEmpty()) {
-            return (transform != null) ? transform.position() : new Point(0,0);
+            if (transform != null) out.set(transform.position()); else out.set(0, 0);
+            return;
         }
-        double xSum = 0, ySum = 0, signedAreaTimesTwo = 0;
+        out.set(cachedCentroid);
+    }
+
+    /**
+     * Calcula o centroide dos vértices transformados do polígono.
+     * Se o polígono for degenerado (área zero), usa a média dos vértices.
+     * @param out O ponto onde escrever o centroide. Não deve ser nulo.
+     * @post 'out' contém o centroide de 'transformedVertices', que não é vazia.
+     */
+    private void computeCentroid(IPoint out) {
         int n = transformedVertices.size();
+        double xSum = 0, ySum = 0, signedAreaTimesTwo = 0;
 
         for (int i = 0; i < n; i++) {
-            Point p1 = transformedVertices.get(i);
-            Point p2 = transformedVertices.get((i + 1) % n);
+            IPoint p1 = transformedVertices.get(i);
+            IPoint p2 = transformedVertices.get((i + 1) % n);
 
             double crossProductTerm = (p1.getX() * p2.getY()) - (p2.getX() * p1.getY());
             signedAreaTimesTwo += crossProductTerm;
@@ -73,15 +142,16 @@ public class PolygonCollider implements ICollider {
             ySum += (p1.getY() + p2.getY()) * crossProductTerm;
         }
 
-        if (Math.abs(signedAreaTimesTwo) < 1e-9) { // Polígono degenerado (área zero)
-            if (n > 0) { // Calcula a média dos vértices como fallback
-                double avgX = 0, avgY = 0;
-                for(Point p : transformedVertices) { avgX += p.getX(); avgY += p.getY(); }
-                return new Point(avgX/n, avgY/n);
+        if (Math.abs(signedAreaTimesTwo) < 1e-9) { // Polígono degenerado (área zero): média dos vértices
+            double avgX = 0, avgY = 0;
+            for (int i = 0; i < n; i++) {
+                avgX += transformedVertices.get(i).getX();
+                avgY += transformedVertices.get(i).getY();
             }
-            return (transform != null) ? transform.position() : new Point(0,0);
+            out.set(avgX / n, avgY / n);
+            return;
         }
-        return new Point(xSum / (3.0 * signedAreaTimesTwo), ySum / (3.0 * signedAreaTimesTwo));
+        out.set(xSum / (3.0 * signedAreaTimesTwo), ySum / (3.0 * signedAreaTimesTwo));
     }
 
     /**
@@ -92,9 +162,11 @@ public class PolygonCollider implements ICollider {
     @Override
     public void move(Point dPos) {
         if (transformedVertices != null) {
-            for (Point p : transformedVertices) {
+            for (IPoint p : transformedVertices) {
                 p.translate(dPos.getX(), dPos.getY());
             }
+            updateDerived();
+            syncedVersion = -1; // Os vértices já não correspondem à transform: o próximo onUpdate recalcula-os
         }
     }
 
@@ -121,31 +193,110 @@ public class PolygonCollider implements ICollider {
     /**
      * Atualiza os 'transformedVertices' do polígono com base na 'transform' associada.
      * Aplica escala, rotação e translação aos vértices locais originais.
-     * @post Os 'transformedVertices' são recalculados para refletir o estado atual da 'transform'.
+     * Se a versão da transformação não mudou desde o último cálculo não faz nada, pelo que colisores parados
+     * (ex: obstáculos) não têm custo depois do primeiro frame. O seno e o cosseno e os eixos do SAT
+     * só são recalculados quando o ângulo ou a escala mudam.
+     * @post Os 'transformedVertices', 'worldBounds', o centroide e o raio envolvente refletem o estado atual da 'transform'.
+     * @post Se o ângulo mudou, os eixos do SAT são rodados para o novo ângulo.
      * Se 'transform' ou 'vertices' for nulo, ou se 'transformedVertices' não tiver o mesmo tamanho que 'vertices', não ocorre atualização.
      */
     @Override
     public void onUpdate() {
         if (transform == null || vertices == null || transformedVertices == null || vertices.size() != transformedVertices.size()) return;
 
-        Point transformPos = transform.position();
-        double angleRad = Math.toRadians(transform.angle());
+        if (isUpToDate()) {
+            return; // Transformação inalterada: vértices, caixa e eixos continuam válidos
+        }
+        syncedVersion = transform.version();
+        IPoint transformPos = transform.position();
+        double x = transformPos.getX();
+        double y = transformPos.getY();
+        double angle = transform.angle();
         double currentScale = transform.scale();
-        double cosA = Math.cos(angleRad);
-        double sinA = Math.sin(angleRad);
+
+        if (angle != cachedAngle || currentScale != cachedScale) {
+            double angleRad = Math.toRadians(angle);
+            cos = Math.cos(angleRad);
+            sin = Math.sin(angleRad);
+            for (int i = 0; i < axisCount; i++) {
+                axisX[i] = localAxisX[i] * cos - localAxisY[i] * sin;
+                axisY[i] = localAxisX[i] * sin + localAxisY[i] * cos;
+            }
+            cachedAngle = angle;
+            cachedScale = currentScale;
+        }
 
         for (int i = 0; i < vertices.size(); i++) {
             Point localP = vertices.get(i);
-            Point worldP = transformedVertices.get(i);
+            IPoint worldP = transformedVertices.get(i);
 
             double scaledX = localP.getX() * currentScale;
             double scaledY = localP.getY() * currentScale;
 
-            double rotatedX = scaledX * cosA - scaledY * sinA;
-            double rotatedY = scaledX * sinA + scaledY * cosA;
+            double rotatedX = scaledX * cos - scaledY * sin;
+            double rotatedY = scaledX * sin + scaledY * cos;
 
-            worldP.set(rotatedX + transformPos.getX(), rotatedY + transformPos.getY());
+            worldP.set(rotatedX + x, rotatedY + y);
         }
+        updateDerived();
+    }
+
+    /**
+     * Indica se os vértices transformados correspondem à versão atual da transformação.
+     * @return Verdadeiro se onUpdate() não alteraria o colisor (ou se não houver transform).
+     */
+    @Override
+    public boolean isUpToDate() {
+        return transform == null || transform.version() == syncedVersion;
+    }
+
+    /**
+     * Recalcula o estado derivado dos vértices transformados: caixa envolvente, centroide e raio envolvente.
+     * @post 'worldBounds' envolve todos os 'transformedVertices' (ou é a caixa na origem se não houver vértices).
+     * @post 'cachedCentroid' e o raio envolvente correspondem aos 'transformedVertices'.
+     */
+    private void updateDerived() {
+        if (transformedVertices.isEmpty()) {
+            worldBounds.set(0, 0, 0, 0);
+            data.setRadius(0);
+            return;
+        }
+        computeCentroid(cachedCentroid);
+        double maxDistSq = 0;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < transformedVertices.size(); i++) {
+            IPoint p = transformedVertices.get(i);
+            minX = Math.min(minX, p.getX());
+            minY = Math.min(minY, p.getY());
+            maxX = Math.max(maxX, p.getX());
+            maxY = Math.max(maxY, p.getY());
+            double dx = p.getX() - cachedCentroid.getX();
+            double dy = p.getY() - cachedCentroid.getY();
+            maxDistSq = Math.max(maxDistSq, dx * dx + dy * dy);
+        }
+        worldBounds.set(minX, minY, maxX, maxY);
+        data.setRadius(Math.sqrt(maxDistSq));
+    }
+
+    /**
+     * Passa os vértices transformados, o centroide e o raio envolvente para um slot do armazenamento indicado.
+     * Os vértices locais e os eixos do SAT, que não mudam com a posição, ficam no objeto.
+     * @param store O armazenamento. Não deve ser nulo.
+     * @post Os dados do colisor estão num slot de 'store'; os seus valores não mudaram.
+     */
+    @Override
+    public void attach(IColliderStore store) {
+        data.attach(store);
+    }
+
+    /**
+     * Copia os dados do slot de volta para o colisor e liberta o slot.
+     * @post Os dados do colisor estão no próprio objeto; os seus valores não mudaram.
+     */
+    @Override
+    public void detach() {
+        data.detach();
     }
 
     /**
@@ -170,113 +321,113 @@ public class PolygonCollider implements ICollider {
 
     /**
      * Verifica colisão com outro PolygonCollider usando o Teorema do Eixo Separador (SAT).
+     * As caixas envolventes são comparadas primeiro; depois os vértices são projetados nos eixos em cache
+     * de ambos os polígonos, sem alocar listas de eixos nem projeções.
      * @param other O outro PolygonCollider. Não deve ser nulo.
      * @return Verdadeiro se os polígonos colidirem, falso caso contrário.
      */
     @Override
     public boolean isColliding(PolygonCollider other) {
-        List<Point> axes1 = getAxes(this.transformedVertices);
-        if (axes1.isEmpty()) return false;
-        List<Point> axes2 = getAxes(other.transformedVertices);
-        if (axes2.isEmpty()) return false;
-
-        for (Point axis : axes1) {
-            Projection p1 = project(this.transformedVertices, axis);
-            Projection p2 = project(other.transformedVertices, axis);
-            if (!p1.overlaps(p2)) {
-                return false;
-            }
-        }
-
-        for (Point axis : axes2) {
-            Projection p1 = project(this.transformedVertices, axis);
-            Projection p2 = project(other.transformedVertices, axis);
-            if (!p1.overlaps(p2)) {
-                return false;
-            }
-        }
-        return true;
+        if (axisCount == 0 || other.axisCount == 0) return false;
+        if (!worldBounds.overlaps(other.worldBounds)) return false;
+        return !hasSeparatingAxis(this, other) && !hasSeparatingAxis(other, this);
     }
 
     /**
-     * Obtém os eixos de projeção (normais às arestas) para um conjunto de vértices.
-     * @param verticesDoPoligono Lista de vértices do polígono. Pode ser nula ou vazia.
-     * @return Uma lista de Points, cada um representando um eixo normalizado. Lista vazia se 'verticesDoPoligono' for nulo/vazio ou tiver menos de 2 vértices.
+     * Procura, entre os eixos de 'owner', um eixo em que as projeções dos dois polígonos não se sobreponham.
+     * @param owner O polígono cujos eixos são testados. Não deve ser nulo.
+     * @param other O outro polígono. Não deve ser nulo.
+     * @return Verdadeiro se existir um eixo separador (os polígonos não colidem).
      */
-    private List<Point> getAxes(List<Point> verticesDoPoligono) {
-        List<Point> axes = new ArrayList<>();
-        if (verticesDoPoligono == null || verticesDoPoligono.size() < 2) return axes;
-
-        for (int i = 0; i < verticesDoPoligono.size(); i++) {
-            Point p1 = verticesDoPoligono.get(i);
-            Point p2 = verticesDoPoligono.get((i + 1) % verticesDoPoligono.size());
-            Point edge = new Point(p2.getX() - p1.getX(), p2.getY() - p1.getY());
-            Point normal = new Point(-edge.getY(), edge.getX()); // Perpendicular
-
-            // Normalizar o eixo (opcional para SAT básico, mas boa prática)
-            double length = Math.sqrt(normal.getX() * normal.getX() + normal.getY() * normal.getY());
-            if (length > 1e-9) { // Evitar divisão por zero
-                axes.add(new Point(normal.getX() / length, normal.getY() / length));
-            } else {
-                // Se a aresta tiver comprimento zero, não podemos obter uma normal significativa desta forma.
-                // Poderia adicionar um eixo arbitrário ou ignorar, dependendo da robustez necessária.
-                // Para este caso, ignoramos eixos de arestas degeneradas.
+    private static boolean hasSeparatingAxis(PolygonCollider owner, PolygonCollider other) {
+        List<IPoint> a = owner.transformedVertices;
+        List<IPoint> b = other.transformedVertices;
+        for (int i = 0; i < owner.axisCount; i++) {
+            double ax = owner.axisX[i];
+            double ay = owner.axisY[i];
+            double minA = Double.POSITIVE_INFINITY, maxA = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < a.size(); j++) {
+                double d = a.get(j).getX() * ax + a.get(j).getY() * ay;
+                minA = Math.min(minA, d);
+                maxA = Math.max(maxA, d);
+            }
+            double minB = Double.POSITIVE_INFINITY, maxB = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < b.size(); j++) {
+                double d = b.get(j).getX() * ax + b.get(j).getY() * ay;
+                minB = Math.min(minB, d);
+                maxB = Math.max(maxB, d);
+            }
+            if (maxA < minB || maxB < minA) {
+                return true;
             }
         }
-        return axes;
+        return false;
     }
 
     /**
-     * Projeta os vértices de um polígono num eixo.
-     * @param verticesDoPoligono Lista de vértices. Pode ser nula ou vazia.
-     * @param axis O eixo de projeção. Não deve ser nulo.
-     * @return Um objeto Projection contendo os valores mínimo e máximo da projeção. Se 'verticesDoPoligono' for nulo/vazio, devolve uma projeção de [Infinito, -Infinito].
+     * Verifica se este polígono se sobrepõe a um círculo arbitrário. Usa o mesmo teste que CircleCollider.
+     * @param cx A coordenada x do centro do círculo.
+     * @param cy A coordenada y do centro do círculo.
+     * @param r O raio do círculo. Deve ser não negativo.
+     * @return Verdadeiro se houver sobreposição.
      */
-    private Projection project(List<Point> verticesDoPoligono, Point axis) {
-        double min = Double.POSITIVE_INFINITY;
-        double max = Double.NEGATIVE_INFINITY;
-        if (verticesDoPoligono != null) {
-            for (Point vertex : verticesDoPoligono) {
-                double dotProduct = vertex.getX() * axis.getX() + vertex.getY() * axis.getY();
-                min = Math.min(min, dotProduct);
-                max = Math.max(max, dotProduct);
-            }
-        }
-        return new Projection(min, max);
+    @Override
+    public boolean overlapsCircle(double cx, double cy, double r) {
+        return CircleCollider.intersectsPolygon(cx, cy, r, transformedVertices);
     }
 
     /**
-     * Classe auxiliar para representar a projeção de uma forma num eixo (um intervalo 1D).
+     * Lança o segmento p(t) = (ox, oy) + t * (dx, dy), t em [0, 1], contra as arestas do polígono.
+     * @param ox A coordenada x da origem do segmento.
+     * @param oy A coordenada y da origem do segmento.
+     * @param dx O deslocamento total em x.
+     * @param dy O deslocamento total em y.
+     * @return A menor fração t em que o segmento atravessa uma aresta (0 se a origem estiver dentro do polígono), ou -1 se não houver contacto.
      */
-    private static class Projection {
-        double min, max;
-        /**
-         * Constrói uma Projeção.
-         * @param min O valor mínimo da projeção.
-         * @param max O valor máximo da projeção.
-         */
-        public Projection(double min, double max) {
-            this.min = min;
-            this.max = max;
-        }
-        /**
-         * Verifica se esta projeção se sobrepõe a outra.
-         * @param other A outra projeção. Não deve ser nula.
-         * @return Verdadeiro se houver sobreposição, falso caso contrário.
-         */
-        public boolean overlaps(Projection other) {
-            return this.max >= other.min && other.max >= this.min;
+    @Override
+    public double rayCast(double ox, double oy, double dx, double dy) {
+        if (transformedVertices == null || transformedVertices.size() < 2) return -1;
+        if (CircleCollider.pointInPolygon(ox, oy, transformedVertices)) return 0;
+
+        double best = -1;
+        int n = transformedVertices.size();
+        for (int i = 0; i < n; i++) {
+            IPoint p1 = transformedVertices.get(i);
+            IPoint p2 = transformedVertices.get((i + 1) % n);
+            double ex = p2.getX() - p1.getX();
+            double ey = p2.getY() - p1.getY();
+            double denom = dx * ey - dy * ex; // Produto vetorial d x e
+            if (Math.abs(denom) < 1e-12) continue; // Segmento paralelo à aresta
+
+            double qx = p1.getX() - ox;
+            double qy = p1.getY() - oy;
+            double t = (qx * ey - qy * ex) / denom; // Fração ao longo do segmento lançado
+            double u = (qx * dy - qy * dx) / denom; // Fração ao longo da aresta
+            if (t >= 0 && t <= 1 && u >= 0 && u <= 1 && (best < 0 || t < best)) {
+                best = t;
+            }
         }
+        return best;
     }
 
     /**
      * Devolve a lista de vértices transformados (no espaço do mundo).
-     * @return Uma lista de Points representando os vértices do polígono no espaço do mundo. Pode ser uma lista vazia se não houver vértices.
+     * @return Uma lista de IPoints representando os vértices do polígono no espaço do mundo. Pode ser uma lista vazia se não houver vértices.
      */
-    public List<Point> getVertices() {
+    public List<IPoint> getVertices() {
         return transformedVertices;
     }
 
+    /**
+     * Devolve a caixa envolvente dos vértices transformados, atualizada em onUpdate().
+     * A caixa pertence ao colisor e não deve ser alterada por quem a consulta.
+     * @return A caixa envolvente no espaço do mundo. Nunca é nula.
+     */
+    @Override
+    public BoundingBox getWorldBounds() {
+        return worldBounds;
+    }
+
     /**
      * Devolve uma dimensão característica do polígono.
      * Calcula a largura da bounding box alinhada aos eixos dos vértices transformados e devolve metade dessa largura.
@@ -287,13 +438,16 @@ public class PolygonCollider implements ICollider {
         if (transformedVertices == null || transformedVertices.isEmpty()) {
             return 0;
         }
-        double minX = Double.POSITIVE_INFINITY;
-        double maxX = Double.NEGATIVE_INFINITY;
+        return (worldBounds.getMaxX() - worldBounds.getMinX()) / 2.0;
+    }
 
-        for (Point p : transformedVertices) {
-            if (p.getX() < minX) minX = p.getX();
-            if (p.getX() > maxX) maxX = p.getX();
-        }
-        return (maxX - minX) / 2.0;
+    /**
+     * Devolve a maior distância entre o centroide e os vértices transformados.
+     * Ao contrário de getCharacteristicDimension(), cobre também a altura e os cantos do polígono.
+     * @return O raio envolvente do polígono, ou 0 se não houver vértices.
+     */
+    @Override
+    public double getBoundingRadius() {
+        return data.radius();
     }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package gameobject.collider;
+
+import gameobject.geometry.IPoint;
+
+import java.util.List;
+
+/**
+ * Testes de tempo de impacto (time of impact) para deteção contínua de colisões.
+ * Um círculo que se desloca de (x0, y0) até (x0 + dx, y0 + dy) durante um passo é tratado como um raio
+ * lançado contra a outra forma alargada pelo raio do círculo (soma de Minkowski), o que evita que objetos
+ * rápidos atravessem alvos finos entre dois passos discretos (tunneling).
+ * Todas as funções devolvem a fração t em [0, 1] do deslocamento em que ocorre o primeiro contacto,
+ * 0 se as formas já se sobrepuserem no início, ou -1 se não houver contacto.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+public final class TimeOfImpact {
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Construtor privado: classe apenas com métodos estáticos.
+     */
+    private TimeOfImpact() {
+    }
+
+    /**
+     * Calcula o tempo de impacto de um círculo em movimento contra um círculo parado.
+     * Para dois círculos em movimento, basta passar o deslocamento relativo (dA - dB) e as posições iniciais.
+     * @param x0 A coordenada x inicial do centro do círculo em movimento.
+     * @param y0 A coordenada y inicial do centro do círculo em movimento.
+     * @param dx O deslocamento em x durante o passo.
+     * @param dy O deslocamento em y durante o passo.
+     * @param r O raio do círculo em movimento. Deve ser não negativo.
+     * @param cx A coordenada x do centro do círculo parado.
+     * @param cy A coordenada y do centro do círculo parado.
+     * @param otherR O raio do círculo parado. Deve ser não negativo.
+     * @return A fração t do primeiro contacto, 0 se já se sobrepuserem, ou -1 se não houver contacto.
+     */
+    public static double circleCircle(double x0, double y0, double dx, double dy, double r,
+                                      double cx, double cy, double otherR) {
+        return rayCircle(x0, y0, dx, dy, cx, cy, r + otherR - EPSILON);
+    }
+
+    /**
+     * Calcula o tempo de impacto de um círculo em movimento contra um polígono parado.
+     * O polígono alargado pelo raio é a união de cápsulas em torno das arestas com o interior do polígono;
+     * como o círculo começa fora, o primeiro contacto é a primeira entrada numa dessas cápsulas.
+     * @param x0 A coordenada x inicial do centro do círculo.
+     * @param y0 A coordenada y inicial do centro do círculo.
+     * @param dx O deslocamento em x durante o passo.
+     * @param dy O deslocamento em y durante o passo.
+     * @param r O raio do círculo. Deve ser não negativo.
+     * @param vertices Os vértices do polígono no espaço do mundo, em ordem. Pode ser nula ou vazia.
+     * @return A fração t do primeiro contacto, 0 se já se sobrepuserem, ou -1 se não houver contacto.
+     */
+    public static double circlePolygon(double x0, double y0, double dx, double dy, double r, List<IPoint> vertices) {
+        if (vertices == null || vertices.isEmpty()) return -1;
+        if (CircleCollider.intersectsPolygon(x0, y0, r, vertices)) return 0;
+
+        double effectiveR = r - EPSILON;
+        double best = -1;
+        int n = vertices.size();
+        for (int i = 0; i < n; i++) {
+            IPoint p1 = vertices.get(i);
+            IPoint p2 = vertices.get((i + 1) % n);
+
+            // Extremidade arredondada da cápsula (cada vértice é partilhado por duas arestas)
+            best = earliest(best, rayCircle(x0, y0, dx, dy, p1.getX(), p1.getY(), effectiveR));
+
+            // Lados da cápsula: a aresta deslocada de +/- r ao longo da sua normal
+            double ex = p2.getX() - p1.getX();
+            double ey = p2.getY() - p1.getY();
+            double len = Math.sqrt(ex * ex + ey * ey);
+            if (len < EPSILON) continue;
+            double nx = -ey / len * effectiveR;
+            double ny = ex / len * effectiveR;
+            best = earliest(best, raySegment(x0, y0, dx, dy, p1.getX() + nx, p1.getY() + ny, ex, ey));
+            best = earliest(best, raySegment(x0, y0, dx, dy, p1.getX() - nx, p1.getY() - ny, ex, ey));
+        }
+        return best;
+    }
+
+    /**
+     * Lança o raio (x0, y0) + t * (dx, dy) contra um círculo.
+     * @param x0 A coordenada x da origem.
+     * @param y0 A coordenada y da origem.
+     * @param dx O deslocamento em x.
+     * @param dy O deslocamento em y.
+     * @param cx A coordenada x do centro do círculo.
+     * @param cy A coordenada y do centro do círculo.
+     * @param r O raio do círculo.
+     * @return A fração t de entrada no círculo, 0 se a origem estiver dentro, ou -1 se não houver contacto.
+     */
+    private static double rayCircle(double x0, double y0, double dx, double dy, double cx, double cy, double r) {
+        double mx = x0 - cx;
+        double my = y0 - cy;
+        double c = mx * mx + my * my - r * r;
+        if (c < 0) return 0; // Já sobrepostos no início do passo
+
+        double a = dx * dx + dy * dy;
+        if (a < EPSILON * EPSILON) return -1; // Sem movimento
+        double b = mx * dx + my * dy;
+        if (b >= 0) return -1; // A afastar-se
+        double disc = b * b - a * c;
+        if (disc <= 0) return -1; // Passa ao lado (ou apenas toca tangencialmente)
+
+        double t = (-b - Math.sqrt(disc)) / a;
+        return (t <= 1) ? t : -1;
+    }
+
+    /**
+     * Lança o raio (x0, y0) + t * (dx, dy) contra o segmento (sx, sy) + u * (ex, ey).
+     * @param x0 A coordenada x da origem do raio.
+     * @param y0 A coordenada y da origem do raio.
+     * @param dx O deslocamento do raio em x.
+     * @param dy O deslocamento do raio em y.
+     * @param sx A coordenada x do início do segmento.
+     * @param sy A coordenada y do início do segmento.
+     * @param ex O comprimento do segmento em x.
+     * @param ey O comprimento do segmento em y.
+     * @return A fração t da interseção, ou -1 se não houver interseção.
+     */
+    private static double raySegment(double x0, double y0, double dx, double dy,
+                                     double sx, double sy, double ex, double ey) {
+        double denom = dx * ey - dy * ex;
+        if (Math.abs(denom) < EPSILON * EPSILON) return -1; // Paralelos
+        double qx = sx - x0;
+        double qy = sy - y0;
+        double t = (qx * ey - qy * ex) / denom;
+        double u = (qx * dy - qy * dx) / denom;
+        return (t >= 0 && t <= 1 && u >= 0 && u <= 1) ? t : -1;
+    }
+
+    /**
+     * Devolve o menor de dois tempos de impacto, ignorando os valores negativos (sem contacto).
+     * @param best O melhor tempo até agora, ou -1.
+     * @param t O novo tempo, ou -1.
+     * @return O menor tempo não negativo, ou -1 se ambos forem negativos.
+     */
+    private static double earliest(double best, double t) {
+        if (t < 0) return best;
+        return (best < 0 || t < best) ? t : best;
+    }
+}
@@ -1,5 +1,6 @@
 package gameobject.entity;
 
+import gameobject.EntityKind;
 import gameobject.GameObject;
 import gameobject.behaviour.BulletBehaviour;
 import gameobject.collider.CircleCollider;
@@ -13,8 +14,10 @@ import gameobject.transform.Transform;
  * @version 25-05-2025
  * @inv O nome (name) do projétil geralmente começa com "player_bullet_".
  * @inv A transformação (transform), colisor (collider), forma (shape) e comportamento (behaviour) nunca são nulos após a construção.
+ * @inv Se 'pool' não for nulo, o projétil volta a esse pool quando é destruído (ver recycle()).
  */
 public class Bullet extends GameObject {
+    private final BulletPool pool;
 
     /**
      * Constrói um novo objeto Bullet com um nome e posição especificados.
@@ -25,7 +28,19 @@ public class Bullet extends GameObject {
      * @post Um novo Bullet é criado na posição (x,y) com o nome fornecido, usando um CircleCollider, ShapeImage e BulletBehaviour predefinidos.
      */
     public Bullet(String name, double x, double y) {
-        this(name, createSharedTransform(x, y));
+        this(name, createSharedTransform(x, y), null);
+    }
+
+    /**
+     * Constrói um projétil gerido por um pool, para onde regressa quando é destruído.
+     * @param name O nome do projétil. Não deve ser nulo.
+     * @param x A coordenada x inicial do projétil.
+     * @param y A coordenada y inicial do projétil.
+     * @param pool O pool a que o projétil pertence. Pode ser nulo.
+     * @post Um novo Bullet é criado na posição (x,y), associado a 'pool'.
+     */
+    Bullet(String name, double x, double y, BulletPool pool) {
+        this(name, createSharedTransform(x, y), pool);
     }
 
     /**
@@ -39,20 +54,60 @@ public class Bullet extends GameObject {
         return new Transform(x, y, 0, 0, 1);
     }
 
+    /**
+     * Cria o colisor circular do projétil, com deteção contínua de colisões ativada
+     * para que o projétil não atravesse alvos finos quando o passo de tempo ou a velocidade aumentam.
+     * @param t A transformação do projétil. Não deve ser nula.
+     * @return Um novo CircleCollider contínuo de raio 5 centrado na posição de 't'.
+     */
+    private static CircleCollider createCollider(Transform t) {
+        CircleCollider collider = new CircleCollider(t.position().getX(), t.position().getY(), 5, t);
+        collider.setContinuous(true);
+        return collider;
+    }
+
     /**
      * Construtor privado que inicializa o projétil com um nome e uma transformação fornecida.
-     * Este construtor é chamado pelo construtor público.
+     * Este construtor é chamado pelos restantes construtores.
      * @param name O nome do projétil. Não deve ser nulo.
      * @param t A transformação a ser usada pelo projétil. Não deve ser nula.
+     * @param pool O pool a que o projétil pertence. Pode ser nulo.
      * @post Um novo Bullet é criado com os componentes (colisor, forma, comportamento) associados à transformação 't'.
+     * @post kind() == EntityKind.PLAYER_BULLET e só interage com inimigos e obstáculos.
      */
-    private Bullet(String name, Transform t) {
+    private Bullet(String name, Transform t, BulletPool pool) {
         super(
                 name,
                 t,
-                new CircleCollider(t.position().getX(), t.position().getY(), 5, t),
+                createCollider(t),
                 new ShapeImage("assets/bullet.png"),
                 new BulletBehaviour()
         );
+        setKind(EntityKind.PLAYER_BULLET);
+        setCollisionMask(EntityKind.mask(EntityKind.ENEMY, EntityKind.OBSTACLE));
+        this.pool = pool;
+    }
+
+    /**
+     * Coloca o projétil numa nova posição para ser reutilizado, sem alocar.
+     * O colisor é sincronizado sem registar movimento, para que a deteção contínua não varra
+     * o percurso entre a posição antiga e a nova.
+     * @param x A nova coordenada x.
+     * @param y A nova coordenada y.
+     * @post A posição da transformação e o centro do colisor (atual e anterior) são (x,y).
+     */
+    void reset(double x, double y) {
+        transform().position().set(x, y);
+        ((CircleCollider) collider()).resetToTransform();
+    }
+
+    /**
+     * Devolve o projétil ao seu pool, se tiver um. Chamado pelo comportamento quando o projétil é destruído.
+     * @post Se 'pool' não for nulo, o projétil fica disponível para ser reutilizado por pool.acquire().
+     */
+    public void recycle() {
+        if (pool != null) {
+            pool.release(this);
+        }
     }
 }
\ No newline at end of file
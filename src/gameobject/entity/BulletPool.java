@@ -0,0 +1,88 @@
+package gameobject.entity;
+
+import java.util.Arrays;
+
+/**
+ * Pool de projéteis reutilizáveis, para que disparar não aloque objetos novos durante o jogo.
+ * Um projétil obtido com acquire() regressa ao pool quando é destruído pelo motor (ver Bullet.recycle()),
+ * pelo que, em regime estável, o número de projéteis criados fica limitado ao máximo em voo ao mesmo tempo.
+ * Os projéteis livres são guardados numa pilha sobre um array, que só cresce quando o pool cresce.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv 0 &lt;= available &lt;= created.
+ * @inv free[0..available-1] são projéteis distintos deste pool que não estão em jogo.
+ */
+public class BulletPool {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final String namePrefix;
+    private Bullet[] free = new Bullet[INITIAL_CAPACITY];
+    private int available = 0;
+    private int created = 0;
+
+    /**
+     * Constrói um pool vazio de projéteis do jogador.
+     * @post getCreated() == 0 e getAvailable() == 0.
+     */
+    public BulletPool() {
+        this("player_bullet_");
+    }
+
+    /**
+     * Constrói um pool vazio cujos projéteis têm nomes com o prefixo indicado.
+     * @param namePrefix O prefixo dos nomes dos projéteis (ex: "player_bullet_"). Não deve ser nulo.
+     * @post getCreated() == 0 e getAvailable() == 0.
+     */
+    public BulletPool(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    /**
+     * Obtém um projétil na posição indicada, reutilizando um livre se existir.
+     * Só cria um projétil novo quando o pool está vazio.
+     * @param x A coordenada x inicial do projétil.
+     * @param y A coordenada y inicial do projétil.
+     * @return Um projétil deste pool na posição (x,y), pronto a ser adicionado ao motor. Nunca é nulo.
+     * @post Se havia projéteis livres, getAvailable() diminui 1; caso contrário, getCreated() aumenta 1.
+     */
+    public Bullet acquire(double x, double y) {
+        if (available == 0) {
+            return new Bullet(namePrefix + created++, x, y, this);
+        }
+        Bullet bullet = free[--available];
+        free[available] = null;
+        bullet.reset(x, y);
+        return bullet;
+    }
+
+    /**
+     * Devolve um projétil ao pool. Devolver o mesmo projétil duas vezes não tem efeito.
+     * @param bullet O projétil a devolver. Deve ter sido obtido deste pool e já não estar em jogo.
+     * @post 'bullet' fica disponível para o próximo acquire().
+     */
+    void release(Bullet bullet) {
+        for (int i = 0; i < available; i++) {
+            if (free[i] == bullet) return;
+        }
+        if (available == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[available++] = bullet;
+    }
+
+    /**
+     * Devolve o número de projéteis criados por este pool desde a sua construção.
+     * @return O número de projéteis criados.
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    /**
+     * Devolve o número de projéteis livres, prontos a ser reutilizados.
+     * @return O número de projéteis disponíveis.
+     */
+    public int getAvailable() {
+        return available;
+    }
+}
@@ -1,5 +1,6 @@
 package gameobject.entity;
 
+import gameobject.EntityKind;
 import gameobject.GameObject;
 import gameobject.behaviour.EnemyBehaviour;
 import gameobject.collider.CircleCollider;
@@ -27,6 +28,7 @@ public class Enemy extends GameObject {
      * @param y A coordenada y inicial do inimigo.
      * @param path O EnemyPath que o inimigo seguirá. Pode ser nulo se o inimigo for estático, embora tipicamente seja fornecido.
      * @post Um novo Enemy é criado na posição (x,y) com o nome fornecido, usando um CircleCollider, uma ShapeImage (Assets.NORMAL_ENEMY) e um EnemyBehaviour inicializado com o 'path' fornecido.
+     * @post kind() == EntityKind.ENEMY e só interage com projéteis do jogador.
      */
     public Enemy(String name, double x, double y, EnemyPath path) {
         Transform transform = new Transform(x, y, 0, 0, 1);
@@ -38,5 +40,7 @@ public class Enemy extends GameObject {
                 new ShapeImage(Assets.NORMAL_ENEMY),
                 new EnemyBehaviour(path)
         );
+        setKind(EntityKind.ENEMY);
+        setCollisionMask(EntityKind.PLAYER_BULLET.bit());
     }
 }
\ No newline at end of file
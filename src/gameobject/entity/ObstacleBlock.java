@@ -1,5 +1,6 @@
 package gameobject.entity;
 
+import gameobject.EntityKind;
 import gameobject.GameObject;
 import gameobject.behaviour.ObstacleBehaviour;
 import gameobject.collider.PolygonCollider;
@@ -33,6 +34,7 @@ public class ObstacleBlock extends GameObject {
      * @param height A altura do obstáculo. Deve ser positiva.
      * @post Um novo ObstacleBlock é criado na posição (x,y) com as dimensões (width, height) e o nome fornecido.
      * @post É inicializado com uma forma (IShape) personalizada para desenhar um retângulo com borda, um PolygonCollider correspondente às suas dimensões e um ObstacleBehaviour.
+     * @post kind() == EntityKind.OBSTACLE e só interage com projéteis do jogador.
      */
     public ObstacleBlock(String name, double x, double y, int width, int height) {
         Transform transform = new Transform(x, y, 0, 0, 1);
@@ -78,5 +80,7 @@ public class ObstacleBlock extends GameObject {
         );
 
         super(name, transform, collider, shape, new ObstacleBehaviour());
+        setKind(EntityKind.OBSTACLE);
+        setCollisionMask(EntityKind.PLAYER_BULLET.bit());
     }
 }
\ No newline at end of file
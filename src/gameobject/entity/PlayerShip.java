@@ -5,6 +5,8 @@ import gameobject.collider.CircleCollider;
 import gameobject.shape.ShapeImage;
 import gameobject.transform.ITransform;
 import gameobject.transform.Transform;
+import gameobject.CollisionLayer;
+import gameobject.EntityKind;
 import gameobject.GameObject;
 
 /**
@@ -25,6 +27,7 @@ public class PlayerShip extends GameObject {
      * @param x A coordenada x inicial da nave do jogador.
      * @param y A coordenada y inicial da nave do jogador.
      * @post Uma nova PlayerShip é criada na posição (x,y) com o nome fornecido, usando um CircleCollider, uma ShapeImage ("assets/player.png") e um PlayerBehaviour.
+     * @post kind() == EntityKind.PLAYER e não interage com nenhum tipo.
      */
     public PlayerShip(String name, double x, double y) {
         super(
@@ -40,5 +43,7 @@ public class PlayerShip extends GameObject {
         // A estrutura atual do construtor de GameObject e CircleCollider pode levar a dessincronização se
         // a transformação do GameObject for alterada sem que a transformação independente do colisor seja também atualizada,
         // a menos que CircleCollider.onUpdate() sincronize explicitamente com a transformação do GameObject associado (o que parece ser o caso).
+        setKind(EntityKind.PLAYER);
+        setCollisionMask(CollisionLayer.NONE); // PlayerBehaviour ignora colisões
     }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package gameobject.geometry;
+
+import java.util.Locale;
+
+/**
+ * Representa uma caixa envolvente alinhada aos eixos (AABB) definida por [minX, maxX] x [minY, maxY].
+ * É mutável para poder ser reutilizada entre frames sem alocar memória.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv Depois de set(...), minX &lt;= maxX e minY &lt;= maxY.
+ */
+public class BoundingBox {
+    private double minX, minY, maxX, maxY;
+
+    /**
+     * Constrói uma caixa vazia na origem.
+     * @post Todos os limites são 0.
+     */
+    public BoundingBox() {
+    }
+
+    /**
+     * Constrói uma caixa com os limites indicados.
+     * @param minX O limite inferior em x.
+     * @param minY O limite inferior em y.
+     * @param maxX O limite superior em x. Deve ser &gt;= minX.
+     * @param maxY O limite superior em y. Deve ser &gt;= minY.
+     * @post A caixa tem os limites fornecidos.
+     */
+    public BoundingBox(double minX, double minY, double maxX, double maxY) {
+        set(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Define os limites da caixa.
+     * @param minX O limite inferior em x.
+     * @param minY O limite inferior em y.
+     * @param maxX O limite superior em x. Deve ser &gt;= minX.
+     * @param maxY O limite superior em y. Deve ser &gt;= minY.
+     * @post A caixa tem os limites fornecidos.
+     */
+    public void set(double minX, double minY, double maxX, double maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Copia os limites de outra caixa.
+     * @param other A caixa a copiar. Não deve ser nula.
+     * @post Esta caixa tem os mesmos limites que 'other'.
+     */
+    public void set(BoundingBox other) {
+        set(other.minX, other.minY, other.maxX, other.maxY);
+    }
+
+    /**
+     * Define a caixa como o quadrado que envolve um círculo.
+     * @param cx A coordenada x do centro.
+     * @param cy A coordenada y do centro.
+     * @param r O raio. Deve ser não negativo.
+     * @post A caixa é [cx-r, cx+r] x [cy-r, cy+r].
+     */
+    public void setAround(double cx, double cy, double r) {
+        set(cx - r, cy - r, cx + r, cy + r);
+    }
+
+    /**
+     * Verifica se esta caixa se sobrepõe a outra (limites incluídos).
+     * @param other A outra caixa. Não deve ser nula.
+     * @return Verdadeiro se as caixas se intersetarem.
+     */
+    public boolean overlaps(BoundingBox other) {
+        return maxX >= other.minX && other.maxX >= minX
+                && maxY >= other.minY && other.maxY >= minY;
+    }
+
+    /**
+     * Verifica se esta caixa contém totalmente outra.
+     * @param other A outra caixa. Não deve ser nula.
+     * @return Verdadeiro se 'other' estiver dentro desta caixa.
+     */
+    public boolean contains(BoundingBox other) {
+        return minX <= other.minX && minY <= other.minY
+                && maxX >= other.maxX && maxY >= other.maxY;
+    }
+
+    /**
+     * Devolve o limite inferior em x.
+     * @return minX.
+     */
+    public double getMinX() {
+        return minX;
+    }
+
+    /**
+     * Devolve o limite inferior em y.
+     * @return minY.
+     */
+    public double getMinY() {
+        return minY;
+    }
+
+    /**
+     * Devolve o limite superior em x.
+     * @return maxX.
+     */
+    public double getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * Devolve o limite superior em y.
+     * @return maxY.
+     */
+    public double getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Devolve uma representação textual da caixa, formatada com duas casas decimais.
+     * @return Uma string no formato "[(minX,minY) - (maxX,maxY)]".
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "[(%.2f,%.2f) - (%.2f,%.2f)]", minX, minY, maxX, maxY);
+    }
+}
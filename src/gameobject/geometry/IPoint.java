@@ -0,0 +1,78 @@
+package gameobject.geometry;
+
+import java.util.Locale;
+
+/**
+ * Interface para pontos bidimensionais cujas coordenadas (x, y) podem ser lidas e alteradas.
+ * Point guarda as coordenadas nos seus próprios campos; outras implementações são vistas sem campos de coordenadas,
+ * que as lêem e escrevem noutro lado (ex: a posição de um Transform ligado a um ITransformStore).
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv getX() e getY() devolvem sempre valores definidos.
+ */
+public interface IPoint {
+    /**
+     * Devolve a coordenada x do ponto.
+     * @return O valor da coordenada x.
+     */
+    double getX();
+
+    /**
+     * Devolve a coordenada y do ponto.
+     * @return O valor da coordenada y.
+     */
+    double getY();
+
+    /**
+     * Define as coordenadas do ponto.
+     * @param x A nova coordenada x.
+     * @param y A nova coordenada y.
+     * @post getX() == x e getY() == y.
+     */
+    void set(double x, double y);
+
+    /**
+     * Define as coordenadas deste ponto com base nas coordenadas de outro ponto.
+     * @param p O ponto cujas coordenadas serão copiadas. Se for nulo, nada muda.
+     * @post Se p não for nulo, getX() == p.getX() e getY() == p.getY().
+     */
+    default void set(IPoint p) {
+        if (p != null) {
+            set(p.getX(), p.getY());
+        }
+    }
+
+    /**
+     * Desloca o ponto pelas quantidades dx e dy.
+     * @param dx A quantidade a adicionar à coordenada x.
+     * @param dy A quantidade a adicionar à coordenada y.
+     * @post As coordenadas do ponto são atualizadas: x = x + dx, y = y + dy.
+     */
+    default void translate(double dx, double dy) {
+        set(getX() + dx, getY() + dy);
+    }
+
+    /**
+     * Rotaciona este ponto em torno de um ponto central (centroide) por um determinado ângulo.
+     * @param angleDegrees O ângulo de rotação em graus.
+     * @param centroid O ponto central em torno do qual a rotação é efetuada. Não deve ser nulo.
+     * @return Um novo Point que representa este ponto após a rotação; este ponto não muda.
+     */
+    default Point rotate(double angleDegrees, IPoint centroid) {
+        double rads = Math.toRadians(angleDegrees);
+        double xRel = getX() - centroid.getX();
+        double yRel = getY() - centroid.getY();
+        double xNew = xRel * Math.cos(rads) - yRel * Math.sin(rads);
+        double yNew = xRel * Math.sin(rads) + yRel * Math.cos(rads);
+        return new Point(xNew + centroid.getX(), yNew + centroid.getY());
+    }
+
+    /**
+     * Formata as coordenadas de um ponto com duas casas decimais, como Point.toString().
+     * @param p O ponto. Não deve ser nulo.
+     * @return Uma string no formato "(x.xx, y.yy)".
+     */
+    static String format(IPoint p) {
+        return String.format(Locale.US, "(%.2f,%.2f)", p.getX(), p.getY());
+    }
+}
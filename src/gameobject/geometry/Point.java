@@ -9,7 +9,7 @@ import java.util.Locale;
  * @version 25-05-2025
  * @inv As coordenadas x e y representam valores válidos; o ponto tem sempre valores definidos.
  */
-public class Point {
+public class Point implements IPoint {
     private double x, y;
 
     /**
@@ -27,6 +27,7 @@ public class Point {
      * Devolve a coordenada x do ponto.
      * @return O valor da coordenada x.
      */
+    @Override
     public double getX() {
         return x;
     }
@@ -35,6 +36,7 @@ public class Point {
      * Devolve a coordenada y do ponto.
      * @return O valor da coordenada y.
      */
+    @Override
     public double getY() {
         return y;
     }
@@ -45,6 +47,7 @@ public class Point {
      * @param y A nova coordenada y.
      * @post As coordenadas do ponto são atualizadas para x e y.
      */
+    @Override
     public void set(double x, double y) {
         this.x = x;
         this.y = y;
@@ -55,7 +58,8 @@ public class Point {
      * @param p O ponto cujas coordenadas serão copiadas. Não deve ser nulo.
      * @post As coordenadas x e y deste ponto são definidas para as coordenadas x e y do ponto p.
      */
-    public void set(Point p) {
+    @Override
+    public void set(IPoint p) {
         if (p != null) {
             this.x = p.getX();
             this.y = p.getY();
@@ -69,6 +73,7 @@ public class Point {
      * @param dy A quantidade a adicionar à coordenada y.
      * @post As coordenadas do ponto são atualizadas: x = x + dx, y = y + dy.
      */
+    @Override
     public void translate(double dx, double dy) {
         x += dx;
         y += dy;
@@ -81,13 +86,14 @@ public class Point {
      * @return Um novo Ponto que representa este ponto após a rotação.
      * @see Math#toRadians(double)
      */
-    public Point rotate(double angleDegrees, Point centroid) {
+    @Override
+    public Point rotate(double angleDegrees, IPoint centroid) {
         double rads = Math.toRadians(angleDegrees);
-        double xRel = x - centroid.x;
-        double yRel = y - centroid.y;
+        double xRel = x - centroid.getX();
+        double yRel = y - centroid.getY();
         double xNew = xRel * Math.cos(rads) - yRel * Math.sin(rads);
         double yNew = xRel * Math.sin(rads) + yRel * Math.cos(rads);
-        return new Point(xNew + centroid.x, yNew + centroid.y);
+        return new Point(xNew + centroid.getX(), yNew + centroid.getY());
     }
 
     /**
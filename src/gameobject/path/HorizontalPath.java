@@ -1,7 +1,6 @@
 package gameobject.path;
 
 import gameobject.IGameObject;
-import gameobject.geometry.Point;
 
 /**
  * Implementa uma estratégia de movimento horizontal para inimigos.
@@ -32,7 +31,7 @@ public class HorizontalPath implements EnemyPath {
      */
     @Override
     public void update(double dt, IGameObject enemy) {
-        enemy.transform().move(new Point(speed * dt, 0), 0);
+        enemy.transform().moveBy(speed * dt, 0);
 
         double x = enemy.transform().position().getX();
         if (enemy.engine() != null && enemy.engine().getBounds() != null) {
@@ -1,6 +1,7 @@
 package gameobject.path;
 
 import gameobject.IGameObject;
+import gameobject.geometry.IPoint;
 import gameobject.geometry.Point;
 import gameobject.transform.ITransform;
 
@@ -54,7 +55,7 @@ public class RectangularPath implements EnemyPath {
         }
 
         ITransform transform = go.transform();
-        Point currentPosition = transform.position();
+        IPoint currentPosition = transform.position();
         Point targetPosition = corners[currentTargetIndex];
 
         double dx = targetPosition.getX() - currentPosition.getX();
@@ -68,7 +69,7 @@ public class RectangularPath implements EnemyPath {
             double moveDistance = speed * dt;
             double moveX = (dx / distanceToTarget) * moveDistance;
             double moveY = (dy / distanceToTarget) * moveDistance;
-            transform.move(new Point(moveX, moveY), 0);
+            transform.moveBy(moveX, moveY);
         }
     }
 }
\ No newline at end of file
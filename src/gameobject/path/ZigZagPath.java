@@ -1,7 +1,6 @@
 package gameobject.path;
 
 import gameobject.IGameObject;
-import gameobject.geometry.Point;
 
 /**
  * Implementa uma estratégia de movimento em ziguezague para inimigos.
@@ -58,7 +57,7 @@ public class ZigZagPath implements EnemyPath {
             case 3: dy = (forward ? -1 : 1) * verticalSpeed * dt;   break;
         }
 
-        go.transform().move(new Point(dx, dy), 0);
+        go.transform().moveBy(dx, dy);
         phaseTime += dt;
 
         if (phaseTime >= durations[currentPhase]) {
@@ -2,24 +2,46 @@ package gameobject.shape;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementação de IShape que renderiza um objeto de jogo como uma imagem.
  * A imagem é carregada a partir de um caminho de ficheiro e pode ser rotacionada e escalonada.
+ * O carregamento é adiado até ao primeiro desenho, pelo que criar entidades não usa Swing nem lê ficheiros
+ * (uma simulação sem ecrã, como a GameSession, nunca carrega imagens). Cada ficheiro é carregado uma única vez
+ * e partilhado por todas as ShapeImage com o mesmo caminho.
  * @author José Tico, Yasmin Dias e Guilherme Carmo
  * @version 25-05-2025
- * @inv A imagem (image) pode ser nula se o caminho for inválido ou o ficheiro não for encontrado.
+ * @inv path nunca é nulo.
+ * @inv A imagem (image) é nula até ao primeiro desenho, e pode continuar nula se o caminho for inválido ou o ficheiro não for encontrado.
  */
 public class ShapeImage implements IShape {
-    private final Image image;
+    private static final Map<String, Image> LOADED = new ConcurrentHashMap<>();
+
+    private final String path;
+    private volatile Image image;
 
     /**
-     * Constrói uma ShapeImage carregando uma imagem a partir do caminho especificado.
+     * Constrói uma ShapeImage para a imagem no caminho especificado, sem a carregar.
      * @param path O caminho para o ficheiro da imagem. Não deve ser nulo.
-     * @post A imagem é carregada a partir do 'path'. Se o carregamento falhar, 'image' pode ser nula ou conter uma imagem de erro, dependendo do comportamento de ImageIcon.
+     * @post A imagem será carregada a partir do 'path' no primeiro desenho.
      */
     public ShapeImage(String path) {
-        this.image = new ImageIcon(path).getImage();
+        this.path = path;
+    }
+
+    /**
+     * Devolve a imagem, carregando-a (ou reutilizando a já carregada para o mesmo caminho) na primeira chamada.
+     * @return A imagem. Se o carregamento falhar, pode ser nula ou conter uma imagem de erro, dependendo do comportamento de ImageIcon.
+     */
+    private Image image() {
+        Image loaded = image;
+        if (loaded == null) {
+            loaded = LOADED.computeIfAbsent(path, p -> new ImageIcon(p).getImage());
+            image = loaded;
+        }
+        return loaded;
     }
 
     /**
@@ -35,6 +57,7 @@ public class ShapeImage implements IShape {
      */
     @Override
     public void render(Graphics2D g2, int x, int y, double angle, double scale, int layer) {
+        Image image = image();
         if (image == null) return;
         int width = (int)(image.getWidth(null) * scale);
         int height = (int)(image.getHeight(null) * scale);
@@ -1,5 +1,6 @@
 package gameobject.transform;
 
+import gameobject.geometry.IPoint;
 import gameobject.geometry.Point;
 
 /**
@@ -21,6 +22,16 @@ public interface ITransform {
      */
     void move(Point dPos, int dLayer);
 
+    /**
+     * Move a transformação pelo deslocamento (dx, dy), sem alterar a camada.
+     * Equivalente a move(new Point(dx, dy), 0), mas sem alocar um Point: é a forma usada pelos
+     * caminhos e comportamentos em cada passo do ciclo de jogo.
+     * @param dx O deslocamento em x.
+     * @param dy O deslocamento em y.
+     * @post A posição da transformação é transladada por (dx, dy); a camada não muda.
+     */
+    void moveBy(double dx, double dy);
+
     /**
      * Rotaciona a transformação pelo ângulo fornecido (em graus).
      * @param dTheta Ângulo de rotação em graus a ser adicionado ao ângulo atual (positivo para sentido horário, por convenção comum, embora a implementação possa variar).
@@ -38,9 +49,9 @@ public interface ITransform {
 
     /**
      * Devolve a posição atual da transformação.
-     * @return Um objeto Point representando a posição (x, y) atual. Nunca é nulo.
+     * @return Um IPoint representando a posição (x, y) atual. Nunca é nulo.
      */
-    Point position();
+    IPoint position();
 
     /**
      * Devolve a camada (layer) atual da transformação.
@@ -60,4 +71,12 @@ public interface ITransform {
      * @return O valor do fator de escala atual (deve ser >= 0).
      */
     double scale();
+
+    /**
+     * Devolve o número de versão da transformação, que aumenta sempre que a posição, a camada, o ângulo
+     * ou a escala mudam (incluindo alterações feitas através de position()).
+     * Permite que colisores e outras caches derivadas só se recalculem quando a transformação mudou.
+     * @return A versão atual. Duas leituras iguais garantem que a transformação não mudou entre elas.
+     */
+    long version();
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package gameobject.transform;
+
+/**
+ * Interface para um armazenamento de dados de transformações indexado por slot.
+ * Um Transform ligado a um armazenamento (ver Transform.attach) lê e escreve os seus valores através desta interface.
+ * Cada slot tem uma versão, que aumenta em cada escrita (incluindo as de translateAll e clampAll): é a partir dela
+ * que Transform.version() deteta alterações feitas diretamente no armazenamento.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv 0 &lt;= size() &lt;= capacity().
+ * @inv version(slot) nunca diminui, mesmo quando o slot é libertado e reutilizado.
+ */
+public interface ITransformStore {
+
+    /**
+     * Reserva um slot e inicializa-o com os valores indicados.
+     * @param x Coordenada x da posição.
+     * @param y Coordenada y da posição.
+     * @param layer Camada (z-index).
+     * @param angle Ângulo de rotação, em graus.
+     * @param scale Fator de escala.
+     * @return O slot reservado, entre 0 e capacity() - 1.
+     * @post size() aumenta 1; a capacidade cresce se necessário; version(slot) aumentou.
+     */
+    int allocate(double x, double y, int layer, double angle, double scale);
+
+    /**
+     * Liberta um slot para ser reutilizado.
+     * @param slot Um slot reservado e ainda não libertado.
+     * @post size() diminui 1.
+     */
+    void release(int slot);
+
+    /**
+     * Devolve o número de slots reservados.
+     * @return O número de transformações guardadas.
+     */
+    int size();
+
+    /**
+     * Devolve o número de slots disponíveis sem crescer.
+     * @return A capacidade atual.
+     */
+    int capacity();
+
+    /**
+     * Devolve a coordenada x de um slot.
+     * @param slot O slot.
+     * @return A coordenada x.
+     */
+    double x(int slot);
+
+    /**
+     * Devolve a coordenada y de um slot.
+     * @param slot O slot.
+     * @return A coordenada y.
+     */
+    double y(int slot);
+
+    /**
+     * Devolve a camada de um slot.
+     * @param slot O slot.
+     * @return A camada.
+     */
+    int layer(int slot);
+
+    /**
+     * Devolve o ângulo de um slot.
+     * @param slot O slot.
+     * @return O ângulo, em graus.
+     */
+    double angle(int slot);
+
+    /**
+     * Devolve a escala de um slot.
+     * @param slot O slot.
+     * @return O fator de escala.
+     */
+    double scale(int slot);
+
+    /**
+     * Devolve a versão de um slot.
+     * @param slot O slot.
+     * @return Um valor que aumenta em cada escrita no slot.
+     */
+    long version(int slot);
+
+    /**
+     * Define a posição de um slot.
+     * @param slot O slot.
+     * @param x A nova coordenada x.
+     * @param y A nova coordenada y.
+     * @post x(slot) == x e y(slot) == y; version(slot) aumentou.
+     */
+    void setPosition(int slot, double x, double y);
+
+    /**
+     * Define a camada de um slot.
+     * @param slot O slot.
+     * @param layer A nova camada.
+     * @post layer(slot) == layer; version(slot) aumentou.
+     */
+    void setLayer(int slot, int layer);
+
+    /**
+     * Define o ângulo de um slot.
+     * @param slot O slot.
+     * @param angle O novo ângulo, em graus.
+     * @post angle(slot) == angle; version(slot) aumentou.
+     */
+    void setAngle(int slot, double angle);
+
+    /**
+     * Define a escala de um slot.
+     * @param slot O slot.
+     * @param scale O novo fator de escala.
+     * @post scale(slot) == scale; version(slot) aumentou.
+     */
+    void setScale(int slot, double scale);
+
+    /**
+     * Desloca a posição de um slot.
+     * @param slot O slot.
+     * @param dx O deslocamento em x.
+     * @param dy O deslocamento em y.
+     * @post A posição do slot foi transladada por (dx, dy); version(slot) aumentou.
+     */
+    void translate(int slot, double dx, double dy);
+
+    /**
+     * Restringe a posição de um slot a um retângulo.
+     * @param slot O slot.
+     * @param minX O limite mínimo em x.
+     * @param minY O limite mínimo em y.
+     * @param maxX O limite máximo em x.
+     * @param maxY O limite máximo em y.
+     * @return Verdadeiro se a posição foi alterada.
+     * @post minX &lt;= x(slot) &lt;= maxX e minY &lt;= y(slot) &lt;= maxY (se minX &lt;= maxX e minY &lt;= maxY).
+     * @post Se a posição foi alterada, version(slot) aumentou.
+     */
+    boolean clamp(int slot, double minX, double minY, double maxX, double maxY);
+
+    /**
+     * Desloca a posição de vários slots, num único ciclo.
+     * @param slots Os slots a deslocar. Não deve ser nulo.
+     * @param count O número de slots de 'slots' a considerar.
+     * @param dx O deslocamento em x.
+     * @param dy O deslocamento em y.
+     * @post A posição de cada slot slots[0..count) foi transladada por (dx, dy) e a sua versão aumentou.
+     */
+    void translateAll(int[] slots, int count, double dx, double dy);
+
+    /**
+     * Restringe a posição de vários slots a um retângulo, num único ciclo.
+     * @param slots Os slots a restringir. Não deve ser nulo.
+     * @param count O número de slots de 'slots' a considerar.
+     * @param minX O limite mínimo em x.
+     * @param minY O limite mínimo em y.
+     * @param maxX O limite máximo em x.
+     * @param maxY O limite máximo em y.
+     * @post Cada slot slots[0..count) está dentro do retângulo; a versão dos que mudaram aumentou.
+     */
+    void clampAll(int[] slots, int count, double minX, double minY, double maxX, double maxY);
+}
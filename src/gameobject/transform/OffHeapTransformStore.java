@@ -0,0 +1,339 @@
+package gameobject.transform;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/**
+ * Armazenamento de transformações fora do heap, num MemorySegment (API Foreign Function &amp; Memory).
+ * Cada slot ocupa um registo de SLOT_BYTES bytes com x, y, ângulo, escala, camada e versão. Só estes valores saem do heap:
+ * cada Transform ligado continua a ser um objeto no heap (com a vista devolvida por position()), e o armazenamento
+ * mantém no heap a lista de slots livres. Nenhuma operação aloca depois de allocate, tal como no TransformStore,
+ * pelo que em regime estável nenhum dos dois gera trabalho para o GC (ver TransformStoreBenchmark); a diferença
+ * está no heap ocupado, que deixa de incluir os valores das transformações.
+ * A memória pertence a um Arena partilhado (pode ser lida e escrita por várias threads, como na atualização
+ * paralela do GameEngine) e é libertada por close().
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv memory tem capacity() * SLOT_BYTES bytes enquanto o armazenamento não for fechado.
+ * @inv 0 &lt;= size() &lt;= capacity().
+ */
+public class OffHeapTransformStore implements ITransformStore, AutoCloseable {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long X = 0, Y = 8, ANGLE = 16, SCALE = 24, LAYER = 32, VERSION = 40;
+    private static final long SLOT_BYTES = 48;
+
+    private Arena arena;
+    private MemorySegment memory;
+    private int capacity;
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    private int highWater = 0;
+    private int size = 0;
+
+    /**
+     * Constrói um armazenamento vazio com a capacidade inicial por omissão.
+     * @post size() == 0.
+     */
+    public OffHeapTransformStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constrói um armazenamento vazio com a capacidade inicial indicada.
+     * Reservar logo a capacidade final evita cópias ao crescer (ex: testes de carga com um milhão de entidades).
+     * @param initialCapacity O número de slots a reservar. Deve ser positivo.
+     * @post size() == 0 e capacity() == initialCapacity.
+     */
+    public OffHeapTransformStore(int initialCapacity) {
+        this.capacity = initialCapacity;
+        this.arena = Arena.ofShared();
+        this.memory = arena.allocate(initialCapacity * SLOT_BYTES, Double.BYTES);
+    }
+
+    /**
+     * Reserva um slot e inicializa-o com os valores indicados.
+     * @param x Coordenada x da posição.
+     * @param y Coordenada y da posição.
+     * @param layer Camada (z-index).
+     * @param angle Ângulo de rotação, em graus.
+     * @param scale Fator de escala.
+     * @return O slot reservado, entre 0 e capacity() - 1.
+     * @post size() aumenta 1; a memória cresce (para o dobro) se necessário; version(slot) aumentou.
+     */
+    @Override
+    public int allocate(double x, double y, int layer, double angle, double scale) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (highWater == capacity) {
+                grow();
+            }
+            slot = highWater++;
+        }
+        long base = slot * SLOT_BYTES;
+        memory.set(ValueLayout.JAVA_DOUBLE, base + X, x);
+        memory.set(ValueLayout.JAVA_DOUBLE, base + Y, y);
+        memory.set(ValueLayout.JAVA_DOUBLE, base + ANGLE, angle);
+        memory.set(ValueLayout.JAVA_DOUBLE, base + SCALE, scale);
+        memory.set(ValueLayout.JAVA_INT, base + LAYER, layer);
+        bumpVersion(base);
+        size++;
+        return slot;
+    }
+
+    /**
+     * Liberta um slot para ser reutilizado.
+     * @param slot Um slot reservado e ainda não libertado.
+     * @post size() diminui 1.
+     */
+    @Override
+    public void release(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    /**
+     * Duplica a capacidade: copia os registos para um novo segmento e liberta o anterior.
+     * Não deve ser chamado enquanto outras threads acedem ao armazenamento.
+     * @post capacity() duplicou e os valores existentes mantêm-se.
+     */
+    private void grow() {
+        int newCapacity = capacity * 2;
+        Arena newArena = Arena.ofShared();
+        MemorySegment newMemory = newArena.allocate(newCapacity * SLOT_BYTES, Double.BYTES);
+        MemorySegment.copy(memory, 0, newMemory, 0, capacity * SLOT_BYTES);
+        arena.close();
+        arena = newArena;
+        memory = newMemory;
+        capacity = newCapacity;
+    }
+
+    /**
+     * Liberta a memória fora do heap. O armazenamento não pode ser usado depois disto.
+     * @post A memória foi libertada; qualquer acesso posterior lança IllegalStateException.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * Devolve o número de slots reservados.
+     * @return O número de transformações guardadas.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Devolve o número de slots disponíveis sem crescer.
+     * @return A capacidade atual.
+     */
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Devolve a coordenada x de um slot.
+     * @param slot O slot.
+     * @return A coordenada x.
+     */
+    @Override
+    public double x(int slot) {
+        return memory.get(ValueLayout.JAVA_DOUBLE, slot * SLOT_BYTES + X);
+    }
+
+    /**
+     * Devolve a coordenada y de um slot.
+     * @param slot O slot.
+     * @return A coordenada y.
+     */
+    @Override
+    public double y(int slot) {
+        return memory.get(ValueLayout.JAVA_DOUBLE, slot * SLOT_BYTES + Y);
+    }
+
+    /**
+     * Devolve a camada de um slot.
+     * @param slot O slot.
+     * @return A camada.
+     */
+    @Override
+    public int layer(int slot) {
+        return memory.get(ValueLayout.JAVA_INT, slot * SLOT_BYTES + LAYER);
+    }
+
+    /**
+     * Devolve o ângulo de um slot.
+     * @param slot O slot.
+     * @return O ângulo, em graus.
+     */
+    @Override
+    public double angle(int slot) {
+        return memory.get(ValueLayout.JAVA_DOUBLE, slot * SLOT_BYTES + ANGLE);
+    }
+
+    /**
+     * Devolve a escala de um slot.
+     * @param slot O slot.
+     * @return O fator de escala.
+     */
+    @Override
+    public double scale(int slot) {
+        return memory.get(ValueLayout.JAVA_DOUBLE, slot * SLOT_BYTES + SCALE);
+    }
+
+    /**
+     * Devolve a versão de um slot.
+     * @param slot O slot.
+     * @return Um valor que aumenta em cada escrita no slot.
+     */
+    @Override
+    public long version(int slot) {
+        return memory.get(ValueLayout.JAVA_LONG, slot * SLOT_BYTES + VERSION);
+    }
+
+    /**
+     * Aumenta a versão do registo que começa em 'base'.
+     * @param base O deslocamento do registo na memória.
+     * @post A versão do registo aumentou 1.
+     */
+    private void bumpVersion(long base) {
+        memory.set(ValueLayout.JAVA_LONG, base + VERSION, memory.get(ValueLayout.JAVA_LONG, base + VERSION) + 1);
+    }
+
+    /**
+     * Define a posição de um slot.
+     * @param slot O slot.
+     * @param x A nova coordenada x.
+     * @param y A nova coordenada y.
+     * @post x(slot) == x e y(slot) == y; version(slot) aumentou.
+     */
+    @Override
+    public void setPosition(int slot, double x, double y) {
+        long base = slot * SLOT_BYTES;
+        memory.set(ValueLayout.JAVA_DOUBLE, base + X, x);
+        memory.set(ValueLayout.JAVA_DOUBLE, base + Y, y);
+        bumpVersion(base);
+    }
+
+    /**
+     * Define a camada de um slot.
+     * @param slot O slot.
+     * @param layer A nova camada.
+     * @post layer(slot) == layer; version(slot) aumentou.
+     */
+    @Override
+    public void setLayer(int slot, int layer) {
+        memory.set(ValueLayout.JAVA_INT, slot * SLOT_BYTES + LAYER, layer);
+        bumpVersion(slot * SLOT_BYTES);
+    }
+
+    /**
+     * Define o ângulo de um slot.
+     * @param slot O slot.
+     * @param angle O novo ângulo, em graus.
+     * @post angle(slot) == angle; version(slot) aumentou.
+     */
+    @Override
+    public void setAngle(int slot, double angle) {
+        memory.set(ValueLayout.JAVA_DOUBLE, slot * SLOT_BYTES + ANGLE, angle);
+        bumpVersion(slot * SLOT_BYTES);
+    }
+
+    /**
+     * Define a escala de um slot.
+     * @param slot O slot.
+     * @param scale O novo fator de escala.
+     * @post scale(slot) == scale; version(slot) aumentou.
+     */
+    @Override
+    public void setScale(int slot, double scale) {
+        memory.set(ValueLayout.JAVA_DOUBLE, slot * SLOT_BYTES + SCALE, scale);
+        bumpVersion(slot * SLOT_BYTES);
+    }
+
+    /**
+     * Desloca a posição de um slot.
+     * @param slot O slot.
+     * @param dx O deslocamento em x.
+     * @param dy O deslocamento em y.
+     * @post A posição do slot foi transladada por (dx, dy); version(slot) aumentou.
+     */
+    @Override
+    public void translate(int slot, double dx, double dy) {
+        long base = slot * SLOT_BYTES;
+        MemorySegment m = memory;
+        m.set(ValueLayout.JAVA_DOUBLE, base + X, m.get(ValueLayout.JAVA_DOUBLE, base + X) + dx);
+        m.set(ValueLayout.JAVA_DOUBLE, base + Y, m.get(ValueLayout.JAVA_DOUBLE, base + Y) + dy);
+        bumpVersion(base);
+    }
+
+    /**
+     * Restringe a posição de um slot a um retângulo.
+     * @param slot O slot.
+     * @param minX O limite mínimo em x.
+     * @param minY O limite mínimo em y.
+     * @param maxX O limite máximo em x.
+     * @param maxY O limite máximo em y.
+     * @return Verdadeiro se a posição foi alterada.
+     * @post minX &lt;= x(slot) &lt;= maxX e minY &lt;= y(slot) &lt;= maxY (se minX &lt;= maxX e minY &lt;= maxY).
+     * @post Se a posição foi alterada, version(slot) aumentou.
+     */
+    @Override
+    public boolean clamp(int slot, double minX, double minY, double maxX, double maxY) {
+        long base = slot * SLOT_BYTES;
+        MemorySegment m = memory;
+        double px = m.get(ValueLayout.JAVA_DOUBLE, base + X);
+        double py = m.get(ValueLayout.JAVA_DOUBLE, base + Y);
+        double cx = px < minX ? minX : (px > maxX ? maxX : px);
+        double cy = py < minY ? minY : (py > maxY ? maxY : py);
+        if (cx == px && cy == py) {
+            return false;
+        }
+        m.set(ValueLayout.JAVA_DOUBLE, base + X, cx);
+        m.set(ValueLayout.JAVA_DOUBLE, base + Y, cy);
+        bumpVersion(base);
+        return true;
+    }
+
+    /**
+     * Desloca a posição de vários slots, num único ciclo sobre a memória.
+     * @param slots Os slots a deslocar. Não deve ser nulo.
+     * @param count O número de slots de 'slots' a considerar.
+     * @param dx O deslocamento em x.
+     * @param dy O deslocamento em y.
+     * @post A posição de cada slot slots[0..count) foi transladada por (dx, dy) e a sua versão aumentou.
+     */
+    @Override
+    public void translateAll(int[] slots, int count, double dx, double dy) {
+        for (int i = 0; i < count; i++) {
+            translate(slots[i], dx, dy);
+        }
+    }
+
+    /**
+     * Restringe a posição de vários slots a um retângulo, num único ciclo sobre a memória.
+     * @param slots Os slots a restringir. Não deve ser nulo.
+     * @param count O número de slots de 'slots' a considerar.
+     * @param minX O limite mínimo em x.
+     * @param minY O limite mínimo em y.
+     * @param maxX O limite máximo em x.
+     * @param maxY O limite máximo em y.
+     * @post Cada slot slots[0..count) está dentro do retângulo; a versão dos que mudaram aumentou.
+     */
+    @Override
+    public void clampAll(int[] slots, int count, double minX, double minY, double maxX, double maxY) {
+        for (int i = 0; i < count; i++) {
+            clamp(slots[i], minX, minY, maxX, maxY);
+        }
+    }
+}
@@ -1,21 +1,82 @@
 package gameobject.transform;
 
+import gameobject.geometry.IPoint;
 import gameobject.geometry.Point;
 
 /**
  * Representa uma transformação espacial aplicada a um GameObject.
  * Inclui posição bidimensional, camada (layer), ângulo de rotação e fator de escala.
  * Utilizada para calcular como o objeto será visualmente posicionado e transformado no jogo.
+ * Os valores podem ficar no próprio objeto ou num ITransformStore (ver attach): nesse caso o Transform, e o IPoint
+ * devolvido por position(), são apenas vistas sobre um slot do armazenamento. A vista de position() não tem campos
+ * de coordenadas: lê e escreve as do Transform ou as do slot.
  * @author José Tico, Yasmin Dias e Guilherme Carmo
  * @version 25-05-2025
- * @inv position nunca é nulo.
+ * @inv position nunca é nulo e é sempre o mesmo objeto, ligado ou não a um armazenamento.
+ * @inv store == null se e só se slot == -1.
+ * @inv version() aumenta em cada alteração de posição, camada, ângulo ou escala, feita através deste objeto ou,
+ * se estiver ligado, diretamente no armazenamento; nunca diminui, mesmo ao ligar ou desligar.
  * @inv scale é sempre maior ou igual a 0 (embora o construtor não imponha estritamente >=0, as operações de escala devem manter esta invariante se pretendido).
  */
 public class Transform implements ITransform {
-    private final Point position;
+    private final PositionView position = new PositionView();
+    private double x, y;
     private int layer;
     private double angle;
     private double scale;
+    private ITransformStore store; // Nulo enquanto os valores estão neste objeto
+    private int slot = -1;
+    private long version = 0; // Enquanto ligado, version() é versionOffset + store.version(slot)
+    private long versionOffset;
+
+    /**
+     * Posição do Transform: usa as coordenadas guardadas no próprio Transform ou, se este estiver ligado
+     * a um armazenamento, as do seu slot.
+     */
+    private final class PositionView implements IPoint {
+        @Override
+        public double getX() {
+            return store == null ? x : store.x(slot);
+        }
+
+        @Override
+        public double getY() {
+            return store == null ? y : store.y(slot);
+        }
+
+        @Override
+        public void set(double newX, double newY) {
+            if (newX == getX() && newY == getY()) {
+                return; // Sem alteração: a versão mantém-se
+            }
+            if (store == null) {
+                x = newX;
+                y = newY;
+                version++;
+            } else {
+                store.setPosition(slot, newX, newY);
+            }
+        }
+
+        @Override
+        public void translate(double dx, double dy) {
+            if (dx == 0 && dy == 0) {
+                return;
+            }
+            if (store == null) {
+                x += dx;
+                y += dy;
+                version++;
+            } else {
+                store.translate(slot, dx, dy);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return IPoint.format(this);
+        }
+    }
 
     /**
      * Construtor da classe Transform.
@@ -24,10 +85,11 @@ public class Transform implements ITransform {
      * @param layer Camada (z-index) do objeto.
      * @param angle Ângulo inicial de rotação (em graus).
      * @param scale Fator inicial de escala. Deve ser >= 0 para evitar comportamentos indefinidos de renderização.
-     * @post A posição, camada, ângulo e escala são inicializados conforme os valores fornecidos. position é um novo Point(x,y).
+     * @post A posição, camada, ângulo e escala são inicializados conforme os valores fornecidos.
      */
     public Transform(double x, double y, int layer, double angle, double scale) {
-        this.position = new Point(x, y);
+        this.x = x;
+        this.y = y;
         this.layer = layer;
         this.angle = angle;
         this.scale = scale;
@@ -41,8 +103,27 @@ public class Transform implements ITransform {
      */
     @Override
     public void move(Point dPos, int dLayer) {
-        position.translate(dPos.getX(), dPos.getY());
-        layer += dLayer;
+        moveBy(dPos.getX(), dPos.getY());
+        if (dLayer == 0) {
+            return;
+        }
+        if (store == null) {
+            layer += dLayer;
+            version++;
+        } else {
+            store.setLayer(slot, store.layer(slot) + dLayer);
+        }
+    }
+
+    /**
+     * Move a posição do objeto pelo deslocamento (dx, dy), sem alocar.
+     * @param dx O deslocamento em x.
+     * @param dy O deslocamento em y.
+     * @post A posição é transladada por (dx, dy); a camada não muda.
+     */
+    @Override
+    public void moveBy(double dx, double dy) {
+        position.translate(dx, dy);
     }
 
     /**
@@ -52,7 +133,15 @@ public class Transform implements ITransform {
      */
     @Override
     public void rotate(double dTheta) {
-        angle += dTheta;
+        if (dTheta == 0) {
+            return;
+        }
+        if (store == null) {
+            angle += dTheta;
+            version++;
+        } else {
+            store.setAngle(slot, store.angle(slot) + dTheta);
+        }
     }
 
     /**
@@ -62,7 +151,32 @@ public class Transform implements ITransform {
      */
     @Override
     public void scale(double dScale) {
-        scale += dScale;
+        if (dScale == 0) {
+            return;
+        }
+        if (store == null) {
+            scale += dScale;
+            version++;
+        } else {
+            store.setScale(slot, store.scale(slot) + dScale);
+        }
+    }
+
+    /**
+     * Restringe a posição a um retângulo. Se estiver ligada a um armazenamento, usa diretamente os seus arrays.
+     * @param minX O limite mínimo em x.
+     * @param minY O limite mínimo em y.
+     * @param maxX O limite máximo em x.
+     * @param maxY O limite máximo em y.
+     * @post A posição está dentro do retângulo (se minX &lt;= maxX e minY &lt;= maxY).
+     * @post Se a posição mudou, version() aumenta.
+     */
+    public void clamp(double minX, double minY, double maxX, double maxY) {
+        if (store != null) {
+            store.clamp(slot, minX, minY, maxX, maxY);
+            return;
+        }
+        position.set(Math.max(minX, Math.min(maxX, position.getX())), Math.max(minY, Math.min(maxY, position.getY())));
     }
 
     /**
@@ -70,7 +184,7 @@ public class Transform implements ITransform {
      * @return Ponto representando a posição (x, y). Nunca é nulo.
      */
     @Override
-    public Point position() {
+    public IPoint position() {
         return position;
     }
 
@@ -80,7 +194,7 @@ public class Transform implements ITransform {
      */
     @Override
     public int layer() {
-        return layer;
+        return store == null ? layer : store.layer(slot);
     }
 
     /**
@@ -89,7 +203,7 @@ public class Transform implements ITransform {
      */
     @Override
     public double angle() {
-        return angle;
+        return store == null ? angle : store.angle(slot);
     }
 
     /**
@@ -98,6 +212,72 @@ public class Transform implements ITransform {
      */
     @Override
     public double scale() {
-        return scale;
+        return store == null ? scale : store.scale(slot);
+    }
+
+    /**
+     * Devolve o número de versão da transformação.
+     * Enquanto estiver ligada a um armazenamento, usa a versão do slot, pelo que também conta as escritas feitas
+     * diretamente no armazenamento (ex: translateAll e clampAll).
+     * @return A versão atual.
+     */
+    @Override
+    public long version() {
+        return store == null ? version : versionOffset + store.version(slot);
+    }
+
+    /**
+     * Move os valores desta transformação para um slot de um armazenamento (ex: TransformStore ou OffHeapTransformStore).
+     * A partir daí, todas as leituras e escritas (incluindo as feitas através de position()) usam esse slot.
+     * @param target O armazenamento de destino. Não deve ser nulo.
+     * @post getStore() == target e getSlot() é um slot reservado em target com os valores atuais.
+     * Se já estava ligado a outro armazenamento, o slot anterior foi libertado.
+     */
+    public void attach(ITransformStore target) {
+        if (store == target) {
+            return;
+        }
+        detach();
+        int newSlot = target.allocate(x, y, layer, angle, scale);
+        versionOffset = version - target.version(newSlot); // version() não muda: os valores são os mesmos
+        store = target;
+        slot = newSlot;
+    }
+
+    /**
+     * Copia os valores do slot de volta para este objeto e liberta o slot.
+     * @post getStore() == null e os valores da transformação não mudaram.
+     */
+    public void detach() {
+        if (store == null) {
+            return;
+        }
+        ITransformStore previous = store;
+        int previousSlot = slot;
+        version = version();
+        x = previous.x(previousSlot);
+        y = previous.y(previousSlot);
+        layer = previous.layer(previousSlot);
+        angle = previous.angle(previousSlot);
+        scale = previous.scale(previousSlot);
+        store = null;
+        slot = -1;
+        previous.release(previousSlot);
+    }
+
+    /**
+     * Devolve o armazenamento a que esta transformação está ligada.
+     * @return O armazenamento, ou nulo se os valores estiverem neste objeto.
+     */
+    public ITransformStore getStore() {
+        return store;
+    }
+
+    /**
+     * Devolve o slot desta transformação no seu armazenamento.
+     * @return O slot, ou -1 se não estiver ligada a um armazenamento.
+     */
+    public int getSlot() {
+        return slot;
     }
 }
\ No newline at end of file
@@ -0,0 +1,304 @@
+package gameobject.transform;
+
+import java.util.Arrays;
+
+/**
+ * Armazenamento contíguo (estrutura de arrays) dos dados de várias transformações.
+ * Os valores x, y, ângulo, escala e camada de cada transformação ficam em arrays primitivos, indexados
+ * por um slot, em vez de espalhados pelo heap em objetos Transform e Point. Um Transform ligado a um
+ * TransformStore (ver Transform.attach) passa a ser apenas uma vista sobre o seu slot.
+ * Os arrays ficam no heap; ver OffHeapTransformStore para a alternativa fora do heap.
+ * Os slots libertados são reutilizados por ordem inversa de libertação.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv Todos os arrays têm comprimento capacity().
+ * @inv 0 &lt;= size() &lt;= capacity().
+ */
+public class TransformStore implements ITransformStore {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] angle = new double[INITIAL_CAPACITY];
+    private double[] scale = new double[INITIAL_CAPACITY];
+    private int[] layer = new int[INITIAL_CAPACITY];
+    private long[] version = new long[INITIAL_CAPACITY]; // Aumenta em cada escrita; nunca volta a zero
+
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    private int highWater = 0; // Slots [0, highWater) já foram usados pelo menos uma vez
+    private int size = 0;
+
+    /**
+     * Reserva um slot e inicializa-o com os valores indicados.
+     * @param x Coordenada x da posição.
+     * @param y Coordenada y da posição.
+     * @param layer Camada (z-index).
+     * @param angle Ângulo de rotação, em graus.
+     * @param scale Fator de escala.
+     * @return O slot reservado, entre 0 e capacity() - 1.
+     * @post size() aumenta 1; os arrays crescem se necessário; version(slot) aumentou.
+     */
+    @Override
+    public int allocate(double x, double y, int layer, double angle, double scale) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (highWater == this.x.length) {
+                grow();
+            }
+            slot = highWater++;
+        }
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.layer[slot] = layer;
+        this.angle[slot] = angle;
+        this.scale[slot] = scale;
+        version[slot]++;
+        size++;
+        return slot;
+    }
+
+    /**
+     * Liberta um slot para ser reutilizado.
+     * @param slot Um slot reservado e ainda não libertado.
+     * @post size() diminui 1.
+     */
+    @Override
+    public void release(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    /**
+     * Duplica a capacidade de todos os arrays.
+     * @post capacity() duplicou e os valores existentes mantêm-se.
+     */
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        angle = Arrays.copyOf(angle, capacity);
+        scale = Arrays.copyOf(scale, capacity);
+        layer = Arrays.copyOf(layer, capacity);
+        version = Arrays.copyOf(version, capacity);
+    }
+
+    /**
+     * Devolve o número de slots reservados.
+     * @return O número de transformações guardadas.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Devolve o número de slots disponíveis sem crescer os arrays.
+     * @return A capacidade atual.
+     */
+    @Override
+    public int capacity() {
+        return x.length;
+    }
+
+    /**
+     * Devolve a coordenada x de um slot.
+     * @param slot O slot.
+     * @return A coordenada x.
+     */
+    @Override
+    public double x(int slot) {
+        return x[slot];
+    }
+
+    /**
+     * Devolve a coordenada y de um slot.
+     * @param slot O slot.
+     * @return A coordenada y.
+     */
+    @Override
+    public double y(int slot) {
+        return y[slot];
+    }
+
+    /**
+     * Devolve a camada de um slot.
+     * @param slot O slot.
+     * @return A camada.
+     */
+    @Override
+    public int layer(int slot) {
+        return layer[slot];
+    }
+
+    /**
+     * Devolve o ângulo de um slot.
+     * @param slot O slot.
+     * @return O ângulo, em graus.
+     */
+    @Override
+    public double angle(int slot) {
+        return angle[slot];
+    }
+
+    /**
+     * Devolve a escala de um slot.
+     * @param slot O slot.
+     * @return O fator de escala.
+     */
+    @Override
+    public double scale(int slot) {
+        return scale[slot];
+    }
+
+    /**
+     * Devolve a versão de um slot.
+     * @param slot O slot.
+     * @return Um valor que aumenta em cada escrita no slot.
+     */
+    @Override
+    public long version(int slot) {
+        return version[slot];
+    }
+
+    /**
+     * Define a posição de um slot.
+     * @param slot O slot.
+     * @param x A nova coordenada x.
+     * @param y A nova coordenada y.
+     * @post x(slot) == x e y(slot) == y; version(slot) aumentou.
+     */
+    @Override
+    public void setPosition(int slot, double x, double y) {
+        this.x[slot] = x;
+        this.y[slot] = y;
+        version[slot]++;
+    }
+
+    /**
+     * Define a camada de um slot.
+     * @param slot O slot.
+     * @param layer A nova camada.
+     * @post layer(slot) == layer; version(slot) aumentou.
+     */
+    @Override
+    public void setLayer(int slot, int layer) {
+        this.layer[slot] = layer;
+        version[slot]++;
+    }
+
+    /**
+     * Define o ângulo de um slot.
+     * @param slot O slot.
+     * @param angle O novo ângulo, em graus.
+     * @post angle(slot) == angle; version(slot) aumentou.
+     */
+    @Override
+    public void setAngle(int slot, double angle) {
+        this.angle[slot] = angle;
+        version[slot]++;
+    }
+
+    /**
+     * Define a escala de um slot.
+     * @param slot O slot.
+     * @param scale O novo fator de escala.
+     * @post scale(slot) == scale; version(slot) aumentou.
+     */
+    @Override
+    public void setScale(int slot, double scale) {
+        this.scale[slot] = scale;
+        version[slot]++;
+    }
+
+    /**
+     * Desloca a posição de um slot.
+     * @param slot O slot.
+     * @param dx O deslocamento em x.
+     * @param dy O deslocamento em y.
+     * @post A posição do slot foi transladada por (dx, dy); version(slot) aumentou.
+     */
+    @Override
+    public void translate(int slot, double dx, double dy) {
+        x[slot] += dx;
+        y[slot] += dy;
+        version[slot]++;
+    }
+
+    /**
+     * Desloca a posição de vários slots, num único ciclo sobre os arrays.
+     * @param slots Os slots a deslocar. Não deve ser nulo.
+     * @param count O número de slots de 'slots' a considerar.
+     * @param dx O deslocamento em x.
+     * @param dy O deslocamento em y.
+     * @post A posição de cada slot slots[0..count) foi transladada por (dx, dy) e a sua versão aumentou.
+     */
+    @Override
+    public void translateAll(int[] slots, int count, double dx, double dy) {
+        double[] xs = x, ys = y;
+        long[] versions = version;
+        for (int i = 0; i < count; i++) {
+            int s = slots[i];
+            xs[s] += dx;
+            ys[s] += dy;
+            versions[s]++;
+        }
+    }
+
+    /**
+     * Restringe a posição de um slot a um retângulo.
+     * @param slot O slot.
+     * @param minX O limite mínimo em x.
+     * @param minY O limite mínimo em y.
+     * @param maxX O limite máximo em x.
+     * @param maxY O limite máximo em y.
+     * @return Verdadeiro se a posição foi alterada.
+     * @post minX &lt;= x(slot) &lt;= maxX e minY &lt;= y(slot) &lt;= maxY (se minX &lt;= maxX e minY &lt;= maxY).
+     * @post Se a posição foi alterada, version(slot) aumentou.
+     */
+    @Override
+    public boolean clamp(int slot, double minX, double minY, double maxX, double maxY) {
+        double px = x[slot], py = y[slot];
+        double cx = px < minX ? minX : (px > maxX ? maxX : px);
+        double cy = py < minY ? minY : (py > maxY ? maxY : py);
+        if (cx == px && cy == py) {
+            return false;
+        }
+        x[slot] = cx;
+        y[slot] = cy;
+        version[slot]++;
+        return true;
+    }
+
+    /**
+     * Restringe a posição de vários slots a um retângulo, num único ciclo sobre os arrays.
+     * @param slots Os slots a restringir. Não deve ser nulo.
+     * @param count O número de slots de 'slots' a considerar.
+     * @param minX O limite mínimo em x.
+     * @param minY O limite mínimo em y.
+     * @param maxX O limite máximo em x.
+     * @param maxY O limite máximo em y.
+     * @post Cada slot slots[0..count) está dentro do retângulo; a versão dos que mudaram aumentou.
+     */
+    @Override
+    public void clampAll(int[] slots, int count, double minX, double minY, double maxX, double maxY) {
+        double[] xs = x, ys = y;
+        long[] versions = version;
+        for (int i = 0; i < count; i++) {
+            int s = slots[i];
+            double px = xs[s], py = ys[s];
+            double cx = Math.min(maxX, Math.max(minX, px));
+            double cy = Math.min(maxY, Math.max(minY, py));
+            if (cx != px || cy != py) {
+                xs[s] = cx;
+                ys[s] = cy;
+                versions[s]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package gui;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Superfície de renderização ativa para o ecrã de jogo.
+ * Ao contrário de um JPanel (renderização passiva com repaint(), que o Swing agrupa e adia),
+ * este Canvas é desenhado e apresentado explicitamente pelo ciclo de jogo através de um BufferStrategy
+ * com dois buffers, pelo que é o ciclo que decide exatamente quando cada frame aparece no ecrã.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ * @inv renderer nunca é nulo.
+ */
+public class ActiveGameCanvas extends Canvas {
+    /**
+     * Desenha o conteúdo de um frame no back buffer.
+     */
+    public interface Renderer {
+        /**
+         * Desenha um frame completo.
+         * @param g2 O contexto gráfico do back buffer. Não deve ser nulo.
+         * @param width A largura da superfície.
+         * @param height A altura da superfície.
+         */
+        void render(Graphics2D g2, int width, int height);
+    }
+
+    private static final int BUFFERS = 2;
+
+    private final Renderer renderer;
+
+    /**
+     * Constrói o canvas com o renderizador indicado.
+     * @param renderer O renderizador chamado em cada present(). Não deve ser nulo.
+     * @post O canvas ignora pedidos de repaint do sistema: só é desenhado por present().
+     */
+    public ActiveGameCanvas(Renderer renderer) {
+        this.renderer = renderer;
+        setIgnoreRepaint(true);
+        setBackground(Color.BLACK);
+    }
+
+    /**
+     * Desenha um frame no back buffer e apresenta-o. Repete o desenho se o conteúdo do buffer for
+     * restaurado ou perdido durante a operação, como recomendado para BufferStrategy.
+     * @return Verdadeiro se o frame foi apresentado; falso se o canvas ainda não é visível ou não tem tamanho.
+     * @post Se devolver verdadeiro, o frame desenhado pelo renderizador está no ecrã.
+     */
+    public boolean present() {
+        int w = getWidth(), h = getHeight();
+        if (!isDisplayable() || w <= 0 || h <= 0) {
+            return false;
+        }
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) {
+            createBufferStrategy(BUFFERS);
+            strategy = getBufferStrategy();
+        }
+        do {
+            do {
+                Graphics2D g2 = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g2.setColor(getBackground());
+                    g2.fillRect(0, 0, w, h);
+                    renderer.render(g2, w, h);
+                } finally {
+                    g2.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync(); // Evita que o sistema de janelas acumule frames (ex: X11)
+        return true;
+    }
+}
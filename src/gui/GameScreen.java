@@ -1,14 +1,16 @@
 package gui;
 
-import engine.GameEngine;
+import engine.GameEvent;
+import engine.GameEventBus;
+import engine.GameEventType;
+import engine.GameLoop;
+import engine.InputBuffer;
+import engine.RenderInterpolator;
+import engine.RenderSnapshot;
+import engine.RenderStats;
 import gameobject.behaviour.PlayerBehaviour;
 import leaderboard.LeaderboardManager;
-import gamelevel.Level;
-import gamelevel.Level1;
-import gamelevel.Level2;
-import gamelevel.Level3;
-import gameobject.IGameObject;
-import gameobject.behaviour.IBehaviour;
+import gamelevel.GameSession;
 import gameobject.entity.PlayerShip;
 import gameobject.geometry.Point;
 
@@ -17,76 +19,113 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Representa a área principal de jogo onde o jogador interage com os objetos do jogo.
- * Gere o estado do jogo, incluindo níveis, vidas do jogador, pontuação e a renderização de todas as entidades.
- * Interage com o GameEngine para executar a lógica do jogo e atualizar os estados dos objetos.
+ * O estado do jogo (níveis, vidas do jogador, pontuação) é gerido por uma GameSession, que este ecrã avança
+ * em tempo real, alimenta com o input do teclado e desenha; o fim do jogo chega pelos eventos GAME_WON e GAME_LOST.
  * @author José Tico, Yasmin Dias e Guilherme Carmo
  * @version 25-05-2025
- * @inv engine nunca é nulo.
- * @inv keysPressed nunca é nulo.
- * @inv A lista levels nunca é nula e contém objetos Level válidos.
- * @inv player nunca é nulo após a chamada a initPlayer.
+ * @inv session nunca é nulo.
+ * @inv input nunca é nulo.
+ * @inv O estado do jogo (sessão, motor, níveis, vidas, pontuação) só é alterado pela thread de simulação depois de esta arrancar;
+ * a thread de eventos do Swing só lê o último Frame publicado e escreve no buffer de input.
+ * @inv Em renderização ativa (canvas não nulo) os frames são desenhados e apresentados pela thread de simulação;
+ * caso contrário são desenhados por paintComponent, a pedido do temporizador do Swing.
  * @inv leaderboardManager nunca é nulo.
  * @inv mainGameMenu nunca é nulo.
- * @inv playerLives é sempre não negativo.
- * @inv currentScore é sempre não negativo.
  */
 public class GameScreen extends JPanel {
-    private final GameEngine engine;
-    private final Set<Integer> keysPressed = new HashSet<>();
-    private final List<Level> levels = new ArrayList<>();
-    private int currentLevelIndex = 0;
+    private final GameSession session;
+    private final GameLoop gameLoop;
+    private final RenderInterpolator interpolator = new RenderInterpolator();
+    private final InputBuffer input = new InputBuffer();
+    private final AtomicBoolean resetRequested = new AtomicBoolean(false);
+    private final Thread simulationThread;
+    private volatile Frame frame; // Último estado publicado pela simulação, lido por paintComponent sem locks
+    private final ActiveGameCanvas canvas; // Nulo em renderização passiva
+    private final RenderStats renderStats = new RenderStats(GameSession.SIMULATION_STEP);
 
-    private PlayerShip player;
     private Point[] bulletPositionsUI;
     private final Image bulletIconImage;
     private final Image blueLineImage;
     private final Image zigzagLineImage;
     private final Image level3LineImage;
-
-    private final List<Integer> lineYPositions = new ArrayList<>();
-    private final List<Integer> zigzagLineYPositions = new ArrayList<>();
-    private final List<Rectangle> pathRectanglesToDrawLvl3 = new ArrayList<>();
-
-    private boolean levelFinished = false;
-
-    private int playerLives;
-    private static final int INITIAL_PLAYER_LIVES = 3;
-    private boolean gameOver = false;
+    private final Image gameAreaImage;
 
     private final int logicalGameHeight;
 
-    private int currentScore;
-    private int scoreAtStartOfThisAttempt;
-    private static final int POINTS_PER_ENEMY = 10;
-    private static final int POINTS_PER_REMAINING_BULLET = 10;
+    private static final int MAX_CATCH_UP_STEPS = 5; // Passos máximos por tick para recuperar atrasos
+    private static final int TIMER_DELAY_MS = 16;
+    // Renderização ativa (BufferStrategy controlado pelo ciclo de jogo), ativada com -Dastro.activeRendering=true
+    private static final boolean ACTIVE_RENDERING = Boolean.getBoolean("astro.activeRendering");
     private LeaderboardManager leaderboardManager;
     private GameMenu mainGameMenu;
 
+    /**
+     * Estado imutável de um frame publicado pela thread de simulação: a cena a desenhar e os valores do HUD.
+     * As listas de decoração são as listas imutáveis do nível atual no momento da publicação.
+     */
+    private static final class Frame {
+        final long sequence;
+        final RenderSnapshot scene;
+        final int lives;
+        final int score;
+        final int levelIndex;
+        final int bullets;
+        final int maxBullets;
+        final List<Integer> blueLines;
+        final List<Integer> zigzagLines;
+        final List<Rectangle> pathRectangles;
+
+        /**
+         * Constrói um frame com os valores fornecidos.
+         * @param sequence O número de passos de simulação executados até este frame.
+         * @param scene A cena a desenhar.
+         * @param lives As vidas do jogador.
+         * @param score A pontuação atual.
+         * @param levelIndex O índice do nível atual.
+         * @param bullets Os projéteis disponíveis.
+         * @param maxBullets O número máximo de projéteis.
+         * @param blueLines As posições das linhas azuis (imutável).
+         * @param zigzagLines As posições das linhas em ziguezague (imutável).
+         * @param pathRectangles Os retângulos dos caminhos do nível 3 (imutável).
+         */
+        Frame(long sequence, RenderSnapshot scene, int lives, int score, int levelIndex, int bullets, int maxBullets,
+              List<Integer> blueLines, List<Integer> zigzagLines, List<Rectangle> pathRectangles) {
+            this.sequence = sequence;
+            this.scene = scene;
+            this.lives = lives;
+            this.score = score;
+            this.levelIndex = levelIndex;
+            this.bullets = bullets;
+            this.maxBullets = maxBullets;
+            this.blueLines = blueLines;
+            this.zigzagLines = zigzagLines;
+            this.pathRectangles = pathRectangles;
+        }
+    }
+
     /**
      * Constrói o painel GameScreen.
-     * Inicializa o motor de jogo, jogador, níveis, elementos da UI e inicia o fluxo do jogo.
+     * Cria a sessão de jogo (motor, jogador e níveis), inicializa os elementos da UI e inicia o fluxo do jogo.
      * @param frame A janela principal GameMenu, usada para contexto e mudança de ecrãs. Não deve ser nula.
      * @param visualBoundsInParent Os limites deste painel dentro do seu contentor pai. Não deve ser nulo.
      * @param logicalGameHeightParam A altura lógica da área de jogo, excluindo o HUD. Deve ser positiva.
      * @param lm A instância de LeaderboardManager para gestão de pontuações. Não deve ser nula.
      * @post GameScreen é inicializado, focável e opaco.
-     * @post GameEngine, jogador, níveis e elementos do HUD são inicializados.
-     * @post Listeners de teclado e o temporizador do ciclo de jogo são iniciados.
+     * @post A GameSession (motor, jogador e níveis) e os elementos do HUD são inicializados.
+     * @post Listeners de teclado são registados. Em renderização passiva (por omissão) é iniciado o temporizador
+     * de renderização; em renderização ativa é adicionado um ActiveGameCanvas, desenhado pela thread de simulação.
+     * @post A thread de simulação é iniciada e avança o jogo em passos fixos (GameLoop), fora da thread de eventos do Swing.
      * @post O primeiro nível é carregado.
      */
     public GameScreen(GameMenu frame, Rectangle visualBoundsInParent, int logicalGameHeightParam, LeaderboardManager lm) {
         this.mainGameMenu = frame;
         this.logicalGameHeight = logicalGameHeightParam;
-        this.playerLives = INITIAL_PLAYER_LIVES;
-        this.currentScore = 0;
-        this.scoreAtStartOfThisAttempt = 0;
         this.leaderboardManager = lm;
 
         setBounds(visualBoundsInParent);
@@ -94,40 +133,31 @@ public class GameScreen extends JPanel {
         setFocusable(true);
         requestFocusInWindow();
 
-        engine = new GameEngine();
-        Rectangle logicalBoundsEngine = new Rectangle(25, 10, 365, 400);
-        engine.setBounds(logicalBoundsEngine);
+        session = new GameSession(); // Carrega o jogador e o primeiro nível
+        subscribeToGameEvents(session.getEngine().getEvents());
 
         bulletIconImage = new ImageIcon(Assets.BULLET).getImage();
         bulletPositionsUI = initBulletUI(visualBoundsInParent.height);
         blueLineImage = new ImageIcon(Assets.BLUE_LINE).getImage();
         zigzagLineImage = new ImageIcon(Assets.ZIGZAG_LINE).getImage();
         level3LineImage = new ImageIcon(Assets.LEVEL3_LINE).getImage();
-
-        initPlayer(logicalBoundsEngine);
-
-        levels.add(new Level1());
-        levels.add(new Level2());
-        levels.add(new Level3());
-
-        startGameFlow();
-
+        gameAreaImage = ACTIVE_RENDERING ? new ImageIcon(Assets.GAME_AREA).getImage() : null;
 
         addKeyListener(new KeyAdapter() {
             /**
              * Trata os eventos de teclas premidas durante o jogo.
-             * Adiciona as teclas premidas a um conjunto para ações contínuas e trata ações discretas
+             * Regista as teclas premidas no buffer de input para ações contínuas e trata ações discretas
              * como reiniciar o nível.
              * @param e O evento de tecla. Não deve ser nulo.
-             * @post O keyCode da tecla premida é adicionado a keysPressed.
-             * @post Se 'R' for premido e o jogo não tiver terminado, a tentativa atual do nível é reiniciada.
+             * @post O keyCode da tecla premida é registado em 'input'.
+             * @post Se 'R' for premido e o jogo não tiver terminado, é pedido à simulação que reinicie a tentativa atual do nível.
              */
             @Override
             public void keyPressed(KeyEvent e) {
-                keysPressed.add(e.getKeyCode());
+                input.keyPressed(e.getKeyCode());
                 if (e.getKeyCode() == KeyEvent.VK_R) {
-                    if (!gameOver) {
-                        resetLevel(true);
+                    if (!session.isOver()) {
+                        resetRequested.set(true); // Executado pela thread de simulação no próximo passo
                     }
                 }
             }
@@ -136,249 +166,149 @@ public class GameScreen extends JPanel {
              * Trata os eventos de teclas libertadas durante o jogo.
              * Remove as teclas libertadas do conjunto de teclas premidas.
              * @param e O evento de tecla. Não deve ser nulo.
-             * @post O keyCode da tecla libertada é removido de keysPressed.
+             * @post O keyCode da tecla libertada é registado como libertado em 'input'.
              */
             @Override
             public void keyReleased(KeyEvent e) {
-                keysPressed.remove(e.getKeyCode());
+                input.keyReleased(e.getKeyCode());
             }
         });
 
-        new Timer(16, (ActionEvent e) -> {
-            if (gameOver) {
-                return;
-            }
-
-            engine.run(0.016, keysPressed::contains);
-
-            for (IGameObject go : engine.getEnabled()) {
-                IBehaviour behaviour = go.behaviour();
-                if (behaviour != null && go.name().startsWith("enemy")) {
-                    if (behaviour.wasJustFrozenAndClearFlag()) {
-                        addScore(POINTS_PER_ENEMY);
-                    }
-                }
-            }
-
-            repaint();
-
-            if (levelFinished) {
-                return;
-            }
+        gameLoop = new GameLoop(GameSession.SIMULATION_STEP, MAX_CATCH_UP_STEPS, this::simulationStep);
+        publishFrame();
 
-            IBehaviour playerBehaviourInterface = null;
-            if (player != null && player.behaviour() != null) {
-                playerBehaviourInterface = player.behaviour();
-            }
-
-            List<IGameObject> allGameObjects = engine.getEnabled();
-            boolean hasUnfrozenEnemies = false;
-            int activeEnemyCount = 0;
-            for (IGameObject go : allGameObjects) {
-                if (go.name().startsWith("enemy")) {
-                    activeEnemyCount++;
-                    IBehaviour enemyBhv = go.behaviour();
-                    if (enemyBhv != null && !enemyBhv.isCurrentlyFrozen()) {
-                        hasUnfrozenEnemies = true;
-                    }
-                }
-            }
-
-            boolean bulletsStillOnScreen = false;
-            for (IGameObject go : allGameObjects) {
-                if (go.name().startsWith("player_bullet")) {
-                    bulletsStillOnScreen = true;
-                    break;
+        if (ACTIVE_RENDERING) {
+            // O canvas é opaco: desenha ele próprio a área de jogo que, no modo passivo, vem do painel de fundo
+            canvas = new ActiveGameCanvas(this::renderActiveFrame);
+            canvas.setFocusable(false);
+            setLayout(new BorderLayout());
+            add(canvas, BorderLayout.CENTER);
+        } else {
+            canvas = null;
+            // O temporizador só pede novos desenhos; a simulação corre na sua própria thread
+            new Timer(TIMER_DELAY_MS, (ActionEvent e) -> {
+                if (session.isOver()) {
+                    return;
                 }
-            }
+                repaint();
+            }).start();
+        }
 
-            if (playerBehaviourInterface != null &&
-                    playerBehaviourInterface.getDisplayBulletCount() <= 0 &&
-                    !bulletsStillOnScreen &&
-                    hasUnfrozenEnemies) {
-                playerLives--;
-                if (playerLives <= 0) {
-                    playerLives = 0;
-                    showGameOverScreen();
-                } else {
-                    resetLevel(true);
-                }
-                return;
-            }
+        simulationThread = new Thread(this::runSimulation, "game-simulation");
+        simulationThread.setDaemon(true);
+        simulationThread.start();
+    }
 
-            if (!levelFinished) {
-                if (activeEnemyCount > 0 && !hasUnfrozenEnemies) {
-                    levelFinished = true;
-                    addPointsForRemainingBullets(playerBehaviourInterface);
-                    nextLevel();
-                } else if (activeEnemyCount == 0 && !bulletsStillOnScreen) {
-                    levelFinished = true;
-                    addPointsForRemainingBullets(playerBehaviourInterface);
-                    nextLevel();
+    /**
+     * Corpo da thread de simulação: executa o GameLoop, publica um novo Frame sempre que houve passos
+     * e dorme até ao próximo passo. Em renderização ativa, apresenta também cada Frame publicado.
+     * Termina quando o jogo acaba ou a thread é interrompida. As estatísticas de frames ficam disponíveis em getRenderStats().
+     * @post Enquanto o jogo decorre, 'frame' reflete o estado do último passo executado.
+     */
+    private void runSimulation() {
+        while (!session.isOver() && !Thread.currentThread().isInterrupted()) {
+            if (gameLoop.tick() > 0) {
+                publishFrame();
+                if (canvas != null && canvas.present()) {
+                    renderStats.framePresented(frame.sequence, System.nanoTime());
                 }
             }
-        }).start();
+            LockSupport.parkNanos(gameLoop.getNanosUntilNextStep());
+        }
     }
 
     /**
-     * Inicia ou reinicia o fluxo principal do jogo.
-     * Redefine a pontuação, o índice do nível atual, as vidas do jogador e os estados de fim de jogo/nível.
-     * Carrega o primeiro nível.
-     * @post A pontuação e scoreAtStartOfThisAttempt são definidos como 0.
-     * @post currentLevelIndex é definido como 0.
-     * @post playerLives é redefinido para INITIAL_PLAYER_LIVES.
-     * @post gameOver e levelFinished são definidos como false.
-     * @post O nível atual (primeiro nível) é carregado.
+     * Devolve as estatísticas de apresentação de frames deste ecrã de jogo.
+     * @return As estatísticas de frames (apresentados, descartados e atrasados).
      */
-    private void startGameFlow() {
-        this.currentScore = 0;
-        this.scoreAtStartOfThisAttempt = 0;
-        this.currentLevelIndex = 0;
-        this.playerLives = INITIAL_PLAYER_LIVES;
-        this.gameOver = false;
-        this.levelFinished = false;
-        loadCurrentLevel();
+    public RenderStats getRenderStats() {
+        return renderStats;
     }
 
     /**
-     * Reinicia o estado do nível atual.
-     * Remove todos os inimigos, projéteis do jogador e obstáculos. Recarrega os objetos do nível.
-     * Opcionalmente, reverte a pontuação para o valor que tinha no início da tentativa atual do nível.
-     * @param revertScoreToStartOfAttempt Se verdadeiro, a pontuação atual é revertida para a pontuação no início desta tentativa de nível.
-     * @post Todos os inimigos, projéteis do jogador e obstáculos são removidos do motor de jogo.
-     * @post O nível atual é recarregado.
-     * @post O estado do jogador (ex: contagem de projéteis) é reiniciado.
-     * @post levelFinished é definido como false.
-     * @post Se revertScoreToStartOfAttempt for verdadeiro, currentScore é atualizado.
+     * Publica o estado atual do jogo como um Frame imutável para a thread de renderização.
+     * @post 'frame' contém um snapshot dos objetos ativos e os valores atuais do HUD.
      */
-    private void resetLevel(boolean revertScoreToStartOfAttempt) {
-        if (gameOver) return;
-
-        if (revertScoreToStartOfAttempt) {
-            this.currentScore = this.scoreAtStartOfThisAttempt;
-        }
-
-        List<IGameObject> toRemove = new ArrayList<>();
-        for (IGameObject go : engine.getEnabled()) {
-            if (go.name().startsWith("enemy") ||
-                    go.name().startsWith("player_bullet") ||
-                    go.name().startsWith("obstacle")) {
-                toRemove.add(go);
-            }
-        }
-        for (IGameObject go : toRemove) {
-            engine.destroy(go);
+    private void publishFrame() {
+        int maxBullets = 0;
+        PlayerShip player = session.getPlayer();
+        if (player.behaviour() != null) {
+            maxBullets = player.behaviour().getMaxDisplayBullets();
+            if (maxBullets <= 0 && PlayerBehaviour.MAX_BULLETS > 0) maxBullets = PlayerBehaviour.MAX_BULLETS;
         }
-
-        loadCurrentLevel();
-
-        if (player != null && player.behaviour() != null) {
-            player.behaviour().resetPlayerSpecificState();
-        }
-        levelFinished = false;
+        RenderSnapshot scene = RenderSnapshot.capture(session.getEngine().getEnabled(), interpolator, gameLoop, System.nanoTime());
+        frame = new Frame(gameLoop.getTotalSteps(), scene, session.getLives(), session.getScore(), session.getLevelIndex(),
+                session.getHudBullets(), maxBullets, session.getBlueLineYPositions(), session.getZigZagLineYPositions(),
+                session.getPathRectanglesForDrawing());
     }
 
     /**
-     * Adiciona pontos à pontuação atual do jogador.
-     * @param points O número de pontos a adicionar. Pressupõe-se que seja não negativo.
-     * @post currentScore é incrementado pelo valor de points.
+     * Interrompe a thread de simulação quando o ecrã de jogo é removido da janela.
+     * @post A thread de simulação termina.
      */
-    public void addScore(int points) {
-        this.currentScore += points;
+    @Override
+    public void removeNotify() {
+        simulationThread.interrupt();
+        super.removeNotify();
     }
 
     /**
-     * Adiciona pontos à pontuação do jogador com base nos projéteis restantes.
-     * @param pb O comportamento do jogador (IBehaviour) para obter a contagem de projéteis. Pode ser nulo.
-     * @post Se pb não for nulo, pontos são adicionados à pontuação atual com base nos projéteis restantes e POINTS_PER_REMAINING_BULLET.
+     * Executa um passo de simulação de duração fixa: guarda as posições para a interpolação e avança a GameSession
+     * com o input do teclado. O fim do jogo chega pelos eventos GAME_WON e GAME_LOST, entregues durante o passo.
+     * Chamado pelo GameLoop, na thread de simulação, zero ou mais vezes por tick, consoante o tempo real decorrido.
+     * Um reinício de nível pedido pela tecla 'R' é executado aqui, antes do passo.
+     * @param dt A duração do passo, em segundos (GameSession.SIMULATION_STEP).
+     * @post Se o jogo não tiver terminado, a sessão avançou 'dt' segundos.
      */
-    private void addPointsForRemainingBullets(IBehaviour pb) {
-        if (pb != null) {
-            int bulletsLeft = pb.getDisplayBulletCount();
-            if (bulletsLeft >= 0) {
-                addScore(bulletsLeft * POINTS_PER_REMAINING_BULLET);
-            }
+    private void simulationStep(double dt) {
+        if (session.isOver()) {
+            return;
         }
+
+        if (resetRequested.getAndSet(false)) {
+            session.restartLevel();
+        }
+
+        interpolator.capture(session.getEngine().getEnabled());
+        session.step(dt, input.latch());
     }
 
     /**
-     * Inicializa o objeto do jogador (PlayerShip).
-     * Configura a sua posição inicial, associa-o ao motor de jogo e adiciona-o aos objetos ativos.
-     * @param logicalBoundsEngine Os limites lógicos do motor de jogo, usados para posicionar o jogador. Não deve ser nulo.
-     * @post O objeto player é criado e configurado.
-     * @post O comportamento do jogador é vinculado ao motor de jogo.
-     * @post O jogador é adicionado à lista de objetos ativos do motor de jogo.
+     * Regista os subscritores dos eventos de fim de jogo deste ecrã.
+     * @param events O barramento de eventos do motor da sessão. Não deve ser nulo.
+     * @post Os eventos GAME_WON e GAME_LOST mostram o ecrã de vitória e de fim de jogo, respetivamente.
      */
-    private void initPlayer(Rectangle logicalBoundsEngine) {
-        player = new PlayerShip("player",
-                logicalBoundsEngine.getMinX() + logicalBoundsEngine.getWidth() / 2.0,
-                logicalBoundsEngine.getMinY() + logicalBoundsEngine.getHeight() - 20);
-
-        IBehaviour playerBhv = player.behaviour();
-        if (playerBhv != null) {
-            playerBhv.linkGameEngine(engine);
-        }
-        engine.addEnabled(player);
+    private void subscribeToGameEvents(GameEventBus events) {
+        events.subscribe(GameEventType.GAME_WON, this::onGameWon);
+        events.subscribe(GameEventType.GAME_LOST, this::onGameLost);
     }
 
     /**
-     * Carrega os objetos e configurações para o nível atual.
-     * Regista a pontuação no início da tentativa do nível, limpa decorações de níveis anteriores
-     * e carrega os elementos específicos do nível (inimigos, obstáculos, linhas decorativas).
-     * @post Se currentLevelIndex for válido, scoreAtStartOfThisAttempt é atualizado com currentScore.
-     * @post levelFinished é definido como false.
-     * @post Os objetos do nível atual são carregados no motor de jogo.
-     * @post As listas de posições de linhas decorativas (lineYPositions, zigzagLineYPositions, pathRectanglesToDrawLvl3) são limpas e preenchidas conforme o nível atual.
+     * Mostra o ecrã de vitória.
+     * @param event O evento GAME_WON, com a pontuação final.
+     * @post showVictoryScreen foi chamado com a pontuação final.
      */
-    private void loadCurrentLevel() {
-        if (currentLevelIndex < levels.size()) {
-            this.scoreAtStartOfThisAttempt = this.currentScore;
-
-            levelFinished = false;
-            Level current = levels.get(currentLevelIndex);
-            current.load(engine);
-
-            lineYPositions.clear();
-            zigzagLineYPositions.clear();
-            pathRectanglesToDrawLvl3.clear();
-
-            List<Integer> blueLines = current.getBlueLineYPositions();
-            if (blueLines != null) lineYPositions.addAll(blueLines);
-
-            List<Integer> zigzagLines = current.getZigZagLineYPositions();
-            if (zigzagLines != null) zigzagLineYPositions.addAll(zigzagLines);
-
-            List<Rectangle> rectPaths = current.getPathRectanglesForDrawing();
-            if (rectPaths != null) {
-                pathRectanglesToDrawLvl3.addAll(rectPaths);
-            }
-        }
+    private void onGameWon(GameEvent event) {
+        showVictoryScreen(event.value());
     }
 
     /**
-     * Avança para o próximo nível do jogo.
-     * Se houver mais níveis, reinicia o estado para o novo nível.
-     * Se todos os níveis foram concluídos, mostra o ecrã de vitória.
-     * @post currentLevelIndex é incrementado.
-     * @post Se houver um próximo nível, o método resetLevel é chamado para prepará-lo.
-     * @post Se todos os níveis foram concluídos, o método showVictoryScreen é chamado.
+     * Mostra o ecrã de fim de jogo.
+     * @param event O evento GAME_LOST.
+     * @post showGameOverScreen foi chamado.
      */
-    private void nextLevel() {
-        currentLevelIndex++;
-        if (currentLevelIndex < levels.size()) {
-            resetLevel(false);
-        } else {
-            showVictoryScreen();
-        }
+    private void onGameLost(GameEvent event) {
+        showGameOverScreen();
     }
 
     /**
      * Solicita ao jogador as suas iniciais e guarda a pontuação na tabela de classificação.
      * Apresenta um diálogo para inserção de iniciais.
+     * @param finalScore A pontuação final do jogo.
      * @post Um JOptionPane é exibido para o jogador inserir as iniciais.
-     * @post A pontuação atual é adicionada à tabela de classificação com as iniciais fornecidas (ou "???" se cancelado/vazio).
+     * @post 'finalScore' é adicionada à tabela de classificação com as iniciais fornecidas (ou "???" se cancelado/vazio).
      */
-    private void promptForInitialsAndSaveScore() {
+    private void promptForInitialsAndSaveScore(int finalScore) {
         String initials = JOptionPane.showInputDialog(
                 mainGameMenu,
                 "You Won! Enter your initials (max 3 characters):",
@@ -388,31 +318,32 @@ public class GameScreen extends JPanel {
         if (initials == null) {
             initials = "???";
         }
-        leaderboardManager.addScore(initials, currentScore);
+        leaderboardManager.addScore(initials, finalScore);
     }
 
     /**
      * Transita o jogo para o estado de vitória.
-     * Define gameOver como verdadeiro, solicita iniciais para a pontuação e muda para o ecrã de vitória.
-     * @post gameOver é definido como true.
+     * A sessão já terminou (o que termina a thread de simulação); na thread de eventos do Swing,
+     * solicita iniciais para a pontuação e muda para o ecrã de vitória.
+     * @param finalScore A pontuação final do jogo.
      * @post As iniciais do jogador são solicitadas e a pontuação é guardada.
      * @post O GameMenu é instruído a mudar para o estado de ecrã de vitória.
      */
-    private void showVictoryScreen() {
-        gameOver = true;
-        promptForInitialsAndSaveScore();
-        mainGameMenu.switchToVictoryScreenState();
+    private void showVictoryScreen(int finalScore) {
+        SwingUtilities.invokeLater(() -> {
+            promptForInitialsAndSaveScore(finalScore);
+            mainGameMenu.switchToVictoryScreenState();
+        });
     }
 
     /**
      * Transita o jogo para o estado de fim de jogo (game over).
-     * Define gameOver como verdadeiro e muda para o ecrã de fim de jogo.
-     * @post gameOver é definido como true.
+     * A sessão já terminou (o que termina a thread de simulação); na thread de eventos do Swing,
+     * muda para o ecrã de fim de jogo.
      * @post O GameMenu é instruído a mudar para o estado de ecrã de fim de jogo.
      */
     private void showGameOverScreen() {
-        gameOver = true;
-        mainGameMenu.switchToGameOverScreenState();
+        SwingUtilities.invokeLater(mainGameMenu::switchToGameOverScreenState);
     }
 
     /**
@@ -436,69 +367,84 @@ public class GameScreen extends JPanel {
     }
 
     /**
-     * Desenha um único objeto de jogo (IGameObject) no ecrã.
-     * Obtém a transformação do objeto e invoca o método render da sua forma (shape).
-     * @param g2 O contexto gráfico 2D usado для desenho. Não deve ser nulo.
-     * @param go O objeto de jogo a ser desenhado. Não deve ser nulo.
-     * @post O objeto 'go' é renderizado no contexto gráfico 'g2' de acordo com a sua forma e transformação.
-     */
-    private void drawGameObject(Graphics2D g2, IGameObject go) {
-        var t = go.transform();
-        go.shape().render(g2,
-                (int) t.position().getX(),
-                (int) t.position().getY(),
-                t.angle(),
-                t.scale(),
-                t.layer());
-    }
-
-    /**
-     * Desenha todos os componentes visuais do ecrã de jogo.
-     * Inclui linhas decorativas, todos os objetos de jogo ativos (jogador, inimigos, projéteis, obstáculos)
-     * e os elementos do HUD (ícones de projéteis, vidas, pontuação, indicador de nível).
+     * Desenha o ecrã de jogo em renderização passiva.
      * Este método é chamado pelo sistema Swing sempre que o painel precisa ser redesenhado.
+     * Lê apenas o último Frame publicado pela thread de simulação, sem bloquear a simulação.
+     * Em renderização ativa não desenha nada: o ActiveGameCanvas cobre o painel.
      * @param g O contexto gráfico usado para desenhar. Não deve ser nulo.
-     * @post O ecrã de jogo é completamente desenhado no contexto gráfico fornecido.
-     * Se gameOver for verdadeiro, o método retorna sem desenhar os elementos do jogo.
+     * @post Em renderização passiva, o ecrã de jogo é completamente desenhado e o frame é contabilizado em renderStats.
+     * Se o jogo tiver terminado, o método retorna sem desenhar os elementos do jogo.
      */
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g;
+        Frame f = frame; // Leitura única: todo o desenho usa o mesmo estado publicado
+        if (canvas != null || session.isOver() || f == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        renderFrame((Graphics2D) g, f, getWidth(), getHeight(), now);
+        renderStats.framePresented(f.sequence, now);
+    }
 
-        if (gameOver) {
+    /**
+     * Desenha um frame em renderização ativa. Chamado pelo ActiveGameCanvas, na thread de simulação.
+     * Como o canvas é opaco, desenha primeiro a imagem da área de jogo por baixo da cena.
+     * @param g2 O contexto gráfico do back buffer. Não deve ser nulo.
+     * @param width A largura da superfície.
+     * @param height A altura da superfície.
+     * @post Se o jogo não tiver terminado, a área de jogo e o último Frame publicado foram desenhados em g2.
+     */
+    private void renderActiveFrame(Graphics2D g2, int width, int height) {
+        Frame f = frame;
+        if (session.isOver() || f == null) {
             return;
         }
+        if (gameAreaImage != null) {
+            g2.drawImage(gameAreaImage, 0, 0, width, logicalGameHeight, null);
+        }
+        renderFrame(g2, f, width, height, System.nanoTime());
+    }
 
-        if (blueLineImage != null && lineYPositions != null && !lineYPositions.isEmpty()) {
+    /**
+     * Desenha todos os componentes visuais do ecrã de jogo para um Frame.
+     * Inclui linhas decorativas, todos os objetos de jogo ativos (jogador, inimigos, projéteis, obstáculos)
+     * e os elementos do HUD (ícones de projéteis, vidas, pontuação, indicador de nível).
+     * @param g2 O contexto gráfico usado para desenhar. Não deve ser nulo.
+     * @param f O Frame a desenhar. Não deve ser nulo.
+     * @param width A largura da superfície de desenho.
+     * @param height A altura da superfície de desenho.
+     * @param nanoTime O instante de renderização, usado na interpolação das posições.
+     * @post O ecrã de jogo é completamente desenhado no contexto gráfico fornecido.
+     */
+    private void renderFrame(Graphics2D g2, Frame f, int width, int height, long nanoTime) {
+        if (blueLineImage != null && !f.blueLines.isEmpty()) {
             int margin = 8;
-            int desiredWidth = getWidth() - 2 * margin;
+            int desiredWidth = width - 2 * margin;
             int desiredHeight = blueLineImage.getHeight(null);
-            for (int yPos : lineYPositions) {
+            for (int yPos : f.blueLines) {
                 g2.drawImage(blueLineImage, margin, yPos - desiredHeight / 2, desiredWidth, desiredHeight, null);
             }
         }
-        if (zigzagLineImage != null && zigzagLineYPositions != null && !zigzagLineYPositions.isEmpty()) {
+        if (zigzagLineImage != null && !f.zigzagLines.isEmpty()) {
             int margin = 8;
-            int desiredWidth = getWidth() - 2 * margin;
+            int desiredWidth = width - 2 * margin;
             int desiredHeight = zigzagLineImage.getHeight(null);
-            for (int yPos : zigzagLineYPositions) {
+            for (int yPos : f.zigzagLines) {
                 g2.drawImage(zigzagLineImage, margin, yPos - desiredHeight / 2, desiredWidth, desiredHeight, null);
             }
         }
 
         if (level3LineImage != null && level3LineImage.getWidth(null) > 0 &&
-                pathRectanglesToDrawLvl3 != null && !pathRectanglesToDrawLvl3.isEmpty()) {
+                !f.pathRectangles.isEmpty()) {
 
-            for (Rectangle rectPath : pathRectanglesToDrawLvl3) {
+            for (Rectangle rectPath : f.pathRectangles) {
                 g2.drawImage(level3LineImage, rectPath.x, rectPath.y, rectPath.width, rectPath.height, null);
             }
         }
 
 
-        for (IGameObject go : engine.getEnabled()) {
-            drawGameObject(g2, go);
-        }
+        f.scene.render(g2, nanoTime);
 
         Font hudFont = new Font("Arial", Font.BOLD, 16);
         g2.setFont(hudFont);
@@ -510,48 +456,40 @@ public class GameScreen extends JPanel {
         if (bulletPositionsUI != null && bulletPositionsUI.length > 0 && bulletPositionsUI[0] != null) {
             bottomHudCenterY = (int) bulletPositionsUI[0].getY();
         } else {
-            bottomHudCenterY = getHeight() - (GameMenu.HUD_AREA_HEIGHT / 2);
+            bottomHudCenterY = height - (GameMenu.HUD_AREA_HEIGHT / 2);
         }
         int bottomHudTextBaselineY = bottomHudCenterY - (textHeight / 2) + textAscent;
 
         if (bulletPositionsUI != null && bulletPositionsUI.length > 0 && bulletPositionsUI[0] != null &&
-                player != null && bulletIconImage != null && bulletIconImage.getHeight(null) > 0) {
-            IBehaviour playerBhv = player.behaviour();
-            if (playerBhv != null) {
-                int currentBullets = playerBhv.getDisplayBulletCount();
-                int maxBullets = playerBhv.getMaxDisplayBullets();
-                if (maxBullets <= 0 && PlayerBehaviour.MAX_BULLETS > 0) maxBullets = PlayerBehaviour.MAX_BULLETS;
-
-
-                for (int i = 0; i < maxBullets; i++) {
-                    if (i < currentBullets) {
-                        int x = (int) bulletPositionsUI[i].getX();
-                        int y = (int) bulletPositionsUI[i].getY();
-                        g2.drawImage(bulletIconImage,
-                                x - bulletIconImage.getWidth(null) / 2,
-                                y - bulletIconImage.getHeight(null) / 2,
-                                null);
-                    }
+                bulletIconImage != null && bulletIconImage.getHeight(null) > 0) {
+            for (int i = 0; i < f.maxBullets; i++) {
+                if (i < f.bullets) {
+                    int x = (int) bulletPositionsUI[i].getX();
+                    int y = (int) bulletPositionsUI[i].getY();
+                    g2.drawImage(bulletIconImage,
+                            x - bulletIconImage.getWidth(null) / 2,
+                            y - bulletIconImage.getHeight(null) / 2,
+                            null);
                 }
             }
         }
 
         g2.setColor(Color.YELLOW);
-        String livesText = "Lives: " + playerLives;
+        String livesText = "Lives: " + f.lives;
         int livesTextWidth = fm.stringWidth(livesText);
-        int livesTextX = (getWidth() - livesTextWidth) / 2;
+        int livesTextX = (width - livesTextWidth) / 2;
         g2.drawString(livesText, livesTextX, bottomHudTextBaselineY);
 
         g2.setColor(Color.YELLOW);
-        String scoreTextValue = "" + currentScore;
+        String scoreTextValue = "" + f.score;
         int scoreTextWidth = fm.stringWidth(scoreTextValue);
-        int scoreTextX = getWidth() - scoreTextWidth - 15;
+        int scoreTextX = width - scoreTextWidth - 15;
         g2.drawString(scoreTextValue, scoreTextX, bottomHudTextBaselineY);
 
         g2.setColor(Color.WHITE);
-        String levelStr = "L" + (currentLevelIndex + 1);
+        String levelStr = "L" + (f.levelIndex + 1);
         int levelTextWidth = fm.stringWidth(levelStr);
-        int levelTextX = getWidth() - levelTextWidth - 15;
+        int levelTextX = width - levelTextWidth - 15;
         int levelTextY = fm.getAscent() + 10;
         g2.drawString(levelStr, levelTextX, levelTextY);
     }
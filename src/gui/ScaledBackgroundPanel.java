@@ -2,6 +2,7 @@ package gui;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.VolatileImage;
 
 /**
  * Um painel JPanel personalizado que desenha uma imagem de fundo escalonada.
@@ -12,11 +13,13 @@ import java.awt.*;
  * @inv arcadeImg nunca é nulo após a construção.
  * @inv frameBounds, startButtonBounds, exitButtonBounds, e leaderboardButtonBounds nunca são nulos.
  * @inv astroOffset e astroDirection mantêm valores para a animação do logótipo.
+ * @inv Se não for nulo, arcadeCache contém arcadeImg já escalonada para o tamanho atual do painel.
  */
 public class ScaledBackgroundPanel extends JPanel {
     private final Image arcadeImg;
     private Image frameImg;
     private final Image astroImg;
+    private VolatileImage arcadeCache; // Fundo já escalonado, refeito só quando o tamanho muda ou o conteúdo se perde
 
     private final Rectangle frameBounds = new Rectangle();
     private final Rectangle startButtonBounds = new Rectangle();
@@ -40,7 +43,7 @@ public class ScaledBackgroundPanel extends JPanel {
      * @param framePath Caminho para a imagem da moldura (área de jogo). Não deve ser nulo.
      * @param astroPath Caminho para a imagem do logótipo (astro). Não deve ser nulo.
      * @post As imagens são carregadas a partir dos caminhos fornecidos.
-     * @post Um temporizador é iniciado para animar o logótipo (astroImg).
+     * @post Um temporizador é iniciado para animar o logótipo (astroImg); só pede novos desenhos enquanto o logótipo é visível.
      * @post O painel é configurado para ser focável, permitindo a receção de eventos de teclado.
      */
     public ScaledBackgroundPanel(String arcadePath, String framePath, String astroPath) {
@@ -49,6 +52,9 @@ public class ScaledBackgroundPanel extends JPanel {
         this.astroImg = new ImageIcon(astroPath).getImage();
 
         Timer timer = new Timer(20, e -> {
+            if (!showLogo) {
+                return; // Durante o jogo o fundo é estático: não há nada para animar
+            }
             astroStep++;
             if (astroStep % 2 == 0) {
                 astroOffset += astroDirection;
@@ -171,6 +177,46 @@ public class ScaledBackgroundPanel extends JPanel {
         return leaderboardButtonBounds;
     }
 
+    /**
+     * Desenha a imagem de fundo escalonada a partir de uma cópia em cache (VolatileImage), para não ter
+     * de a reescalonar em cada desenho. A cópia é refeita quando o tamanho muda ou quando o seu conteúdo
+     * é perdido. Se não for possível criar a cópia (ex: painel ainda não visível), desenha diretamente.
+     * @param g2 O contexto gráfico. Não deve ser nulo.
+     * @param x A coordenada x onde desenhar.
+     * @param y A coordenada y onde desenhar.
+     * @param width A largura escalonada. Deve ser positiva.
+     * @param height A altura escalonada. Deve ser positiva.
+     * @post arcadeImg foi desenhada em g2 no retângulo indicado.
+     */
+    private void drawArcade(Graphics2D g2, int x, int y, int width, int height) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null || width <= 0 || height <= 0) {
+            g2.drawImage(arcadeImg, x, y, width, height, this);
+            return;
+        }
+        do {
+            boolean stale = arcadeCache == null
+                    || arcadeCache.getWidth() != width || arcadeCache.getHeight() != height;
+            int status = stale ? VolatileImage.IMAGE_INCOMPATIBLE : arcadeCache.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (arcadeCache != null) {
+                    arcadeCache.flush();
+                }
+                arcadeCache = gc.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+            }
+            if (status != VolatileImage.IMAGE_OK) {
+                Graphics2D cg = arcadeCache.createGraphics();
+                try {
+                    cg.setComposite(AlphaComposite.Src);
+                    cg.drawImage(arcadeImg, 0, 0, width, height, this);
+                } finally {
+                    cg.dispose();
+                }
+            }
+            g2.drawImage(arcadeCache, x, y, this);
+        } while (arcadeCache.contentsLost());
+    }
+
     /**
      * Desenha os componentes do painel, incluindo imagens de fundo, logótipo, título e botões interativos.
      * As imagens são escalonadas. Os elementos do menu (título, logótipo, botões START e CLASSIFICAÇÕES) são desenhados se showLogo for verdadeiro.
@@ -190,7 +236,7 @@ public class ScaledBackgroundPanel extends JPanel {
         int scaledAH = (int) (ah * aScale);
         int ax = (w - scaledAW) / 2;
         int ay = (h - scaledAH) / 2;
-        g2.drawImage(arcadeImg, ax, ay, scaledAW, scaledAH, this);
+        drawArcade(g2, ax, ay, scaledAW, scaledAH);
 
         int fx = 0, fy = 0, scaledFW = 0, scaledFH = 0;
 
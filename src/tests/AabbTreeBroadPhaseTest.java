@@ -0,0 +1,141 @@
+package tests;
+
+import engine.collision.AabbTreeBroadPhase;
+import engine.collision.AllPairsBroadPhase;
+import engine.collision.PairBuffer;
+import engine.collision.RayCastHit;
+import gameobject.IGameObject;
+import gameobject.geometry.BoundingBox;
+import gameobject.geometry.Point;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.BroadPhaseFixtures.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testes unitários para a AabbTreeBroadPhase (e a DynamicAabbTree subjacente).
+ * Verifica os pares candidatos, o efeito das caixas alargadas no número de reinserções,
+ * a remoção de objetos e as consultas por caixa, por círculo e por raio.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class AabbTreeBroadPhaseTest {
+
+    private static final double DELTA = 1e-9;
+
+    /**
+     * Testa que nenhum par em colisão é perdido ao longo de vários frames com movimento e remoções.
+     * @post Em cada frame, os candidatos contêm todas as colisões reais.
+     */
+    @Test
+    void testNoCollidingPairIsMissed() {
+        Random rnd = new Random(3);
+        List<IGameObject> objects = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            objects.add(circle(rnd.nextDouble() * 400, rnd.nextDouble() * 400, 3 + rnd.nextDouble() * 15));
+        }
+        for (int i = 0; i < 10; i++) {
+            objects.add(box(rnd.nextDouble() * 400, rnd.nextDouble() * 400, 40, 40));
+        }
+        AabbTreeBroadPhase tree = new AabbTreeBroadPhase();
+
+        for (int frame = 0; frame < 15; frame++) {
+            for (IGameObject go : objects) {
+                go.transform().move(new Point(rnd.nextDouble() * 10 - 5, rnd.nextDouble() * 10 - 5), 0);
+                go.collider().onUpdate();
+            }
+            if (frame % 5 == 4) {
+                objects.remove(rnd.nextInt(objects.size()));
+            }
+            PairBuffer all = new PairBuffer();
+            new AllPairsBroadPhase().findCandidatePairs(objects, all);
+            PairBuffer candidates = new PairBuffer();
+            tree.findCandidatePairs(objects, candidates);
+
+            assertEquals(objects.size(), tree.size(), "A árvore deve ter uma folha por objeto.");
+            for (int k = 0; k < all.size(); k++) {
+                int i = all.first(k), j = all.second(k);
+                if (objects.get(i).collider().isColliding(objects.get(j).collider())) {
+                    assertTrue(contains(candidates, i, j), "Par em colisão omitido no frame " + frame);
+                }
+            }
+        }
+    }
+
+    /**
+     * Testa que um objeto lento não é reinserido em todos os frames graças à caixa alargada.
+     * @post Ao longo de 30 frames a 1 unidade por frame há muito menos de 30 reinserções.
+     */
+    @Test
+    void testFatBoundsAvoidReinserts() {
+        IGameObject slow = circle(100, 100, 15);
+        List<IGameObject> objects = List.of(slow, circle(300, 300, 15));
+        AabbTreeBroadPhase tree = new AabbTreeBroadPhase(8);
+        tree.update(objects);
+        assertEquals(2, tree.getLastReinserts(), "O primeiro frame cria as duas folhas.");
+
+        int reinserts = 0;
+        for (int frame = 0; frame < 30; frame++) {
+            slow.transform().move(new Point(1, 0), 0);
+            slow.collider().onUpdate();
+            tree.update(objects);
+            reinserts += tree.getLastReinserts();
+        }
+        assertTrue(reinserts < 10, "Demasiadas reinserções para um objeto lento: " + reinserts);
+    }
+
+    /**
+     * Testa as consultas por caixa e por círculo.
+     * @post Só os objetos sobrepostos à região consultada são devolvidos.
+     */
+    @Test
+    void testBoxAndCircleQueries() {
+        IGameObject a = circle(0, 0, 5);
+        IGameObject b = circle(100, 0, 5);
+        IGameObject c = box(200, 200, 20, 20);
+        AabbTreeBroadPhase tree = new AabbTreeBroadPhase();
+        tree.update(List.of(a, b, c));
+
+        List<IGameObject> found = new ArrayList<>();
+        tree.queryCircle(10, 0, 6, found);
+        assertEquals(List.of(a), found, "Só o círculo 'a' está a menos de 6 unidades de (10,0).");
+
+        found.clear();
+        tree.queryBox(new BoundingBox(90, -10, 230, 230), found);
+        assertEquals(2, found.size());
+        assertTrue(found.contains(b) && found.contains(c));
+
+        found.clear();
+        tree.queryCircle(195, 210, 6, found);
+        assertEquals(List.of(c), found, "O círculo toca a aresta esquerda do bloco.");
+    }
+
+    /**
+     * Testa o lançamento de raios contra círculos e polígonos.
+     * @post O contacto mais próximo é devolvido com a fração e o ponto corretos.
+     */
+    @Test
+    void testRayCast() {
+        IGameObject near = circle(0, -50, 10);
+        IGameObject far = circle(0, -150, 10);
+        IGameObject wall = box(-20, -100, 40, 5);
+        AabbTreeBroadPhase tree = new AabbTreeBroadPhase();
+        tree.update(List.of(far, wall, near));
+
+        RayCastHit hit = tree.rayCast(0, 0, 0, -200);
+        assertNotNull(hit);
+        assertSame(near, hit.getGameObject());
+        assertEquals(40.0 / 200.0, hit.getFraction(), DELTA);
+        assertEquals(-40, hit.getY(), DELTA);
+
+        hit = tree.rayCast(0, -70, 0, -200);
+        assertNotNull(hit);
+        assertSame(wall, hit.getGameObject(), "O bloco está entre a origem e o círculo distante.");
+        assertEquals(-95, hit.getY(), DELTA);
+
+        assertNull(tree.rayCast(50, 0, 0, -200), "Um raio ao lado dos objetos não atinge nada.");
+    }
+}
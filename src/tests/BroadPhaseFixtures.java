@@ -0,0 +1,60 @@
+package tests;
+
+import engine.collision.PairBuffer;
+import gameobject.GameObject;
+import gameobject.IGameObject;
+import gameobject.behaviour.ObstacleBehaviour;
+import gameobject.collider.CircleCollider;
+import gameobject.collider.PolygonCollider;
+import gameobject.transform.Transform;
+
+/**
+ * Objetos e verificações partilhados pelos testes das broadphases.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+final class BroadPhaseFixtures {
+
+    private BroadPhaseFixtures() {
+    }
+
+    /**
+     * Cria um objeto de jogo com um colisor circular.
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @param r Raio do círculo.
+     * @return Um novo IGameObject com CircleCollider.
+     */
+    static IGameObject circle(double x, double y, double r) {
+        Transform t = new Transform(x, y, 0, 0, 1);
+        return new GameObject("c", t, new CircleCollider(x, y, r, t), null, new ObstacleBehaviour());
+    }
+
+    /**
+     * Cria um objeto de jogo com um colisor retangular cujo canto superior esquerdo está em (x,y).
+     * @param x Coordenada x do canto.
+     * @param y Coordenada y do canto.
+     * @param w Largura.
+     * @param h Altura.
+     * @return Um novo IGameObject com PolygonCollider.
+     */
+    static IGameObject box(double x, double y, double w, double h) {
+        Transform t = new Transform(x, y, 0, 0, 1);
+        double[] coords = {0, 0, w, 0, w, h, 0, h};
+        return new GameObject("b", t, new PolygonCollider(coords, t), null, new ObstacleBehaviour());
+    }
+
+    /**
+     * Verifica se um par (i, j) está presente no buffer.
+     * @param pairs O buffer.
+     * @param i O menor índice.
+     * @param j O maior índice.
+     * @return Verdadeiro se o par existir.
+     */
+    static boolean contains(PairBuffer pairs, int i, int j) {
+        for (int k = 0; k < pairs.size(); k++) {
+            if (pairs.first(k) == i && pairs.second(k) == j) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+package tests;
+
+import engine.GameEngine;
+import gameobject.GameObject;
+import gameobject.behaviour.ObstacleBehaviour;
+import gameobject.collider.CircleCollider;
+import gameobject.entity.Bullet;
+import gameobject.entity.BulletPool;
+import gameobject.transform.Transform;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Testes unitários para o BulletPool: reutilização de projéteis destruídos e disparo sem alocação.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class BulletPoolTest {
+
+    private static final int WARMUP_CYCLES = 20_000;
+    private static final int MEASURED_CYCLES = 5_000;
+
+    /**
+     * Cria um motor com limites e alguns obstáculos circulares parados, para que o ciclo de disparo passe
+     * pela deteção de colisões.
+     * @return O novo GameEngine, já com os obstáculos ativos.
+     */
+    private static GameEngine newEngine() {
+        GameEngine engine = new GameEngine();
+        engine.setBounds(new Rectangle(0, 0, 800, 600));
+        for (int i = 0; i < 8; i++) {
+            Transform t = new Transform(50 + i * 90, 100, 0, 0, 1);
+            engine.addEnabled(new GameObject("obstacle_" + i, t, new CircleCollider(0, 0, 10, t), null,
+                    new ObstacleBehaviour()));
+        }
+        engine.run(0, null);
+        return engine;
+    }
+
+    /**
+     * Um ciclo completo de vida de um projétil: disparo, ativação, destruição e devolução ao pool.
+     * @param engine O motor de jogo.
+     * @param pool O pool de projéteis.
+     * @param i O índice do ciclo, usado para variar a posição de disparo.
+     */
+    private static void fireCycle(GameEngine engine, BulletPool pool, int i) {
+        Bullet bullet = pool.acquire(100 + (i & 255), 500);
+        engine.addEnabled(bullet);
+        engine.run(0, null); // Ativa o projétil
+        engine.destroy(bullet);
+        engine.run(0, null); // Destrói o projétil, que volta ao pool
+    }
+
+    /**
+     * Testa que um projétil destruído volta ao pool e é reutilizado na nova posição.
+     * @post O mesmo objeto é devolvido por acquire(), com a transformação e o colisor na nova posição.
+     */
+    @Test
+    void testDestroyedBulletIsReused() {
+        GameEngine engine = newEngine();
+        BulletPool pool = new BulletPool();
+
+        Bullet first = pool.acquire(100, 500);
+        engine.addEnabled(first);
+        engine.run(0, null);
+        assertEquals(0, pool.getAvailable(), "Um projétil em jogo não está disponível.");
+
+        engine.destroy(first);
+        engine.run(0, null);
+        assertEquals(1, pool.getAvailable());
+        assertFalse(engine.getEnabled().contains(first));
+
+        Bullet second = pool.acquire(300, 450);
+        assertSame(first, second);
+        assertEquals(1, pool.getCreated());
+        assertEquals(300, second.transform().position().getX(), 1e-9);
+        assertEquals(450, second.collider().centroid().getY(), 1e-9, "O colisor acompanha a nova posição.");
+
+        Bullet third = pool.acquire(300, 450);
+        assertNotSame(second, third, "Com o pool vazio, é criado um projétil novo.");
+        assertEquals(2, pool.getCreated());
+    }
+
+    /**
+     * Testa que, depois do aquecimento, disparar e destruir projéteis não aloca memória na thread do jogo.
+     * @post O ciclo de vida de um projétil do pool aloca, em média, menos de um byte por ciclo.
+     */
+    @Test
+    void testFiringDoesNotAllocate() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeAllocationMeasurement(threads);
+        GameEngine engine = newEngine();
+        BulletPool pool = new BulletPool();
+
+        for (int i = 0; i < WARMUP_CYCLES; i++) {
+            fireCycle(engine, pool, i);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_CYCLES; i++) {
+            fireCycle(engine, pool, i);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(1, pool.getCreated(), "Só é criado um projétil: os seguintes são reutilizados.");
+        assertTrue(allocated < MEASURED_CYCLES,
+                "Alocados " + allocated + " bytes em " + MEASURED_CYCLES + " ciclos de disparo.");
+    }
+
+    /**
+     * Ignora o teste se a JVM não medir a memória alocada por thread.
+     * @param threads O ThreadMXBean da JVM.
+     */
+    private static void assumeAllocationMeasurement(com.sun.management.ThreadMXBean threads) {
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+}
@@ -165,4 +165,91 @@ class CircleColliderTest {
         assertFalse(circle1.isColliding(squarePolygon), "Círculo e Polígono (separados) não deviam colidir."); //
         assertFalse(squarePolygon.isColliding(circle1), "Ausência de colisão Polígono-Círculo deve ser simétrica."); //
     }
+
+    /**
+     * Testa que um círculo rápido contínuo não atravessa um obstáculo fino entre dois passos.
+     * @post Com deteção discreta não há colisão; com deteção contínua há, e o tempo de impacto é o esperado.
+     */
+    @Test
+    void testContinuous_FastCircleDoesNotTunnelThroughThinPolygon() {
+        Transform wallTransform = new Transform(-50, -100, 0, 0, 1.0);
+        PolygonCollider wall = new PolygonCollider(new double[]{0, 0, 100, 0, 100, 2, 0, 2}, wallTransform); // Parede com 2 de espessura
+
+        Transform bulletTransform = new Transform(0, 0, 0, 0, 1.0);
+        CircleCollider bullet = new CircleCollider(0, 0, 5, bulletTransform);
+        bulletTransform.move(new Point(0, -200), 0); // Passo de 200 unidades: salta por cima da parede
+        bullet.onUpdate();
+
+        assertFalse(bullet.isColliding(wall), "A deteção discreta não vê a parede atravessada.");
+
+        bullet.setContinuous(true);
+        assertTrue(bullet.isColliding(wall), "A deteção contínua deve detetar a passagem pela parede.");
+        assertTrue(wall.isColliding(bullet), "A colisão contínua deve ser simétrica.");
+        assertEquals((98.0 - 5.0) / 200.0, bullet.timeOfImpact(wall), 1e-6, "Primeiro contacto a y = -93.");
+    }
+
+    /**
+     * Testa o tempo de impacto entre dois círculos, usando o movimento relativo de ambos.
+     * @post Os círculos que se cruzam durante o passo colidem; os que passam ao lado não.
+     */
+    @Test
+    void testContinuous_CircleCircleTimeOfImpact() {
+        Transform ta = new Transform(0, 0, 0, 0, 1.0);
+        CircleCollider a = new CircleCollider(0, 0, 5, ta);
+        a.setContinuous(true);
+        Transform tb = new Transform(100, 0, 0, 0, 1.0);
+        CircleCollider b = new CircleCollider(100, 0, 5, tb);
+
+        ta.move(new Point(200, 0), 0); // 'a' atravessa 'b' por completo
+        a.onUpdate();
+        b.onUpdate();
+        assertTrue(a.isColliding(b));
+        assertEquals(90.0 / 200.0, a.timeOfImpact(b), 1e-6);
+
+        Transform tc = new Transform(100, 20, 0, 0, 1.0);
+        CircleCollider c = new CircleCollider(100, 20, 5, tc); // 20 unidades ao lado do percurso
+        c.onUpdate();
+        assertFalse(a.isColliding(c), "Um círculo fora do percurso varrido não deve colidir.");
+        assertEquals(-1, a.timeOfImpact(c), DELTA);
+    }
+
+    /**
+     * Testa que o raio envolvente de um colisor contínuo cobre o percurso do último passo.
+     * @post O raio envolvente é o raio mais a distância percorrida.
+     */
+    @Test
+    void testContinuous_BoundingRadiusCoversSweep() {
+        Transform t = new Transform(0, 0, 0, 0, 1.0);
+        CircleCollider c = new CircleCollider(0, 0, 5, t);
+        t.move(new Point(30, 40), 0);
+        c.onUpdate();
+        assertEquals(5, c.getBoundingRadius(), DELTA, "Sem deteção contínua, o raio envolvente é o raio.");
+        c.setContinuous(true);
+        assertEquals(55, c.getBoundingRadius(), DELTA);
+    }
+
+    /**
+     * Testa a caixa envolvente usada como teste prévio.
+     * @post A caixa cobre o círculo no início e no fim do último passo, e pares com caixas separadas não colidem.
+     */
+    @Test
+    void testWorldBoundsCoverStep() {
+        assertEquals(-10, circle1.getWorldBounds().getMinX(), DELTA);
+        assertEquals(10, circle1.getWorldBounds().getMaxY(), DELTA);
+
+        Transform t = new Transform(0, 0, 0, 0, 1.0);
+        CircleCollider c = new CircleCollider(0, 0, 5, t);
+        t.move(new Point(30, -40), 0);
+        c.onUpdate();
+        assertEquals(-5, c.getWorldBounds().getMinX(), DELTA);
+        assertEquals(35, c.getWorldBounds().getMaxX(), DELTA);
+        assertEquals(-45, c.getWorldBounds().getMinY(), DELTA);
+        assertEquals(5, c.getWorldBounds().getMaxY(), DELTA);
+
+        CircleCollider far = new CircleCollider(50, 0, 4, new Transform(50, 0, 0, 0, 1.0));
+        assertFalse(far.getWorldBounds().overlaps(squarePolygon.getWorldBounds()));
+        assertFalse(far.isColliding(squarePolygon));
+        assertTrue(circle2.getWorldBounds().overlaps(circleTouching.getWorldBounds()));
+        assertTrue(circle2.isColliding(circleTouching));
+    }
 }
\ No newline at end of file
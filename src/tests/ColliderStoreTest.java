@@ -0,0 +1,135 @@
+package tests;
+
+import engine.GameEngine;
+import gameobject.GameObject;
+import gameobject.IGameObject;
+import gameobject.behaviour.ObstacleBehaviour;
+import gameobject.collider.CircleCollider;
+import gameobject.collider.OffHeapColliderStore;
+import gameobject.collider.PolygonCollider;
+import gameobject.geometry.IPoint;
+import gameobject.geometry.Point;
+import gameobject.transform.OffHeapTransformStore;
+import gameobject.transform.Transform;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes unitários para o armazenamento de colisores fora do heap (OffHeapColliderStore)
+ * e para os colisores ligados a um slot.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class ColliderStoreTest {
+
+    private static final double DELTA = 1e-9;
+
+    /**
+     * Testa os valores, o crescimento e a reutilização de slots com o mesmo número de pontos.
+     * @post Os valores sobrevivem ao crescimento e o acesso depois de close() falha.
+     */
+    @Test
+    void testOffHeapColliderStore() {
+        OffHeapColliderStore store = new OffHeapColliderStore(16);
+        int circle = store.allocate(2);
+        store.setRadius(circle, 5);
+        store.set(circle, 1, 3, 4);
+        int[] polygons = new int[50];
+        for (int i = 0; i < polygons.length; i++) {
+            polygons[i] = store.allocate(5);
+            store.set(polygons[i], 4, i, -i);
+        }
+        store.translate(circle, 1, 1, -1);
+        assertEquals(51, store.size());
+        assertEquals(5, store.radius(circle), DELTA);
+        assertEquals(4, store.x(circle, 1), DELTA);
+        assertEquals(3, store.y(circle, 1), DELTA);
+        assertEquals(-49, store.y(polygons[49], 4), DELTA);
+        assertEquals(5, store.points(polygons[0]));
+
+        store.release(polygons[7]);
+        store.release(circle);
+        assertEquals(circle, store.allocate(2), "Um slot libertado é reutilizado por um pedido com o mesmo número de pontos.");
+        assertNotEquals(polygons[7], store.allocate(3));
+        assertEquals(polygons[7], store.allocate(5));
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.radius(0));
+    }
+
+    /**
+     * Testa colisores ligados ao armazenamento: a deteção de colisões e a sincronização com a transformação
+     * dão os mesmos resultados que com os dados no próprio colisor, e desligar preserva os valores.
+     * @post O centro, o raio e os vértices ficam nos slots enquanto os colisores estão ligados.
+     */
+    @Test
+    void testCollidersOverSlots() {
+        try (OffHeapColliderStore store = new OffHeapColliderStore()) {
+            Transform tc = new Transform(0, 0, 0, 0, 2);
+            CircleCollider circle = new CircleCollider(0, 0, 5, tc);
+            Transform tp = new Transform(30, 0, 0, 45, 1);
+            PolygonCollider square = new PolygonCollider(new double[]{-10, -10, 10, -10, 10, 10, -10, 10}, tp);
+            IPoint center = circle.centroid();
+            circle.attach(store);
+            square.attach(store);
+            assertEquals(2, store.size());
+            assertSame(center, circle.centroid(), "O centro continua a ser o mesmo objeto.");
+            assertEquals(10, circle.getRadius(), DELTA);
+            assertFalse(circle.isColliding(square));
+
+            tc.move(new Point(10, 0), 0);
+            circle.onUpdate();
+            assertEquals(10, center.getX(), DELTA);
+            assertTrue(circle.isColliding(square), "O círculo chega ao canto rodado do quadrado.");
+            assertEquals(30, square.centroid().getX(), DELTA);
+            assertEquals(Math.sqrt(200), square.getBoundingRadius(), DELTA);
+
+            tp.rotate(45);
+            tp.move(new Point(5, 0), 0);
+            square.onUpdate();
+            assertEquals(45, square.getVertices().get(0).getX(), DELTA, "Vértice (-10, -10) rodado 90 graus em torno de (35, 0).");
+            assertFalse(circle.isColliding(square));
+
+            circle.detach();
+            square.detach();
+            assertEquals(0, store.size());
+            assertEquals(10, center.getX(), DELTA, "Os valores voltam para o colisor ao desligar.");
+            assertEquals(10, circle.getRadius(), DELTA);
+            assertEquals(35, square.centroid().getX(), DELTA);
+        }
+    }
+
+    /**
+     * Testa um GameEngine com transformações e colisores fora do heap.
+     * @post Os colisores dos objetos ativos ficam no armazenamento, as consultas espaciais encontram-nos
+     * e os slots são libertados quando os objetos são destruídos.
+     */
+    @Test
+    void testEngineWithOffHeapColliders() {
+        try (OffHeapTransformStore transforms = new OffHeapTransformStore();
+             OffHeapColliderStore colliders = new OffHeapColliderStore()) {
+            GameEngine engine = new GameEngine(transforms, colliders);
+            engine.setBounds(new Rectangle(0, 0, 100, 100));
+            Transform t = new Transform(50, 50, 0, 0, 1);
+            IGameObject go = new GameObject("c", t, new CircleCollider(50, 50, 5, t), null, new ObstacleBehaviour());
+            engine.addEnabled(go);
+            engine.run(0, null);
+            assertSame(colliders, engine.getColliderStore());
+            assertEquals(1, colliders.size());
+
+            t.move(new Point(20, 0), 0);
+            engine.run(0, null);
+            List<IGameObject> found = new ArrayList<>();
+            engine.queryCircle(70, 50, 1, found);
+            assertEquals(List.of(go), found);
+
+            engine.destroyAll();
+            engine.run(0, null);
+            assertEquals(0, colliders.size());
+            assertEquals(70, go.collider().centroid().getX(), DELTA, "O colisor continua utilizável fora do motor.");
+        }
+    }
+}
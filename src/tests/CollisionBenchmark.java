@@ -0,0 +1,126 @@
+package tests;
+
+import gameobject.collider.CircleCollider;
+import gameobject.collider.PolygonCollider;
+import gameobject.geometry.IPoint;
+import gameobject.transform.Transform;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Microbenchmark dos testes exatos de colisão (fase estreita), comparando a geometria exata usada antes
+ * (distâncias com raiz quadrada e nenhum teste prévio) com os testes atuais dos colisores, que rejeitam
+ * primeiro os pares cujas caixas envolventes não se sobrepõem e comparam distâncias ao quadrado.
+ * Mede duas cargas: maioritariamente falhas (pares afastados, o caso comum dos pares candidatos)
+ * e maioritariamente contactos (pares sobrepostos, onde só conta a poupança das raízes quadradas).
+ * Executar com: java -cp &lt;classes&gt; tests.CollisionBenchmark [pares] [repetições]
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class CollisionBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final double[] SQUARE = {-10, -10, 10, -10, 10, 10, -10, 10};
+
+    /**
+     * Ponto de entrada do benchmark.
+     * @param args Opcionalmente, o número de pares e o número de repetições por ronda.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        run("falhas", n, repeats, 80);
+        run("contactos", n, repeats, 12);
+    }
+
+    /**
+     * Executa as rondas de uma carga: pares círculo-polígono e círculo-círculo com o segundo objeto
+     * deslocado aleatoriamente até 'spread' unidades em cada eixo.
+     * @param name O nome da carga.
+     * @param n O número de pares de cada tipo.
+     * @param repeats O número de vezes que cada par é testado por ronda.
+     * @param spread O deslocamento máximo entre os objetos de um par.
+     */
+    private static void run(String name, int n, int repeats, double spread) {
+        Random rnd = new Random(42);
+        CircleCollider[] circles = new CircleCollider[n];
+        PolygonCollider[] polygons = new PolygonCollider[n];
+        CircleCollider[] others = new CircleCollider[n];
+        for (int i = 0; i < n; i++) {
+            double x = rnd.nextDouble() * 1000, y = rnd.nextDouble() * 1000;
+            circles[i] = new CircleCollider(0, 0, 5, new Transform(x, y, 0, 0, 1));
+            double ox = x + (rnd.nextDouble() * 2 - 1) * spread, oy = y + (rnd.nextDouble() * 2 - 1) * spread;
+            polygons[i] = new PolygonCollider(SQUARE, new Transform(ox, oy, 0, rnd.nextDouble() * 90, 1));
+            others[i] = new CircleCollider(0, 0, 8, new Transform(ox, oy, 0, 0, 1));
+        }
+
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            int hitsBefore = 0, hitsNow = 0;
+            long t0 = System.nanoTime();
+            for (int r = 0; r < repeats; r++) {
+                for (int i = 0; i < n; i++) {
+                    if (exactCirclePolygon(circles[i], polygons[i])) hitsBefore++;
+                    if (exactCircleCircle(circles[i], others[i])) hitsBefore++;
+                }
+            }
+            long t1 = System.nanoTime();
+            for (int r = 0; r < repeats; r++) {
+                for (int i = 0; i < n; i++) {
+                    if (circles[i].isColliding(polygons[i])) hitsNow++;
+                    if (circles[i].isColliding(others[i])) hitsNow++;
+                }
+            }
+            long t2 = System.nanoTime();
+            if (hitsBefore != hitsNow) {
+                throw new IllegalStateException("Resultados diferentes: " + hitsBefore + " vs " + hitsNow);
+            }
+            if (round >= WARMUP_ROUNDS) {
+                double perTest = 1.0 / (2.0 * n * repeats);
+                System.out.printf("%s, ronda %d: exato %.1f ns/teste, com caixa %.1f ns/teste (contactos: %.0f%%)%n",
+                        name, round - WARMUP_ROUNDS + 1, (t1 - t0) * perTest, (t2 - t1) * perTest,
+                        100.0 * hitsNow * perTest);
+            }
+        }
+    }
+
+    /**
+     * Teste círculo-polígono exato, sem teste prévio: distância com raiz quadrada a cada aresta e,
+     * se nenhuma estiver ao alcance, teste de ponto no polígono (algoritmo anterior).
+     * @param c O círculo.
+     * @param p O polígono.
+     * @return Verdadeiro se colidirem.
+     */
+    private static boolean exactCirclePolygon(CircleCollider c, PolygonCollider p) {
+        double cx = c.centroid().getX(), cy = c.centroid().getY(), r = c.getRadius();
+        List<IPoint> v = p.getVertices();
+        int n = v.size();
+        for (int i = 0; i < n; i++) {
+            IPoint a = v.get(i), b = v.get((i + 1) % n);
+            double ex = b.getX() - a.getX(), ey = b.getY() - a.getY();
+            double t = Math.max(0, Math.min(1, ((cx - a.getX()) * ex + (cy - a.getY()) * ey) / (ex * ex + ey * ey)));
+            double dx = cx - (a.getX() + t * ex), dy = cy - (a.getY() + t * ey);
+            if (Math.sqrt(dx * dx + dy * dy) < r - 1e-9) return true;
+        }
+        boolean inside = false;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double xi = v.get(i).getX(), yi = v.get(i).getY(), xj = v.get(j).getX(), yj = v.get(j).getY();
+            if ((yi > cy) != (yj > cy) && cx < (xj - xi) * (cy - yi) / (yj - yi) + xi) inside = !inside;
+        }
+        return inside;
+    }
+
+    /**
+     * Teste círculo-círculo exato, sem teste prévio: compara a distância (com raiz quadrada) com a soma dos raios.
+     * @param a O primeiro círculo.
+     * @param b O segundo círculo.
+     * @return Verdadeiro se colidirem.
+     */
+    private static boolean exactCircleCircle(CircleCollider a, CircleCollider b) {
+        double dx = a.centroid().getX() - b.centroid().getX();
+        double dy = a.centroid().getY() - b.centroid().getY();
+        return Math.sqrt(dx * dx + dy * dy) < a.getRadius() + b.getRadius() - 1e-9;
+    }
+}
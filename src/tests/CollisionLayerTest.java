@@ -0,0 +1,82 @@
+package tests;
+
+import engine.GameEngine;
+import gameobject.CollisionLayer;
+import gameobject.GameObject;
+import gameobject.IGameObject;
+import gameobject.behaviour.ObstacleBehaviour;
+import gameobject.collider.CircleCollider;
+import gameobject.entity.Bullet;
+import gameobject.entity.Enemy;
+import gameobject.entity.ObstacleBlock;
+import gameobject.entity.PlayerShip;
+import gameobject.transform.Transform;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a filtragem de pares por categoria/máscara de colisão (CollisionLayer).
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class CollisionLayerTest {
+
+    /**
+     * Cria um objeto genérico com um colisor circular e o filtro de colisão por omissão.
+     * @param x Coordenada x do centro.
+     * @param y Coordenada y do centro.
+     * @return Um novo IGameObject.
+     */
+    private static IGameObject generic(double x, double y) {
+        Transform t = new Transform(x, y, 0, 0, 1);
+        return new GameObject("c", t, new CircleCollider(x, y, 5, t), null, new ObstacleBehaviour());
+    }
+
+    /**
+     * Testa a matriz de interação das entidades do jogo.
+     * @post Só os pares projétil–inimigo e projétil–obstáculo são aceites; objetos genéricos interagem entre si.
+     */
+    @Test
+    void testEntityMatrix() {
+        IGameObject player = new PlayerShip("player", 100, 500);
+        IGameObject bullet = new Bullet("player_bullet_0", 100, 400);
+        IGameObject enemy = new Enemy("enemy1", 100, 100, null);
+        IGameObject enemy2 = new Enemy("enemy2", 120, 100, null);
+        IGameObject obstacle = new ObstacleBlock("obstacle_1", 50, 200, 40, 20);
+        IGameObject obstacle2 = new ObstacleBlock("obstacle_2", 60, 200, 40, 20);
+
+        assertTrue(CollisionLayer.canCollide(bullet, enemy));
+        assertTrue(CollisionLayer.canCollide(obstacle, bullet));
+        assertFalse(CollisionLayer.canCollide(enemy, enemy2));
+        assertFalse(CollisionLayer.canCollide(obstacle, obstacle2));
+        assertFalse(CollisionLayer.canCollide(enemy, obstacle));
+        assertFalse(CollisionLayer.canCollide(player, bullet));
+        assertFalse(CollisionLayer.canCollide(player, enemy));
+        assertFalse(CollisionLayer.canCollide(bullet, bullet));
+
+        assertTrue(CollisionLayer.canCollide(generic(0, 0), generic(1, 1)));
+        assertFalse(CollisionLayer.canCollide(generic(0, 0), obstacle), "A máscara do obstáculo não aceita GENERIC.");
+    }
+
+    /**
+     * Testa que o motor descarta os pares filtrados antes do teste exato e os contabiliza.
+     * @post O par obstáculo–obstáculo é contado como filtrado; os dois pares projétil–obstáculo são testados e um colide.
+     */
+    @Test
+    void testEngineCountsFilteredPairs() {
+        GameEngine engine = new GameEngine();
+        engine.addEnabled(new ObstacleBlock("obstacle_a", 100, 100, 50, 50));
+        engine.addEnabled(new ObstacleBlock("obstacle_b", 120, 120, 50, 50));
+        IGameObject bullet = new Bullet("player_bullet_0", 110, 110);
+        engine.addEnabled(bullet);
+        engine.run(0, null); // Processa as adições pendentes
+
+        engine.run(0, null);
+        assertEquals(3, engine.getStats().getCandidatePairs());
+        assertEquals(1, engine.getStats().getFilteredPairs(), "O par obstáculo–obstáculo deve ser filtrado.");
+        // Os contactos são todos recolhidos antes do despacho: o projétil é testado contra os dois obstáculos
+        assertEquals(2, engine.getStats().getNarrowPhaseTests());
+        assertEquals(1, engine.getStats().getCollisions());
+        assertFalse(engine.getEnabled().contains(bullet), "O projétil é destruído ao atingir o obstáculo.");
+    }
+}
@@ -0,0 +1,173 @@
+package tests;
+
+import engine.GameEngine;
+import engine.GameEventType;
+import gameobject.GameObject;
+import gameobject.IGameObject;
+import gameobject.behaviour.ObstacleBehaviour;
+import gameobject.collider.CircleCollider;
+import gameobject.entity.Bullet;
+import gameobject.entity.Enemy;
+import gameobject.transform.Transform;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes unitários para a cache de contactos entre passos do GameEngine: as chamadas a onCollisionEnter,
+ * onCollisionStay e onCollisionExit, o número de contactos em cache e o reaproveitamento de contactos parados.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class ContactCacheTest {
+
+    /**
+     * Cria um objeto circular cujo comportamento regista cada início, continuação e fim de contacto.
+     * @param name O nome do objeto.
+     * @param x A coordenada x do centro.
+     * @param log A lista onde as chamadas são registadas (ex: "a+b", "a=b", "a-b").
+     * @return O novo objeto de jogo.
+     */
+    private static IGameObject recordingCircle(String name, double x, List<String> log) {
+        Transform t = new Transform(x, 100, 0, 0, 1);
+        return new GameObject(name, t, new CircleCollider(0, 0, 10, t), null, new ObstacleBehaviour() {
+            @Override
+            public void onCollisionEnter(IGameObject other) {
+                log.add(name + "+" + other.name());
+            }
+
+            @Override
+            public void onCollisionStay(IGameObject other) {
+                log.add(name + "=" + other.name());
+            }
+
+            @Override
+            public void onCollisionExit(IGameObject other) {
+                log.add(name + "-" + other.name());
+            }
+        });
+    }
+
+    /**
+     * Testa a sequência de callbacks de um contacto que começa, continua e termina.
+     * @post Cada objeto recebe um único enter, um stay por cada passo seguinte e um exit quando se afastam.
+     */
+    @Test
+    void testEnterStayExit() {
+        GameEngine engine = new GameEngine();
+        List<String> log = new ArrayList<>();
+        IGameObject a = recordingCircle("a", 100, log);
+        IGameObject b = recordingCircle("b", 115, log);
+        engine.addEnabled(a);
+        engine.addEnabled(b);
+        engine.run(0, null); // Aplica as adições
+
+        engine.run(0, null);
+        assertEquals(List.of("a+b", "b+a"), log);
+        assertEquals(1, engine.getStats().getCachedContacts());
+
+        log.clear();
+        engine.run(0, null);
+        assertEquals(List.of("a=b", "b=a"), log);
+
+        log.clear();
+        b.transform().moveBy(100, 0);
+        engine.run(0, null);
+        assertEquals(List.of("a-b", "b-a"), log);
+        assertEquals(0, engine.getStats().getCachedContacts());
+
+        log.clear();
+        engine.run(0, null);
+        assertTrue(log.isEmpty(), "Um contacto terminado não volta a ser comunicado.");
+    }
+
+    /**
+     * Testa o fim de um contacto por destruição de um dos objetos.
+     * @post O contacto termina no passo em que 'b' é marcado para destruição (ambos recebem onCollisionExit)
+     * e não é comunicado de novo depois de 'b' sair do motor.
+     */
+    @Test
+    void testExitWhenOtherIsDestroyed() {
+        GameEngine engine = new GameEngine();
+        List<String> log = new ArrayList<>();
+        IGameObject a = recordingCircle("a", 100, log);
+        IGameObject b = recordingCircle("b", 115, log);
+        engine.addEnabled(a);
+        engine.addEnabled(b);
+        engine.run(0, null);
+        engine.run(0, null);
+
+        log.clear();
+        engine.destroy(b);
+        engine.run(0, null); // 'b' sai do motor no fim do passo
+        assertEquals(List.of("a-b", "b-a"), log);
+        assertEquals(0, engine.getStats().getCachedContacts());
+
+        log.clear();
+        engine.run(0, null);
+        assertTrue(log.isEmpty());
+    }
+
+    /**
+     * Testa que um contacto entre objetos que não se moveram é reaproveitado sem teste exato.
+     * @post O primeiro passo faz o teste exato; os seguintes reaproveitam o contacto, até um dos objetos se mover.
+     */
+    @Test
+    void testUnchangedContactSkipsNarrowPhase() {
+        GameEngine engine = new GameEngine();
+        List<String> log = new ArrayList<>();
+        IGameObject a = recordingCircle("a", 100, log);
+        IGameObject b = recordingCircle("b", 115, log);
+        engine.addEnabled(a);
+        engine.addEnabled(b);
+        engine.run(0, null);
+
+        engine.run(0, null);
+        assertEquals(1, engine.getStats().getNarrowPhaseTests());
+        assertEquals(0, engine.getStats().getReusedContacts());
+
+        engine.run(0, null);
+        assertEquals(0, engine.getStats().getNarrowPhaseTests());
+        assertEquals(1, engine.getStats().getReusedContacts());
+        assertEquals(1, engine.getStats().getCollisions());
+
+        a.transform().moveBy(1, 0);
+        engine.run(0, null);
+        assertEquals(1, engine.getStats().getNarrowPhaseTests(), "Depois de um movimento, o par volta a ser testado.");
+        assertEquals(0, engine.getStats().getReusedContacts());
+    }
+
+    /**
+     * Testa que um projétil que toca em dois inimigos no mesmo passo só congela um deles, seja registado antes ou
+     * depois dos inimigos: destrói-se no primeiro contacto e os pares seguintes em que entra já não são comunicados.
+     * @post Há exatamente um ENEMY_FROZEN e um único inimigo congelado; o projétil foi destruído.
+     */
+    @Test
+    void testBulletBetweenTwoEnemiesFreezesOne() {
+        for (boolean bulletFirst : new boolean[]{true, false}) {
+            GameEngine engine = new GameEngine();
+            engine.setBounds(new Rectangle(0, 0, 800, 600));
+            Enemy left = new Enemy("enemy_0", 100, 100, null);
+            Enemy right = new Enemy("enemy_1", 125, 100, null);
+            Bullet bullet = new Bullet("player_bullet_0", 112.5, 100);
+            if (bulletFirst) engine.addEnabled(bullet);
+            engine.addEnabled(left);
+            engine.addEnabled(right);
+            if (!bulletFirst) engine.addEnabled(bullet);
+            engine.run(0, null);
+
+            int[] frozenEvents = {0};
+            engine.getEvents().subscribe(GameEventType.ENEMY_FROZEN, e -> frozenEvents[0]++);
+            engine.run(0, null);
+            engine.run(0, null);
+
+            int frozen = (left.behaviour().isCurrentlyFrozen() ? 1 : 0) + (right.behaviour().isCurrentlyFrozen() ? 1 : 0);
+            assertEquals(1, frozen, "Um único inimigo congelado (projétil primeiro: " + bulletFirst + ").");
+            assertEquals(1, frozenEvents[0], "Um único ENEMY_FROZEN (projétil primeiro: " + bulletFirst + ").");
+            assertFalse(engine.getEnabled().contains(bullet));
+        }
+    }
+}
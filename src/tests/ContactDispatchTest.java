@@ -0,0 +1,122 @@
+package tests;
+
+import engine.GameEngine;
+import engine.collision.ContactBuffer;
+import gameobject.GameObject;
+import gameobject.IGameObject;
+import gameobject.behaviour.ObstacleBehaviour;
+import gameobject.collider.CircleCollider;
+import gameobject.transform.Transform;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes unitários para o agrupamento dos contactos por objeto (ContactBuffer) e para o despacho de onCollision
+ * uma única vez por objeto e por passo.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class ContactDispatchTest {
+
+    /**
+     * Testa o agrupamento dos pares por objeto.
+     * @post Os objetos aparecem pela ordem do primeiro contacto e os contactos pela ordem dos pares.
+     */
+    @Test
+    void testGroupsPairsByObject() {
+        ContactBuffer buffer = new ContactBuffer();
+        buffer.add(2, 5);
+        buffer.add(0, 2);
+        buffer.add(2, 3);
+        buffer.group(6);
+
+        assertEquals(3, buffer.size());
+        assertEquals(4, buffer.objectCount());
+        assertEquals(List.of(2, 5, 0, 3), List.of(buffer.object(0), buffer.object(1), buffer.object(2), buffer.object(3)));
+        assertEquals(3, buffer.contactCount(2));
+        assertEquals(5, buffer.contact(2, 0));
+        assertEquals(0, buffer.contact(2, 1));
+        assertEquals(3, buffer.contact(2, 2));
+        assertEquals(1, buffer.contactCount(5));
+        assertEquals(0, buffer.contactCount(1));
+
+        buffer.clear();
+        buffer.group(6);
+        assertEquals(0, buffer.objectCount());
+    }
+
+    /**
+     * Cria um objeto circular cujo comportamento regista cada chamada a onCollision (nomes dos contactos).
+     * @param name O nome do objeto.
+     * @param x A coordenada x do centro.
+     * @param log A lista onde as chamadas são registadas (ex: "a:[b, c]").
+     * @return O novo objeto de jogo.
+     */
+    private static IGameObject recordingCircle(String name, double x, List<String> log) {
+        Transform t = new Transform(x, 100, 0, 0, 1);
+        return new GameObject(name, t, new CircleCollider(0, 0, 10, t), null, new ObstacleBehaviour() {
+            @Override
+            public void onCollision(List<IGameObject> others) {
+                List<String> names = new ArrayList<>();
+                for (IGameObject other : others) {
+                    names.add(other.name());
+                }
+                log.add(name + ":" + names);
+            }
+        });
+    }
+
+    /**
+     * Testa que um objeto em contacto com vários outros recebe uma única chamada com todos os contactos.
+     * @post 'b' (no meio) recebe [a, c]; 'a' e 'c' recebem só [b].
+     */
+    @Test
+    void testOneCallPerObjectWithAllContacts() {
+        GameEngine engine = new GameEngine();
+        List<String> log = new ArrayList<>();
+        engine.addEnabled(recordingCircle("a", 100, log));
+        engine.addEnabled(recordingCircle("b", 115, log));
+        engine.addEnabled(recordingCircle("c", 130, log));
+        engine.run(0, null);
+
+        log.clear();
+        engine.run(0, null);
+        assertEquals(2, engine.getStats().getCollisions());
+        assertEquals(3, log.size());
+        assertTrue(log.contains("a:[b]"));
+        assertTrue(log.contains("b:[a, c]"));
+        assertTrue(log.contains("c:[b]"));
+    }
+
+    /**
+     * Testa que um objeto que se destrói na sua callback (como um projétil) e que é despachado primeiro
+     * continua nos contactos do outro objeto: as listas são construídas antes da primeira callback.
+     * @post O alvo recebe [bullet] e o projétil é destruído no fim do passo.
+     */
+    @Test
+    void testSelfDestroyingObjectStillReachesLaterContacts() {
+        GameEngine engine = new GameEngine();
+        List<String> log = new ArrayList<>();
+        IGameObject[] self = new IGameObject[1];
+        Transform t = new Transform(100, 100, 0, 0, 1);
+        IGameObject bullet = new GameObject("bullet", t, new CircleCollider(0, 0, 10, t), null, new ObstacleBehaviour() {
+            @Override
+            public void onCollision(List<IGameObject> others) {
+                log.add("bullet:" + others.size());
+                engine.destroy(self[0]);
+            }
+        });
+        self[0] = bullet;
+        engine.addEnabled(bullet); // Registado antes do alvo: é o primeiro a ser despachado
+        engine.addEnabled(recordingCircle("target", 115, log));
+        engine.run(0, null);
+
+        log.clear();
+        engine.run(0, null);
+        assertEquals(List.of("bullet:1", "target:[bullet]"), log, "O projétil é despachado primeiro e o alvo continua a recebê-lo.");
+        assertFalse(engine.getEnabled().contains(bullet));
+    }
+}
@@ -0,0 +1,165 @@
+package tests;
+
+import engine.GameEngine;
+import gameobject.EntityKind;
+import gameobject.GameObject;
+import gameobject.IGameObject;
+import gameobject.behaviour.ObstacleBehaviour;
+import gameobject.transform.Transform;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes unitários para a gestão das listas de objetos do GameEngine: vistas sem cópia, aplicação das operações
+ * estruturais pela ordem em que foram pedidas e adição/remoção em massa.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class EngineBookkeepingTest {
+
+    /**
+     * Cria um objeto sem colisor cujo comportamento regista as callbacks do ciclo de vida.
+     * @param name O nome do objeto.
+     * @param log A lista onde as callbacks são registadas (ex: "a:init").
+     * @return O novo objeto de jogo.
+     */
+    private static IGameObject loggingObject(String name, List<String> log) {
+        return new GameObject(name, new Transform(10, 10, 0, 0, 1), null, null, new ObstacleBehaviour() {
+            @Override public void onInit() { log.add(name + ":init"); }
+            @Override public void onEnabled() { log.add(name + ":enabled"); }
+            @Override public void onDisabled() { log.add(name + ":disabled"); }
+            @Override public void onDestroy() { log.add(name + ":destroy"); }
+        });
+    }
+
+    /**
+     * Testa que getEnabled() devolve sempre a mesma vista só de leitura, que acompanha o motor.
+     * @post A vista reflete as adições e remoções e não pode ser alterada.
+     */
+    @Test
+    void testGetEnabledIsLiveReadOnlyView() {
+        GameEngine engine = new GameEngine();
+        List<IGameObject> view = engine.getEnabled();
+        IGameObject a = new GameObject("a", new Transform(0, 0, 0, 0, 1), null, null, null);
+        engine.addEnabled(a);
+        assertTrue(view.isEmpty(), "A adição só é aplicada no fim do passo.");
+
+        engine.run(0, null);
+        assertSame(view, engine.getEnabled());
+        assertEquals(List.of(a), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add(a));
+
+        engine.disable(a);
+        engine.run(0, null);
+        assertFalse(view.contains(a));
+        assertTrue(engine.getDisabled().contains(a));
+    }
+
+    /**
+     * Testa que as operações estruturais são aplicadas pela ordem em que foram pedidas e sem repetições.
+     * @post As callbacks são chamadas uma vez por operação efetiva, pela ordem dos pedidos.
+     */
+    @Test
+    void testCommandsAreAppliedInOrder() {
+        GameEngine engine = new GameEngine();
+        List<String> log = new ArrayList<>();
+        IGameObject a = loggingObject("a", log);
+        IGameObject b = loggingObject("b", log);
+
+        engine.addEnabled(a);
+        engine.addEnabled(a);
+        engine.addEnabled(b);
+        engine.destroy(b);
+        engine.destroy(b);
+        engine.run(0, null);
+        assertEquals(List.of("a:init", "a:enabled", "b:init", "b:enabled", "b:destroy"), log);
+        assertEquals(List.of(a), engine.getEnabled());
+
+        log.clear();
+        engine.disable(a);
+        engine.disable(a);
+        engine.enable(a); // Ainda não está inativo: ignorado
+        engine.run(0, null);
+        engine.enable(a);
+        engine.run(0, null);
+        assertEquals(List.of("a:disabled", "a:enabled"), log);
+        assertTrue(engine.getEnabled().contains(a));
+        assertTrue(engine.getDisabled().isEmpty());
+    }
+
+    /**
+     * Testa a adição e remoção em massa: remover metade dos objetos (por ordem alternada) mantém
+     * as restantes pertenças corretas, apesar da troca com o último elemento.
+     * @post Os objetos restantes são exatamente os que não foram destruídos.
+     */
+    @Test
+    void testBulkSpawnAndDestroy() {
+        GameEngine engine = new GameEngine();
+        int n = 50_000;
+        List<IGameObject> objects = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            IGameObject go = new GameObject("o" + i, new Transform(i % 300, i % 600, 0, 0, 1), null, null, null);
+            objects.add(go);
+            engine.addEnabled(go);
+        }
+        engine.run(0, null);
+        assertEquals(n, engine.getEnabled().size());
+
+        for (int i = 0; i < n; i += 2) {
+            engine.destroy(objects.get(i));
+        }
+        engine.run(0, null);
+
+        List<IGameObject> enabled = engine.getEnabled();
+        assertEquals(n / 2, enabled.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(i % 2 == 1, enabled.contains(objects.get(i)), "Pertença incorreta do objeto " + i);
+        }
+        for (int i = 0; i < enabled.size(); i++) {
+            assertEquals(i, enabled.indexOf(enabled.get(i)));
+        }
+
+        engine.destroyAll();
+        engine.run(0, null);
+        assertTrue(enabled.isEmpty());
+        assertEquals(0, engine.getTransformStore().size(), "Todos os slots das transformações foram devolvidos.");
+    }
+
+    /**
+     * Testa que as contagens por tipo acompanham a ativação, o adormecimento, a desativação e a destruição.
+     * @post countEnabled e countSleeping coincidem com os objetos ativos (e adormecidos) de cada tipo.
+     */
+    @Test
+    void testKindCountersFollowLifecycle() {
+        GameEngine engine = new GameEngine();
+        IGameObject a = new GameObject("a", new Transform(0, 0, 0, 0, 1), null, null, null);
+        IGameObject b = new GameObject("b", new Transform(0, 0, 0, 0, 1), null, null, null);
+        a.setKind(EntityKind.ENEMY);
+        b.setKind(EntityKind.ENEMY);
+        engine.addEnabled(a);
+        engine.addEnabled(b);
+        engine.run(0, null);
+        assertEquals(2, engine.countEnabled(EntityKind.ENEMY));
+        assertEquals(0, engine.countEnabled(EntityKind.PLAYER_BULLET));
+        assertEquals(List.of(a, b), engine.getEnabled(EntityKind.ENEMY));
+
+        engine.sleep(a);
+        engine.sleep(a);
+        assertEquals(1, engine.countSleeping(EntityKind.ENEMY));
+
+        engine.disable(a);
+        engine.run(0, null);
+        assertEquals(1, engine.countEnabled(EntityKind.ENEMY));
+        assertEquals(0, engine.countSleeping(EntityKind.ENEMY), "Desativar um objeto acorda-o.");
+
+        engine.enable(a);
+        engine.sleep(b);
+        engine.destroy(b);
+        engine.run(0, null);
+        assertEquals(List.of(a), engine.getEnabled(EntityKind.ENEMY));
+        assertEquals(0, engine.countSleeping(EntityKind.ENEMY));
+    }
+}
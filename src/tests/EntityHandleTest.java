@@ -0,0 +1,104 @@
+package tests;
+
+import engine.GameEngine;
+import gameobject.EntityHandle;
+import gameobject.EntityKind;
+import gameobject.GameObject;
+import gameobject.IGameObject;
+import gameobject.entity.Bullet;
+import gameobject.entity.BulletPool;
+import gameobject.entity.Enemy;
+import gameobject.transform.Transform;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para os handles geracionais das entidades e para os tipos de entidade (EntityKind).
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class EntityHandleTest {
+
+    /**
+     * Testa a codificação do índice e da geração num handle.
+     * @post index() e generation() devolvem os valores usados em of(), e nenhum handle válido é NONE.
+     */
+    @Test
+    void testEncodeAndDecode() {
+        long handle = EntityHandle.of(123, 7);
+        assertEquals(123, EntityHandle.index(handle));
+        assertEquals(7, EntityHandle.generation(handle));
+        assertNotEquals(EntityHandle.NONE, EntityHandle.of(0, 1));
+        assertEquals("123:7", EntityHandle.toString(handle));
+    }
+
+    /**
+     * Testa que o motor atribui handles ao ativar objetos e os invalida ao destruí-los.
+     * @post Um handle antigo deixa de resolver, mesmo depois de o slot ser reutilizado por outro objeto.
+     */
+    @Test
+    void testStaleHandleIsDetected() {
+        GameEngine engine = new GameEngine();
+        IGameObject a = new GameObject("a", new Transform(0, 0, 0, 0, 1), null, null, null);
+        assertEquals(EntityHandle.NONE, a.handle(), "Fora do motor, o objeto não tem handle.");
+
+        engine.addEnabled(a);
+        engine.run(0, null);
+        long handleA = a.handle();
+        assertSame(a, engine.resolve(handleA));
+
+        engine.destroy(a);
+        engine.run(0, null);
+        assertEquals(EntityHandle.NONE, a.handle());
+        assertNull(engine.resolve(handleA));
+
+        IGameObject b = new GameObject("b", new Transform(0, 0, 0, 0, 1), null, null, null);
+        engine.addEnabled(b);
+        engine.run(0, null);
+        assertEquals(EntityHandle.index(handleA), EntityHandle.index(b.handle()), "O slot libertado é reutilizado.");
+        assertNotEquals(handleA, b.handle());
+        assertNull(engine.resolve(handleA));
+        assertSame(b, engine.resolve(b.handle()));
+    }
+
+    /**
+     * Testa que um projétil reutilizado do pool recebe um handle novo.
+     * @post O handle do disparo anterior deixa de ser válido, apesar de o objeto ser o mesmo.
+     */
+    @Test
+    void testPooledBulletGetsNewHandle() {
+        GameEngine engine = new GameEngine();
+        BulletPool pool = new BulletPool();
+
+        Bullet first = pool.acquire(100, 500);
+        engine.addEnabled(first);
+        engine.run(0, null);
+        long firstShot = first.handle();
+        engine.destroy(first);
+        engine.run(0, null);
+
+        Bullet second = pool.acquire(100, 500);
+        engine.addEnabled(second);
+        engine.run(0, null);
+        assertSame(first, second);
+        assertFalse(engine.isAlive(firstShot));
+        assertTrue(engine.isAlive(second.handle()));
+    }
+
+    /**
+     * Testa os tipos atribuídos pelas entidades e as máscaras de tipos.
+     * @post Cada entidade tem o seu tipo e in() reconhece apenas os tipos da máscara.
+     */
+    @Test
+    void testKinds() {
+        IGameObject enemy = new Enemy("x", 0, 0, null);
+        assertEquals(EntityKind.ENEMY, enemy.kind());
+        assertEquals(EntityKind.GENERIC, new GameObject("g", new Transform(0, 0, 0, 0, 1), null, null, null).kind());
+
+        int mask = EntityKind.mask(EntityKind.ENEMY, EntityKind.OBSTACLE);
+        assertTrue(EntityKind.ENEMY.in(mask));
+        assertTrue(EntityKind.OBSTACLE.in(mask));
+        assertFalse(EntityKind.PLAYER_BULLET.in(mask));
+        assertThrows(IllegalArgumentException.class, () -> enemy.setKind(null));
+    }
+}
@@ -0,0 +1,65 @@
+package tests;
+
+import engine.GameEventBus;
+import engine.GameEventType;
+
+/**
+ * Microbenchmark do GameEventBus: débito de publicação e entrega de eventos, comparado com a sondagem que
+ * substitui (percorrer todos os inimigos em cada passo à procura de uma flag "acabou de congelar").
+ * Cada frame publica alguns eventos e entrega-os a um subscritor de pontuação; a sondagem percorre todas as entidades.
+ * Executar com: java -cp &lt;classes&gt; tests.GameEventBusBenchmark [entidades] [eventos por frame] [frames]
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class GameEventBusBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static long score;
+
+    /**
+     * Ponto de entrada do benchmark.
+     * @param args Opcionalmente, o número de entidades, o número de eventos por frame e o número de frames por ronda.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int eventsPerFrame = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int frames = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+
+        GameEventBus bus = new GameEventBus();
+        bus.subscribe(GameEventType.ENEMY_FROZEN, e -> score += 10);
+        bus.subscribe(GameEventType.BULLET_FIRED, e -> score += e.value());
+        boolean[] justFrozen = new boolean[n];
+
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            for (int f = 0; f < frames; f++) {
+                for (int k = 0; k < eventsPerFrame; k++) {
+                    bus.publish((k & 1) == 0 ? GameEventType.ENEMY_FROZEN : GameEventType.BULLET_FIRED, k, k);
+                }
+                bus.dispatch();
+            }
+            long t1 = System.nanoTime();
+            for (int f = 0; f < frames; f++) {
+                for (int k = 0; k < eventsPerFrame; k++) {
+                    justFrozen[(f * 31 + k * 997) % n] = true;
+                }
+                for (int i = 0; i < n; i++) {
+                    if (justFrozen[i]) {
+                        justFrozen[i] = false;
+                        score += 10;
+                    }
+                }
+            }
+            long t2 = System.nanoTime();
+            if (round >= WARMUP_ROUNDS) {
+                long events = (long) frames * eventsPerFrame;
+                System.out.printf("ronda %d: barramento %.1f ns/evento (%.2f µs/frame), sondagem de %d entidades %.2f µs/frame%n",
+                        round - WARMUP_ROUNDS + 1, (double) (t1 - t0) / events, (t1 - t0) * 1e-3 / frames,
+                        n, (t2 - t1) * 1e-3 / frames);
+            }
+        }
+        System.out.println("(pontuação acumulada: " + score + ")");
+    }
+}
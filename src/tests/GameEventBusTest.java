@@ -0,0 +1,103 @@
+package tests;
+
+import engine.GameEngine;
+import engine.GameEventBus;
+import engine.GameEventType;
+import gameobject.EntityHandle;
+import gameobject.IGameObject;
+import gameobject.entity.Bullet;
+import gameobject.entity.Enemy;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes unitários para o GameEventBus e para os eventos publicados pelo GameEngine e pelos comportamentos.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class GameEventBusTest {
+
+    /**
+     * Testa que os eventos são entregues só aos subscritores do seu tipo, pela ordem de publicação.
+     * @post Cada subscritor recebe os seus eventos pela ordem em que foram publicados.
+     */
+    @Test
+    void testDispatchInPublishOrder() {
+        GameEventBus bus = new GameEventBus();
+        List<String> log = new ArrayList<>();
+        bus.subscribe(GameEventType.ENEMY_FROZEN, e -> log.add("frozen:" + e.value()));
+        bus.subscribe(GameEventType.BULLET_FIRED, e -> log.add("fired:" + e.value()));
+
+        bus.publish(GameEventType.BULLET_FIRED, EntityHandle.NONE, 9);
+        bus.publish(GameEventType.ENEMY_FROZEN, EntityHandle.NONE, 1);
+        bus.publish(GameEventType.LEVEL_CLEARED, EntityHandle.NONE, 0); // Sem subscritores
+        bus.publish(GameEventType.BULLET_FIRED, EntityHandle.NONE, 8);
+        assertTrue(log.isEmpty(), "Os eventos só são entregues por dispatch().");
+        assertEquals(4, bus.getPending());
+
+        bus.dispatch();
+        assertEquals(List.of("fired:9", "frozen:1", "fired:8"), log);
+        assertEquals(0, bus.getPending());
+        assertEquals(4, bus.getDispatched());
+    }
+
+    /**
+     * Testa que o anel cresce quando enche e que os eventos publicados durante a entrega são entregues na mesma chamada.
+     * @post Todos os eventos são entregues, pela ordem de publicação.
+     */
+    @Test
+    void testGrowthAndReentrantPublish() {
+        GameEventBus bus = new GameEventBus();
+        List<Integer> values = new ArrayList<>();
+        bus.subscribe(GameEventType.BULLET_EXPIRED, e -> {
+            values.add(e.value());
+            if (e.value() == 0) {
+                bus.publish(GameEventType.BULLET_EXPIRED, EntityHandle.NONE, 1000);
+            }
+        });
+
+        for (int i = 0; i < 500; i++) {
+            bus.publish(GameEventType.BULLET_EXPIRED, EntityHandle.NONE, i);
+        }
+        bus.dispatch();
+        assertEquals(501, values.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, values.get(i));
+        }
+        assertEquals(1000, values.get(500));
+    }
+
+    /**
+     * Testa que um projétil que atinge um inimigo produz os eventos ENEMY_FROZEN e BULLET_EXPIRED no fim do passo,
+     * com a origem nas entidades envolvidas.
+     * @post O handle de origem de ENEMY_FROZEN resolve para o inimigo.
+     */
+    @Test
+    void testEngineDispatchesGameplayEvents() {
+        GameEngine engine = new GameEngine();
+        engine.setBounds(new Rectangle(0, 0, 800, 600));
+        IGameObject enemy = new Enemy("enemy_0", 100, 100, null);
+        engine.addEnabled(enemy);
+        engine.addEnabled(new Bullet("player_bullet_0", 100, 100));
+        engine.run(0, null);
+
+        List<String> log = new ArrayList<>();
+        long[] frozenSource = {EntityHandle.NONE};
+        engine.getEvents().subscribe(GameEventType.ENEMY_FROZEN, e -> {
+            log.add("frozen");
+            frozenSource[0] = e.source();
+        });
+        engine.getEvents().subscribe(GameEventType.BULLET_EXPIRED, e -> log.add("expired"));
+
+        engine.run(1.0 / 60.0, null);
+        assertEquals(List.of("frozen", "expired"), log);
+        assertSame(enemy, engine.resolve(frozenSource[0]));
+
+        engine.run(1.0 / 60.0, null);
+        assertEquals(2, log.size(), "Um inimigo congelado só é pontuado uma vez.");
+    }
+}
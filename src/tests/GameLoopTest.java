@@ -0,0 +1,154 @@
+package tests;
+
+import engine.GameLoop;
+import engine.RenderInterpolator;
+import engine.RenderSnapshot;
+import engine.RenderStats;
+import gameobject.GameObject;
+import gameobject.IGameObject;
+import gameobject.behaviour.ObstacleBehaviour;
+import gameobject.collider.CircleCollider;
+import gameobject.geometry.Point;
+import gameobject.transform.Transform;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Testes unitários para o GameLoop (passo fixo com acumulador), o RenderInterpolator, o RenderSnapshot e o RenderStats.
+ * O tempo é controlado por um relógio simulado, em nanossegundos.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class GameLoopTest {
+
+    private static final double DELTA = 1e-9;
+    private static final long MS = 1_000_000L;
+
+    private long now = 0;
+    private int steps = 0;
+    private double lastDt = 0;
+
+    /**
+     * Cria um ciclo com passo de 10 ms, no máximo 3 passos por tick, e o relógio simulado deste teste.
+     * @return O novo GameLoop.
+     */
+    private GameLoop newLoop() {
+        return new GameLoop(0.010, 3, dt -> { steps++; lastDt = dt; }, () -> now);
+    }
+
+    /**
+     * Testa que o número de passos depende do tempo real decorrido e não da frequência dos ticks.
+     * @post O resto do acumulador transita entre ticks e dá o alpha de interpolação.
+     */
+    @Test
+    void testAccumulatorStepsAtFixedRate() {
+        GameLoop loop = newLoop();
+        assertEquals(0, loop.tick(), "O primeiro tick só inicia a medição.");
+
+        now += 25 * MS;
+        assertEquals(2, loop.tick());
+        assertEquals(0.010, lastDt, DELTA, "Cada passo tem sempre a duração fixa.");
+        assertEquals(0.5, loop.getAlpha(), 1e-6);
+
+        now += 5 * MS; // 5 ms + 5 ms acumulados = um passo
+        assertEquals(1, loop.tick());
+        assertEquals(0.0, loop.getAlpha(), 1e-6);
+
+        now += 4 * MS;
+        assertEquals(0, loop.tick(), "Menos de um passo acumulado: nenhum passo executado.");
+        assertEquals(3, steps);
+        assertEquals(3, loop.getTotalSteps());
+    }
+
+    /**
+     * Testa o limite de passos de recuperação depois de um atraso grande.
+     * @post São executados no máximo 3 passos; os restantes são descartados e contabilizados.
+     */
+    @Test
+    void testCatchUpStepsAreCapped() {
+        GameLoop loop = newLoop();
+        loop.tick();
+
+        now += 105 * MS; // 10 passos em atraso
+        assertEquals(3, loop.tick());
+        assertEquals(7, loop.getDroppedSteps());
+        assertEquals(0.5, loop.getAlpha(), 1e-6, "A fração de passo por simular é mantida.");
+
+        loop.reset();
+        now += 500 * MS;
+        assertEquals(0, loop.tick(), "Depois de reset() o tempo em pausa não é simulado.");
+    }
+
+    /**
+     * Testa a interpolação da posição de renderização entre os dois últimos estados.
+     * @post Com alpha 0.25 o objeto é desenhado a um quarto do caminho; objetos novos usam a posição atual.
+     */
+    @Test
+    void testRenderInterpolation() {
+        Transform t = new Transform(0, 0, 0, 0, 1);
+        IGameObject go = new GameObject("c", t, new CircleCollider(0, 0, 5, t), null, new ObstacleBehaviour());
+        RenderInterpolator interpolator = new RenderInterpolator();
+        Point out = new Point(0, 0);
+
+        interpolator.interpolate(go, 0.25, out);
+        assertEquals(0, out.getX(), DELTA, "Sem estado anterior, usa a posição atual.");
+
+        interpolator.capture(List.of(go));
+        t.move(new Point(40, -8), 0);
+        interpolator.interpolate(go, 0.25, out);
+        assertEquals(10, out.getX(), DELTA);
+        assertEquals(-2, out.getY(), DELTA);
+
+        interpolator.capture(List.of());
+        interpolator.interpolate(go, 0.25, out);
+        assertEquals(40, out.getX(), DELTA, "Objetos ausentes da captura são esquecidos.");
+    }
+
+    /**
+     * Testa o snapshot imutável publicado para a renderização.
+     * @post As posições são interpoladas conforme o tempo decorrido desde a captura, sem ultrapassar o estado atual,
+     * e não mudam quando o objeto se move depois da captura.
+     */
+    @Test
+    void testRenderSnapshot() {
+        Transform t = new Transform(0, 0, 0, 0, 1);
+        IGameObject go = new GameObject("c", t, new CircleCollider(0, 0, 5, t), null, new ObstacleBehaviour());
+        RenderInterpolator interpolator = new RenderInterpolator();
+        GameLoop loop = newLoop();
+        loop.tick();
+
+        interpolator.capture(List.of(go));
+        t.move(new Point(100, 0), 0);
+        RenderSnapshot snapshot = RenderSnapshot.capture(List.of(go), interpolator, loop, 1_000 * MS);
+        t.move(new Point(500, 0), 0); // Alterações posteriores não afetam o snapshot
+
+        assertEquals(1, snapshot.size());
+        assertEquals(0.0, snapshot.alphaAt(1_000 * MS), DELTA);
+        assertEquals(0.5, snapshot.alphaAt(1_005 * MS), 1e-6, "5 ms depois da captura, com passos de 10 ms.");
+        assertEquals(1.0, snapshot.alphaAt(2_000 * MS), DELTA, "Nunca extrapola para além do estado atual.");
+        assertEquals(50, snapshot.getX(0, snapshot.alphaAt(1_005 * MS)), 1e-4);
+        assertEquals(100, snapshot.getX(0, 1.0), DELTA);
+    }
+
+    /**
+     * Testa a contagem de frames apresentados, descartados e atrasados.
+     * @post Estados simulados saltados contam como descartados; intervalos acima de 1.5 passos contam como atrasos;
+     * repetir o mesmo estado não conta como descarte.
+     */
+    @Test
+    void testRenderStats() {
+        RenderStats stats = new RenderStats(0.010);
+        stats.framePresented(1, 0);
+        stats.framePresented(2, 10 * MS);
+        stats.framePresented(2, 20 * MS); // Mesmo estado desenhado outra vez
+        assertEquals(0, stats.getDropped());
+        assertEquals(0, stats.getDelayed());
+
+        stats.framePresented(5, 50 * MS); // Estados 3 e 4 nunca apresentados, 30 ms depois do anterior
+        assertEquals(4, stats.getPresented());
+        assertEquals(2, stats.getDropped());
+        assertEquals(1, stats.getDelayed());
+    }
+}
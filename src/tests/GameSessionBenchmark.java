@@ -0,0 +1,79 @@
+package tests;
+
+import gamelevel.GameSession;
+
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Benchmark de jogos simulados sem ecrã: cada thread joga GameSessions completas, com um input programado
+ * que dispara a intervalos diferentes em cada jogo, à velocidade máxima. Mede o número de jogos por minuto.
+ * Executar com: java -Djava.awt.headless=true -cp &lt;classes&gt; tests.GameSessionBenchmark [threads] [segundos]
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class GameSessionBenchmark {
+
+    private static final long MAX_STEPS_PER_GAME = 200_000;
+
+    /**
+     * Ponto de entrada do benchmark.
+     * @param args Opcionalmente, o número de threads e a duração da medição, em segundos.
+     * @throws Exception se uma das threads falhar.
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        playFor(threads, 2); // Aquecimento
+        long t0 = System.nanoTime();
+        long[] totals = playFor(threads, seconds);
+        double elapsed = (System.nanoTime() - t0) * 1e-9;
+        System.out.printf("%d threads: %d jogos (%d vitórias), %d passos, %.0f jogos/minuto, %.2f µs/passo por thread%n",
+                threads, totals[0], totals[1], totals[2], totals[0] * 60 / elapsed, elapsed * threads * 1e6 / totals[2]);
+    }
+
+    /**
+     * Joga sessões completas em várias threads durante um intervalo de tempo.
+     * @param threads O número de threads. Deve ser positivo.
+     * @param seconds A duração, em segundos.
+     * @return Os totais {jogos, vitórias, passos}.
+     * @throws Exception se uma das threads falhar.
+     */
+    private static long[] playFor(int threads, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int seed = t;
+                results.add(pool.submit(() -> {
+                    long games = 0, wins = 0, steps = 0;
+                    while (System.nanoTime() < deadline) {
+                        GameSession session = new GameSession();
+                        int period = 2 + (int) ((games * 7 + seed * 13) % 60); // Intervalo entre disparos, em passos
+                        steps += session.play(key -> key == KeyEvent.VK_SPACE && session.getSteps() % period == 0,
+                                MAX_STEPS_PER_GAME);
+                        games++;
+                        if (session.isWon()) wins++;
+                    }
+                    return new long[] { games, wins, steps };
+                }));
+            }
+            long[] totals = new long[3];
+            for (Future<long[]> result : results) {
+                long[] r = result.get();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += r[i];
+                }
+            }
+            return totals;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package tests;
+
+import engine.GameEventType;
+import engine.IInputEvent;
+import gamelevel.GameSession;
+import gamelevel.Level1;
+import gameobject.EntityKind;
+import gameobject.behaviour.PlayerBehaviour;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Rectangle;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes unitários para a GameSession: jogos simulados sem interface gráfica, com input programado.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class GameSessionTest {
+    private static final long MAX_STEPS = 200_000;
+
+    /**
+     * Input programado que dispara um projétil a cada 'period' passos (a tecla Espaço fica premida um passo).
+     * @param session A sessão cujo número de passos dita o guião.
+     * @param period O intervalo entre disparos, em passos. Deve ser pelo menos 2.
+     * @return O input programado.
+     */
+    private static IInputEvent fireEvery(GameSession session, int period) {
+        return keyCode -> keyCode == KeyEvent.VK_SPACE && session.getSteps() % period == 0;
+    }
+
+    /**
+     * Testa o estado inicial de uma sessão.
+     * @post O jogador e o primeiro nível estão carregados depois do primeiro passo e nada foi carregado como imagem.
+     */
+    @Test
+    void testInitialState() {
+        GameSession session = new GameSession();
+        assertEquals(GameSession.INITIAL_PLAYER_LIVES, session.getLives());
+        assertEquals(0, session.getScore());
+        assertEquals(0, session.getLevelIndex());
+        assertEquals(3, session.getLevelCount());
+        assertFalse(session.isOver());
+
+        session.step(GameSession.SIMULATION_STEP, null);
+        assertEquals(1, session.getEngine().countEnabled(EntityKind.PLAYER));
+        assertTrue(session.getEngine().countEnabled(EntityKind.ENEMY) > 0);
+        assertFalse(session.getBlueLineYPositions().isEmpty());
+    }
+
+    /**
+     * Testa que um jogador que nunca dispara não perde vidas nem pontos.
+     * @post Sem disparos, o jogo não termina.
+     */
+    @Test
+    void testNoInputKeepsPlaying() {
+        GameSession session = new GameSession();
+        assertEquals(1_000, session.play(null, 1_000));
+        assertFalse(session.isOver());
+        assertEquals(GameSession.INITIAL_PLAYER_LIVES, session.getLives());
+        assertEquals(PlayerBehaviour.MAX_BULLETS, session.getHudBullets());
+    }
+
+    /**
+     * Testa um jogo completo simulado, do início ao fim.
+     * @post O jogo termina em vitória ou derrota, a derrota só acontece sem vidas, e o fim é publicado uma única vez.
+     */
+    @Test
+    void testPlaysUntilTheEnd() {
+        GameSession session = new GameSession();
+        List<GameEventType> endings = new ArrayList<>();
+        session.getEngine().getEvents().subscribe(GameEventType.GAME_WON, e -> endings.add(e.type()));
+        session.getEngine().getEvents().subscribe(GameEventType.GAME_LOST, e -> endings.add(e.type()));
+
+        long steps = session.play(fireEvery(session, 30), MAX_STEPS);
+        assertTrue(steps < MAX_STEPS, "O jogo deve terminar.");
+        assertTrue(session.isOver());
+        assertEquals(1, endings.size());
+        if (session.isWon()) {
+            assertEquals(GameEventType.GAME_WON, endings.get(0));
+            assertEquals(session.getLevelCount(), session.getLevelIndex());
+        } else {
+            assertEquals(GameEventType.GAME_LOST, endings.get(0));
+            assertEquals(0, session.getLives());
+        }
+
+        long afterEnd = session.getSteps();
+        session.step(GameSession.SIMULATION_STEP, null);
+        assertEquals(afterEnd, session.getSteps(), "Depois do fim, a sessão não avança.");
+    }
+
+    /**
+     * Testa que duas sessões com o mesmo guião produzem o mesmo jogo.
+     * @post Os passos, a pontuação, as vidas e o nível final são iguais.
+     */
+    @Test
+    void testScriptedGamesAreDeterministic() {
+        GameSession first = new GameSession();
+        GameSession second = new GameSession();
+        first.play(fireEvery(first, 45), MAX_STEPS);
+        second.play(fireEvery(second, 45), MAX_STEPS);
+
+        assertEquals(first.getSteps(), second.getSteps());
+        assertEquals(first.getScore(), second.getScore());
+        assertEquals(first.getLives(), second.getLives());
+        assertEquals(first.getLevelIndex(), second.getLevelIndex());
+        assertEquals(first.isWon(), second.isWon());
+    }
+
+    /**
+     * Testa que gastar os projéteis sem congelar todos os inimigos custa uma vida e reinicia o nível.
+     * @post Depois de a vida ser perdida, o jogador volta a ter todos os projéteis e o nível é o mesmo.
+     */
+    @Test
+    void testLosingALifeRestartsTheLevel() {
+        GameSession session = new GameSession(new Rectangle(25, 10, 365, 400), List.of(new Level1()));
+        // Dispara encostado à esquerda, onde os projéteis sobem sem inimigos no caminho na maioria dos passos
+        IInputEvent input = keyCode -> keyCode == KeyEvent.VK_LEFT
+                || (keyCode == KeyEvent.VK_SPACE && session.getSteps() > 120 && session.getSteps() % 2 == 0);
+        while (session.getLives() == GameSession.INITIAL_PLAYER_LIVES && !session.isOver() && session.getSteps() < MAX_STEPS) {
+            session.step(GameSession.SIMULATION_STEP, input);
+        }
+        assertFalse(session.isOver());
+        assertEquals(GameSession.INITIAL_PLAYER_LIVES - 1, session.getLives());
+        assertEquals(0, session.getLevelIndex());
+        assertEquals(PlayerBehaviour.MAX_BULLETS, session.getHudBullets());
+    }
+}
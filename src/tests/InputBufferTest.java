@@ -0,0 +1,73 @@
+package tests;
+
+import engine.IInputEvent;
+import engine.InputBuffer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.event.KeyEvent;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Testes unitários para o InputBuffer partilhado entre a thread de eventos e a thread de simulação.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class InputBufferTest {
+
+    /**
+     * Testa que uma tecla mantida premida é vista em todos os passos até ser libertada.
+     * @post A tecla deixa de estar premida no primeiro latch depois de ser libertada.
+     */
+    @Test
+    void testHeldKey() {
+        InputBuffer buffer = new InputBuffer();
+        buffer.keyPressed(KeyEvent.VK_LEFT);
+        assertTrue(buffer.latch().isKeyPressed(KeyEvent.VK_LEFT));
+        assertTrue(buffer.latch().isKeyPressed(KeyEvent.VK_LEFT));
+        assertFalse(buffer.latch().isKeyPressed(KeyEvent.VK_RIGHT));
+
+        buffer.keyReleased(KeyEvent.VK_LEFT);
+        assertFalse(buffer.latch().isKeyPressed(KeyEvent.VK_LEFT));
+    }
+
+    /**
+     * Testa que um toque rápido (premir e libertar entre dois passos) não se perde.
+     * @post A tecla conta como premida em exatamente um passo.
+     */
+    @Test
+    void testTapBetweenStepsIsNotLost() {
+        InputBuffer buffer = new InputBuffer();
+        buffer.keyPressed(KeyEvent.VK_SPACE);
+        buffer.keyReleased(KeyEvent.VK_SPACE);
+
+        IInputEvent step1 = buffer.latch();
+        assertTrue(step1.isKeyPressed(KeyEvent.VK_SPACE), "O toque deve ser visto no passo seguinte.");
+        assertFalse(buffer.latch().isKeyPressed(KeyEvent.VK_SPACE), "... e apenas nesse passo.");
+    }
+
+    /**
+     * Testa que teclas registadas por outra thread são vistas pela thread que faz o latch.
+     * @post Depois de a thread produtora terminar, todas as teclas estão no estado fixado.
+     * @throws InterruptedException se a espera pela thread produtora for interrompida.
+     */
+    @Test
+    void testKeysFromAnotherThread() throws InterruptedException {
+        InputBuffer buffer = new InputBuffer();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            for (int key = KeyEvent.VK_A; key <= KeyEvent.VK_Z; key++) {
+                buffer.keyPressed(key);
+                buffer.keyReleased(key);
+            }
+            done.countDown();
+        });
+        producer.start();
+        done.await();
+
+        IInputEvent state = buffer.latch();
+        for (int key = KeyEvent.VK_A; key <= KeyEvent.VK_Z; key++) {
+            assertTrue(state.isKeyPressed(key), "Tecla perdida: " + key);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package tests;
+
+import engine.GameEngine;
+import engine.GameEventType;
+import engine.IInputEvent;
+import gameobject.IGameObject;
+import gameobject.behaviour.PlayerBehaviour;
+import gameobject.entity.Bullet;
+import gameobject.entity.Enemy;
+import gameobject.entity.PlayerShip;
+import gameobject.path.RectangularPath;
+import gameobject.path.ZigZagPath;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Testes unitários para as fases paralelas do GameEngine (atualização e fase estreita da deteção de colisões).
+ * Verifica que, com as mesmas entradas, os modos paralelos produzem exatamente o mesmo estado que o modo sequencial.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class ParallelUpdateTest {
+
+    private static final double DT = 1.0 / 60.0;
+
+    /**
+     * Cria um motor com um jogador, uma vaga grande de inimigos (caminhos em ziguezague e retangulares)
+     * e projéteis que sobem até sair do ecrã.
+     * @return O novo GameEngine, já com os objetos ativos.
+     */
+    private static GameEngine newWorld() {
+        GameEngine engine = new GameEngine();
+        engine.setBounds(new Rectangle(0, 0, 800, 600));
+        engine.addEnabled(new PlayerShip("player", 200, 560));
+        for (int i = 0; i < 400; i++) {
+            double x = 20 + (i % 40) * 19;
+            double y = 20 + (i / 40) * 30;
+            engine.addEnabled(new Enemy("enemy_" + i, x, y, i % 2 == 0
+                    ? new ZigZagPath()
+                    : new RectangularPath(new Rectangle((int) x - 10, (int) y - 10, 40, 20), 30)));
+        }
+        for (int i = 0; i < 60; i++) {
+            engine.addEnabled(new Bullet("player_bullet_x" + i, 15 + i * 13, 340 + (i % 7) * 30));
+        }
+        engine.run(0, null); // Ativa os objetos adicionados
+        return engine;
+    }
+
+    /**
+     * Executa vários passos, premindo e largando o espaço para o jogador disparar (criação de objetos durante a fase).
+     * @param engine O motor a simular.
+     * @param steps O número de passos.
+     */
+    private static void simulate(GameEngine engine, int steps) {
+        for (int s = 0; s < steps; s++) {
+            step(engine, s);
+        }
+    }
+
+    /**
+     * Executa o passo s da simulação: o espaço está premido nos passos múltiplos de 10 e a seta direita sempre.
+     * @param engine O motor a simular.
+     * @param s O número do passo.
+     */
+    private static void step(GameEngine engine, int s) {
+        boolean fire = s % 10 == 0;
+        IInputEvent input = key -> (fire && key == KeyEvent.VK_SPACE) || key == KeyEvent.VK_RIGHT;
+        engine.run(DT, input);
+    }
+
+    /**
+     * Regista no log todos os eventos de jogo entregues pelo motor, como "TIPO:valor".
+     * @param engine O motor.
+     * @return O log, preenchido à medida que o motor entrega eventos.
+     */
+    private static List<String> recordEvents(GameEngine engine) {
+        List<String> log = new ArrayList<>();
+        for (GameEventType type : GameEventType.values()) {
+            engine.getEvents().subscribe(type, e -> log.add(e.type() + ":" + e.value()));
+        }
+        return log;
+    }
+
+    /**
+     * Testa que o modo paralelo é idêntico, bit a bit, ao modo sequencial.
+     * @post Os objetos ativos, a sua ordem, posições e estado de congelamento coincidem; houve criação e destruição de objetos.
+     * @post Os eventos de jogo são entregues pela mesma ordem nos dois modos.
+     */
+    @Test
+    void testParallelUpdateMatchesSequential() {
+        GameEngine sequential = newWorld();
+        GameEngine parallel = newWorld();
+        List<String> expectedEvents = recordEvents(sequential);
+        List<String> actualEvents = recordEvents(parallel);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel.setWorkerPool(pool);
+            parallel.setParallelUpdate(true);
+
+            simulate(sequential, 240);
+            simulate(parallel, 240);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertTrue(expectedEvents.contains(GameEventType.BULLET_FIRED + ":" + (PlayerBehaviour.MAX_BULLETS - 1)));
+        assertEquals(expectedEvents, actualEvents);
+
+        List<IGameObject> expected = sequential.getEnabled();
+        List<IGameObject> actual = parallel.getEnabled();
+        assertEquals(expected.size(), actual.size());
+        IGameObject player = actual.get(0);
+        assertEquals("player", player.name());
+        assertTrue(player.behaviour().getDisplayBulletCount() < PlayerBehaviour.MAX_BULLETS,
+                "O jogador deve ter disparado durante a fase paralela.");
+        assertTrue(expected.size() < 1 + 400 + 60, "Alguns projéteis devem ter sido destruídos.");
+        for (int i = 0; i < expected.size(); i++) {
+            IGameObject e = expected.get(i), a = actual.get(i);
+            assertEquals(e.name(), a.name());
+            assertEquals(Double.doubleToLongBits(e.transform().position().getX()),
+                    Double.doubleToLongBits(a.transform().position().getX()), e.name());
+            assertEquals(Double.doubleToLongBits(e.transform().position().getY()),
+                    Double.doubleToLongBits(a.transform().position().getY()), e.name());
+            if (e.behaviour() != null) {
+                assertEquals(e.behaviour().isCurrentlyFrozen(), a.behaviour().isCurrentlyFrozen(), e.name());
+            }
+        }
+    }
+
+    /**
+     * Descreve o estado dos objetos ativos de um motor: nomes, posições (bit a bit) e congelamento, pela ordem de 'enabled'.
+     * @param engine O motor.
+     * @return A descrição do estado.
+     */
+    private static List<String> fingerprint(GameEngine engine) {
+        List<String> state = new ArrayList<>();
+        for (IGameObject go : engine.getEnabled()) {
+            state.add(go.name() + "@" + Double.doubleToLongBits(go.transform().position().getX())
+                    + "," + Double.doubleToLongBits(go.transform().position().getY())
+                    + (go.behaviour() != null && go.behaviour().isCurrentlyFrozen() ? "*" : ""));
+        }
+        return state;
+    }
+
+    /**
+     * Testa que as tarefas e os buffers das fases paralelas, reutilizados de frame para frame, não deixam estado
+     * de um frame para o seguinte: o modo paralelo coincide com o sequencial em cada passo, e não só no fim,
+     * enquanto o número de objetos (e de segmentos) varia com os disparos e destruições.
+     * @post O estado e os eventos coincidem depois de cada passo.
+     */
+    @Test
+    void testReusedParallelBuffersStayDeterministic() {
+        GameEngine sequential = newWorld();
+        GameEngine parallel = newWorld();
+        List<String> expectedEvents = recordEvents(sequential);
+        List<String> actualEvents = recordEvents(parallel);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel.setWorkerPool(pool);
+            parallel.setParallelUpdate(true);
+            parallel.setParallelNarrowPhase(true);
+
+            for (int s = 0; s < 300; s++) {
+                step(sequential, s);
+                step(parallel, s);
+                assertEquals(fingerprint(sequential), fingerprint(parallel), "passo " + s);
+                assertEquals(expectedEvents, actualEvents, "passo " + s);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertFalse(expectedEvents.isEmpty());
+    }
+
+    /**
+     * Testa que as consultas espaciais continuam a funcionar fora da fase paralela,
+     * incluindo logo depois de os objetos serem ativados.
+     * @post queryCircle encontra o jogador.
+     */
+    @Test
+    void testQueriesOutsideParallelPhase() {
+        GameEngine engine = newWorld();
+        engine.setParallelUpdate(true);
+        List<IGameObject> found = new java.util.ArrayList<>();
+        engine.queryCircle(200, 560, 5, found);
+        assertTrue(found.stream().anyMatch(go -> go.name().equals("player")));
+    }
+
+    /**
+     * Cria um motor com milhares de projéteis sobre uma grelha de inimigos, para gerar muitos pares candidatos.
+     * @return O novo GameEngine, já com os objetos ativos.
+     */
+    private static GameEngine newBulletStorm() {
+        GameEngine engine = new GameEngine();
+        engine.setBounds(new Rectangle(0, 0, 800, 600));
+        for (int i = 0; i < 200; i++) {
+            engine.addEnabled(new Enemy("enemy_" + i, 20 + (i % 20) * 38, 40 + (i / 20) * 25, null));
+        }
+        for (int i = 0; i < 2000; i++) {
+            engine.addEnabled(new Bullet("player_bullet_" + i, 10 + (i * 37) % 780, 30 + (i * 53) % 300));
+        }
+        engine.run(0, null);
+        return engine;
+    }
+
+    /**
+     * Testa que a fase estreita paralela despacha exatamente as mesmas colisões, pela mesma ordem de efeitos.
+     * @post Os mesmos inimigos ficam congelados, os mesmos projéteis são destruídos e o número de colisões coincide.
+     */
+    @Test
+    void testParallelNarrowPhaseMatchesSequential() {
+        GameEngine sequential = newBulletStorm();
+        GameEngine parallel = newBulletStorm();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel.setWorkerPool(pool);
+            parallel.setParallelNarrowPhase(true);
+            // Vários passos com as mesmas tarefas reutilizadas, enquanto o número de pares (e de segmentos) diminui
+            for (int s = 0; s < 60; s++) {
+                sequential.run(DT, null);
+                parallel.run(DT, null);
+                assertEquals(sequential.getStats().getCollisions(), parallel.getStats().getCollisions());
+                assertEquals(sequential.getStats().getCandidatePairs(), parallel.getStats().getCandidatePairs());
+                assertEquals(sequential.getStats().getNarrowPhaseTests(), parallel.getStats().getNarrowPhaseTests());
+                assertEquals(sequential.getStats().getFilteredPairs(), parallel.getStats().getFilteredPairs());
+                assertEquals(sequential.getStats().getReusedContacts(), parallel.getStats().getReusedContacts());
+                assertEquals(fingerprint(sequential), fingerprint(parallel), "passo " + s);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<IGameObject> expected = sequential.getEnabled();
+        List<IGameObject> actual = parallel.getEnabled();
+        assertTrue(expected.size() < 2200, "Alguns projéteis devem ter colidido.");
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).name(), actual.get(i).name());
+            if (expected.get(i).behaviour() != null) {
+                assertEquals(expected.get(i).behaviour().isCurrentlyFrozen(), actual.get(i).behaviour().isCurrentlyFrozen());
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package tests;
 
 import gameobject.collider.CircleCollider;
 import gameobject.collider.PolygonCollider;
+import gameobject.geometry.IPoint;
 import gameobject.geometry.Point;
 import gameobject.transform.Transform;
 import gameobject.transform.ITransform;
@@ -66,7 +67,7 @@ class PolygonColliderTest {
         double[] localRect = {-1, -1, 1, -1, 1, 1, -1, 1}; // Quadrado local de 2x2 centrado na origem
         PolygonCollider p = new PolygonCollider(localRect, t); //
         p.onUpdate(); //
-        List<Point> transformed = p.getVertices(); //
+        List<IPoint> transformed = p.getVertices(); //
 
         // Vértice local (-1, -1) * escala 2.0 = (-2, -2)
         // Rotacionar (-2,-2) por 90 graus -> (2, -2)
@@ -88,7 +89,7 @@ class PolygonColliderTest {
     @Test
     void testCentroid_SimpleSquare() {
         // poly1_square está com transform na origem (0,0)
-        Point centroid = poly1_square.centroid(); //
+        IPoint centroid = poly1_square.centroid(); //
         assertEquals(0.0, centroid.getX(), DELTA, "Centroide X de poly1_square deve ser 0."); //
         assertEquals(0.0, centroid.getY(), DELTA, "Centroide Y de poly1_square deve ser 0."); //
 
@@ -100,6 +101,69 @@ class PolygonColliderTest {
         assertEquals(-5.0, centroid.getY(), DELTA, "Centroide Y de poly1_square deve ser -5 após mover transform."); //
     }
 
+    /**
+     * Testa que os eixos do SAT em cache acompanham a rotação da transform.
+     * @post Dois quadrados sobrepostos deixam de colidir quando um deles roda 45 graus (as caixas envolventes
+     * continuam sobrepostas, pelo que só os eixos rodados os separam), e voltam a colidir ao regressar a 0 graus.
+     */
+    @Test
+    void testCachedAxesFollowRotation() {
+        Transform t = new Transform(18, 18, 0, 0, 1.0);
+        PolygonCollider square = new PolygonCollider(new double[]{-10, -10, 10, -10, 10, 10, -10, 10}, t);
+        assertTrue(poly1_square.isColliding(square));
+
+        t.rotate(45);
+        square.onUpdate();
+        assertTrue(poly1_square.getWorldBounds().overlaps(square.getWorldBounds()));
+        assertFalse(poly1_square.isColliding(square), "Rodado 45 graus, o quadrado fica separado pela sua aresta diagonal.");
+        assertFalse(square.isColliding(poly1_square));
+
+        t.rotate(-45);
+        square.onUpdate();
+        assertTrue(square.isColliding(poly1_square));
+    }
+
+    /**
+     * Testa a caixa envolvente no espaço do mundo.
+     * @post A caixa envolve os vértices transformados e só muda quando a transform muda.
+     */
+    @Test
+    void testWorldBounds() {
+        Transform t = new Transform(100, 50, 0, 0, 2.0);
+        PolygonCollider rect = new PolygonCollider(new double[]{-5, -2, 5, -2, 5, 2, -5, 2}, t);
+        assertEquals(90, rect.getWorldBounds().getMinX(), DELTA);
+        assertEquals(54, rect.getWorldBounds().getMaxY(), DELTA);
+        assertEquals(10, rect.getCharacteristicDimension(), DELTA);
+
+        rect.onUpdate(); // Transform inalterada
+        assertEquals(110, rect.getWorldBounds().getMaxX(), DELTA);
+
+        t.moveBy(-100, 0);
+        t.rotate(90);
+        rect.onUpdate();
+        assertEquals(-4, rect.getWorldBounds().getMinX(), DELTA);
+        assertEquals(40, rect.getWorldBounds().getMinY(), DELTA);
+        assertEquals(60, rect.getWorldBounds().getMaxY(), DELTA);
+    }
+
+    /**
+     * Testa centroidInto(Point), que escreve o centroide num ponto fornecido em vez de alocar um novo.
+     * @post O ponto recebe as mesmas coordenadas que centroid(), para polígonos e círculos.
+     */
+    @Test
+    void testCentroidInto() {
+        Point out = new Point(99, 99);
+        transformPoly1.moveBy(5, -5);
+        poly1_square.onUpdate();
+        poly1_square.centroidInto(out);
+        assertEquals(poly1_square.centroid().getX(), out.getX(), DELTA);
+        assertEquals(-5.0, out.getY(), DELTA);
+
+        circle_collider.centroidInto(out);
+        assertEquals(circle_collider.centroid().getX(), out.getX(), DELTA);
+        assertEquals(circle_collider.centroid().getY(), out.getY(), DELTA);
+    }
+
     /**
      * Testa a colisão entre dois PolygonColliders (quadrados) que se intersetam.
      * poly1_square: centro (0,0), X de -10 a 10.
@@ -195,4 +259,25 @@ class PolygonColliderTest {
         assertTrue(poly_triangle.isColliding(circle_collider), "Triângulo e Círculo deviam colidir neste cenário."); //
         assertTrue(circle_collider.isColliding(poly_triangle), "Colisão Círculo-Triângulo devia ser simétrica."); //
     }
+
+    /**
+     * Testa que isUpToDate() acompanha a versão da transformação.
+     * @post O colisor está atualizado depois de onUpdate() e deixa de estar quando a transformação muda.
+     */
+    @Test
+    void testIsUpToDateFollowsTransformVersion() {
+        assertTrue(poly1_square.isUpToDate(), "Depois de onUpdate() o colisor está atualizado.");
+
+        transformPoly1.moveBy(5, 0);
+        assertFalse(poly1_square.isUpToDate(), "Mover a transformação desatualiza o colisor.");
+        poly1_square.onUpdate();
+        assertTrue(poly1_square.isUpToDate());
+        assertEquals(5, poly1_square.centroid().getX(), DELTA, "O centroide acompanha a transformação.");
+        assertEquals(Math.sqrt(200), poly1_square.getBoundingRadius(), DELTA);
+
+        poly1_square.move(new Point(1, 0));
+        assertFalse(poly1_square.isUpToDate(), "Mover o colisor diretamente obriga a resincronizar com a transformação.");
+        poly1_square.onUpdate();
+        assertEquals(5, poly1_square.centroid().getX(), DELTA);
+    }
 }
\ No newline at end of file
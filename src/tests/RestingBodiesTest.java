@@ -0,0 +1,208 @@
+package tests;
+
+import engine.GameEngine;
+import engine.IInputEvent;
+import gameobject.GameObject;
+import gameobject.IGameObject;
+import gameobject.behaviour.ObstacleBehaviour;
+import gameobject.collider.CircleCollider;
+import gameobject.entity.Bullet;
+import gameobject.entity.Enemy;
+import gameobject.entity.ObstacleBlock;
+import gameobject.geometry.BoundingBox;
+import gameobject.path.HorizontalPath;
+import gameobject.transform.Transform;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes unitários para os corpos em repouso do GameEngine (objetos estáticos e adormecidos):
+ * não são atualizados, só são testados contra objetos em movimento e continuam visíveis nas consultas espaciais.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class RestingBodiesTest {
+
+    private static final double DT = 1.0 / 60.0;
+
+    /**
+     * Cria um objeto circular parado cujo comportamento conta as chamadas a onUpdate.
+     * @param name O nome do objeto.
+     * @param x A coordenada x.
+     * @param y A coordenada y.
+     * @param updates O contador de atualizações (posição 0).
+     * @return O novo objeto de jogo.
+     */
+    private static IGameObject countingObject(String name, double x, double y, int[] updates) {
+        Transform t = new Transform(x, y, 0, 0, 1);
+        return new GameObject(name, t, new CircleCollider(0, 0, 10, t), null, new ObstacleBehaviour() {
+            @Override
+            public void onUpdate(double dt, IInputEvent input) {
+                updates[0]++;
+            }
+        });
+    }
+
+    /**
+     * Testa que dois obstáculos estáticos sobrepostos nunca são testados entre si,
+     * mas continuam a ser testados contra um projétil.
+     * @post Só os pares projétil–obstáculo são candidatos; o projétil é destruído.
+     */
+    @Test
+    void testStaticPairsAreNeverTested() {
+        GameEngine engine = new GameEngine();
+        IGameObject a = new ObstacleBlock("obstacle_a", 100, 100, 50, 50);
+        IGameObject b = new ObstacleBlock("obstacle_b", 120, 120, 50, 50);
+        engine.addEnabled(a);
+        engine.addEnabled(b);
+        engine.setStatic(a, true);
+        engine.setStatic(b, true);
+        engine.run(0, null); // Processa as adições pendentes
+        engine.run(0, null);
+
+        assertEquals(0, engine.getStats().getCandidatePairs(), "Pares entre objetos estáticos não são candidatos.");
+        assertEquals(2, engine.getStats().getRestingObjects());
+
+        IGameObject bullet = new Bullet("player_bullet_0", 110, 110);
+        engine.addEnabled(bullet);
+        engine.run(0, null);
+        engine.run(0, null);
+        assertEquals(2, engine.getStats().getNarrowPhaseTests(), "Só os pares projétil–obstáculo são testados.");
+        assertEquals(1, engine.getStats().getCollisions());
+        assertFalse(engine.getEnabled().contains(bullet), "O projétil é destruído ao atingir o obstáculo estático.");
+    }
+
+    /**
+     * Testa que objetos estáticos e adormecidos saem da lista de atualização e que wake() os devolve.
+     * @post onUpdate não é chamado enquanto o objeto está em repouso; volta a ser depois de acordar ou deixar de ser estático.
+     */
+    @Test
+    void testRestingObjectsAreNotUpdated() {
+        GameEngine engine = new GameEngine();
+        int[] staticUpdates = {0};
+        int[] sleepingUpdates = {0};
+        IGameObject still = countingObject("still", 50, 50, staticUpdates);
+        IGameObject sleeper = countingObject("sleeper", 150, 50, sleepingUpdates);
+        engine.addEnabled(still);
+        engine.addEnabled(sleeper);
+        engine.run(DT, null);
+        engine.run(DT, null);
+        assertEquals(1, staticUpdates[0]);
+
+        engine.setStatic(still, true);
+        engine.sleep(sleeper);
+        for (int i = 0; i < 10; i++) {
+            engine.run(DT, null);
+        }
+        assertEquals(1, staticUpdates[0], "Um objeto estático não é atualizado.");
+        assertEquals(1, sleepingUpdates[0], "Um objeto adormecido não é atualizado.");
+        assertEquals(2, engine.getStats().getRestingObjects());
+        assertEquals(2, engine.getEnabled().size(), "Os objetos em repouso continuam ativos.");
+
+        engine.wake(sleeper);
+        engine.setStatic(still, false);
+        engine.run(DT, null);
+        assertFalse(engine.isSleeping(sleeper));
+        assertEquals(2, staticUpdates[0]);
+        assertEquals(2, sleepingUpdates[0]);
+        assertEquals(0, engine.getStats().getRestingObjects());
+    }
+
+    /**
+     * Testa que um inimigo congelado adormece e continua a ser atingido por projéteis.
+     * @post O inimigo fica adormecido, não se move e um segundo projétil é destruído ao atingi-lo.
+     */
+    @Test
+    void testFrozenEnemyFallsAsleep() {
+        GameEngine engine = new GameEngine();
+        Enemy enemy = new Enemy("enemy_0", 100, 100, new HorizontalPath(40));
+        engine.addEnabled(enemy);
+        engine.addEnabled(new Bullet("player_bullet_0", 100, 100));
+        engine.run(0, null);
+        engine.run(0, null);
+        assertTrue(enemy.behaviour().isCurrentlyFrozen());
+        assertTrue(engine.isSleeping(enemy), "Um inimigo congelado adormece.");
+
+        double x = enemy.transform().position().getX();
+        engine.run(DT, null);
+        assertEquals(1, engine.getStats().getRestingObjects());
+        assertEquals(x, enemy.transform().position().getX(), 1e-9);
+
+        IGameObject second = new Bullet("player_bullet_1", x, 100);
+        engine.addEnabled(second);
+        engine.run(0, null);
+        engine.run(0, null);
+        assertFalse(engine.getEnabled().contains(second), "O inimigo adormecido continua a ser atingido.");
+
+        engine.disable(enemy);
+        engine.run(0, null);
+        assertFalse(engine.isSleeping(enemy), "Desativar um objeto acorda-o.");
+    }
+
+    /**
+     * Testa que as consultas espaciais encontram os objetos em repouso.
+     * @post queryBox, queryCircle e rayCast devolvem o obstáculo estático.
+     */
+    @Test
+    void testQueriesSeeRestingObjects() {
+        GameEngine engine = new GameEngine();
+        IGameObject block = new ObstacleBlock("obstacle_a", 100, 100, 40, 40);
+        engine.addEnabled(block);
+        engine.setStatic(block, true);
+        engine.run(0, null);
+
+        List<IGameObject> found = new ArrayList<>();
+        engine.queryBox(new BoundingBox(90, 90, 110, 110), found);
+        assertEquals(List.of(block), found);
+
+        found.clear();
+        engine.queryCircle(100, 100, 5, found);
+        assertEquals(List.of(block), found);
+
+        assertSame(block, engine.rayCast(100, 300, 0, -300).getGameObject());
+    }
+
+    /**
+     * Testa que criar e destruir objetos em movimento não reconstrói a partição nem o índice dos objetos em repouso,
+     * e que a partição só é reconstruída quando um objeto estático entra ou sai.
+     * @post getPartitionRebuilds() é 0 nos passos em que só mudam objetos em movimento.
+     */
+    @Test
+    void testMovingObjectsDoNotRebuildPartition() {
+        GameEngine engine = new GameEngine();
+        IGameObject block = new ObstacleBlock("obstacle_0", 100, 100, 50, 50);
+        engine.setStatic(block, true);
+        engine.addEnabled(block);
+        engine.run(0, null);
+        engine.run(0, null);
+        assertEquals(1, engine.getStats().getPartitionRebuilds(), "A adição do objeto estático reconstrói a partição.");
+
+        int[] updates = {0};
+        List<IGameObject> moving = new ArrayList<>();
+        for (int frame = 0; frame < 10; frame++) {
+            IGameObject go = countingObject("moving_" + frame, 10 + frame * 20, 250, updates);
+            engine.addEnabled(go);
+            moving.add(go);
+            if (frame >= 3) {
+                engine.destroy(moving.get(frame - 3));
+            }
+            engine.run(DT, null);
+            assertEquals(0, engine.getStats().getPartitionRebuilds(), "Objetos em movimento não reconstroem a partição.");
+        }
+        engine.run(DT, null);
+        assertEquals(3, engine.getEnabled().size() - engine.getStats().getRestingObjects(), "Os objetos em movimento ativos são atualizados.");
+        assertEquals(2 * 7 + 3 + 2 + 1, updates[0], "Um objeto com destruição pendente já não é atualizado.");
+
+        engine.destroy(block);
+        engine.run(DT, null);
+        engine.run(DT, null);
+        assertEquals(1, engine.getStats().getPartitionRebuilds(), "A destruição do objeto estático reconstrói a partição.");
+        assertEquals(0, engine.getStats().getRestingObjects());
+        List<IGameObject> found = new ArrayList<>();
+        engine.queryCircle(125, 125, 5, found);
+        assertTrue(found.isEmpty(), "O objeto destruído sai do índice dos objetos em repouso.");
+    }
+}
@@ -0,0 +1,75 @@
+package tests;
+
+import engine.GameEngine;
+import engine.IInputEvent;
+import gameobject.entity.Enemy;
+import gameobject.entity.ObstacleBlock;
+import gameobject.entity.PlayerShip;
+import gameobject.path.HorizontalPath;
+import gameobject.path.RectangularPath;
+import gameobject.path.ZigZagPath;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Testa que um passo de simulação em regime estável (jogador, inimigos nos três caminhos e obstáculos)
+ * não aloca memória: os caminhos e comportamentos movem as transformações com moveBy() e as broadphases
+ * leem os centroides com centroidInto(). Os obstáculos estáticos não são atualizados.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class SimulationAllocationTest {
+
+    private static final double DT = 1.0 / 60.0;
+    private static final int WARMUP_STEPS = 30_000;
+    private static final int MEASURED_STEPS = 5_000;
+
+    /**
+     * Testa a taxa de alocação do núcleo da simulação depois do aquecimento.
+     * @post Os passos medidos alocam, em média, menos de um byte por passo.
+     */
+    @Test
+    void testSimulationStepDoesNotAllocate() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        GameEngine engine = new GameEngine();
+        engine.setBounds(new Rectangle(0, 0, 400, 600));
+        engine.addEnabled(new PlayerShip("player", 200, 560));
+        for (int i = 0; i < 30; i++) {
+            double x = 40 + (i % 10) * 30;
+            double y = 40 + (i / 10) * 40;
+            engine.addEnabled(new Enemy("enemy_" + i, x, y, switch (i % 3) {
+                case 0 -> new HorizontalPath(40);
+                case 1 -> new ZigZagPath();
+                default -> new RectangularPath(new Rectangle((int) x - 10, (int) y - 10, 40, 20), 30);
+            }));
+        }
+        for (int i = 0; i < 4; i++) {
+            ObstacleBlock block = new ObstacleBlock("obstacle_" + i, 60 + i * 90, 450, 40, 20);
+            engine.addEnabled(block);
+            engine.setStatic(block, true);
+        }
+        IInputEvent left = keyCode -> keyCode == KeyEvent.VK_LEFT;
+
+        for (int i = 0; i < WARMUP_STEPS; i++) {
+            engine.run(DT, left);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_STEPS; i++) {
+            engine.run(DT, left);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(35, engine.getEnabled().size(), "Nenhum objeto foi criado nem destruído durante a medição.");
+        assertEquals(4, engine.getStats().getRestingObjects(), "Os obstáculos estáticos não são atualizados.");
+        assertTrue(allocated < MEASURED_STEPS,
+                "Alocados " + allocated + " bytes em " + MEASURED_STEPS + " passos de simulação.");
+    }
+}
@@ -0,0 +1,97 @@
+package tests;
+
+import engine.collision.AllPairsBroadPhase;
+import engine.collision.PairBuffer;
+import engine.collision.SpatialHashBroadPhase;
+import gameobject.IGameObject;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.BroadPhaseFixtures.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Testes unitários para a SpatialHashBroadPhase.
+ * Verifica que a grelha nunca perde um par que colide (comparando com AllPairsBroadPhase)
+ * e que pares distantes são descartados.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class SpatialHashBroadPhaseTest {
+
+    /**
+     * Converte o conteúdo de um PairBuffer num conjunto de strings "i-j".
+     * @param pairs O buffer a converter.
+     * @return O conjunto de pares.
+     */
+    private static Set<String> toSet(PairBuffer pairs) {
+        Set<String> set = new HashSet<>();
+        for (int k = 0; k < pairs.size(); k++) {
+            set.add(pairs.first(k) + "-" + pairs.second(k));
+        }
+        return set;
+    }
+
+    /**
+     * Testa que todos os pares que realmente colidem aparecem como candidatos.
+     * @post Para uma cena aleatória, os candidatos da grelha contêm todas as colisões reais.
+     */
+    @Test
+    void testNoCollidingPairIsMissed() {
+        Random rnd = new Random(42);
+        List<IGameObject> objects = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            objects.add(circle(rnd.nextDouble() * 400, rnd.nextDouble() * 400, 3 + rnd.nextDouble() * 20));
+        }
+        for (int i = 0; i < 20; i++) {
+            objects.add(box(rnd.nextDouble() * 400, rnd.nextDouble() * 400, 10 + rnd.nextDouble() * 60, 10 + rnd.nextDouble() * 60));
+        }
+
+        PairBuffer all = new PairBuffer();
+        new AllPairsBroadPhase().findCandidatePairs(objects, all);
+        PairBuffer hashed = new PairBuffer();
+        new SpatialHashBroadPhase(32).findCandidatePairs(objects, hashed);
+        Set<String> hashedSet = toSet(hashed);
+
+        for (int k = 0; k < all.size(); k++) {
+            IGameObject a = objects.get(all.first(k));
+            IGameObject b = objects.get(all.second(k));
+            if (a.collider().isColliding(b.collider())) {
+                assertTrue(hashedSet.contains(all.first(k) + "-" + all.second(k)),
+                        "Par em colisão omitido pela grelha: " + all.first(k) + "-" + all.second(k));
+            }
+        }
+        assertTrue(hashed.size() < all.size(), "A grelha devia descartar pares distantes.");
+    }
+
+    /**
+     * Testa que objetos afastados não geram pares e que os pares saem ordenados e sem duplicados.
+     * @post Apenas o par próximo é devolvido, uma única vez.
+     */
+    @Test
+    void testDistantObjectsAreRejected() {
+        List<IGameObject> objects = List.of(
+                circle(0, 0, 10),
+                circle(500, 500, 10),
+                circle(12, 0, 10)); // Sobrepõe-se ao primeiro e partilha várias células
+        PairBuffer out = new PairBuffer();
+        new SpatialHashBroadPhase(8).findCandidatePairs(objects, out);
+
+        assertEquals(1, out.size(), "Só o par próximo devia ser candidato.");
+        assertEquals(0, out.first(0));
+        assertEquals(2, out.second(0));
+    }
+
+    /**
+     * Testa que um tamanho de célula inválido é rejeitado.
+     * @post O construtor lança IllegalArgumentException.
+     */
+    @Test
+    void testInvalidCellSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHashBroadPhase(0));
+    }
+}
@@ -0,0 +1,97 @@
+package tests;
+
+import engine.collision.AllPairsBroadPhase;
+import engine.collision.PairBuffer;
+import engine.collision.SweepAndPruneBroadPhase;
+import gameobject.IGameObject;
+import gameobject.geometry.Point;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static tests.BroadPhaseFixtures.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testes unitários para a SweepAndPruneBroadPhase.
+ * Verifica que não são perdidos pares em colisão, que a coerência temporal reduz o trabalho
+ * de ordenação e que objetos removidos deixam de ser considerados.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class SweepAndPruneBroadPhaseTest {
+
+    /**
+     * Testa que todos os pares em colisão são encontrados ao longo de vários frames com movimento.
+     * @post Em cada frame, os candidatos contêm todas as colisões reais.
+     */
+    @Test
+    void testNoCollidingPairIsMissedAcrossFrames() {
+        Random rnd = new Random(7);
+        List<IGameObject> objects = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            objects.add(circle(rnd.nextDouble() * 400, rnd.nextDouble() * 400, 3 + rnd.nextDouble() * 15));
+        }
+        SweepAndPruneBroadPhase sap = new SweepAndPruneBroadPhase();
+
+        for (int frame = 0; frame < 10; frame++) {
+            for (IGameObject go : objects) {
+                go.transform().move(new Point(rnd.nextDouble() * 6 - 3, -5), 0);
+                go.collider().onUpdate();
+            }
+            PairBuffer all = new PairBuffer();
+            new AllPairsBroadPhase().findCandidatePairs(objects, all);
+            PairBuffer swept = new PairBuffer();
+            sap.findCandidatePairs(objects, swept);
+
+            for (int k = 0; k < all.size(); k++) {
+                int i = all.first(k), j = all.second(k);
+                if (objects.get(i).collider().isColliding(objects.get(j).collider())) {
+                    assertTrue(contains(swept, i, j), "Par em colisão omitido no frame " + frame);
+                }
+            }
+            assertEquals(swept.size(), sap.getLastOverlapPairs(), "O número de sobreposições deve corresponder aos candidatos.");
+        }
+    }
+
+    /**
+     * Testa que, sem movimento, a reordenação do segundo frame não efetua trocas.
+     * @post getLastSwaps() é 0 no segundo frame.
+     */
+    @Test
+    void testTemporalCoherence() {
+        List<IGameObject> objects = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            objects.add(circle(400 - i * 8, (i % 5) * 30, 5)); // Inseridos por ordem decrescente de X
+        }
+        SweepAndPruneBroadPhase sap = new SweepAndPruneBroadPhase();
+        sap.findCandidatePairs(objects, new PairBuffer());
+        assertTrue(sap.getLastSwaps() > 0, "O primeiro frame precisa de ordenar.");
+
+        sap.findCandidatePairs(objects, new PairBuffer());
+        assertEquals(0, sap.getLastSwaps(), "Sem movimento, a lista já está ordenada.");
+    }
+
+    /**
+     * Testa que pares sobrepostos em X mas separados em Y são rejeitados e contabilizados.
+     * @post Não há candidatos e o par é contado como rejeitado.
+     */
+    @Test
+    void testRejectedByYAxis() {
+        List<IGameObject> objects = new ArrayList<>(List.of(circle(0, 0, 5), circle(0, 100, 5)));
+        SweepAndPruneBroadPhase sap = new SweepAndPruneBroadPhase();
+        PairBuffer out = new PairBuffer();
+        sap.findCandidatePairs(objects, out);
+        assertEquals(0, out.size());
+        assertEquals(1, sap.getLastRejectedPairs());
+
+        // Um objeto removido deixa de contar
+        objects.remove(1);
+        objects.add(circle(3, 0, 5));
+        out.clear();
+        sap.findCandidatePairs(objects, out);
+        assertEquals(1, out.size());
+        assertEquals(0, sap.getLastRejectedPairs());
+    }
+}
@@ -0,0 +1,200 @@
+package tests;
+
+import gameobject.collider.CircleCollider;
+import gameobject.collider.OffHeapColliderStore;
+import gameobject.transform.OffHeapTransformStore;
+import gameobject.transform.Transform;
+import gameobject.transform.TransformStore;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Microbenchmark que compara o caminho que o motor percorre para cada entidade (Transform.moveBy, como os
+ * comportamentos e os caminhos, seguido de Transform.clamp, como GameEngine.clampToBounds) com as transformações
+ * no grafo de objetos original, ligadas a um TransformStore e ligadas a um OffHeapTransformStore.
+ * A seguir compara a sincronização de colisores circulares com as suas transformações (onUpdate, como na fase de
+ * atualização do GameEngine) com os dados no heap e com transformações e colisores fora do heap
+ * (OffHeapTransformStore e OffHeapColliderStore).
+ * Para cada variante indica também o número de recolhas e o tempo gasto pelo GC durante a medição
+ * (GarbageCollectorMXBean), que deve ser zero em todas: nenhuma aloca por frame.
+ * Executar com: java -cp &lt;classes&gt; tests.TransformStoreBenchmark [entidades] [frames]
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class TransformStoreBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+
+    /**
+     * Ponto de entrada do benchmark.
+     * @param args Opcionalmente, o número de entidades e o número de frames por ronda.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        benchmarkTransforms(n, frames);
+        benchmarkColliders(n, frames);
+    }
+
+    /**
+     * Compara a atualização das transformações no grafo de objetos, ligadas aos arrays e ligadas à memória fora do heap.
+     * @param n O número de entidades.
+     * @param frames O número de frames por ronda.
+     */
+    private static void benchmarkTransforms(int n, int frames) {
+        // Depois de muitas criações e destruições, a ordem de iteração deixa de coincidir com a ordem no heap:
+        // simula-se baralhando os objetos. Os slots são reservados pela ordem de iteração, como GameEngine.add faz.
+        Random rnd = new Random(42);
+        Transform[] objects = new Transform[n];
+        Transform[] inStore = new Transform[n];
+        Transform[] offHeap = new Transform[n];
+        for (int i = 0; i < n; i++) {
+            double x = rnd.nextDouble() * 400, y = rnd.nextDouble() * 400;
+            objects[i] = new Transform(x, y, 0, 0, 1);
+            inStore[i] = new Transform(x, y, 0, 0, 1);
+            offHeap[i] = new Transform(x, y, 0, 0, 1);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            swap(objects, i, j);
+            swap(inStore, i, j);
+            swap(offHeap, i, j);
+        }
+        TransformStore store = new TransformStore();
+        OffHeapTransformStore offHeapStore = new OffHeapTransformStore(n);
+        for (int i = 0; i < n; i++) {
+            inStore[i].attach(store);
+            offHeap[i].attach(offHeapStore);
+        }
+
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            String a = run(frames, f -> updateTransforms(objects, f));
+            String b = run(frames, f -> updateTransforms(inStore, f));
+            String c = run(frames, f -> updateTransforms(offHeap, f));
+            if (round >= WARMUP_ROUNDS) {
+                System.out.printf("ronda %d: objetos %s, arrays %s, fora do heap %s%n",
+                        round - WARMUP_ROUNDS + 1, a, b, c);
+            }
+        }
+        offHeapStore.close();
+    }
+
+    /**
+     * Executa os frames indicados e mede o tempo por frame e a atividade do GC durante a execução.
+     * @param frames O número de frames.
+     * @param frame O trabalho de um frame, que recebe o número do frame.
+     * @return O tempo médio por frame e o número e a duração das recolhas do GC, formatados.
+     */
+    private static String run(int frames, IntConsumer frame) {
+        long collections = gcCollections(), gcMillis = gcMillis();
+        long t0 = System.nanoTime();
+        for (int f = 0; f < frames; f++) {
+            frame.accept(f);
+        }
+        long elapsed = System.nanoTime() - t0;
+        return String.format("%.3f ms/frame (GC: %d recolhas, %d ms)",
+                elapsed * 1e-6 / frames, gcCollections() - collections, gcMillis() - gcMillis);
+    }
+
+    /**
+     * Devolve o número total de recolhas feitas por todos os coletores desde o arranque da JVM.
+     * @return O número de recolhas.
+     */
+    private static long gcCollections() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount()); // -1 se o coletor não o disponibilizar
+        }
+        return total;
+    }
+
+    /**
+     * Devolve o tempo total gasto em recolhas por todos os coletores desde o arranque da JVM.
+     * @return O tempo, em milissegundos.
+     */
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * Troca duas posições de um array.
+     * @param a O array.
+     * @param i A primeira posição.
+     * @param j A segunda posição.
+     */
+    private static void swap(Transform[] a, int i, int j) {
+        Transform tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+
+    /**
+     * Compara a sincronização de colisores circulares com os dados no heap e fora do heap.
+     * @param n O número de entidades.
+     * @param frames O número de frames por ronda.
+     */
+    private static void benchmarkColliders(int n, int frames) {
+        Random rnd = new Random(42);
+        Transform[] heapTransforms = new Transform[n];
+        CircleCollider[] heapColliders = new CircleCollider[n];
+        Transform[] offHeapTransforms = new Transform[n];
+        CircleCollider[] offHeapColliders = new CircleCollider[n];
+        OffHeapTransformStore transformStore = new OffHeapTransformStore(n);
+        OffHeapColliderStore colliderStore = new OffHeapColliderStore(n * 40L); // 8 + 2 * 16 bytes por círculo
+        for (int i = 0; i < n; i++) {
+            double x = rnd.nextDouble() * 400, y = rnd.nextDouble() * 400;
+            heapTransforms[i] = new Transform(x, y, 0, 0, 1);
+            heapColliders[i] = new CircleCollider(x, y, 5, heapTransforms[i]);
+            offHeapTransforms[i] = new Transform(x, y, 0, 0, 1);
+            offHeapColliders[i] = new CircleCollider(x, y, 5, offHeapTransforms[i]);
+            offHeapTransforms[i].attach(transformStore);
+            offHeapColliders[i].attach(colliderStore);
+        }
+
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            String a = run(frames, f -> updateColliders(heapTransforms, heapColliders, f));
+            String b = run(frames, f -> updateColliders(offHeapTransforms, offHeapColliders, f));
+            if (round >= WARMUP_ROUNDS) {
+                System.out.printf("ronda %d: colisores no heap %s, colisores fora do heap %s%n",
+                        round - WARMUP_ROUNDS + 1, a, b);
+            }
+        }
+        transformStore.close();
+        colliderStore.close();
+    }
+
+    /**
+     * Desloca as transformações e sincroniza os seus colisores.
+     * @param transforms As transformações.
+     * @param colliders Os colisores, pela mesma ordem.
+     * @param frame O número do frame (define o sentido do movimento).
+     */
+    private static void updateColliders(Transform[] transforms, CircleCollider[] colliders, int frame) {
+        double d = (frame & 1) == 0 ? 1.5 : -1.5;
+        for (int i = 0; i < transforms.length; i++) {
+            transforms[i].moveBy(d, -d);
+            colliders[i].onUpdate();
+        }
+    }
+
+    /**
+     * Atualiza as entidades uma a uma, como o motor: desloca cada transformação e restringe-a aos limites.
+     * @param transforms As transformações.
+     * @param frame O número do frame (define o sentido do movimento).
+     */
+    private static void updateTransforms(Transform[] transforms, int frame) {
+        double d = (frame & 1) == 0 ? 1.5 : -1.5;
+        for (Transform t : transforms) {
+            t.moveBy(d, -d);
+            t.clamp(10, 10, 390, 390);
+        }
+    }
+}
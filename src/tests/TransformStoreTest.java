@@ -0,0 +1,215 @@
+package tests;
+
+import engine.GameEngine;
+import gameobject.GameObject;
+import gameobject.IGameObject;
+import gameobject.behaviour.ObstacleBehaviour;
+import gameobject.collider.CircleCollider;
+import gameobject.geometry.IPoint;
+import gameobject.geometry.Point;
+import gameobject.transform.ITransformStore;
+import gameobject.transform.OffHeapTransformStore;
+import gameobject.transform.Transform;
+import gameobject.transform.TransformStore;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.*;
+
+/**
+ * Testes unitários para os armazenamentos de transformações (TransformStore e OffHeapTransformStore)
+ * e para o Transform como vista sobre um slot.
+ * @author José Tico, Yasmin Dias e Guilherme Carmo
+ * @version 25-05-2025
+ */
+class TransformStoreTest {
+
+    private static final double DELTA = 1e-9;
+
+    /**
+     * Testa que ligar e desligar um Transform preserva os valores e que position() é uma vista sobre o slot.
+     * @post As alterações feitas através do Transform ou do IPoint chegam aos arrays, e vice-versa.
+     */
+    @Test
+    void testTransformAsViewOverSlot() {
+        TransformStore store = new TransformStore();
+        Transform t = new Transform(10, 20, 2, 45, 1.5);
+        IPoint position = t.position();
+
+        t.attach(store);
+        assertEquals(1, store.size());
+        assertSame(position, t.position(), "A posição continua a ser o mesmo objeto.");
+        assertEquals(10, store.x(t.getSlot()), DELTA);
+
+        t.move(new Point(5, -5), 1);
+        position.translate(1, 1);
+        store.translate(t.getSlot(), 100, 0);
+        assertEquals(116, position.getX(), DELTA);
+        assertEquals(16, t.position().getY(), DELTA);
+        assertEquals(3, t.layer());
+
+        t.rotate(15);
+        t.scale(0.5);
+        t.detach();
+        assertEquals(0, store.size());
+        assertNull(t.getStore());
+        assertEquals(116, t.position().getX(), DELTA, "Os valores voltam para o objeto ao desligar.");
+        assertEquals(60, t.angle(), DELTA);
+        assertEquals(2.0, t.scale(), DELTA);
+    }
+
+    /**
+     * Testa a reutilização de slots e o crescimento dos arrays.
+     * @post Slots libertados são reutilizados e os valores sobrevivem ao crescimento.
+     */
+    @Test
+    void testSlotReuseAndGrowth() {
+        TransformStore store = new TransformStore();
+        int first = store.allocate(1, 2, 0, 0, 1);
+        for (int i = 0; i < 500; i++) {
+            store.allocate(i, i, 0, 0, 1);
+        }
+        assertTrue(store.capacity() >= 501);
+        assertEquals(1, store.x(first), DELTA);
+        assertEquals(2, store.y(first), DELTA);
+
+        store.release(first);
+        assertEquals(first, store.allocate(7, 7, 0, 0, 1), "O slot libertado é reutilizado.");
+        assertEquals(501, store.size());
+    }
+
+    /**
+     * Testa que o motor liga as transformações dos objetos ativos ao seu armazenamento e as restringe aos limites.
+     * @post O colisor, que partilha o Transform, acompanha a posição; ao destruir, o slot é libertado.
+     */
+    @Test
+    void testEngineOwnsTransforms() {
+        GameEngine engine = new GameEngine();
+        engine.setBounds(new Rectangle(0, 0, 100, 100));
+        Transform t = new Transform(50, 50, 0, 0, 1);
+        IGameObject go = new GameObject("c", t, new CircleCollider(50, 50, 5, t), null, new ObstacleBehaviour());
+        engine.addEnabled(go);
+        engine.run(0, null);
+        assertSame(engine.getTransformStore(), t.getStore());
+
+        t.move(new Point(500, -500), 0);
+        engine.run(0, null);
+        assertEquals(100, t.position().getX(), DELTA, "Restringido aos limites diretamente nos arrays.");
+        assertEquals(0, t.position().getY(), DELTA);
+        engine.run(0, null);
+        assertTrue(go.collider().overlapsCircle(100, 0, 1), "O colisor usa a posição guardada no armazenamento.");
+
+        engine.destroy(go);
+        engine.run(0, null);
+        assertNull(t.getStore());
+        assertEquals(0, engine.getTransformStore().size());
+        assertEquals(100, t.position().getX(), DELTA);
+    }
+
+    /**
+     * Testa o armazenamento fora do heap: valores, crescimento, reutilização de slots e libertação da memória.
+     * @post Os valores sobrevivem ao crescimento e o acesso depois de close() falha.
+     */
+    @Test
+    void testOffHeapStore() {
+        OffHeapTransformStore store = new OffHeapTransformStore(4);
+        Transform t = new Transform(3, 4, 1, 90, 2);
+        t.attach(store);
+        for (int i = 0; i < 100; i++) {
+            store.allocate(i, -i, i, 0, 1);
+        }
+        assertTrue(store.capacity() >= 101);
+        t.move(new Point(1, 1), 2);
+        t.rotate(-90);
+        assertEquals(4, t.position().getX(), DELTA);
+        assertEquals(5, t.position().getY(), DELTA);
+        assertEquals(3, t.layer());
+        assertEquals(0, t.angle(), DELTA);
+        assertEquals(2, t.scale(), DELTA);
+        assertEquals(99, store.x(100), DELTA);
+
+        store.clamp(t.getSlot(), 0, 0, 2, 2);
+        assertEquals(2, t.position().getX(), DELTA);
+
+        int slot = t.getSlot();
+        t.detach();
+        assertEquals(slot, store.allocate(0, 0, 0, 0, 1), "O slot libertado é reutilizado.");
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.x(0));
+        assertEquals(2, t.position().getX(), DELTA, "Os valores copiados para o objeto não dependem da memória libertada.");
+    }
+
+    /**
+     * Testa que as escritas diretas no armazenamento (translateAll e clampAll) aumentam a versão do Transform,
+     * pelo que os colisores voltam a sincronizar-se, e que a versão nunca diminui ao ligar e desligar.
+     * @post O colisor acompanha as escritas em lote, no heap e fora do heap.
+     */
+    @Test
+    void testBatchWritesUpdateVersion() {
+        assertBatchWritesUpdateVersion(new TransformStore());
+        try (OffHeapTransformStore store = new OffHeapTransformStore()) {
+            assertBatchWritesUpdateVersion(store);
+        }
+    }
+
+    /**
+     * Verifica, com o armazenamento indicado, que as escritas em lote chegam ao colisor através da versão.
+     * @param store O armazenamento a testar. Não deve ser nulo.
+     */
+    private static void assertBatchWritesUpdateVersion(ITransformStore store) {
+        Transform t = new Transform(10, 10, 0, 0, 1);
+        CircleCollider c = new CircleCollider(10, 10, 5, t);
+        t.attach(store);
+        int[] slots = {t.getSlot()};
+
+        long before = t.version();
+        store.translateAll(slots, 1, 40, 0);
+        assertTrue(t.version() > before, "translateAll conta como alteração.");
+        c.onUpdate();
+        assertEquals(50, c.centroid().getX(), DELTA, "O colisor não fica com a posição antiga.");
+
+        before = t.version();
+        store.clampAll(slots, 1, 0, 0, 30, 30);
+        assertTrue(t.version() > before, "clampAll conta como alteração.");
+        c.onUpdate();
+        assertEquals(30, c.centroid().getX(), DELTA);
+
+        before = t.version();
+        store.clampAll(slots, 1, 0, 0, 30, 30);
+        assertEquals(before, t.version(), "Um clampAll sem efeito não altera a versão.");
+
+        t.detach();
+        assertEquals(before, t.version(), "Desligar não altera a versão.");
+        store.setPosition(store.allocate(0, 0, 0, 0, 1), 1, 1); // Reutiliza o slot e aumenta a sua versão
+        t.attach(store);
+        assertEquals(before, t.version(), "Ligar a um slot com outra versão não altera a versão.");
+        t.moveBy(1, 0);
+        assertTrue(t.version() > before);
+    }
+
+    /**
+     * Testa um GameEngine cujas transformações ficam fora do heap.
+     * @post O motor simula e restringe os objetos da mesma forma que com o armazenamento no heap.
+     */
+    @Test
+    void testEngineWithOffHeapStore() {
+        try (OffHeapTransformStore store = new OffHeapTransformStore()) {
+            GameEngine engine = new GameEngine(store);
+            engine.setBounds(new Rectangle(0, 0, 100, 100));
+            Transform t = new Transform(50, 50, 0, 0, 1);
+            IGameObject go = new GameObject("c", t, new CircleCollider(50, 50, 5, t), null, new ObstacleBehaviour());
+            engine.addEnabled(go);
+            engine.run(0, null);
+            assertSame(store, t.getStore());
+
+            t.move(new Point(-500, 20), 0);
+            engine.run(0, null);
+            assertEquals(0, t.position().getX(), DELTA);
+            assertEquals(70, t.position().getY(), DELTA);
+
+            engine.destroyAll();
+            engine.run(0, null);
+            assertEquals(0, store.size());
+        }
+    }
+}
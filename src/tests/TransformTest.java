@@ -2,6 +2,7 @@ package tests;
 
 import gameobject.geometry.Point;
 import gameobject.transform.Transform;
+import gameobject.transform.TransformStore;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -43,6 +44,25 @@ class TransformTest {
         assertEquals(2, t.layer(), "Camada (layer) incorreta após mover."); //
     }
 
+    /**
+     * Testa o método moveBy(double, double), também com a transformação ligada a um armazenamento.
+     * @post A posição deve ser transladada e a camada não muda.
+     */
+    @Test
+    void testMoveBy() {
+        Transform t = new Transform(5.0, 5.0, 3, 0, 1.0);
+        t.moveBy(3.0, -2.0);
+        assertEquals(8.0, t.position().getX(), DELTA);
+        assertEquals(3.0, t.position().getY(), DELTA);
+        assertEquals(3, t.layer(), "moveBy não altera a camada.");
+
+        TransformStore store = new TransformStore();
+        t.attach(store);
+        t.moveBy(-8.0, 1.0);
+        assertEquals(0.0, store.x(t.getSlot()), DELTA);
+        assertEquals(4.0, t.position().getY(), DELTA);
+    }
+
     /**
      * Testa o método rotate(double).
      * @post O ângulo da transformação deve ser incrementado.
@@ -70,4 +90,40 @@ class TransformTest {
         t.scale(-0.2); //
         assertEquals(1.3, t.scale(), DELTA, "Escala incorreta após escalar negativamente."); //
     }
+
+    /**
+     * Testa o método version().
+     * @post A versão muda quando a posição, a camada, o ângulo ou a escala mudam, e mantém-se em operações sem efeito.
+     */
+    @Test
+    void testVersion() {
+        Transform t = new Transform(10, 20, 0, 0, 1.0);
+        long v = t.version();
+
+        t.moveBy(0, 0);
+        t.rotate(0);
+        t.scale(0);
+        t.position().set(10, 20);
+        t.clamp(0, 0, 100, 100);
+        assertEquals(v, t.version(), "Operações sem efeito não devem mudar a versão.");
+
+        t.moveBy(1, 0);
+        assertNotEquals(v, t.version(), "moveBy deve mudar a versão.");
+        v = t.version();
+        t.position().set(0, 0);
+        assertNotEquals(v, t.version(), "position().set deve mudar a versão.");
+        v = t.version();
+        t.move(new Point(0, 0), 1);
+        assertNotEquals(v, t.version(), "Mudar de camada deve mudar a versão.");
+        v = t.version();
+        t.rotate(5);
+        assertNotEquals(v, t.version(), "rotate deve mudar a versão.");
+        v = t.version();
+        t.scale(0.5);
+        assertNotEquals(v, t.version(), "scale deve mudar a versão.");
+        v = t.version();
+        t.clamp(5, 5, 100, 100);
+        assertNotEquals(v, t.version(), "clamp que altera a posição deve mudar a versão.");
+        assertEquals(5, t.position().getX(), DELTA);
+    }
 }
\ No newline at end of file